@@ -0,0 +1,44 @@
+package benchmark;
+
+/**
+ * Diese Klasse stellt einen einzelnen Benchmark dar, der vom {@link BenchmarkRunner} wiederholt ausgeführt und gemessen wird.
+ * Gemessen wird ausschließlich {@link #operation()}. Vorbereitungen, die nicht in die Messung eingehen sollen, gehören in {@link #setUp()}.
+ * @author Hannes Wilms
+ *
+ */
+public abstract class Benchmark {
+
+	/** Name des Benchmarks, unter dem das Ergebnis ausgegeben wird. */
+	private String name;
+
+	/**
+	 * Erzeugt einen neuen Benchmark.
+	 * @param name Name des Benchmarks (z.B. {@code analyse/170-B1-N03-A04-MutualExclusion}).
+	 */
+	public Benchmark(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Gibt den Namen des Benchmarks zurück.
+	 * @return Name des Benchmarks.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Bereitet den Benchmark vor. Wird einmal vor dem Aufwärmen aufgerufen und nicht gemessen.
+	 * @throws Exception wenn die Vorbereitung fehlschlägt.
+	 */
+	public void setUp() throws Exception {
+	}
+
+	/**
+	 * Führt die gemessene Operation einmal aus.
+	 * Das Ergebnis wird vom {@link BenchmarkRunner} verbraucht, damit die JVM die Operation nicht als wirkungslos entfernen kann.
+	 * @return Ergebnis der Operation.
+	 * @throws Exception wenn die Operation fehlschlägt.
+	 */
+	public abstract Object operation() throws Exception;
+}
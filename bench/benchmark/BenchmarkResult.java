@@ -0,0 +1,115 @@
+package benchmark;
+
+/**
+ * Diese Klasse speichert das Ergebnis eines gemessenen {@link Benchmark}s.
+ * @author Hannes Wilms
+ *
+ */
+public class BenchmarkResult {
+
+	/** Name des Benchmarks. */
+	private String name;
+
+	/** Durchsatz je Messdurchlauf in Operationen je Sekunde. */
+	private double[] throughput;
+
+	/** Insgesamt in den Messdurchläufen ausgeführte Operationen. */
+	private long operations;
+
+	/** Insgesamt in den Messdurchläufen vom messenden Thread belegter Speicher in Byte oder -1, wenn die JVM dies nicht misst. */
+	private long allocatedBytes;
+
+	/** Gesamtdauer der Messdurchläufe in Nanosekunden. */
+	private long nanos;
+
+	/**
+	 * Erzeugt ein neues Ergebnis.
+	 * @param name Name des Benchmarks.
+	 * @param throughput Durchsatz je Messdurchlauf in Operationen je Sekunde.
+	 * @param operations Insgesamt ausgeführte Operationen.
+	 * @param allocatedBytes Insgesamt belegter Speicher in Byte oder -1.
+	 * @param nanos Gesamtdauer der Messdurchläufe in Nanosekunden.
+	 */
+	BenchmarkResult(String name, double[] throughput, long operations, long allocatedBytes, long nanos) {
+		this.name = name;
+		this.throughput = throughput;
+		this.operations = operations;
+		this.allocatedBytes = allocatedBytes;
+		this.nanos = nanos;
+	}
+
+	/**
+	 * Gibt den Namen des Benchmarks zurück.
+	 * @return Name des Benchmarks.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gibt den mittleren Durchsatz über alle Messdurchläufe zurück.
+	 * @return Mittlerer Durchsatz in Operationen je Sekunde.
+	 */
+	public double getThroughput() {
+		double sum = 0;
+		for(double value : throughput) {
+			sum += value;
+		}
+		return sum / throughput.length;
+	}
+
+	/**
+	 * Gibt die Standardabweichung des Durchsatzes über alle Messdurchläufe zurück.
+	 * @return Standardabweichung in Operationen je Sekunde.
+	 */
+	public double getThroughputError() {
+		double mean = getThroughput();
+		double sum = 0;
+		for(double value : throughput) {
+			sum += (value - mean) * (value - mean);
+		}
+		return throughput.length < 2 ? 0 : Math.sqrt(sum / (throughput.length - 1));
+	}
+
+	/**
+	 * Gibt die mittlere Dauer einer Operation zurück.
+	 * @return Mittlere Dauer in Mikrosekunden.
+	 */
+	public double getMicrosPerOperation() {
+		return operations == 0 ? 0 : nanos / 1000.0 / operations;
+	}
+
+	/**
+	 * Gibt den je Operation belegten Speicher zurück.
+	 * @return Belegter Speicher in Byte je Operation oder -1, wenn die JVM dies nicht misst.
+	 */
+	public double getBytesPerOperation() {
+		return allocatedBytes < 0 || operations == 0 ? -1 : (double) allocatedBytes / operations;
+	}
+
+	/**
+	 * Gibt die Allokationsrate während der Messung zurück.
+	 * @return Allokationsrate in Megabyte je Sekunde oder -1, wenn die JVM dies nicht misst.
+	 */
+	public double getAllocationRate() {
+		return allocatedBytes < 0 || nanos == 0 ? -1 : allocatedBytes / 1048576.0 / (nanos / 1e9);
+	}
+
+	/**
+	 * Gibt das Ergebnis als Zeile einer Tabelle zurück.
+	 * @return Tabellenzeile mit Name, Durchsatz, Fehler, Dauer je Operation, Byte je Operation und Allokationsrate.
+	 */
+	public String toString() {
+		return String.format(java.util.Locale.ROOT, "%-60s %14.1f +- %10.1f ops/s %12.2f us/op %14.0f B/op %10.1f MB/s",
+				name, getThroughput(), getThroughputError(), getMicrosPerOperation(), getBytesPerOperation(), getAllocationRate());
+	}
+
+	/**
+	 * Gibt das Ergebnis als CSV-Zeile (Trennzeichen ;) zurück.
+	 * @return CSV-Zeile mit Name, Durchsatz, Fehler, Dauer je Operation, Byte je Operation und Allokationsrate.
+	 */
+	public String toCsv() {
+		return String.format(java.util.Locale.ROOT, "%s;%.3f;%.3f;%.3f;%.1f;%.3f",
+				name, getThroughput(), getThroughputError(), getMicrosPerOperation(), getBytesPerOperation(), getAllocationRate());
+	}
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Diese Klasse führt {@link Benchmark}s aus und misst Durchsatz und Speicherbelegung.
+ * Jeder Benchmark wird zunächst in mehreren Aufwärmdurchläufen ausgeführt, damit der JIT-Compiler die Operation übersetzt,
+ * und anschließend in mehreren Messdurchläufen fester Dauer gemessen. Der belegte Speicher wird über die
+ * Thread-Allokationszähler der HotSpot-JVM ({@code com.sun.management.ThreadMXBean}) ermittelt.
+ * @author Hannes Wilms
+ *
+ */
+public class BenchmarkRunner {
+
+	/** Anzahl der Aufwärmdurchläufe. */
+	private int warmupIterations;
+
+	/** Anzahl der Messdurchläufe. */
+	private int measurementIterations;
+
+	/** Dauer eines Durchlaufs in Nanosekunden. */
+	private long iterationNanos;
+
+	/** Allokationszähler der JVM oder null, wenn die JVM diese nicht unterstützt. */
+	private com.sun.management.ThreadMXBean allocationCounter;
+
+	/** Verbraucht die Ergebnisse der Operationen, damit die JVM die Operationen nicht entfernt. */
+	private static volatile int sink;
+
+	/**
+	 * Erzeugt einen neuen Runner.
+	 * @param warmupIterations Anzahl der Aufwärmdurchläufe.
+	 * @param measurementIterations Anzahl der Messdurchläufe (mindestens 1).
+	 * @param iterationMillis Dauer eines Durchlaufs in Millisekunden.
+	 */
+	public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+		this.warmupIterations = Math.max(0, warmupIterations);
+		this.measurementIterations = Math.max(1, measurementIterations);
+		this.iterationNanos = Math.max(1, iterationMillis) * 1000000;
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		if(threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean counter = (com.sun.management.ThreadMXBean) threadMXBean;
+			if(counter.isThreadAllocatedMemorySupported()) {
+				counter.setThreadAllocatedMemoryEnabled(true);
+				allocationCounter = counter;
+			}
+		}
+	}
+
+	/**
+	 * Bereitet den Benchmark vor, wärmt ihn auf und misst ihn.
+	 * @param benchmark Benchmark, der gemessen werden soll.
+	 * @return Ergebnis der Messung.
+	 * @throws Exception wenn Vorbereitung oder Operation fehlschlagen.
+	 */
+	public BenchmarkResult run(Benchmark benchmark) throws Exception {
+		benchmark.setUp();
+		for(int i = 0; i < warmupIterations; i++) {
+			iteration(benchmark);
+		}
+		System.gc();
+		double[] throughput = new double[measurementIterations];
+		long operations = 0;
+		long nanos = 0;
+		long allocatedBefore = allocatedBytes();
+		for(int i = 0; i < measurementIterations; i++) {
+			long start = System.nanoTime();
+			long count = iteration(benchmark);
+			long duration = System.nanoTime() - start;
+			throughput[i] = count * 1e9 / duration;
+			operations += count;
+			nanos += duration;
+		}
+		long allocated = allocationCounter == null ? -1 : allocatedBytes() - allocatedBefore;
+		return new BenchmarkResult(benchmark.getName(), throughput, operations, allocated, nanos);
+	}
+
+	/**
+	 * Führt die Operation so oft aus, bis die Dauer eines Durchlaufs erreicht ist. Die Operation wird mindestens einmal ausgeführt.
+	 * @param benchmark Benchmark, dessen Operation ausgeführt wird.
+	 * @return Anzahl der ausgeführten Operationen.
+	 * @throws Exception wenn die Operation fehlschlägt.
+	 */
+	private long iteration(Benchmark benchmark) throws Exception {
+		long end = System.nanoTime() + iterationNanos;
+		long count = 0;
+		int consumed = 0;
+		do {
+			consumed ^= System.identityHashCode(benchmark.operation());
+			count++;
+		} while(System.nanoTime() - end < 0);
+		sink ^= consumed;
+		return count;
+	}
+
+	/**
+	 * Gibt den bisher vom aktuellen Thread belegten Speicher zurück.
+	 * @return Belegter Speicher in Byte oder 0, wenn die JVM dies nicht misst.
+	 */
+	private long allocatedBytes() {
+		return allocationCounter == null ? 0 : allocationCounter.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
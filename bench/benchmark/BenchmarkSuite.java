@@ -0,0 +1,114 @@
+package benchmark;
+
+import model.*;
+import java.io.*;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Einstiegspunkt der Benchmarks. Misst Einlesen und Beschränktheitsanalyse ({@link PNMLCursorParser} + {@link Petrinet#analysis()})
+ * für jede Datei des Beispielkorpus sowie die Kernoperationen aus {@link CoreOperationBenchmarks}.
+ * <pre>
+ * java -cp ... benchmark.BenchmarkSuite [--corpus ordner] [--warmup n] [--iterations n] [--time ms] [--filter regex] [--csv datei]
+ * </pre>
+ * Je Benchmark werden Durchsatz (Operationen je Sekunde mit Standardabweichung), Dauer je Operation, belegter Speicher je Operation
+ * und Allokationsrate ausgegeben. Ausgaben der gemessenen Operationen auf System.out werden während der Messung verworfen.
+ * @author Hannes Wilms
+ *
+ */
+public class BenchmarkSuite {
+
+	/**
+	 * Wertet die Parameter aus, führt die ausgewählten Benchmarks aus und gibt die Ergebnisse aus.
+	 * @param args Optionen.
+	 * @throws Exception wenn ein Benchmark fehlschlägt oder die CSV-Datei nicht geschrieben werden kann.
+	 */
+	public static void main(String[] args) throws Exception {
+		File corpus = new File("Beispiele");
+		int warmup = 3;
+		int iterations = 5;
+		long time = 1000;
+		Pattern filter = Pattern.compile(".*");
+		File csv = null;
+		for(int i = 0; i < args.length; i++) {
+			if(args[i].equals("--corpus")) {
+				corpus = new File(args[++i]);
+			} else if(args[i].equals("--warmup")) {
+				warmup = Integer.parseInt(args[++i]);
+			} else if(args[i].equals("--iterations")) {
+				iterations = Integer.parseInt(args[++i]);
+			} else if(args[i].equals("--time")) {
+				time = Long.parseLong(args[++i]);
+			} else if(args[i].equals("--filter")) {
+				filter = Pattern.compile(args[++i]);
+			} else if(args[i].equals("--csv")) {
+				csv = new File(args[++i]);
+			} else {
+				System.err.println("Aufruf: benchmark.BenchmarkSuite [--corpus ordner] [--warmup n] [--iterations n] [--time ms] [--filter regex] [--csv datei]");
+				System.exit(2);
+			}
+		}
+		LinkedList<Benchmark> benchmarks = new LinkedList<Benchmark>();
+		benchmarks.addAll(corpusBenchmarks(corpus));
+		benchmarks.addAll(CoreOperationBenchmarks.create(corpus));
+		BenchmarkRunner runner = new BenchmarkRunner(warmup, iterations, time);
+		PrintStream out = System.out;
+		PrintStream silent = new PrintStream(new OutputStream() {
+			/**
+			 * Verwirft die Ausgabe.
+			 */
+			public void write(int b) {
+			}
+		});
+		LinkedList<BenchmarkResult> results = new LinkedList<BenchmarkResult>();
+		for(Benchmark benchmark : benchmarks) {
+			if(filter.matcher(benchmark.getName()).find()) {
+				System.setOut(silent);
+				BenchmarkResult result;
+				try {
+					result = runner.run(benchmark);
+				} finally {
+					System.setOut(out);
+				}
+				results.add(result);
+				out.println(result);
+			}
+		}
+		if(!(csv == null)) {
+			PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(csv), "UTF-8"));
+			writer.println("benchmark;ops_s;fehler_ops_s;us_op;byte_op;mb_s");
+			for(BenchmarkResult result : results) {
+				writer.println(result.toCsv());
+			}
+			writer.close();
+		}
+	}
+
+	/**
+	 * Erzeugt für jede PNML-Datei des Korpus einen Benchmark für Einlesen und Beschränktheitsanalyse.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Benchmarks in alphabetischer Reihenfolge der Dateien.
+	 */
+	private static LinkedList<Benchmark> corpusBenchmarks(File corpus) {
+		LinkedList<Benchmark> benchmarks = new LinkedList<Benchmark>();
+		File[] files = corpus.listFiles();
+		if(!(files == null)) {
+			Arrays.sort(files);
+			for(final File file : files) {
+				if(file.getName().toLowerCase().endsWith(".pnml")) {
+					benchmarks.add(new Benchmark("analyse/" + file.getName().replaceFirst("\\.[pP][nN][mM][lL]$", "")) {
+						/**
+						 * Liest die Datei ein und analysiert das Petrinetz.
+						 */
+						public Object operation() {
+							Petrinet petrinet = new PNMLCursorParser(file).getPetrinet();
+							petrinet.analysis();
+							return petrinet;
+						}
+					});
+				}
+			}
+		}
+		return benchmarks;
+	}
+}
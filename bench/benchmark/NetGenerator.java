@@ -0,0 +1,422 @@
+package benchmark;
+
+import java.io.File;
+import java.util.*;
+import propra.pnml.PNMLWopedWriter;
+
+/**
+ * Diese Klasse erzeugt parametrisierte Familien von Petrinetzen als PNML-Dateien für Last- und Skalierungstests
+ * von Analyse, Parser und Darstellung. Die Netze werden mit dem {@link PNMLWopedWriter} Element für Element geschrieben
+ * und nicht im Speicher gehalten, sodass auch Netze mit 10<sup>6</sup> Knoten erzeugt werden können.
+ * Alle Knoten erhalten Koordinaten, damit die Netze ohne automatisches Layout dargestellt werden können.
+ * <pre>
+ * java -cp ... benchmark.NetGenerator philosophen n datei
+ * java -cp ... benchmark.NetGenerator tokenring n datei
+ * java -cp ... benchmark.NetGenerator mailbox n kapazitaet datei
+ * java -cp ... benchmark.NetGenerator gitter zeilen spalten datei
+ * java -cp ... benchmark.NetGenerator freechoice stellen transitionen startwert datei
+ * </pre>
+ * @author Hannes Wilms
+ *
+ */
+public class NetGenerator {
+
+	/** Abstand benachbarter Knoten in der Darstellung. */
+	private static final int SPACING = 60;
+
+	/** Datei, in die das Netz geschrieben wird. */
+	private File file;
+
+	/** Writer für die PNML-Datei. Wird je erzeugtem Netz neu angelegt. */
+	private PNMLWopedWriter writer;
+
+	/** Anzahl der geschriebenen Stellen. */
+	private int places;
+
+	/** Anzahl der geschriebenen Transitionen. */
+	private int transitions;
+
+	/** Anzahl der geschriebenen Kanten. Dient auch zur Vergabe der ids der Kanten. */
+	private int arcs;
+
+	/**
+	 * Erzeugt einen neuen Generator.
+	 * @param file Datei, in die das Netz geschrieben wird. Eine vorhandene Datei wird überschrieben.
+	 */
+	public NetGenerator(File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Erzeugt das Netz der speisenden Philosophen mit n Philosophen und n Gabeln.
+	 * Jeder Philosoph nimmt erst die linke, dann die rechte Gabel, isst und legt beide Gabeln zurück. Das Netz ist beschränkt und kann verklemmen.
+	 * Die Philosophen sind im Kreis angeordnet. Das Netz hat 4n Stellen und 3n Transitionen.
+	 * @param n Anzahl der Philosophen (mindestens 2).
+	 */
+	public void diningPhilosophers(int n) {
+		require(n >= 2, "Es werden mindestens 2 Philosophen benötigt.");
+		start();
+		for(int i = 0; i < n; i++) {
+			int next = (i + 1) % n;
+			place("denkt" + i, 1, ring(n, i, 0), ring(n, i, 0, true));
+			place("gabel" + i, 1, ring(n, i + 0.5, 0), ring(n, i + 0.5, 0, true));
+			place("links" + i, 0, ring(n, i, 2), ring(n, i, 2, true));
+			place("isst" + i, 0, ring(n, i, 4), ring(n, i, 4, true));
+			transition("nimmLinks" + i, ring(n, i, 1), ring(n, i, 1, true));
+			transition("nimmRechts" + i, ring(n, i, 3), ring(n, i, 3, true));
+			transition("legeAb" + i, ring(n, i + 0.5, 3), ring(n, i + 0.5, 3, true));
+			arc("denkt" + i, "nimmLinks" + i);
+			arc("gabel" + i, "nimmLinks" + i);
+			arc("nimmLinks" + i, "links" + i);
+			arc("links" + i, "nimmRechts" + i);
+			arc("gabel" + next, "nimmRechts" + i);
+			arc("nimmRechts" + i, "isst" + i);
+			arc("isst" + i, "legeAb" + i);
+			arc("legeAb" + i, "denkt" + i);
+			arc("legeAb" + i, "gabel" + i);
+			arc("legeAb" + i, "gabel" + next);
+		}
+		finish();
+	}
+
+	/**
+	 * Erzeugt einen Token-Ring mit n Stationen. Eine einzige Marke (das Token) wandert im Kreis.
+	 * Die Station, die das Token hält, kann es weitergeben oder in ihren kritischen Abschnitt eintreten und es danach weitergeben.
+	 * Das Netz ist beschränkt. Es hat 3n Stellen und 3n Transitionen.
+	 * @param n Anzahl der Stationen (mindestens 2).
+	 */
+	public void tokenRing(int n) {
+		require(n >= 2, "Es werden mindestens 2 Stationen benötigt.");
+		start();
+		for(int i = 0; i < n; i++) {
+			int next = (i + 1) % n;
+			place("token" + i, i == 0 ? 1 : 0, ring(n, i, 0), ring(n, i, 0, true));
+			place("bereit" + i, 1, ring(n, i, 2), ring(n, i, 2, true));
+			place("kritisch" + i, 0, ring(n, i, 4), ring(n, i, 4, true));
+			transition("weiter" + i, ring(n, i + 0.5, 0), ring(n, i + 0.5, 0, true));
+			transition("betreten" + i, ring(n, i, 3), ring(n, i, 3, true));
+			transition("verlassen" + i, ring(n, i + 0.5, 3), ring(n, i + 0.5, 3, true));
+			arc("token" + i, "weiter" + i);
+			arc("weiter" + i, "token" + next);
+			arc("token" + i, "betreten" + i);
+			arc("bereit" + i, "betreten" + i);
+			arc("betreten" + i, "kritisch" + i);
+			arc("kritisch" + i, "verlassen" + i);
+			arc("verlassen" + i, "bereit" + i);
+			arc("verlassen" + i, "token" + next);
+		}
+		finish();
+	}
+
+	/**
+	 * Erzeugt ein Postfach, in das n Sender Nachrichten einlegen und aus dem n Empfänger Nachrichten entnehmen.
+	 * Das Postfach fasst höchstens capacity Nachrichten. Bei Kapazität 0 ist das Postfach unbegrenzt und das Netz damit unbeschränkt.
+	 * Sender stehen links, Empfänger rechts des Postfachs. Das Netz hat 4n + 1 bzw. 4n + 2 Stellen und 4n Transitionen.
+	 * @param n Anzahl der Sender und der Empfänger (mindestens 1).
+	 * @param capacity Kapazität des Postfachs oder 0 für ein unbegrenztes Postfach.
+	 */
+	public void mailbox(int n, int capacity) {
+		require(n >= 1, "Es wird mindestens ein Sender benötigt.");
+		require(capacity >= 0, "Die Kapazität darf nicht negativ sein.");
+		start();
+		int middle = n * SPACING;
+		place("postfach", 0, 5 * SPACING, middle);
+		if(capacity > 0) {
+			place("frei", capacity, 5 * SPACING, middle + SPACING);
+		}
+		for(int i = 0; i < n; i++) {
+			int y = 2 * i * SPACING + SPACING;
+			place("schreibt" + i, 1, SPACING, y);
+			transition("verfasse" + i, 2 * SPACING, y);
+			place("wartet" + i, 0, 3 * SPACING, y);
+			transition("sende" + i, 4 * SPACING, y);
+			transition("empfange" + i, 6 * SPACING, y);
+			place("bearbeitet" + i, 0, 7 * SPACING, y);
+			transition("erledige" + i, 8 * SPACING, y);
+			place("liest" + i, 1, 9 * SPACING, y);
+			arc("schreibt" + i, "verfasse" + i);
+			arc("verfasse" + i, "wartet" + i);
+			arc("wartet" + i, "sende" + i);
+			arc("sende" + i, "schreibt" + i);
+			arc("sende" + i, "postfach");
+			arc("postfach", "empfange" + i);
+			arc("liest" + i, "empfange" + i);
+			arc("empfange" + i, "bearbeitet" + i);
+			arc("bearbeitet" + i, "erledige" + i);
+			arc("erledige" + i, "liest" + i);
+			if(capacity > 0) {
+				arc("frei", "sende" + i);
+				arc("empfange" + i, "frei");
+			}
+		}
+		finish();
+	}
+
+	/**
+	 * Erzeugt ein Gitter aus Puffern der Kapazität 1 zwischen Erzeugern am linken und Verbrauchern am rechten Rand.
+	 * Jede Zelle (Puffer und Freiplatz) gibt ihre Marke nach rechts und nach unten weiter, sofern die Nachbarzelle frei ist.
+	 * Das Netz ist beschränkt. Es hat 2 * rows * columns Stellen.
+	 * @param rows Anzahl der Zeilen (mindestens 1).
+	 * @param columns Anzahl der Spalten (mindestens 1).
+	 */
+	public void producerConsumerGrid(int rows, int columns) {
+		require(rows >= 1 && columns >= 1, "Das Gitter muss mindestens eine Zelle haben.");
+		start();
+		for(int r = 0; r < rows; r++) {
+			for(int c = 0; c < columns; c++) {
+				int x = (3 * c + 2) * SPACING;
+				int y = (3 * r + 1) * SPACING;
+				place(cell("puffer", r, c), 0, x, y);
+				place(cell("frei", r, c), 1, x, y + SPACING);
+				if(c + 1 < columns) {
+					move(cell("rechts", r, c), r, c, r, c + 1, x + SPACING + SPACING / 2, y);
+				}
+				if(r + 1 < rows) {
+					move(cell("runter", r, c), r, c, r + 1, c, x, y + 2 * SPACING);
+				}
+			}
+			String producer = "erzeuge" + r;
+			transition(producer, SPACING, (3 * r + 1) * SPACING);
+			arc(cell("frei", r, 0), producer);
+			arc(producer, cell("puffer", r, 0));
+			String consumer = "verbrauche" + r;
+			transition(consumer, (3 * columns + 1) * SPACING, (3 * r + 1) * SPACING);
+			arc(cell("puffer", r, columns - 1), consumer);
+			arc(consumer, cell("frei", r, columns - 1));
+		}
+		finish();
+	}
+
+	/**
+	 * Erzeugt ein zufälliges Free-Choice-Netz: Teilen sich zwei Transitionen eine Stelle im Vorbereich, haben sie denselben Vorbereich.
+	 * Dazu werden die Stellen in Gruppen aufgeteilt, die jeweils den gemeinsamen Vorbereich einer Gruppe von Transitionen bilden.
+	 * Jede Transition erhält ein bis drei zufällige Stellen im Nachbereich. Die Stellen im Vorbereich der ersten Gruppe und etwa jede zehnte weitere Stelle tragen anfangs eine Marke,
+	 * sodass anfangs mindestens eine Transition aktiviert ist.
+	 * Gleicher Startwert ergibt dasselbe Netz. Die Knoten werden auf einem Gitter angeordnet.
+	 * @param placeCount Anzahl der Stellen (mindestens 1).
+	 * @param transitionCount Anzahl der Transitionen (mindestens 1).
+	 * @param seed Startwert des Zufallsgenerators.
+	 */
+	public void randomFreeChoice(int placeCount, int transitionCount, long seed) {
+		require(placeCount >= 1 && transitionCount >= 1, "Es werden mindestens eine Stelle und eine Transition benötigt.");
+		Random random = new Random(seed);
+		int clusters = Math.min(placeCount, transitionCount);
+		int width = (int) Math.ceil(Math.sqrt(placeCount + transitionCount));
+		start();
+		for(int p = 0; p < placeCount; p++) {
+			place("p" + p, p % clusters == 0 || random.nextInt(10) == 0 ? 1 : 0, grid(p, width), grid(p, width, true));
+		}
+		// Stelle p gehört zum Vorbereich der Gruppe p % clusters, Transition t zur Gruppe t % clusters.
+		for(int t = 0; t < transitionCount; t++) {
+			int node = placeCount + t;
+			transition("t" + t, grid(node, width), grid(node, width, true));
+			for(int p = t % clusters; p < placeCount; p += clusters) {
+				arc("p" + p, "t" + t);
+			}
+			int outputs = 1 + random.nextInt(3);
+			TreeSet<Integer> targets = new TreeSet<Integer>();
+			while(targets.size() < Math.min(outputs, placeCount)) {
+				targets.add(random.nextInt(placeCount));
+			}
+			for(int p : targets) {
+				arc("t" + t, "p" + p);
+			}
+		}
+		finish();
+	}
+
+	/**
+	 * Gibt die Anzahl der zuletzt geschriebenen Stellen zurück.
+	 * @return Anzahl der Stellen.
+	 */
+	public int getPlaces() {
+		return places;
+	}
+
+	/**
+	 * Gibt die Anzahl der zuletzt geschriebenen Transitionen zurück.
+	 * @return Anzahl der Transitionen.
+	 */
+	public int getTransitions() {
+		return transitions;
+	}
+
+	/**
+	 * Gibt die Anzahl der zuletzt geschriebenen Kanten zurück.
+	 * @return Anzahl der Kanten.
+	 */
+	public int getArcs() {
+		return arcs;
+	}
+
+	/**
+	 * Schreibt eine Transition, die die Marke des Puffers einer Zelle in den Puffer der Nachbarzelle verschiebt, sofern diese frei ist.
+	 * @param id id der Transition.
+	 * @param r Zeile der Quellzelle.
+	 * @param c Spalte der Quellzelle.
+	 * @param r2 Zeile der Zielzelle.
+	 * @param c2 Spalte der Zielzelle.
+	 * @param x x-Koordinate der Transition.
+	 * @param y y-Koordinate der Transition.
+	 */
+	private void move(String id, int r, int c, int r2, int c2, int x, int y) {
+		transition(id, x, y);
+		arc(cell("puffer", r, c), id);
+		arc(cell("frei", r2, c2), id);
+		arc(id, cell("frei", r, c));
+		arc(id, cell("puffer", r2, c2));
+	}
+
+	/**
+	 * Gibt die id eines Knotens einer Gitterzelle zurück.
+	 * @param prefix Art des Knotens.
+	 * @param r Zeile.
+	 * @param c Spalte.
+	 * @return id des Knotens.
+	 */
+	private static String cell(String prefix, int r, int c) {
+		return prefix + "_" + r + "_" + c;
+	}
+
+	/**
+	 * Gibt eine Koordinate auf einem Kreis zurück, auf dem n Gruppen von Knoten angeordnet sind.
+	 * Der Radius wächst mit n, sodass benachbarte Gruppen den Abstand {@link #SPACING} behalten.
+	 * @param n Anzahl der Gruppen.
+	 * @param position Position der Gruppe auf dem Kreis (0 bis n).
+	 * @param ring Ring innerhalb der Gruppe (0 bis 4), 0 ist der innerste.
+	 * @return x-Koordinate.
+	 */
+	private static int ring(int n, double position, int ring) {
+		return ring(n, position, ring, false);
+	}
+
+	/**
+	 * Gibt eine Koordinate auf einem Kreis zurück, auf dem n Gruppen von Knoten angeordnet sind.
+	 * @param n Anzahl der Gruppen.
+	 * @param position Position der Gruppe auf dem Kreis (0 bis n).
+	 * @param ring Ring innerhalb der Gruppe (0 bis 4), 0 ist der innerste.
+	 * @param y Information, ob die y-Koordinate (true) oder die x-Koordinate (false) zurückgegeben wird.
+	 * @return Koordinate.
+	 */
+	private static int ring(int n, double position, int ring, boolean y) {
+		double innerRadius = Math.max(2 * SPACING, n * 2.0 * SPACING / (2 * Math.PI));
+		double radius = innerRadius + ring * SPACING;
+		double center = innerRadius + 5 * SPACING;
+		double angle = 2 * Math.PI * position / n;
+		return (int) Math.round(center + radius * (y ? Math.sin(angle) : Math.cos(angle)));
+	}
+
+	/**
+	 * Gibt eine Koordinate eines Knotens auf einem Gitter zurück.
+	 * @param index Nummer des Knotens.
+	 * @param width Anzahl der Knoten je Zeile.
+	 * @return x-Koordinate.
+	 */
+	private static int grid(int index, int width) {
+		return grid(index, width, false);
+	}
+
+	/**
+	 * Gibt eine Koordinate eines Knotens auf einem Gitter zurück.
+	 * @param index Nummer des Knotens.
+	 * @param width Anzahl der Knoten je Zeile.
+	 * @param y Information, ob die y-Koordinate (true) oder die x-Koordinate (false) zurückgegeben wird.
+	 * @return Koordinate.
+	 */
+	private static int grid(int index, int width, boolean y) {
+		return (1 + (y ? index / width : index % width)) * SPACING;
+	}
+
+	/**
+	 * Beginnt ein neues Dokument und setzt die Zähler zurück.
+	 */
+	private void start() {
+		places = 0;
+		transitions = 0;
+		arcs = 0;
+		writer = new PNMLWopedWriter(file);
+		writer.startXMLDocument();
+	}
+
+	/**
+	 * Beendet das Dokument.
+	 */
+	private void finish() {
+		writer.finishXMLDocument();
+		writer = null;
+	}
+
+	/**
+	 * Schreibt eine Stelle. Die id dient auch als Name.
+	 * @param id id der Stelle.
+	 * @param tokens Anfangsmarkierung.
+	 * @param x x-Koordinate.
+	 * @param y y-Koordinate.
+	 */
+	private void place(String id, int tokens, int x, int y) {
+		writer.addPlace(id, id, String.valueOf(x), String.valueOf(y), String.valueOf(tokens));
+		places++;
+	}
+
+	/**
+	 * Schreibt eine Transition. Die id dient auch als Name.
+	 * @param id id der Transition.
+	 * @param x x-Koordinate.
+	 * @param y y-Koordinate.
+	 */
+	private void transition(String id, int x, int y) {
+		writer.addTransition(id, id, String.valueOf(x), String.valueOf(y));
+		transitions++;
+	}
+
+	/**
+	 * Schreibt eine Kante mit fortlaufender id.
+	 * @param source id des Quellknotens.
+	 * @param target id des Zielknotens.
+	 */
+	private void arc(String source, String target) {
+		writer.addArc("a" + arcs, source, target);
+		arcs++;
+	}
+
+	/**
+	 * Prüft einen Parameter.
+	 * @param condition Bedingung, die erfüllt sein muss.
+	 * @param message Meldung, wenn die Bedingung nicht erfüllt ist.
+	 */
+	private static void require(boolean condition, String message) {
+		if(!condition) {
+			throw new IllegalArgumentException(message);
+		}
+	}
+
+	/**
+	 * Erzeugt ein Netz gemäß den Parametern und gibt die Anzahl der Knoten und Kanten auf System.err aus.
+	 * @param args Familie, Parameter der Familie und Zieldatei.
+	 */
+	public static void main(String[] args) {
+		try {
+			require(args.length >= 3, "Zu wenige Parameter.");
+			NetGenerator generator = new NetGenerator(new File(args[args.length - 1]));
+			String family = args[0];
+			if(family.equals("philosophen") && args.length == 3) {
+				generator.diningPhilosophers(Integer.parseInt(args[1]));
+			} else if(family.equals("tokenring") && args.length == 3) {
+				generator.tokenRing(Integer.parseInt(args[1]));
+			} else if(family.equals("mailbox") && args.length == 4) {
+				generator.mailbox(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+			} else if(family.equals("gitter") && args.length == 4) {
+				generator.producerConsumerGrid(Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+			} else if(family.equals("freechoice") && args.length == 5) {
+				generator.randomFreeChoice(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Long.parseLong(args[3]));
+			} else {
+				throw new IllegalArgumentException("Unbekannte Familie oder falsche Anzahl an Parametern: " + family);
+			}
+			System.err.println("Stellen: " + generator.getPlaces() + ", Transitionen: " + generator.getTransitions() + ", Kanten: " + generator.getArcs());
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Aufruf: benchmark.NetGenerator philosophen n | tokenring n | mailbox n kapazitaet | gitter zeilen spalten | freechoice stellen transitionen startwert  datei");
+			System.exit(2);
+		}
+	}
+}
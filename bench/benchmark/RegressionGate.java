@@ -0,0 +1,313 @@
+package benchmark;
+
+import model.*;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Diese Klasse prüft die Beschränktheitsanalyse ({@link Petrinet#analysis()}) auf Leistungseinbußen gegenüber gespeicherten Referenzwerten.
+ * Die feste Arbeitslast besteht aus allen PNML-Dateien des Beispielkorpus und einigen mit dem {@link NetGenerator} erzeugten Netzen.
+ * Jedes Netz wird nach Aufwärmdurchläufen mehrfach eingelesen und analysiert. Gemessen werden Median und 95. Perzentil der Analysedauer,
+ * der höchste Zuwachs des belegten Heaps während der Analyse und die untersuchten Markierungen je Sekunde. Zusätzlich wird die Anzahl der Markierungen festgehalten,
+ * damit eine veränderte Analyse nicht als Beschleunigung missverstanden wird.
+ * <pre>
+ * java -cp ... benchmark.RegressionGate [--corpus ordner] [--baseline datei] [--record] [--runs n] [--warmup n] [--threshold prozent] [--p95-threshold prozent] [--filter regex]
+ * </pre>
+ * Mit --record werden die Messwerte als Referenz gespeichert. Ohne --record werden sie mit der Referenz verglichen. Verschlechtert sich ein Wert
+ * um mehr als den Schwellwert (für das 95. Perzentil, das stärker streut, gilt ein eigener Schwellwert) oder weicht die Anzahl der Markierungen ab, wird ein Vergleichsbericht ausgegeben und das Programm mit Status 1 beendet.
+ * Es werden weder Netzwerk noch weitere Bibliotheken benötigt.
+ * @author Hannes Wilms
+ *
+ */
+public class RegressionGate {
+
+	/** Zeitunterschiede unterhalb dieser Grenze in Millisekunden gelten unabhängig vom Schwellwert als Messrauschen. */
+	private static final double MIN_TIME_DIFFERENCE = 5.0;
+
+	/** Speicherunterschiede unterhalb dieser Grenze in Kilobyte gelten unabhängig vom Schwellwert als Messrauschen. */
+	private static final double MIN_HEAP_DIFFERENCE = 1024.0;
+
+	/** Messgrößen in der Reihenfolge der Ausgabe. Die Namen dienen als Schlüssel in der Referenzdatei. */
+	private static final String[] METRICS = {"median_ms", "p95_ms", "peak_heap_kb", "markierungen_s", "markierungen"};
+
+	/**
+	 * Wertet die Parameter aus, misst die Arbeitslast und speichert oder vergleicht die Messwerte.
+	 * @param args Optionen.
+	 * @throws Exception wenn eine Datei nicht gelesen oder geschrieben werden kann.
+	 */
+	public static void main(String[] args) throws Exception {
+		File corpus = new File("Beispiele");
+		File baseline = new File("bench/regression-baseline.properties");
+		boolean record = false;
+		int runs = 10;
+		int warmup = 2;
+		double threshold = 20;
+		double tailThreshold = 50;
+		Pattern filter = Pattern.compile(".*");
+		for(int i = 0; i < args.length; i++) {
+			if(args[i].equals("--corpus")) {
+				corpus = new File(args[++i]);
+			} else if(args[i].equals("--baseline")) {
+				baseline = new File(args[++i]);
+			} else if(args[i].equals("--record")) {
+				record = true;
+			} else if(args[i].equals("--runs")) {
+				runs = Math.max(1, Integer.parseInt(args[++i]));
+			} else if(args[i].equals("--warmup")) {
+				warmup = Math.max(0, Integer.parseInt(args[++i]));
+			} else if(args[i].equals("--threshold")) {
+				threshold = Double.parseDouble(args[++i]);
+			} else if(args[i].equals("--p95-threshold")) {
+				tailThreshold = Double.parseDouble(args[++i]);
+			} else if(args[i].equals("--filter")) {
+				filter = Pattern.compile(args[++i]);
+			} else {
+				System.err.println("Aufruf: benchmark.RegressionGate [--corpus ordner] [--baseline datei] [--record] [--runs n] [--warmup n] [--threshold prozent] [--p95-threshold prozent] [--filter regex]");
+				System.exit(2);
+			}
+		}
+		if(!record && !baseline.isFile()) {
+			System.err.println("Referenzdatei " + baseline + " nicht gefunden. Zuerst mit --record aufnehmen.");
+			System.exit(2);
+		}
+		File directory = java.nio.file.Files.createTempDirectory("regression").toFile();
+		TreeMap<String, double[]> measurements = new TreeMap<String, double[]>();
+		try {
+			LinkedHashMap<String, File> workload = workload(corpus, directory);
+			PrintStream out = System.out;
+			PrintStream silent = new PrintStream(new OutputStream() {
+				/**
+				 * Verwirft die Ausgabe.
+				 */
+				public void write(int b) {
+				}
+			});
+			for(Map.Entry<String, File> entry : workload.entrySet()) {
+				if(filter.matcher(entry.getKey()).find()) {
+					System.setOut(silent);
+					double[] values;
+					try {
+						values = measure(entry.getValue(), warmup, runs);
+					} finally {
+						System.setOut(out);
+					}
+					measurements.put(entry.getKey(), values);
+					out.println(String.format(Locale.ROOT, "%-50s %10.2f ms (p95 %.2f ms) %10.0f KB %12.0f Markierungen/s", entry.getKey(), values[0], values[1], values[2], values[3]));
+				}
+			}
+		} finally {
+			for(File file : directory.listFiles()) {
+				file.delete();
+			}
+			directory.delete();
+		}
+		if(record) {
+			store(baseline, measurements, runs);
+			System.out.println("Referenzwerte in " + baseline + " gespeichert.");
+		} else {
+			Properties reference = new Properties();
+			InputStream in = new FileInputStream(baseline);
+			try {
+				reference.load(in);
+			} finally {
+				in.close();
+			}
+			if(compare(reference, measurements, threshold, tailThreshold, filter)) {
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * Stellt die Arbeitslast zusammen. Die erzeugten Netze sind so gewählt, dass jedes in höchstens etwa einer Sekunde analysiert ist
+	 * und sowohl beschränkte als auch unbeschränkte Netze enthalten sind.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @param directory Ordner, in den die erzeugten Netze geschrieben werden.
+	 * @return Dateien der Arbeitslast je Name, zuerst die Dateien des Korpus in alphabetischer Reihenfolge.
+	 */
+	private static LinkedHashMap<String, File> workload(File corpus, File directory) {
+		LinkedHashMap<String, File> workload = new LinkedHashMap<String, File>();
+		File[] files = corpus.listFiles();
+		if(!(files == null)) {
+			Arrays.sort(files);
+			for(File file : files) {
+				if(file.getName().toLowerCase().endsWith(".pnml")) {
+					workload.put("korpus/" + file.getName().replaceFirst("\\.[pP][nN][mM][lL]$", ""), file);
+				}
+			}
+		}
+		NetGenerator generator = new NetGenerator(new File(directory, "philosophen_5.pnml"));
+		generator.diningPhilosophers(5);
+		generator = new NetGenerator(new File(directory, "tokenring_30.pnml"));
+		generator.tokenRing(30);
+		generator = new NetGenerator(new File(directory, "mailbox_3_2.pnml"));
+		generator.mailbox(3, 2);
+		generator = new NetGenerator(new File(directory, "mailbox_2_0.pnml"));
+		generator.mailbox(2, 0);
+		generator = new NetGenerator(new File(directory, "gitter_2_3.pnml"));
+		generator.producerConsumerGrid(2, 3);
+		generator = new NetGenerator(new File(directory, "freechoice_40_30_7.pnml"));
+		generator.randomFreeChoice(40, 30, 7);
+		File[] generated = directory.listFiles();
+		Arrays.sort(generated);
+		for(File file : generated) {
+			workload.put("erzeugt/" + file.getName().replaceFirst("\\.pnml$", ""), file);
+		}
+		return workload;
+	}
+
+	/**
+	 * Liest eine Datei mehrfach ein, analysiert das Petrinetz und ermittelt die Messgrößen.
+	 * Vor jedem Messdurchlauf wird der Heap bereinigt und der Höchststand der Heap-Bereiche zurückgesetzt.
+	 * @param file Zu analysierende Datei.
+	 * @param warmup Anzahl der Aufwärmdurchläufe.
+	 * @param runs Anzahl der Messdurchläufe.
+	 * @return Messgrößen in der Reihenfolge von {@link #METRICS}.
+	 */
+	private static double[] measure(File file, int warmup, int runs) {
+		for(int i = 0; i < warmup; i++) {
+			new PNMLCursorParser(file).getPetrinet().analysis();
+		}
+		double[] durations = new double[runs];
+		long peakHeap = 0;
+		int markings = 0;
+		for(int i = 0; i < runs; i++) {
+			Petrinet petrinet = new PNMLCursorParser(file).getPetrinet();
+			System.gc();
+			long heapBefore = resetPeakHeap();
+			long start = System.nanoTime();
+			petrinet.analysis();
+			durations[i] = (System.nanoTime() - start) / 1e6;
+			peakHeap = Math.max(peakHeap, peakHeap() - heapBefore);
+			markings = petrinet.getAnalysisStatistics().getMarkings();
+		}
+		Arrays.sort(durations);
+		double median = percentile(durations, 50);
+		return new double[] {median, percentile(durations, 95), peakHeap / 1024.0, median > 0 ? markings * 1000.0 / median : 0, markings};
+	}
+
+	/**
+	 * Gibt ein Perzentil nach dem Nearest-Rank-Verfahren zurück.
+	 * @param sorted Aufsteigend sortierte Messwerte.
+	 * @param percent Perzentil in Prozent.
+	 * @return Kleinster Messwert, der von mindestens percent Prozent der Messwerte nicht überschritten wird.
+	 */
+	private static double percentile(double[] sorted, double percent) {
+		int rank = (int) Math.ceil(percent / 100 * sorted.length);
+		return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+	}
+
+	/**
+	 * Setzt den Höchststand aller Heap-Bereiche auf die aktuelle Belegung zurück.
+	 * @return Aktuell belegter Heap in Byte.
+	 */
+	private static long resetPeakHeap() {
+		long used = 0;
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if(pool.getType() == MemoryType.HEAP && pool.isValid()) {
+				pool.resetPeakUsage();
+				used += pool.getUsage().getUsed();
+			}
+		}
+		return used;
+	}
+
+	/**
+	 * Gibt die Summe der Höchststände aller Heap-Bereiche seit dem letzten Zurücksetzen zurück.
+	 * Da die Bereiche ihren Höchststand zu unterschiedlichen Zeitpunkten erreichen können, ist der Wert eine obere Schranke.
+	 * @return Höchster belegter Heap in Byte.
+	 */
+	private static long peakHeap() {
+		long peak = 0;
+		for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if(pool.getType() == MemoryType.HEAP && pool.isValid()) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	/**
+	 * Speichert die Messwerte als Referenz. Die Schlüssel sind sortiert, damit sich Änderungen der Referenzdatei gut vergleichen lassen.
+	 * @param baseline Referenzdatei.
+	 * @param measurements Messgrößen je Name des Netzes.
+	 * @param runs Anzahl der Messdurchläufe, die als Kommentar vermerkt wird.
+	 * @throws IOException wenn die Datei nicht geschrieben werden kann.
+	 */
+	private static void store(File baseline, TreeMap<String, double[]> measurements, int runs) throws IOException {
+		PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(baseline), "ISO-8859-1"));
+		try {
+			writer.println("# Referenzwerte von benchmark.RegressionGate (" + runs + " Messungen je Netz)");
+			writer.println("# Java " + System.getProperty("java.version") + ", " + System.getProperty("os.name") + " " + System.getProperty("os.arch")
+					+ ", " + Runtime.getRuntime().availableProcessors() + " Prozessoren");
+			for(Map.Entry<String, double[]> entry : measurements.entrySet()) {
+				for(int i = 0; i < METRICS.length; i++) {
+					writer.println(entry.getKey() + "." + METRICS[i] + "=" + String.format(Locale.ROOT, "%.2f", entry.getValue()[i]));
+				}
+			}
+		} finally {
+			writer.close();
+		}
+	}
+
+	/**
+	 * Vergleicht die Messwerte mit der Referenz und gibt einen Vergleichsbericht aus.
+	 * Median und Heap dürfen um höchstens den Schwellwert steigen, das 95. Perzentil um höchstens den Schwellwert für die Ausreißer, die Markierungen je Sekunde um höchstens den Schwellwert fallen.
+	 * Die Anzahl der Markierungen muss übereinstimmen. Netze ohne Referenzwerte werden als neu gemeldet, aber nicht bewertet.
+	 * @param reference Referenzwerte.
+	 * @param measurements Messgrößen je Name des Netzes.
+	 * @param threshold Schwellwert in Prozent.
+	 * @param tailThreshold Schwellwert für das 95. Perzentil in Prozent.
+	 * @param filter Auswahl der gemessenen Netze. Nicht ausgewählte Netze der Referenz werden nicht als fehlend gemeldet.
+	 * @return Information, ob mindestens ein Wert die Prüfung nicht bestanden hat (true) oder nicht (false).
+	 */
+	private static boolean compare(Properties reference, TreeMap<String, double[]> measurements, double threshold, double tailThreshold, Pattern filter) {
+		int failures = 0;
+		StringBuilder report = new StringBuilder();
+		for(Map.Entry<String, double[]> entry : measurements.entrySet()) {
+			if(reference.getProperty(entry.getKey() + "." + METRICS[0]) == null) {
+				report.append(String.format(Locale.ROOT, "%-50s neu, keine Referenzwerte%n", entry.getKey()));
+			} else {
+				double medianBefore = Double.parseDouble(reference.getProperty(entry.getKey() + "." + METRICS[0]));
+				for(int i = 0; i < METRICS.length; i++) {
+					double before = Double.parseDouble(reference.getProperty(entry.getKey() + "." + METRICS[i], "0"));
+					double after = entry.getValue()[i];
+					double change = before == 0 ? 0 : (after - before) * 100 / before;
+					boolean failed;
+					if(i == 0) {
+						failed = change > threshold && after - before > MIN_TIME_DIFFERENCE;
+					} else if(i == 1) {
+						failed = change > tailThreshold && after - before > MIN_TIME_DIFFERENCE;
+					} else if(i == 2) {
+						failed = change > threshold && after - before > MIN_HEAP_DIFFERENCE;
+					} else if(i == 3) {
+						failed = change < -threshold && entry.getValue()[0] - medianBefore > MIN_TIME_DIFFERENCE;
+					} else {
+						failed = !(before == after);
+					}
+					if(failed) {
+						failures++;
+						report.append(String.format(Locale.ROOT, "%-50s %-16s %14.2f -> %14.2f  %+8.1f %%  %s%n", entry.getKey(), METRICS[i], before, after, change, i == 4 ? "ABWEICHEND" : "VERSCHLECHTERT"));
+					}
+				}
+			}
+		}
+		for(Object key : new TreeSet<Object>(reference.keySet())) {
+			String name = ((String) key).substring(0, ((String) key).lastIndexOf('.'));
+			if(((String) key).endsWith("." + METRICS[0]) && !measurements.containsKey(name) && filter.matcher(name).find()) {
+				report.append(String.format(Locale.ROOT, "%-50s nicht gemessen%n", name));
+			}
+		}
+		System.out.print(report);
+		if(failures == 0) {
+			System.out.println("Keine Verschlechterung über " + threshold + " % gegenüber der Referenz.");
+		} else {
+			System.out.println(failures + " Messwert(e) um mehr als " + threshold + " % verschlechtert oder abweichend.");
+		}
+		return failures > 0;
+	}
+}
@@ -0,0 +1,264 @@
+package model;
+
+import benchmark.Benchmark;
+import java.io.File;
+import java.util.*;
+
+/**
+ * Diese Klasse erzeugt Mikro-Benchmarks der Kernoperationen der Beschränktheitsanalyse.
+ * Sie liegt im Paket model, damit die paketinternen Operationen (Schalten von Transitionen, Suche im Erreichbarkeitsgraphen,
+ * Überdeckungsprüfung) direkt gemessen werden können, ohne sie öffentlich zu machen.
+ * @author Hannes Wilms
+ *
+ */
+public class CoreOperationBenchmarks {
+
+	/** Anzahl der Stellen der künstlich erzeugten Markierungen. */
+	private static final int PLACES = 20;
+
+	/** Startwert des Zufallsgenerators, damit alle Läufe dieselben Markierungen verwenden. */
+	private static final long SEED = 4711;
+
+	/**
+	 * Erzeugt die Mikro-Benchmarks.
+	 * Nachfolgerberechnung, Schreiben und Einlesen werden auf dem Netz des Korpus mit den meisten Transitionen gemessen.
+	 * Suche, Einfügen und Überdeckungsprüfung verwenden zufällige Markierungen mit {@link #PLACES} Stellen.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Benchmarks.
+	 */
+	public static LinkedList<Benchmark> create(File corpus) {
+		LinkedList<Benchmark> benchmarks = new LinkedList<Benchmark>();
+		final File largest = largestNet(corpus);
+		if(!(largest == null)) {
+			benchmarks.add(new Benchmark("kern/nachfolger/" + name(largest)) {
+				/** Petrinetz, dessen Nachfolger berechnet werden. */
+				private Petrinet petrinet;
+
+				/** Markierungen des Erreichbarkeitsgraphen, von denen aus die Nachfolger berechnet werden. */
+				private Marking[] markings;
+
+				/** Index der nächsten Markierung. */
+				private int next = 0;
+
+				/**
+				 * Liest das Netz ein und berechnet einmal den Erreichbarkeitsgraphen, um realistische Ausgangsmarkierungen zu erhalten.
+				 */
+				public void setUp() {
+					petrinet = new PNMLCursorParser(largest).getPetrinet();
+					petrinet.analysis();
+					markings = petrinet.getReachabilityMarkings().toArray(new Marking[0]);
+				}
+
+				/**
+				 * Berechnet alle Nachfolger einer Markierung so, wie es die Analyse tut: Marken setzen, aktivierte Transitionen schalten, Markierung erzeugen.
+				 */
+				public Object operation() {
+					Marking current = markings[next++ % markings.length];
+					Marking successor = null;
+					for(Transition transition : petrinet.getTransitions()) {
+						for(Place place : petrinet.getPlaces()) {
+							place.setTokens(current.getTokensAtPlace(place.getId()));
+						}
+						if(transition.isEnabled()) {
+							transition.fire();
+							successor = new Marking();
+							for(Place place : petrinet.getPlaces()) {
+								successor.addEntry(place.getId(), place.getTokens());
+							}
+						}
+					}
+					return successor;
+				}
+			});
+			benchmarks.add(new Benchmark("kern/schreiben/" + name(largest)) {
+				/** Petrinetz, das geschrieben wird. */
+				private Petrinet petrinet;
+
+				/** Temporäre Zieldatei. */
+				private File file;
+
+				/**
+				 * Liest das Netz ein und legt die temporäre Zieldatei an.
+				 */
+				public void setUp() throws Exception {
+					petrinet = new PNMLCursorParser(largest).getPetrinet();
+					file = File.createTempFile("benchmark", ".pnml");
+					file.deleteOnExit();
+				}
+
+				/**
+				 * Schreibt das Netz mit dem {@link PNMLWriter} in die temporäre Datei.
+				 */
+				public Object operation() {
+					PNMLWriter writer = new PNMLWriter(petrinet, file);
+					writer.write();
+					return writer;
+				}
+			});
+			benchmarks.add(new Benchmark("kern/einlesen/woped/" + name(largest)) {
+				/**
+				 * Liest das Netz mit dem ereignisbasierten {@link PNMLParser} ein.
+				 */
+				public Object operation() {
+					return new PNMLParser(largest).getPetrinet();
+				}
+			});
+			benchmarks.add(new Benchmark("kern/einlesen/cursor/" + name(largest)) {
+				/**
+				 * Liest das Netz mit dem {@link PNMLCursorParser} ein.
+				 */
+				public Object operation() {
+					return new PNMLCursorParser(largest).getPetrinet();
+				}
+			});
+			benchmarks.add(new Benchmark("kern/einlesen/cache/" + name(largest)) {
+				/**
+				 * Schreibt die Cache-Datei des Netzes, falls sie noch nicht gültig ist.
+				 */
+				public void setUp() {
+					CompiledNetCache.load(largest);
+				}
+
+				/**
+				 * Lädt das Netz aus der Cache-Datei des {@link CompiledNetCache}.
+				 */
+				public Object operation() {
+					return CompiledNetCache.load(largest);
+				}
+			});
+		}
+		for(final int size : new int[] {100, 1000}) {
+			benchmarks.add(new Benchmark("kern/suchen/" + size) {
+				/** Erreichbarkeitsgraph mit size Markierungen. */
+				private ReachabilityNet reachabilityNet;
+
+				/** Gesuchte Markierungen, zur Hälfte im Erreichbarkeitsgraphen enthalten. */
+				private Marking[] probes;
+
+				/** Index der nächsten gesuchten Markierung. */
+				private int next = 0;
+
+				/**
+				 * Füllt den Erreichbarkeitsgraphen mit zufälligen Markierungen.
+				 */
+				public void setUp() {
+					Marking[] markings = randomMarkings(2 * size, new Random(SEED));
+					reachabilityNet = new ReachabilityNet(markings[0]);
+					for(int i = 1; i < size; i++) {
+						reachabilityNet.addMarking(markings[i]);
+					}
+					probes = markings;
+				}
+
+				/**
+				 * Sucht eine Markierung im Erreichbarkeitsgraphen.
+				 */
+				public Object operation() {
+					return reachabilityNet.getSameMarking(probes[next++ % probes.length]);
+				}
+			});
+			benchmarks.add(new Benchmark("kern/einfuegen/" + size) {
+				/** Markierungen, die eingefügt werden, teilweise mehrfach. */
+				private Marking[] markings;
+
+				/**
+				 * Erzeugt zufällige Markierungen, von denen jede zweite eine bereits erzeugte wiederholt.
+				 */
+				public void setUp() {
+					Marking[] distinct = randomMarkings(size, new Random(SEED));
+					markings = new Marking[2 * size];
+					for(int i = 0; i < size; i++) {
+						markings[2 * i] = distinct[i];
+						markings[2 * i + 1] = distinct[i / 2];
+					}
+				}
+
+				/**
+				 * Baut einen Erreichbarkeitsgraphen auf, wobei wie in der Analyse vor jedem Einfügen auf Vorhandensein geprüft wird.
+				 */
+				public Object operation() {
+					ReachabilityNet reachabilityNet = new ReachabilityNet(markings[0]);
+					for(Marking marking : markings) {
+						if(!reachabilityNet.markingAlreadyExists(marking)) {
+							reachabilityNet.addMarking(marking);
+						}
+					}
+					return reachabilityNet;
+				}
+			});
+		}
+		benchmarks.add(new Benchmark("kern/ueberdeckung/" + PLACES) {
+			/** Markierungen, die paarweise verglichen werden. */
+			private Marking[] markings;
+
+			/** Index des nächsten Paares. */
+			private int next = 0;
+
+			/**
+			 * Erzeugt zufällige Markierungen.
+			 */
+			public void setUp() {
+				markings = randomMarkings(1024, new Random(SEED));
+			}
+
+			/**
+			 * Prüft, ob eine Markierung eine andere überdeckt (m' &gt;= m).
+			 */
+			public Object operation() {
+				int i = next++ & 1023;
+				return markings[i].isSameOrBigger(markings[(i + 1) & 1023]) ? Boolean.TRUE : Boolean.FALSE;
+			}
+		});
+		return benchmarks;
+	}
+
+	/**
+	 * Erzeugt zufällige Markierungen mit {@link #PLACES} Stellen und 0 bis 3 Marken je Stelle.
+	 * @param count Anzahl der Markierungen.
+	 * @param random Zufallsgenerator.
+	 * @return Markierungen.
+	 */
+	private static Marking[] randomMarkings(int count, Random random) {
+		Marking[] markings = new Marking[count];
+		for(int i = 0; i < count; i++) {
+			markings[i] = new Marking();
+			for(int p = 0; p < PLACES; p++) {
+				markings[i].addEntry(String.format("p%02d", p), random.nextInt(4));
+			}
+		}
+		return markings;
+	}
+
+	/**
+	 * Gibt das Netz des Korpus mit den meisten Transitionen zurück.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Datei des größten Netzes oder null, wenn der Ordner keine Netze mit Stellen enthält.
+	 */
+	private static File largestNet(File corpus) {
+		File largest = null;
+		int transitions = -1;
+		File[] files = corpus.listFiles();
+		if(!(files == null)) {
+			Arrays.sort(files);
+			for(File file : files) {
+				if(file.getName().toLowerCase().endsWith(".pnml")) {
+					Petrinet petrinet = new PNMLCursorParser(file).getPetrinet();
+					if(!petrinet.getPlaces().isEmpty() && petrinet.getTransitions().size() > transitions) {
+						transitions = petrinet.getTransitions().size();
+						largest = file;
+					}
+				}
+			}
+		}
+		return largest;
+	}
+
+	/**
+	 * Gibt den Dateinamen ohne Endung zurück.
+	 * @param file Datei.
+	 * @return Name ohne Endung.
+	 */
+	private static String name(File file) {
+		return file.getName().replaceFirst("\\.[pP][nN][mM][lL]$", "");
+	}
+}
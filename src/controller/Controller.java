@@ -4,6 +4,8 @@ import model.*;
 import view.*;
 import java.util.*;
 import javax.swing.JFileChooser;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.io.*;
 import org.graphstream.graph.Edge;
@@ -43,6 +45,81 @@ public class Controller {
 	/** Angabe, ob die gleichzeitige Bearbeitung mehrerer Stellen erlaubt ist. */
 	private boolean allowMultiplePlaces = false;
 	
+	/** Angabe, ob die Petrinetze bei der Analyse mehrerer Dateien vorher mit der {@link model.NetReduction} reduziert werden. */
+	private boolean useNetReduction = false;
+	
+	/** Angabe, ob vor der Analyse im Ergebniscache nachgesehen wird, ob das Ergebnis des Netzes bereits bekannt ist. */
+	private boolean useResultCache = true;
+	
+	/** Cache der Analyseergebnisse im Benutzerverzeichnis, den die Analyse des geladenen Netzes und die Analyse mehrerer Dateien gemeinsam verwenden. */
+	private AnalysisResultCache resultCache = new AnalysisResultCache(AnalysisResultCache.getDefaultDirectory(), AnalysisResultCache.DEFAULT_MAXIMUM_BYTES);
+	
+	/** Anzahl der gleichzeitig laufenden Analysen bei der Analyse mehrerer Dateien. Standardmäßig die Anzahl der verfügbaren Prozessoren. */
+	private int batchThreads = Runtime.getRuntime().availableProcessors();
+	
+	/** Angabe, ob gerade eine Analyse mehrerer Dateien im Hintergrund läuft. */
+	private boolean batchAnalysisRunning = false;
+	
+	/** Angabe, ob gerade eine Beschränktheitsanalyse des geladenen Petrinetzes im Hintergrund läuft. */
+	private boolean analysisRunning = false;
+	
+	/** Angabe, ob gerade der gespeicherte Erreichbarkeitsgraph des geladenen Petrinetzes im Hintergrund wiederhergestellt wird. */
+	private boolean restoreRunning = false;
+	
+	/** Bricht die laufende Prüfung im Hintergrund ab (z.B. einer LTL-Formel), oder null, wenn keine Prüfung, sondern ggf. die Beschränktheitsanalyse läuft. */
+	private Runnable cancelAction;
+	
+	/** Mindestabstand in Millisekunden, in dem der Fortschritt einer laufenden Analyse an den MainFrame gemeldet wird. */
+	private static final int PROGRESS_INTERVAL = 250;
+	
+	/** Anzahl an Markierungen, ab der der Erreichbarkeitsgraph nur als Ausschnitt um die aktuelle Markierung angezeigt wird. */
+	private static final int WINDOW_THRESHOLD = 1000;
+	
+	/** Höchstzahl an Markierungen, die im Ausschnitt des Erreichbarkeitsgraphen angezeigt werden. */
+	private static final int WINDOW_MAXIMUM_MARKINGS = 300;
+	
+	/** Anzahl der Schritte um die aktuelle Markierung, die der Ausschnitt des Erreichbarkeitsgraphen standardmäßig umfasst. */
+	private static final int WINDOW_DEFAULT_HOPS = 3;
+	
+	/** Höchstzahl an aufgeklappten Markierungen im Ausschnitt. Wird sie überschritten, wird die am längsten aufgeklappte Markierung wieder zugeklappt. */
+	private static final int WINDOW_MAXIMUM_EXPANDED = 8;
+	
+	/** Präfix der ids von Sammelknoten und -kanten im Ausschnitt. Die ids der Markierungen bestehen nur aus Ziffern und '|', sodass keine Verwechslung möglich ist. */
+	private static final String SUMMARY_PREFIX = "+";
+	
+	/** id des Sammelknotens für alle Markierungen, die keiner Markierung des Ausschnitts benachbart sind. */
+	private static final String REMAINING_SUMMARY_ID = SUMMARY_PREFIX + "*";
+	
+	/** Angabe, ob große Erreichbarkeitsgraphen nur als Ausschnitt um die aktuelle Markierung angezeigt werden. */
+	private boolean limitReachabilityGraph = true;
+	
+	/** Anzahl der Schritte um die aktuelle Markierung, die der Ausschnitt des Erreichbarkeitsgraphen umfasst. */
+	private int reachabilityHops = WINDOW_DEFAULT_HOPS;
+	
+	/** Anzahl der Schritte, die der angezeigte Ausschnitt zusätzlich umfasst, nachdem der Sammelknoten der übrigen Markierungen angeklickt wurde. */
+	private int additionalReachabilityHops = 0;
+	
+	/** Angabe, ob der Hinweis auf den Ausschnitt für das geladene Petrinetz bereits ausgegeben wurde. Wird beim (erneuten) Laden und beim Verlassen des Ausschnitts zurückgesetzt. */
+	private boolean windowNoticeShown = false;
+	
+	/** ids der Markierungen, deren Umgebung durch Klick auf ihren Sammelknoten zusätzlich im Ausschnitt angezeigt wird, in der Reihenfolge des Aufklappens. */
+	private LinkedHashSet<String> expandedMarkings = new LinkedHashSet<String>();
+	
+	/** ids der Knoten, die im angezeigten Ausschnitt des Erreichbarkeitsgraphen gezeichnet sind. */
+	private HashSet<String> shownNodes = new HashSet<String>();
+	
+	/** ids der Kanten, die im angezeigten Ausschnitt des Erreichbarkeitsgraphen gezeichnet sind. */
+	private HashSet<String> shownEdges = new HashSet<String>();
+	
+	/** Angabe, ob der Erreichbarkeitsgraph gerade als Ausschnitt gezeichnet ist. */
+	private boolean windowShown = false;
+	
+	/** Positionen der Knoten des gezeichneten Erreichbarkeitsgraphen oder null, solange nichts gezeichnet ist. */
+	private ReachabilityLayout reachabilityLayout;
+	
+	/** Im Hintergrund laufende Berechnung des Layouts des Erreichbarkeitsgraphen oder null. */
+	private SwingWorker<ReachabilityLayout, Void> layoutWorker;
+	
 	/**
 	 * Erzeugt einen neuen Controller für einen spezifischen MainFrame.
 	 * @param frame MainFrame, den der Controller steuern soll.
@@ -82,12 +159,14 @@ public class Controller {
 	 * Aktualisiert den Grahen des Petrinetzes und zeichnet den Erreichbarkeitsgraphen neu.
 	 */
 	public void addTokensToSelectedPlaces() {
-		if(!(petrinet == null)) {
-			petrinet.changeTokensAtSelectedPlaces(1);
-			updatePetrinetGraph();
-			drawReachabilityGraph();
-		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				petrinet.changeTokensAtSelectedPlaces(1);
+				updatePetrinetGraph();
+				drawReachabilityGraph();
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
 		}
 	}
 	
@@ -99,17 +178,19 @@ public class Controller {
 	 * @param file Datei, in die das Petrinetz gespeichert wird.
 	 */
 	public void saveFile(File file) {
-		if(!(petrinet == null)) {
-			System.out.println();
-			if ((!file.getAbsolutePath().endsWith(".pnml")) & (!file.getAbsolutePath().endsWith(".PNML"))) {
-				file = new File(file.getAbsolutePath()+".pnml");
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				System.out.println();
+				if ((!file.getAbsolutePath().endsWith(".pnml")) & (!file.getAbsolutePath().endsWith(".PNML"))) {
+					file = new File(file.getAbsolutePath()+".pnml");
+				}
+				PNMLWriter writer = new PNMLWriter(petrinet, file);
+				writer.write();
+				setOpenFilePath(file.getParent());
+				setOpenFile(file);
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
 			}
-			PNMLWriter writer = new PNMLWriter(petrinet, file);
-			writer.write();
-			setOpenFilePath(file.getParent());
-			setOpenFile(file);
-		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
 		}
 	}
 
@@ -177,178 +258,805 @@ public class Controller {
 	}
 	
 	/**
-	 * Startet den Beschränktheitsalgorithmus des geladenen Petrinetzes.
-	 * Ruft dazu die Methoden {@link model.Petrinet#analysis()} und {@link model.Petrinet#getBoundednessTestResult()} des Petrinetzes auf.
-	 * Das Ergebnis der Analyse auf Beschränktheit wird direkt im Textfeld des zugeordneten MainFrame augegeben.
+	 * Exportiert den aktuellen (partiellen) Erreichbarkeitsgraphen als DOT-, GraphML- oder Aldebaran-Datei (.aut), z.B. zur Weiterverarbeitung mit Graphviz oder mCRL2.
+	 * Öffnet einen Speichern-Dialog. Das Format ergibt sich aus dem gewählten Dateifilter bzw. der Dateiendung, ohne passende Endung wird die des Filters angehängt.
+	 * Nutzt für den Export den {@link ReachabilityGraphExporter}. Während einer laufenden Analyse ist kein Export möglich.
 	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
-	 * @return Boolean Gibt an, ob das geladene Netz unbeschränkt (true) oder beschränkt (false) ist. Ist kein Petrinetz geladen, wird null zurückgegeben.
 	 */
-	public Boolean analysis() {
-		Boolean unbounded = null;
+	public void rgExport() {
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				JFileChooser chooser = new JFileChooser(new File(openFilePath));
+				FileNameExtensionFilter dotFilter = new FileNameExtensionFilter("DOT (*.dot, *.gv)", "dot", "gv");
+				FileNameExtensionFilter graphMLFilter = new FileNameExtensionFilter("GraphML (*.graphml)", "graphml");
+				FileNameExtensionFilter autFilter = new FileNameExtensionFilter("Aldebaran (*.aut)", "aut");
+				chooser.addChoosableFileFilter(dotFilter);
+				chooser.addChoosableFileFilter(graphMLFilter);
+				chooser.addChoosableFileFilter(autFilter);
+				chooser.setFileFilter(dotFilter);
+				chooser.setDialogTitle("Exportieren...");
+				int rueckgabeWert = chooser.showSaveDialog(frame);
+				if(rueckgabeWert == JFileChooser.APPROVE_OPTION) {
+					File file = chooser.getSelectedFile();
+					String format = ReachabilityGraphExporter.getFormat(file);
+					if(format == null) {
+						if(chooser.getFileFilter() == graphMLFilter) {
+							format = ReachabilityGraphExporter.GRAPHML;
+						} else if(chooser.getFileFilter() == autFilter) {
+							format = ReachabilityGraphExporter.AUT;
+						} else {
+							format = ReachabilityGraphExporter.DOT;
+						}
+						file = new File(file.getAbsolutePath() + "." + format);
+					}
+					try {
+						ReachabilityGraphExporter.export(petrinet, file, format);
+						frame.addTextToTextArea("Erreichbarkeitsgraph mit " + petrinet.getNumberOfMarkingsInReachabilityNet() + " Knoten und "
+								+ petrinet.getNumberOfConnectionsInReachabilityNet() + " Kanten nach " + file.getName() + " exportiert.");
+					} catch (IOException e) {
+						frame.addTextToTextArea("Der Erreichbarkeitsgraph konnte nicht exportiert werden: " + e.getMessage());
+					}
+					setOpenFilePath(file.getParent());
+				}
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
+		}
+	}
+	
+	/**
+	 * Startet den Beschränktheitsalgorithmus des geladenen Petrinetzes in einem SwingWorker, sodass die Oberfläche währenddessen bedienbar bleibt.
+	 * Die Analyse läuft über {@link model.AnalyzerMonitor#analysePrepared(Petrinet, AnalysisBudget)} mit {@link model.AnalysisBudget#UNLIMITED},
+	 * das Ergebnis liefert anschließend {@link model.Petrinet#getBoundednessTestResult()}.
+	 * Während der Analyse wird der Fortschritt (Knoten, Kanten, Pfadlänge, Knoten je Sekunde) regelmäßig an den MainFrame gemeldet.
+	 * Die Analyse kann mit {@link #cancelAnalysis()} oder über JMX ({@link model.AnalyzerMonitor}) abgebrochen werden, der bis dahin berechnete partielle Erreichbarkeitsgraph wird dann dargestellt.
+	 * Das Ergebnis der Analyse auf Beschränktheit wird nach Ende der Analyse im Textfeld des zugeordneten MainFrame augegeben
+	 * und mit {@link view.MainFrame#analysisFinished(Boolean, boolean)} an den MainFrame gemeldet.
+	 * Ist der Ergebniscache eingeschaltet, das Ergebnis des Netzes dort bereits bekannt und der Erreichbarkeitsgraph neben der geöffneten PNML-Datei gespeichert,
+	 * wird er mit {@link #restoreReachabilityGraph(String)} samt Pfad der Unbeschränktheit wiederhergestellt statt neu berechnet.
+	 * Passt die gespeicherte Datei nicht zum Netz, wird das Netz doch analysiert. Nach einer Analyse mit Ergebnis werden noch im Hintergrund das Ergebnis im Ergebniscache
+	 * und der Erreichbarkeitsgraph mit {@link #storeReachabilityGraph(Petrinet, File)} abgelegt.
+	 * Anders als bei der Analyse mehrerer Dateien wird das Netz nicht mit der {@link model.NetReduction} reduziert: Angezeigt, gespeichert und im
+	 * Markenspiel verwendet wird der Erreichbarkeitsgraph des geladenen Netzes, den die Analyse des reduzierten Netzes nicht liefert.
+	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
+	 */
+	public void analysis() {
 		if(!(petrinet == null)) {
-
 			if(!petrinet.getPlaces().isEmpty()) {
-				petrinet.analysis();
-				BoundednessTestResult boundednessTestResult = petrinet.getBoundednessTestResult();
-				String bounded = "";
-				String result = "Ergebnis: ";
-				if(boundednessTestResult.getUnbounded()) {
-					unbounded = true;
-					boundednessTestResult.getStart().setIsPathStart(true);
-					boundednessTestResult.getEnd().setIsPathEnd(true);
-					result = "Pfadlänge: " + boundednessTestResult.getPathLength() + " Pfad: (";
-					bounded = "nicht";
-					for(MarkingConnector markingConnector : boundednessTestResult.getPath()) {
-						markingConnector.setIsInPath(true);
-						result = result + markingConnector.getTransitionCaused()+",";
+				if(!analysisRunning && !restoreRunning) {
+					String resultKey = useResultCache ? AnalysisResultCache.key(petrinet, false) : null;
+					AnalysisResultCache.Entry cachedResult = null;
+					if(!(resultKey == null)) {
+						cachedResult = resultCache.get(resultKey, petrinet.getName());
 					}
-					result = result.substring(0, result.length()-1) + "); m -> m': (" + boundednessTestResult.getStart().getId() +") -> (" +boundednessTestResult.getEnd().getId()+").";
+					if(!(cachedResult == null) && !(openFile == null) && ReachabilityNetStore.getStoreFile(openFile).isFile()) {
+						frame.addTextToTextArea("Ergebnis aus dem Ergebniscache, der Erreichbarkeitsgraph wird aus der gespeicherten Datei geladen (Ergebniscache im Menü ausschalten, um neu zu analysieren).");
+						frame.analysisStarted();
+						restoreReachabilityGraph(resultKey);
+					} else {
+						startAnalysis(resultKey, null);
+					}
+				} else if(analysisRunning) {
+					frame.addTextToTextArea("Es läuft bereits eine Analyse.");
 				} else {
-					unbounded = false;
-					result = result + "Knoten: "+ petrinet.getNumberOfMarkingsInReachabilityNet() + ", Kanten: "+ petrinet.getNumberOfConnectionsInReachabilityNet() +".";
+					frame.addTextToTextArea("Der gespeicherte Erreichbarkeitsgraph wird noch geladen.");
 				}
-				frame.addTextToTextArea("Das dargestellte Petrinetz "+boundednessTestResult.getName() + " ist "+bounded+" beschränkt.");
-				frame.addTextToTextArea(result);
-				drawReachabilityGraph();
-				updatePetrinetGraph();
-				updateReachabilityGraph();
 			} else {
 				frame.addTextToTextArea("Das Petrinetz muss mindestens eine Stelle besitzen.");
+				frame.analysisFinished(null, false);
 			}
 		} else {
 			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			frame.analysisFinished(null, false);
 		}
-		return unbounded;
 	}
-
+	
 	/**
-	 * Ruft den Algorithmus zur Beschränktheitsanalyse mehrerer Netze nacheinander auf.
-	 * Speichert das aktuell angezeigte Petrinetz temporär zwischen.
-	 * Lädt die Dateien mit dem {@link model.PNMLParser} ein.
-	 * Die Ergebnisse werden in einer LinkedList abgespeichert.
-	 * Bringt vor Beginn der Analyse jedes Petrinetzes den jeweiligen Namen zur Anzeige auf dem Textfeld des MainFrames.
-	 * Ruft die Methode {@link model.Petrinet#analysis()} des Petrinetzes auf.
-	 * Bringt nach Ende aller Analysen die Ergebnisse in einer Tabelle auf das Textfeld des MainFrames.
-	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
-	 * @param files Liste mit den zu analysierenden Dateien.
+	 * Startet die Beschränktheitsanalyse des geladenen Petrinetzes im Hintergrund.
+	 * Hilfsmethode für {@link #analysis()}, {@link #restoreReachabilityGraph(String)} und {@link #checkCtlFormula(String)}.
+	 * @param resultKey Schlüssel des Netzes im Ergebniscache, unter dem das Ergebnis abgelegt wird, oder null, wenn der Ergebniscache ausgeschaltet ist.
+	 * @param onFinished Wird nach Ausgabe des Ergebnisses auf dem Event-Dispatch-Thread ausgeführt, wenn die Analyse ohne Fehler beendet wurde, oder null.
 	 */
-	public void multipleAnalysis(File[] files) {
-		LinkedList<BoundednessTestResult> boundednessTestResultList = new LinkedList<BoundednessTestResult>();
-		Petrinet petrinetHelp = petrinet;
-		if(!(files.length == 0)) {
-			for(File file : files) {
-				frame.addTextToTextArea("Analysiere: " + file.getName());
-				PNMLParser parser = new PNMLParser(file);
-				petrinet = parser.getPetrinet();
-				
-				if(!petrinet.getPlaces().isEmpty()) {
-					petrinet.analysis();
-					BoundednessTestResult boundednessTestResult = petrinet.getBoundednessTestResult();
-					boundednessTestResultList.add(boundednessTestResult);
-					
-					String bounded = "";
-					String result = "Ergebnis: ";
-					if(boundednessTestResult.getUnbounded()) {
-						bounded = "nicht";
-						result = "Pfadlänge: "+boundednessTestResult.getPathLength() + " Pfad: (";
-						for(MarkingConnector markingConnector : boundednessTestResult.getPath()) {
-							result = result + markingConnector.getTransitionCaused()+",";
-						}
-						result = result.substring(0, result.length()-1) + "); m -> m': (" + boundednessTestResult.getStart().getId() +") -> (" +boundednessTestResult.getEnd().getId()+").";
-					} else {
-						result = result + "Knoten: "+ petrinet.getNumberOfMarkingsInReachabilityNet() + ", Kanten: "+ petrinet.getNumberOfConnectionsInReachabilityNet()+".";
+	private void startAnalysis(final String resultKey, final Runnable onFinished) {
+		analysisRunning = true;
+		final Petrinet analysedPetrinet = petrinet;
+		final File storeFile = openFile == null ? null : ReachabilityNetStore.getStoreFile(openFile);
+		final AnalysisListener progressListener = new AnalysisListener() {
+			/**
+			 * Gibt den Fortschritt der Analyse zur Anzeige an den Event-Dispatch-Thread weiter.
+			 */
+			public void analysisProgress(final AnalysisStatistics statistics) {
+				SwingUtilities.invokeLater(new Runnable() {
+					/**
+					 * Meldet den Fortschritt der Analyse an den MainFrame.
+					 */
+					public void run() {
+						reportAnalysisProgress(statistics);
 					}
-					frame.addTextToTextArea("Das analysierte Petrinetz "+boundednessTestResult.getName() + " ist "+bounded+" beschränkt.");
-					frame.addTextToTextArea(result);
-					frame.addTextToTextArea("");
-				} else {
-					frame.addTextToTextArea("Das Netz besitzt keine Stellen.");
+				});
+			}
+			
+			/**
+			 * Die Endstatistik wird nach Ende der Analyse auf dem Event-Dispatch-Thread gemeldet.
+			 */
+			public void analysisFinished(AnalysisStatistics statistics) {
+			}
+		};
+		analysedPetrinet.setProgressInterval(PROGRESS_INTERVAL);
+		analysedPetrinet.addAnalysisListener(progressListener);
+		SwingWorker<String, Void> worker = new SwingWorker<String, Void>() {
+			/**
+			 * Führt die Beschränktheitsanalyse des Petrinetzes aus und legt ein Ergebnis im Ergebniscache und im {@link model.ReachabilityNetStore} ab.
+			 * @return Fehlermeldung beim Speichern des Erreichbarkeitsgraphen oder null.
+			 */
+			protected String doInBackground() {
+				AnalyzerMonitor.getInstance().analysePrepared(analysedPetrinet, AnalysisBudget.UNLIMITED);
+				if(!(resultKey == null)) {
+					resultCache.put(resultKey, analysedPetrinet.getBoundednessTestResult(), -1, -1);
 				}
+				return storeReachabilityGraph(analysedPetrinet, storeFile);
 			}
-			if(!boundednessTestResultList.isEmpty()) {
-				int maxLenName = "Dateiname".length();
-				int lenBounded = "beschränkt".length();
-				int maxLenNodesEdgesPath = "Pfadlänge:Pfad; m, m'".length();
-				int maxLenNodes = 1;
-				int maxLenEdges = 1;
-				int maxLenPathLen = 1;
-				int maxLenPath = 1;
-				int maxLenMarking = 0;
-				for(BoundednessTestResult boundednessTestResult : boundednessTestResultList) {
-					if(boundednessTestResult.getName().length() > maxLenName) {
-						maxLenName = boundednessTestResult.getName().length();
+			
+			/**
+			 * Bringt nach Ende der Analyse das Ergebnis auf das Textfeld des MainFrames und zeichnet den (ggf. partiellen) Erreichbarkeitsgraphen.
+			 */
+			protected void done() {
+				analysedPetrinet.removeAnalysisListener(progressListener);
+				analysisRunning = false;
+				try {
+					String storeError = get();
+					reportAnalysisProgress(analysedPetrinet.getAnalysisStatistics());
+					printAnalysisResult(analysedPetrinet.getBoundednessTestResult());
+					if(!(storeError == null)) {
+						frame.addTextToTextArea("Der Erreichbarkeitsgraph konnte nicht gespeichert werden: " + storeError);
+					}
+					if(!(onFinished == null)) {
+						onFinished.run();
 					}
-					if(boundednessTestResult.getUnbounded()) {
-						int lenPathLen = (boundednessTestResult.getPathLength()+"").length();
-						if(lenPathLen > maxLenPathLen) {
-							maxLenPathLen = lenPathLen;
+				} catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+					Throwable cause = e.getCause() == null ? e : e.getCause();
+					frame.addTextToTextArea("Fehler bei der Analyse: " + cause);
+					frame.analysisFinished(null, true);
+				}
+			}
+		};
+		AnalyzerMonitor.getInstance().prepare(analysedPetrinet);
+		frame.analysisStarted();
+		worker.execute();
+	}
+	
+	/**
+	 * Fordert den Abbruch der laufenden Beschränktheitsanalyse bzw. der laufenden Prüfung im Hintergrund (z.B. einer LTL-Formel) an.
+	 * Der bis dahin berechnete partielle Erreichbarkeitsgraph bleibt erhalten.
+	 * Läuft keine Analyse, erfolgt eine Ausgabe im Textfeld des MainFrames.
+	 */
+	public void cancelAnalysis() {
+		if(analysisRunning) {
+			if(!(cancelAction == null)) {
+				cancelAction.run();
+			} else {
+				petrinet.cancelAnalysis();
+			}
+			frame.addTextToTextArea("Abbruch der Analyse angefordert.");
+		} else {
+			frame.addTextToTextArea("Es läuft keine Analyse.");
+		}
+	}
+	
+	/**
+	 * Meldet den Fortschritt der Analyse an den MainFrame.
+	 * @param statistics Momentaufnahme der Statistik der Analyse.
+	 */
+	private void reportAnalysisProgress(AnalysisStatistics statistics) {
+		frame.updateAnalysisProgress(statistics.getMarkings(), statistics.getConnections(), statistics.getStackSize(), statistics.getMaximumDepth(), statistics.getMarkingsPerSecond());
+	}
+	
+	/**
+	 * Bringt das Ergebnis der Beschränktheitsanalyse auf das Textfeld des MainFrames, zeichnet den (ggf. partiellen) Erreichbarkeitsgraphen
+	 * und meldet das Ergebnis an den MainFrame.
+	 * @param boundednessTestResult Ergebnis der Beschränktheitsanalyse.
+	 */
+	private void printAnalysisResult(BoundednessTestResult boundednessTestResult) {
+		printAnalysisResultText(boundednessTestResult);
+		drawReachabilityGraph();
+		updatePetrinetGraph();
+		updateReachabilityGraph();
+		frame.analysisFinished(boundednessTestResult.getUnbounded(), boundednessTestResult.getInconclusive());
+	}
+	
+	/**
+	 * Bringt das Ergebnis der Beschränktheitsanalyse auf das Textfeld des MainFrames.
+	 * @param boundednessTestResult Ergebnis der Beschränktheitsanalyse.
+	 */
+	private void printAnalysisResultText(BoundednessTestResult boundednessTestResult) {
+		if(boundednessTestResult.getInconclusive()) {
+			frame.addTextToTextArea("Die Analyse des Petrinetzes "+boundednessTestResult.getName() + " wurde ohne Ergebnis beendet (" + boundednessTestResult.getInconclusiveReason() + "). Über die Beschränktheit kann keine Aussage getroffen werden.");
+			frame.addTextToTextArea("Partieller Erreichbarkeitsgraph: Knoten: "+ petrinet.getNumberOfMarkingsInReachabilityNet() + ", Kanten: "+ petrinet.getNumberOfConnectionsInReachabilityNet() +".");
+		} else {
+			String bounded = "";
+			String result = "Ergebnis: ";
+			if(boundednessTestResult.getUnbounded()) {
+				result = "Pfadlänge: " + boundednessTestResult.getPathLength() + " Pfad: (";
+				bounded = "nicht";
+				for(MarkingConnector markingConnector : boundednessTestResult.getPath()) {
+					result = result + markingConnector.getTransitionCaused()+",";
+				}
+				result = result.substring(0, result.length()-1) + "); m -> m': (" + boundednessTestResult.getStart().getId() +") -> (" +boundednessTestResult.getEnd().getId()+").";
+			} else {
+				result = result + "Knoten: "+ boundednessTestResult.getNumberOfNodes() + ", Kanten: "+ boundednessTestResult.getNumberOfEdges() +".";
+			}
+			frame.addTextToTextArea("Das dargestellte Petrinetz "+boundednessTestResult.getName() + " ist "+bounded+" beschränkt.");
+			frame.addTextToTextArea(result);
+		}
+	}
+	
+	/**
+	 * Speichert den Erreichbarkeitsgraphen nach einer Analyse mit Ergebnis komprimiert im {@link model.ReachabilityNetStore} neben der geöffneten PNML-Datei,
+	 * sodass er beim nächsten Öffnen der Datei ohne erneute Analyse angezeigt werden kann.
+	 * Abgebrochene oder wegen des Budgets beendete Analysen werden nicht gespeichert.
+	 * Wird im Hintergrund-Thread der Analyse aufgerufen, solange das Petrinetz noch nicht verändert werden kann, und greift daher nicht auf den MainFrame zu.
+	 * @param analysedPetrinet Analysiertes Petrinetz.
+	 * @param storeFile Datei, in die gespeichert werden soll, oder null, wenn das Petrinetz nicht aus einer Datei geladen wurde.
+	 * @return Fehlermeldung, wenn nicht gespeichert werden konnte, sonst null.
+	 */
+	private String storeReachabilityGraph(Petrinet analysedPetrinet, File storeFile) {
+		String error = null;
+		if(!(storeFile == null) && !analysedPetrinet.getBoundednessTestResult().getInconclusive()) {
+			try {
+				ReachabilityNetStore.save(analysedPetrinet, storeFile, true);
+			} catch (IOException e) {
+				error = e.getMessage();
+			}
+		}
+		return error;
+	}
+	
+	/**
+	 * Stellt den gespeicherten Erreichbarkeitsgraphen der geöffneten PNML-Datei aus dem {@link model.ReachabilityNetStore} wieder her,
+	 * sofern er zum geladenen Petrinetz gehört, und zeigt ihn samt Ergebnis der Analyse an.
+	 * Die Datei wird im Hintergrund gelesen, nur das Zeichnen erfolgt danach auf dem Event-Dispatch-Thread.
+	 * Bis dahin werden Methoden, die das Petrinetz verändern, wie während einer Analyse nicht ausgeführt.
+	 * Eine beschädigte Datei wird gemeldet und ignoriert.
+	 * Ersetzt die Wiederherstellung eine Analyse (Treffer im Ergebniscache), wird das Ergebnis wie nach einer Analyse an den MainFrame gemeldet.
+	 * Kann der Erreichbarkeitsgraph dann nicht wiederhergestellt werden, wird stattdessen mit {@link #startAnalysis(String, Runnable)} analysiert.
+	 * @param resultKey Schlüssel des Netzes im Ergebniscache, wenn die Wiederherstellung eine Analyse ersetzt, sonst null.
+	 */
+	private void restoreReachabilityGraph(final String resultKey) {
+		if(!(petrinet == null) && !(openFile == null)) {
+			final File storeFile = ReachabilityNetStore.getStoreFile(openFile);
+			if(storeFile.isFile()) {
+				restoreRunning = true;
+				final Petrinet restoredPetrinet = petrinet;
+				SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
+					/**
+					 * Liest den gespeicherten Erreichbarkeitsgraphen in das Petrinetz ein.
+					 * @return true, wenn der Erreichbarkeitsgraph wiederhergestellt wurde, sonst false.
+					 * @throws IOException wenn die Datei nicht gelesen werden kann oder beschädigt ist.
+					 */
+					protected Boolean doInBackground() throws IOException {
+						return ReachabilityNetStore.load(restoredPetrinet, storeFile);
+					}
+					
+					/**
+					 * Zeigt den wiederhergestellten Erreichbarkeitsgraphen samt Ergebnis der Analyse an oder meldet den Fehler beim Laden.
+					 */
+					protected void done() {
+						restoreRunning = false;
+						boolean restored = false;
+						try {
+							restored = get();
+						} catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+							Throwable cause = e.getCause() == null ? e : e.getCause();
+							frame.addTextToTextArea("Gespeicherter Erreichbarkeitsgraph konnte nicht geladen werden: " + cause.getMessage());
 						}
-						int lenMarking = ("("+boundednessTestResult.getStart().getId()+"),").length();
-						if(lenMarking > maxLenMarking) {
-							maxLenMarking = lenMarking;
+						BoundednessTestResult boundednessTestResult = restoredPetrinet.getBoundednessTestResult();
+						if(restored && !(resultKey == null) && !(boundednessTestResult == null)) {
+							frame.addTextToTextArea("Gespeicherter Erreichbarkeitsgraph wurde geladen.");
+							printAnalysisResult(boundednessTestResult);
+						} else if(restored && resultKey == null) {
+							frame.addTextToTextArea("Gespeicherter Erreichbarkeitsgraph wurde geladen.");
+							if(!(boundednessTestResult == null)) {
+								printAnalysisResultText(boundednessTestResult);
+							}
+							drawReachabilityGraph();
+							updatePetrinetGraph();
+							updateReachabilityGraph();
+						} else if(!(resultKey == null)) {
+							startAnalysis(resultKey, null);
+						}
+					}
+				};
+				worker.execute();
+			}
+		}
+	}
+	
+	/**
+	 * Prüft, ob gerade eine Beschränktheitsanalyse im Hintergrund läuft oder der gespeicherte Erreichbarkeitsgraph im Hintergrund wiederhergestellt wird.
+	 * Ist dies der Fall, erfolgt eine Ausgabe im Textfeld des MainFrames.
+	 * Methoden, die das Petrinetz verändern, werden währenddessen nicht ausgeführt, da die Analyse die Marken der Stellen verwendet.
+	 * @return Information, ob gerade eine Analyse oder Wiederherstellung läuft (true) oder nicht (false).
+	 */
+	private boolean isAnalysisRunning() {
+		if(analysisRunning) {
+			frame.addTextToTextArea("Die Analyse läuft noch. Bitte warten oder die Analyse abbrechen.");
+		} else if(restoreRunning) {
+			frame.addTextToTextArea("Der gespeicherte Erreichbarkeitsgraph wird noch geladen. Bitte warten.");
+		}
+		return analysisRunning || restoreRunning;
+	}
+
+	/**
+	 * Startet die Beschränktheitsanalyse mehrerer Netze im Hintergrund, sodass die Oberfläche währenddessen bedienbar bleibt.
+	 * Die Dateien werden mit der {@link model.BatchAnalysis} parallel analysiert. Jede Datei wird dabei über den {@link model.CompiledNetCache}
+	 * in ein eigenes Petrinetz eingelesen, das aktuell angezeigte Petrinetz bleibt unverändert.
+	 * Die Anzahl der gleichzeitig laufenden Analysen kann mit {@link #setBatchThreads(int)} festgelegt werden.
+	 * Ist die Netzreduktion eingeschaltet, wird jeweils das mit der {@link model.NetReduction} reduzierte Netz analysiert und das Ergebnis auf das ursprüngliche Netz zurückgeführt.
+	 * Anzahl der Knoten und Kanten beziehen sich dann auf den Erreichbarkeitsgraphen des reduzierten Netzes.
+	 * Ist der Ergebniscache eingeschaltet, werden nur Netze analysiert, deren Ergebnis dort noch nicht bekannt ist.
+	 * Die Ergebnisse werden in der Reihenfolge der übergebenen Dateien auf das Textfeld des MainFrames gebracht, sobald sie vorliegen.
+	 * Nach Ende aller Analysen werden die Ergebnisse in einer Tabelle auf das Textfeld des MainFrames gebracht.
+	 * @param files Liste mit den zu analysierenden Dateien.
+	 */
+	public void multipleAnalysis(final File[] files) {
+		if(!(files.length == 0)) {
+			if(!batchAnalysisRunning) {
+				batchAnalysisRunning = true;
+				final BatchAnalysis batchAnalysis = new BatchAnalysis(files, batchThreads, useNetReduction);
+				if(useResultCache) {
+					batchAnalysis.setResultCache(resultCache);
+				}
+				frame.addTextToTextArea("Analysiere " + files.length + " Dateien mit bis zu " + batchThreads + " parallelen Analysen.");
+				SwingWorker<LinkedList<BoundednessTestResult>, BatchAnalysis.Result> worker = new SwingWorker<LinkedList<BoundednessTestResult>, BatchAnalysis.Result>() {
+					/**
+					 * Führt die Analysen aus und gibt jedes Ergebnis in der Reihenfolge der Dateien an den Event-Dispatch-Thread weiter.
+					 */
+					protected LinkedList<BoundednessTestResult> doInBackground() throws InterruptedException {
+						LinkedList<BoundednessTestResult> boundednessTestResultList = new LinkedList<BoundednessTestResult>();
+						for(BatchAnalysis.Result result : batchAnalysis.run(new BatchAnalysis.ResultHandler() {
+							/**
+							 * Gibt das Ergebnis zur Ausgabe an den Event-Dispatch-Thread weiter.
+							 */
+							public void resultAvailable(BatchAnalysis.Result result) {
+								publishResult(result);
+							}
+						})) {
+							if(!(result.getBoundednessTestResult() == null)) {
+								boundednessTestResultList.add(result.getBoundednessTestResult());
+							}
 						}
-						String path = "(";
-						for(MarkingConnector mc : boundednessTestResult.getPath()) {
-							path = path+mc.getTransitionCaused() + ",";
+						return boundednessTestResultList;
+					}
+
+					/**
+					 * Gibt ein Ergebnis zur Ausgabe an den Event-Dispatch-Thread weiter.
+					 * @param result Ergebnis der Analyse einer Datei.
+					 */
+					private void publishResult(BatchAnalysis.Result result) {
+						publish(result);
+					}
+
+					/**
+					 * Bringt die vorliegenden Ergebnisse auf das Textfeld des MainFrames.
+					 */
+					protected void process(List<BatchAnalysis.Result> results) {
+						for(BatchAnalysis.Result result : results) {
+							printBatchResult(result);
 						}
-						path = path.substring(0, path.length()-1) + ");";
-						if(path.length() > maxLenPath) {
-							maxLenPath = path.length();
+					}
+
+					/**
+					 * Bringt nach Ende aller Analysen die Ergebnistabelle auf das Textfeld des MainFrames.
+					 */
+					protected void done() {
+						batchAnalysisRunning = false;
+						try {
+							printResultTable(get());
+						} catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+							frame.addTextToTextArea("Analyse mehrerer Dateien abgebrochen: " + e.getMessage());
 						}
-					} else {
-						int lenNodes = (boundednessTestResult.getNumberOfNodes() +"").length();
-						if(lenNodes > maxLenNodes)
-							maxLenNodes = lenNodes;
-						int lenEdges = (boundednessTestResult.getNumberOfEdges()+"").length();
-						if(lenEdges > maxLenEdges)
-							maxLenEdges = lenEdges;
-						if((maxLenNodes+3+maxLenEdges)>maxLenNodesEdgesPath)
-							maxLenNodesEdgesPath = maxLenNodes+3+maxLenEdges;
 					}
-					if(maxLenNodesEdgesPath < (maxLenPathLen+1+maxLenPath+maxLenMarking+maxLenMarking-1)) {
-						maxLenNodesEdgesPath = (maxLenPathLen+1+maxLenPath+maxLenMarking+maxLenMarking-1);
+				};
+				worker.execute();
+			} else {
+				frame.addTextToTextArea("Es läuft bereits eine Analyse mehrerer Dateien.");
+			}
+		} else {
+			frame.addTextToTextArea("Leere Liste übergeben.");
+		}
+	}
+
+	/**
+	 * Bringt das Ergebnis der Analyse einer Datei auf das Textfeld des MainFrames.
+	 * Abgebrochene oder wegen des Budgets beendete Analysen werden wie bei {@link #printAnalysisResultText(BoundednessTestResult)} als ohne Ergebnis ausgegeben.
+	 * @param batchResult Ergebnis der Analyse einer Datei.
+	 */
+	private void printBatchResult(BatchAnalysis.Result batchResult) {
+		frame.addTextToTextArea("Analysiere: " + batchResult.getFile().getName());
+		BoundednessTestResult boundednessTestResult = batchResult.getBoundednessTestResult();
+		if(!(batchResult.getError() == null)) {
+			frame.addTextToTextArea("Fehler bei der Analyse: " + batchResult.getError());
+		} else if(!(boundednessTestResult == null)) {
+			if(!(batchResult.getExportError() == null)) {
+				frame.addTextToTextArea(batchResult.getExportError());
+			}
+			if(batchResult.isCached()) {
+				frame.addTextToTextArea("Ergebnis aus dem Ergebniscache.");
+			}
+			if(batchResult.getRemovedPlaces() >= 0) {
+				frame.addTextToTextArea("Reduktion: " + batchResult.getRemovedPlaces() + " Stellen und " + batchResult.getRemovedTransitions() + " Transitionen entfernt.");
+			}
+			if(boundednessTestResult.getCancelled()) {
+				frame.addTextToTextArea("Die Analyse des Petrinetzes "+boundednessTestResult.getName() + " wurde abgebrochen. Über die Beschränktheit kann keine Aussage getroffen werden.");
+				frame.addTextToTextArea("Partieller Erreichbarkeitsgraph: Knoten: "+ boundednessTestResult.getNumberOfNodes() + ", Kanten: "+ boundednessTestResult.getNumberOfEdges() +".");
+			} else if(boundednessTestResult.getInconclusive()) {
+				frame.addTextToTextArea("Die Analyse des Petrinetzes "+boundednessTestResult.getName() + " wurde ohne Ergebnis beendet (" + boundednessTestResult.getInconclusiveReason() + "). Über die Beschränktheit kann keine Aussage getroffen werden.");
+				frame.addTextToTextArea("Partieller Erreichbarkeitsgraph: Knoten: "+ boundednessTestResult.getNumberOfNodes() + ", Kanten: "+ boundednessTestResult.getNumberOfEdges() +".");
+			} else {
+				String bounded = "";
+				String result = "Ergebnis: ";
+				if(boundednessTestResult.getUnbounded()) {
+					bounded = "nicht";
+					result = "Pfadlänge: "+boundednessTestResult.getPathLength() + " Pfad: (";
+					for(MarkingConnector markingConnector : boundednessTestResult.getPath()) {
+						result = result + markingConnector.getTransitionCaused()+",";
 					}
+					result = result.substring(0, result.length()-1) + "); m -> m': (" + boundednessTestResult.getStart().getId() +") -> (" +boundednessTestResult.getEnd().getId()+").";
+				} else {
+					result = result + "Knoten: "+ boundednessTestResult.getNumberOfNodes() + ", Kanten: "+ boundednessTestResult.getNumberOfEdges()+".";
+				}
+				frame.addTextToTextArea("Das analysierte Petrinetz "+boundednessTestResult.getName() + " ist "+bounded+" beschränkt.");
+				frame.addTextToTextArea(result);
+			}
+			frame.addTextToTextArea("");
+		} else {
+			frame.addTextToTextArea("Das Netz besitzt keine Stellen.");
+		}
+	}
+
+	/**
+	 * Bringt die Ergebnisse der Analyse mehrerer Dateien in einer Tabelle auf das Textfeld des MainFrames.
+	 * Bei abgebrochenen oder wegen des Budgets beendeten Analysen steht in der Spalte beschränkt ein ? und in der letzten Spalte der Grund.
+	 * @param boundednessTestResultList Ergebnisse in der Reihenfolge der Dateien.
+	 */
+	private void printResultTable(LinkedList<BoundednessTestResult> boundednessTestResultList) {
+		if(!boundednessTestResultList.isEmpty()) {
+
+			int maxLenName = "Dateiname".length();
+			int lenBounded = "beschränkt".length();
+			int maxLenNodesEdgesPath = "Pfadlänge:Pfad; m, m'".length();
+			int maxLenNodes = 1;
+			int maxLenEdges = 1;
+			int maxLenPathLen = 1;
+			int maxLenPath = 1;
+			int maxLenMarking = 0;
+			for(BoundednessTestResult boundednessTestResult : boundednessTestResultList) {
+				if(boundednessTestResult.getName().length() > maxLenName) {
+					maxLenName = boundednessTestResult.getName().length();
 				}
-				String topLine = "";
-				for(int i = 0; i < maxLenName;i++) {
-					topLine = topLine + "-";
+				if(boundednessTestResult.getInconclusive()) {
+					int lenReason = inconclusiveText(boundednessTestResult).length();
+					if(lenReason > maxLenNodesEdgesPath) {
+						maxLenNodesEdgesPath = lenReason;
+					}
+				} else if(boundednessTestResult.getUnbounded()) {
+					int lenPathLen = (boundednessTestResult.getPathLength()+"").length();
+					if(lenPathLen > maxLenPathLen) {
+						maxLenPathLen = lenPathLen;
+					}
+					int lenMarking = ("("+boundednessTestResult.getStart().getId()+"),").length();
+					if(lenMarking > maxLenMarking) {
+						maxLenMarking = lenMarking;
+					}
+					String path = "(";
+					for(MarkingConnector mc : boundednessTestResult.getPath()) {
+						path = path+mc.getTransitionCaused() + ",";
+					}
+					path = path.substring(0, path.length()-1) + ");";
+					if(path.length() > maxLenPath) {
+						maxLenPath = path.length();
+					}
+				} else {
+					int lenNodes = (boundednessTestResult.getNumberOfNodes() +"").length();
+					if(lenNodes > maxLenNodes)
+						maxLenNodes = lenNodes;
+					int lenEdges = (boundednessTestResult.getNumberOfEdges()+"").length();
+					if(lenEdges > maxLenEdges)
+						maxLenEdges = lenEdges;
+					if((maxLenNodes+3+maxLenEdges)>maxLenNodesEdgesPath)
+						maxLenNodesEdgesPath = maxLenNodes+3+maxLenEdges;
 				}
-				topLine = topLine+"-|-";
-				for(int i = 0; i < lenBounded;i++) {
-					topLine = topLine + "-";
+				if(maxLenNodesEdgesPath < (maxLenPathLen+1+maxLenPath+maxLenMarking+maxLenMarking-1)) {
+					maxLenNodesEdgesPath = (maxLenPathLen+1+maxLenPath+maxLenMarking+maxLenMarking-1);
 				}
-				topLine = topLine+"-|-";
-				for(int i = 0; i < maxLenNodesEdgesPath;i++) {
-					topLine = topLine + "-";
+			}
+			String topLine = "";
+			for(int i = 0; i < maxLenName;i++) {
+				topLine = topLine + "-";
+			}
+			topLine = topLine+"-|-";
+			for(int i = 0; i < lenBounded;i++) {
+				topLine = topLine + "-";
+			}
+			topLine = topLine+"-|-";
+			for(int i = 0; i < maxLenNodesEdgesPath;i++) {
+				topLine = topLine + "-";
+			}
+			String heading1 = String.format("%-"+maxLenName+"s | %"+lenBounded+"s | %-"+maxLenNodesEdgesPath+"s", "","","Knoten / Kanten bzw.");
+			frame.addTextToTextArea(heading1);
+			String heading2 = String.format("%-"+maxLenName+"s | %"+lenBounded+"s | %-"+maxLenNodesEdgesPath+"s", "Dateiname","beschränkt","Pfadlänge:Pfad; m, m'");
+			frame.addTextToTextArea(heading2);
+			frame.addTextToTextArea(topLine);		
+			for(BoundednessTestResult boundednessTestResult : boundednessTestResultList) {
+				if(boundednessTestResult.getInconclusive()) {
+					String table = String.format("%-"+maxLenName+"s | %-"+lenBounded+"s | %s", boundednessTestResult.getName(), "?", inconclusiveText(boundednessTestResult));
+					frame.addTextToTextArea(table);
+				} else if (boundednessTestResult.getUnbounded()) {
+					String path = "(";
+					for(MarkingConnector mc : boundednessTestResult.getPath()) {
+						path = path+mc.getTransitionCaused()+",";
+					}
+					path = path.substring(0, path.length()-1) + ");";
+					String startMarking = "("+boundednessTestResult.getStart().getId()+"),";
+					String endMarking = "("+boundednessTestResult.getEnd().getId()+")";
+					
+					String table = String.format("%-"+maxLenName+"s | %-"+lenBounded+"s | %-"+maxLenPathLen+"d:%-"+maxLenPath+"s %-"+maxLenMarking+"s %-"+(maxLenMarking-1)+"s",
+							boundednessTestResult.getName(), "nein", boundednessTestResult.getPathLength(), path, startMarking, endMarking);
+					frame.addTextToTextArea(table);
+				} else {
+					String table = String.format("%-"+maxLenName+"s | %-"+lenBounded+"s | %"+maxLenNodes+"d / " + "%"+maxLenEdges+"d",boundednessTestResult.getName(), "ja", boundednessTestResult.getNumberOfNodes(), boundednessTestResult.getNumberOfEdges());
+					frame.addTextToTextArea(table);
 				}
-				String heading1 = String.format("%-"+maxLenName+"s | %"+lenBounded+"s | %-"+maxLenNodesEdgesPath+"s", "","","Knoten / Kanten bzw.");
-				frame.addTextToTextArea(heading1);
-				String heading2 = String.format("%-"+maxLenName+"s | %"+lenBounded+"s | %-"+maxLenNodesEdgesPath+"s", "Dateiname","beschränkt","Pfadlänge:Pfad; m, m'");
-				frame.addTextToTextArea(heading2);
-				frame.addTextToTextArea(topLine);		
-				for(BoundednessTestResult boundednessTestResult : boundednessTestResultList) {
-					if (boundednessTestResult.getUnbounded()) {
-						String path = "(";
-						for(MarkingConnector mc : boundednessTestResult.getPath()) {
-							path = path+mc.getTransitionCaused()+",";
+			}
+		}
+	}
+
+	/**
+	 * Gibt den Text für eine abgebrochene oder wegen des Budgets beendete Analyse in der Ergebnistabelle zurück.
+	 * @param boundednessTestResult Ergebnis ohne Entscheidung über die Beschränktheit.
+	 * @return abgebrochen bzw. ohne Ergebnis mit dem Grund.
+	 */
+	private String inconclusiveText(BoundednessTestResult boundednessTestResult) {
+		if(boundednessTestResult.getCancelled()) {
+			return "abgebrochen";
+		}
+		return "ohne Ergebnis: " + boundednessTestResult.getInconclusiveReason();
+	}
+
+	/**
+	 * Prüft eine CTL-Formel auf dem vollständigen Erreichbarkeitsgraphen des geladenen Petrinetzes.
+	 * Die Formel wird mit dem {@link model.FormulaParser} eingelesen und mit dem {@link model.CtlModelChecker} geprüft.
+	 * Ist der Erreichbarkeitsgraph noch nicht vollständig berechnet, wird vorher wie bei {@link #analysis()} die Beschränktheitsanalyse
+	 * über den {@link model.AnalyzerMonitor} mit {@link model.AnalysisBudget#UNLIMITED} in einem SwingWorker gestartet. Sie kann mit {@link #cancelAnalysis()} abgebrochen werden.
+	 * Die Formel wird erst nach Ende der Analyse auf dem dann vollständigen Erreichbarkeitsgraphen geprüft.
+	 * Ist das Netz unbeschränkt, die Analyse ohne Ergebnis beendet oder die Formel fehlerhaft, erfolgt eine entsprechende Ausgabe im Textfeld des MainFrames.
+	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
+	 * @param text CTL-Formel als Text.
+	 */
+	public void checkCtlFormula(String text) {
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				if(!petrinet.getPlaces().isEmpty()) {
+					try {
+						final Formula formula = new FormulaParser(petrinet).parse(text);
+						if(petrinet.isReachabilityNetComplete()) {
+							printCtlResult(formula);
+						} else {
+							startAnalysis(useResultCache ? AnalysisResultCache.key(petrinet, false) : null, new Runnable() {
+								/**
+								 * Prüft die CTL-Formel nach Ende der Analyse.
+								 */
+								public void run() {
+									printCtlResult(formula);
+								}
+							});
 						}
-						path = path.substring(0, path.length()-1) + ");";
-						String startMarking = "("+boundednessTestResult.getStart().getId()+"),";
-						String endMarking = "("+boundednessTestResult.getEnd().getId()+")";
-						
-						String table = String.format("%-"+maxLenName+"s | %-"+lenBounded+"s | %-"+maxLenPathLen+"d:%-"+maxLenPath+"s %-"+maxLenMarking+"s %-"+(maxLenMarking-1)+"s",
-								boundednessTestResult.getName(), "nein", boundednessTestResult.getPathLength(), path, startMarking, endMarking);
-						frame.addTextToTextArea(table);
-					} else {
-						String table = String.format("%-"+maxLenName+"s | %-"+lenBounded+"s | %"+maxLenNodes+"d / " + "%"+maxLenEdges+"d",boundednessTestResult.getName(), "ja", boundednessTestResult.getNumberOfNodes(), boundednessTestResult.getNumberOfEdges());
-						frame.addTextToTextArea(table);
+					} catch (IllegalArgumentException ex) {
+						frame.addTextToTextArea("Fehlerhafte CTL-Formel: " + ex.getMessage());
 					}
+				} else {
+					frame.addTextToTextArea("Das Petrinetz muss mindestens eine Stelle besitzen.");
 				}
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
 			}
+		}
+	}
+
+	/**
+	 * Prüft die CTL-Formel auf dem Erreichbarkeitsgraphen des geladenen Petrinetzes und bringt das Ergebnis auf das Textfeld des MainFrames.
+	 * Ist der Erreichbarkeitsgraph nicht vollständig, wird stattdessen ausgegeben, dass die Formel nicht geprüft werden kann.
+	 * @param formula Zu prüfende CTL-Formel.
+	 */
+	private void printCtlResult(Formula formula) {
+		if(petrinet.isReachabilityNetComplete()) {
+			CtlModelChecker checker = new CtlModelChecker(petrinet);
+			int satisfying = checker.check(formula).cardinality();
+			String holds = checker.holdsInInitialMarking(formula) ? "" : "nicht ";
+			frame.addTextToTextArea("Die CTL-Formel " + formula + " ist in der Anfangsmarkierung " + holds + "erfüllt.");
+			frame.addTextToTextArea("Erfüllende Markierungen: " + satisfying + " von " + checker.getNumberOfMarkings() + ".");
+		} else if(petrinet.getBoundednessTestResult().getInconclusive()) {
+			frame.addTextToTextArea("Die Analyse des Petrinetzes "+ petrinet.getName() + " wurde ohne Ergebnis beendet. Die CTL-Formel " + formula + " wurde nicht geprüft.");
 		} else {
-			frame.addTextToTextArea("Leere Liste übergeben.");
+			frame.addTextToTextArea("Das Petrinetz "+ petrinet.getName() + " ist nicht beschränkt. CTL-Formeln können nur auf einem vollständigen Erreichbarkeitsgraphen geprüft werden.");
+		}
+	}
+
+	/**
+	 * Prüft eine LTL-Formel für alle Abläufe des geladenen Petrinetzes ab dessen Anfangsmarkierung.
+	 * Die Formel wird mit dem {@link model.FormulaParser} eingelesen und mit dem {@link model.LtlModelChecker} geprüft,
+	 * der die Markierungen erst bei Bedarf erzeugt und beim ersten Gegenbeispiel abbricht.
+	 * Die Prüfung läuft wie die Beschränktheitsanalyse im Hintergrund und kann mit {@link #cancelAnalysis()} abgebrochen werden.
+	 * Wird sie abgebrochen oder die Höchstzahl der Produktzustände erreicht, wird sie als ohne Ergebnis beendet ausgegeben.
+	 * Ein Gegenbeispiel wird wie der Pfad der Beschränktheitsanalyse als Schaltfolge im Textfeld des MainFrames ausgegeben.
+	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
+	 * @param text LTL-Formel als Text.
+	 */
+	public void checkLtlFormula(String text) {
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				if(!petrinet.getPlaces().isEmpty()) {
+					try {
+						final Formula formula = new FormulaParser(petrinet).parseLtl(text);
+						final LtlModelChecker checker = new LtlModelChecker(petrinet);
+						analysisRunning = true;
+						cancelAction = new Runnable() {
+							/**
+							 * Fordert den Abbruch der Prüfung an.
+							 */
+							public void run() {
+								checker.cancel();
+							}
+						};
+						SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
+							/**
+							 * Prüft die LTL-Formel.
+							 * @return Information, ob die Formel erfüllt ist.
+							 */
+							protected Boolean doInBackground() {
+								return checker.check(formula);
+							}
+							
+							/**
+							 * Bringt nach Ende der Prüfung das Ergebnis bzw. das Gegenbeispiel auf das Textfeld des MainFrames.
+							 */
+							protected void done() {
+								analysisRunning = false;
+								cancelAction = null;
+								try {
+									printLtlResult(formula, checker, get());
+								} catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+									Throwable cause = e.getCause() == null ? e : e.getCause();
+									frame.addTextToTextArea("Fehler bei der Prüfung der LTL-Formel: " + cause);
+								}
+								frame.checkFinished("LTL-Prüfung", checker.getInconclusive());
+							}
+						};
+						frame.checkStarted("LTL-Prüfung");
+						worker.execute();
+					} catch (IllegalArgumentException ex) {
+						frame.addTextToTextArea("Fehlerhafte LTL-Formel: " + ex.getMessage());
+					}
+				} else {
+					frame.addTextToTextArea("Das Petrinetz muss mindestens eine Stelle besitzen.");
+				}
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
+		}
+	}
+
+	/**
+	 * Bringt das Ergebnis der Prüfung einer LTL-Formel auf das Textfeld des MainFrames.
+	 * Ein Gegenbeispiel wird wie der Pfad der Beschränktheitsanalyse als Schaltfolge ausgegeben.
+	 * @param formula Geprüfte LTL-Formel.
+	 * @param checker LTL-Model-Checker nach der Prüfung.
+	 * @param holds Ergebnis der Prüfung.
+	 */
+	private void printLtlResult(Formula formula, LtlModelChecker checker, boolean holds) {
+		if(checker.getInconclusive()) {
+			frame.addTextToTextArea("Die Prüfung der LTL-Formel " + formula + " wurde ohne Ergebnis beendet (" + checker.getInconclusiveReason() + "). Untersuchte Produktzustände: " + checker.getExploredStates() + ".");
+		} else if(holds) {
+			frame.addTextToTextArea("Die LTL-Formel " + formula + " ist erfüllt. Untersuchte Produktzustände: " + checker.getExploredStates() + ".");
+		} else {
+			frame.addTextToTextArea("Die LTL-Formel " + formula + " ist nicht erfüllt.");
+			String prefix = "(";
+			for(String transition : checker.getLassoPrefix()) {
+				prefix = prefix + transition + ",";
+			}
+			prefix = (prefix.length() > 1 ? prefix.substring(0, prefix.length()-1) : prefix) + ")";
+			String cycle = "(";
+			for(String transition : checker.getLassoCycle()) {
+				cycle = cycle + transition + ",";
+			}
+			cycle = (cycle.length() > 1 ? cycle.substring(0, cycle.length()-1) : cycle) + ")";
+			frame.addTextToTextArea("Gegenbeispiel - Pfadlänge: " + checker.getLassoPrefix().size() + " Pfad: " + prefix + "; Zykluslänge: " + checker.getLassoCycle().size() + " Zyklus: " + cycle + " ab (" + checker.getLassoMarking() + ").");
+		}
+	}
+
+	/**
+	 * Prüft, ob die eingegebene Zielmarkierung ab der Anfangsmarkierung des geladenen Petrinetzes überdeckt werden kann.
+	 * Die Zielmarkierung wird mit dem {@link model.FormulaParser} eingelesen und mit dem {@link model.CoverabilityChecker} rückwärts geprüft,
+	 * sodass die Prüfung auch bei unbeschränkten Petrinetzen ohne Erreichbarkeitsgraph terminiert.
+	 * Die Prüfung läuft wie die Beschränktheitsanalyse in einem SwingWorker und kann mit dem Abbruch-Button abgebrochen werden.
+	 * Erreicht sie die Höchstzahl der Basiselemente ({@link model.CoverabilityChecker#DEFAULT_MAX_BASIS_ELEMENTS}), wird sie ohne Ergebnis beendet.
+	 * Ist die Zielmarkierung überdeckbar, wird die Schaltfolge wie der Pfad der Beschränktheitsanalyse im Textfeld des MainFrames ausgegeben.
+	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
+	 * @param text Zielmarkierung als Text, z.B. p1=2, p3=1.
+	 */
+	public void checkCoverability(String text) {
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				if(!petrinet.getPlaces().isEmpty()) {
+					try {
+						final Map<String, Integer> target = new FormulaParser(petrinet).parseMarking(text);
+						final CoverabilityChecker checker = new CoverabilityChecker(petrinet);
+						analysisRunning = true;
+						cancelAction = new Runnable() {
+							/**
+							 * Fordert den Abbruch der Prüfung an.
+							 */
+							public void run() {
+								checker.cancel();
+							}
+						};
+						SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
+							/**
+							 * Prüft die Überdeckbarkeit der Zielmarkierung.
+							 * @return Information, ob die Zielmarkierung überdeckbar ist.
+							 */
+							protected Boolean doInBackground() {
+								return checker.isCoverable(target);
+							}
+							
+							/**
+							 * Bringt nach Ende der Prüfung das Ergebnis bzw. die Schaltfolge auf das Textfeld des MainFrames.
+							 */
+							protected void done() {
+								analysisRunning = false;
+								cancelAction = null;
+								try {
+									printCoverabilityResult(target, checker, get());
+								} catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+									Throwable cause = e.getCause() == null ? e : e.getCause();
+									frame.addTextToTextArea("Fehler bei der Prüfung der Überdeckbarkeit: " + cause);
+								}
+								frame.checkFinished("Überdeckbarkeitsprüfung", checker.getInconclusive());
+							}
+						};
+						frame.checkStarted("Überdeckbarkeitsprüfung");
+						worker.execute();
+					} catch (IllegalArgumentException ex) {
+						frame.addTextToTextArea("Fehlerhafte Zielmarkierung: " + ex.getMessage());
+					}
+				} else {
+					frame.addTextToTextArea("Das Petrinetz muss mindestens eine Stelle besitzen.");
+				}
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
+		}
+	}
+
+	/**
+	 * Bringt das Ergebnis der Überdeckbarkeitsprüfung auf das Textfeld des MainFrames.
+	 * @param target Geprüfte Zielmarkierung.
+	 * @param checker CoverabilityChecker nach der Prüfung.
+	 * @param coverable Ergebnis der Prüfung.
+	 */
+	private void printCoverabilityResult(Map<String, Integer> target, CoverabilityChecker checker, boolean coverable) {
+		if(checker.getInconclusive()) {
+			frame.addTextToTextArea("Die Prüfung der Überdeckbarkeit von " + target + " wurde ohne Ergebnis beendet (" + checker.getInconclusiveReason() + "). Basiselemente: " + checker.getBasisElements() + ", verworfen: " + checker.getPrunedElements() + ".");
+		} else if(coverable) {
+			String path = "(";
+			for(String transition : checker.getWitness()) {
+				path = path + transition + ",";
+			}
+			path = (path.length() > 1 ? path.substring(0, path.length()-1) : path) + ")";
+			frame.addTextToTextArea("Die Markierung " + target + " ist überdeckbar - Pfadlänge: " + checker.getWitness().size() + " Pfad: " + path + " erreicht (" + checker.getCoveringMarking() + ").");
+		} else {
+			frame.addTextToTextArea("Die Markierung " + target + " ist nicht überdeckbar. Basiselemente: " + checker.getBasisElements() + ", verworfen: " + checker.getPrunedElements() + ".");
 		}
-		petrinet = petrinetHelp;
 	}
 
 	/**
@@ -360,30 +1068,59 @@ public class Controller {
 	 * @param id id des im Petrinetzes angeklickten Knotens.
 	 */
 	void clickNodeInPetrinetGraph(String id) {
-		if(!(petrinet == null)) {
-			petrinet.clickNodeInPetrinetGraph(id, allowMultiplePlaces);
-			updatePetrinetGraph();
-			updateReachabilityGraph();
-		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
-		}	
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				petrinet.clickNodeInPetrinetGraph(id, allowMultiplePlaces);
+				updatePetrinetGraph();
+				updateReachabilityGraph();
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}	
+		}
 	}
 	
 	/**
 	 * Ruft die Methode {@link model.Petrinet#clickNodeInReachabilityGraph(String)} auf.
 	 * Dadurch wird das Petrinetz auf die ausgewählte Markierung gesetzt und diese Markierung im Erreichbarkeitsgraph visuell hervorgehoben.
 	 * Aktualisiert anschließend die beiden im MainFrame abgebildeten Graphen.
+	 * Wird im Ausschnitt eines großen Erreichbarkeitsgraphen ein Sammelknoten angeklickt, wird stattdessen der Ausschnitt mit {@link #expandReachabilityWindow(String)} erweitert.
 	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
 	 * @param id id des im Erreichbarkeitsgraphen angeklickten Knotens / Markierung.
 	 */
 	void clickNodeInReachabilityGraph(String id) {
-		if(!(petrinet == null)) {
-			petrinet.clickNodeInReachabilityGraph(id);
-			updatePetrinetGraph();
-			updateReachabilityGraph();
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				if(id.startsWith(SUMMARY_PREFIX)) {
+					expandReachabilityWindow(id);
+				} else {
+					petrinet.clickNodeInReachabilityGraph(id);
+					updatePetrinetGraph();
+					updateReachabilityGraph();
+				}
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
+		}
+	}
+	
+	/**
+	 * Erweitert den angezeigten Ausschnitt des Erreichbarkeitsgraphen nach Klick auf einen Sammelknoten.
+	 * Beim Sammelknoten einer Markierung wird die Umgebung dieser Markierung zusätzlich angezeigt,
+	 * beim Sammelknoten der übrigen Markierungen umfasst der Ausschnitt einen Schritt mehr.
+	 * @param id id des angeklickten Sammelknotens.
+	 */
+	private void expandReachabilityWindow(String id) {
+		if(id.equals(REMAINING_SUMMARY_ID)) {
+			additionalReachabilityHops++;
 		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			String markingId = id.substring(SUMMARY_PREFIX.length());
+			expandedMarkings.remove(markingId);
+			expandedMarkings.add(markingId);
+			if(expandedMarkings.size() > WINDOW_MAXIMUM_EXPANDED) {
+				expandedMarkings.remove(expandedMarkings.iterator().next());
+			}
 		}
+		updateReachabilityGraph();
 	}
 	
 	/**
@@ -392,12 +1129,14 @@ public class Controller {
 	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
 	 */
 	public void deleteReachabilityGraph() {
-		if(!(petrinet == null)) {
-			petrinet.resetReachabilityNet();
-			drawPetrinetGraph();
-			drawReachabilityGraph();
-		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				petrinet.resetReachabilityNet();
+				drawPetrinetGraph();
+				drawReachabilityGraph();
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
 		}
 	}
 	
@@ -453,19 +1192,48 @@ public class Controller {
 	}
 	
 	/**
-	 * Zeichnet den Erreichbarkeitsgraphen in der Anfangsmarkierung.
+	 * Zeichnet den (partiellen) Erreichbarkeitsgraphen vollständig neu.
+	 * Leert dafür den Graphen und fügt alle Markierungen und Kanten des internen Modells hinzu.
+	 * Anschließend vermerkt das Modell seine Änderungen, sodass {@link #updateReachabilityGraph()} nur noch diese übernehmen muss.
+	 * Die Knoten erhalten vorläufige Positionen, das endgültige Layout wird mit {@link #startReachabilityLayout(Collection)} im Hintergrund berechnet.
+	 * Ist der Erreichbarkeitsgraph zu groß (siehe {@link #isReachabilityWindowActive()}), wird stattdessen mit {@link #drawReachabilityWindow()}
+	 * nur ein Ausschnitt um die aktuelle Markierung gezeichnet. Aufgeklappte Markierungen und zusätzliche Schritte werden dabei zurückgesetzt.
+	 * Der Hinweis auf den Ausschnitt wird nur beim Wechsel in die Darstellung als Ausschnitt ausgegeben, nicht bei jedem Neuzeichnen.
+	 * Der Aufbau wird als {@link FlightRecorderEvents.GraphRebuild} an den Java Flight Recorder gemeldet.
 	 */
 	private void drawReachabilityGraph() {
+		stopReachabilityLayout();
 		reachabilityGraph.clear();
+		shownNodes.clear();
+		shownEdges.clear();
+		windowShown = false;
+		expandedMarkings.clear();
+		additionalReachabilityHops = 0;
+		if(isReachabilityWindowActive()) {
+			if(!windowNoticeShown) {
+				frame.addTextToTextArea("Der Erreichbarkeitsgraph hat " + petrinet.getReachabilityMarkings().size() + " Markierungen. Angezeigt wird ein Ausschnitt von "
+						+ reachabilityHops + " Schritten um die aktuelle Markierung, Sammelknoten (+) lassen sich per Klick aufklappen.");
+				windowNoticeShown = true;
+			}
+			drawReachabilityWindow();
+			return;
+		}
+		windowNoticeShown = false;
+		FlightRecorderEvents.GraphRebuild event = new FlightRecorderEvents.GraphRebuild();
+		event.begin();
 		if(!(petrinet == null)) {
 			if(!petrinet.getPlaces().isEmpty()) {
-				Marking marking = petrinet.getInitialMarking();
-				Node n = reachabilityGraph.addNode(marking.getId());
-				n.addAttribute("ui.label", "("+marking.getId()+")");
-				n.addAttribute("ui.class", "initialHighlight");
+				for(Marking marking : petrinet.getReachabilityMarkings()) {
+					addReachabilityNode(marking);
+				}
+				for(MarkingConnector markingConnector : petrinet.getReachabilityMarkingConnectors()) {
+					addReachabilityEdge(markingConnector);
+				}
+				startReachabilityLayout(Collections.singletonList(petrinet.getInitialMarking().getId()));
+				petrinet.startRecordingReachabilityNetChanges();
 			}
-			
 		}
+		commitGraphRebuild(event, "zeichnen");
 	}
 	
 	/**
@@ -493,33 +1261,45 @@ public class Controller {
 	}
 	
 	/**
-	 * Übergibt die geladene PNML-Datei an den Parser und weist das dadurch erzeugte Petrinetz der Variable {@link #petrinet} zu.
+	 * Lädt die PNML-Datei über den {@link model.CompiledNetCache} und weist das dadurch erzeugte Petrinetz der Variable {@link #petrinet} zu.
+	 * Ist die Datei seit dem letzten Laden unverändert, wird das Netz aus der Cache-Datei gelesen, statt das XML erneut zu verarbeiten.
 	 * Zeichnet den Graphen des Petrinetzes und des Erreichbarkeitsgraphen für das so resultierende Petrinetz neu.
+	 * Der Hinweis auf den Ausschnitt eines großen Erreichbarkeitsgraphen wird für das neu geladene Netz wieder ausgegeben.
+	 * @return Information, ob die Datei geladen werden konnte (true) oder nicht (false).
 	 */
-	private void loadAndReload() {
+	private boolean loadAndReload() {
+		boolean loaded = false;
+		windowNoticeShown = false;
 		try {
-			PNMLParser parser = new PNMLParser(openFile);
-			petrinet = parser.getPetrinet();
+			petrinet = CompiledNetCache.load(openFile);
 			drawPetrinetGraph();
 			drawReachabilityGraph();
+			loaded = true;
+		} catch (IllegalArgumentException ex) {
+			frame.addTextToTextArea("Fehler beim Laden der Datei: " + ex.getMessage());
 		} catch (NullPointerException ex) {
 			frame.addTextToTextArea("Fehler beim Laden der Datei.");
 		}
-		
+		return loaded;
 	}
 	
 	/**
 	 * Laden einer PNML-Datei, Anlegen des Petrinetzes und Zeichnen des initialen Petrinetzes und Anfangsmarkierung des Erreichbarkeitsgraphen.
 	 * Nutzt dafür die private Hilfsmethode {@link #loadAndReload()}.
+	 * Gibt es zur Datei einen gespeicherten Erreichbarkeitsgraphen ({@link #restoreReachabilityGraph(String)}), wird dieser samt Ergebnis der Analyse angezeigt.
 	 * Speichert Datei-Name und Pfad im Controller
 	 * @param file Eingabedatei
 	 */
 	public void loadFile(File file) {
-		//setOpenFilePath(file.getAbsolutePath());
-		//System.out.println(file.getParent());
-		setOpenFilePath(file.getParent());
-		setOpenFile(file);
-		loadAndReload();
+		if(!isAnalysisRunning()) {
+			//setOpenFilePath(file.getAbsolutePath());
+			//System.out.println(file.getParent());
+			setOpenFilePath(file.getParent());
+			setOpenFile(file);
+			if(loadAndReload()) {
+				restoreReachabilityGraph(null);
+			}
+		}
 	}
 	
 	/**
@@ -528,10 +1308,12 @@ public class Controller {
 	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
 	 */
 	public void reloadFile() {
-		if(!(openFile == null)) {
-			loadAndReload();
-		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+		if(!isAnalysisRunning()) {
+			if(!(openFile == null)) {
+				loadAndReload();
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
 		}
 	}
 	
@@ -543,12 +1325,14 @@ public class Controller {
 	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
 	 */
 	public void removeTokensFromSelectedPlaces() {
-		if(!(petrinet == null)){
-			petrinet.changeTokensAtSelectedPlaces(-1);
-			updatePetrinetGraph();
-			drawReachabilityGraph();
-		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)){
+				petrinet.changeTokensAtSelectedPlaces(-1);
+				updatePetrinetGraph();
+				drawReachabilityGraph();
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
 		}
 	}
 	
@@ -560,12 +1344,14 @@ public class Controller {
 	 * Ist kein Petrinetz geladen erfolgt eine Ausgabe im Textfeld des MainFrames.
 	 */
 	public void resetPetrinet() {
-		if(!(petrinet == null)) {
-			petrinet.resetPetrinetToInitialMarking();
-			updatePetrinetGraph();
-			updateReachabilityGraph();
-		} else {
-			frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+		if(!isAnalysisRunning()) {
+			if(!(petrinet == null)) {
+				petrinet.resetPetrinetToInitialMarking();
+				updatePetrinetGraph();
+				updateReachabilityGraph();
+			} else {
+				frame.addTextToTextArea("Noch kein Petrinetz geladen.");
+			}
 		}
 	}
 	
@@ -601,6 +1387,83 @@ public class Controller {
 		}
 	}
 	
+	/**
+	 * Schaltet die Anzeige großer Erreichbarkeitsgraphen als Ausschnitt um die aktuelle Markierung ein oder aus.
+	 * Ist sie ausgeschaltet, wird der Erreichbarkeitsgraph unabhängig von seiner Größe vollständig gezeichnet.
+	 */
+	public void toggleLimitReachabilityGraph() {
+		limitReachabilityGraph = !limitReachabilityGraph;
+		frame.addTextToTextArea("Anzeige großer Erreichbarkeitsgraphen als Ausschnitt " + (limitReachabilityGraph ? "eingeschaltet." : "ausgeschaltet."));
+		if(!isAnalysisRunning()) {
+			drawReachabilityGraph();
+		}
+	}
+	
+	/**
+	 * Gibt die Anzahl der Schritte um die aktuelle Markierung zurück, die der Ausschnitt großer Erreichbarkeitsgraphen umfasst.
+	 * @return Anzahl der Schritte.
+	 */
+	public int getReachabilityHops() {
+		return reachabilityHops;
+	}
+	
+	/**
+	 * Legt die Anzahl der Schritte um die aktuelle Markierung fest, die der Ausschnitt großer Erreichbarkeitsgraphen umfasst, und zeichnet ihn neu.
+	 * Werte kleiner als 1 werden mit einer Ausgabe im Textfeld des MainFrames zurückgewiesen.
+	 * @param reachabilityHops Anzahl der Schritte.
+	 */
+	public void setReachabilityHops(int reachabilityHops) {
+		if(reachabilityHops >= 1) {
+			this.reachabilityHops = reachabilityHops;
+			frame.addTextToTextArea("Ausschnitt großer Erreichbarkeitsgraphen mit " + reachabilityHops + " Schritten um die aktuelle Markierung.");
+			if(!isAnalysisRunning()) {
+				drawReachabilityGraph();
+			}
+		} else {
+			frame.addTextToTextArea("Die Anzahl der Schritte muss mindestens 1 sein.");
+		}
+	}
+	
+	/**
+	 * Gibt die Anzahl der gleichzeitig laufenden Analysen bei der Analyse mehrerer Dateien zurück.
+	 * @return Anzahl der gleichzeitig laufenden Analysen.
+	 */
+	public int getBatchThreads() {
+		return batchThreads;
+	}
+	
+	/**
+	 * Legt die Anzahl der gleichzeitig laufenden Analysen bei der Analyse mehrerer Dateien fest.
+	 * Werte kleiner als 1 werden mit einer Ausgabe im Textfeld des MainFrames zurückgewiesen.
+	 * @param batchThreads Anzahl der gleichzeitig laufenden Analysen.
+	 */
+	public void setBatchThreads(int batchThreads) {
+		if(batchThreads >= 1) {
+			this.batchThreads = batchThreads;
+			frame.addTextToTextArea("Analyse mehrerer Dateien mit bis zu " + batchThreads + " parallelen Analysen.");
+		} else {
+			frame.addTextToTextArea("Die Anzahl paralleler Analysen muss mindestens 1 sein.");
+		}
+	}
+	
+	/**
+	 * Schaltet die Verwendung des Ergebniscaches bei der Analyse des geladenen Netzes und der Analyse mehrerer Dateien ein oder aus.
+	 * Ist er ausgeschaltet, wird jedes Netz analysiert. Die Ergebnisse werden dann auch nicht im Ergebniscache abgelegt.
+	 */
+	public void toggleUseResultCache() {
+		useResultCache = !useResultCache;
+		frame.addTextToTextArea("Ergebniscache " + (useResultCache ? "eingeschaltet." : "ausgeschaltet."));
+	}
+	
+	/**
+	 * Schaltet die Reduktion der Petrinetze vor der Analyse mehrerer Dateien ein oder aus.
+	 * Die Reduktion erhält die Beschränktheit, sodass das Ergebnis der Stapelanalyse unverändert bleibt.
+	 */
+	public void toggleUseNetReduction() {
+		useNetReduction = !useNetReduction;
+		frame.addTextToTextArea("Netzreduktion bei Analyse mehrerer Dateien " + (useNetReduction ? "eingeschaltet." : "ausgeschaltet."));
+	}
+	
 	/**
 	 * Aktualisiert den Graphen des Petrinetzes.
 	 * Lädt dafür alle Stellen und Transitionen des Petrinetzes und fügt sukzessive neue Attriobute hinzu.
@@ -631,6 +1494,28 @@ public class Controller {
 		}
 	}
 
+	/**
+	 * Hilfsmethode für {@link #drawReachabilityGraph()} und {@link #updateReachabilityGraph()}.
+	 * Fügt einen Knoten für die Markierung zum Erreichbarkeitsgraphen hinzu.
+	 * @param marking Markierung, für die ein Knoten hinzugefügt werden soll.
+	 */
+	private void addReachabilityNode(Marking marking) {
+		Node n = reachabilityGraph.addNode(marking.getId());
+		n.addAttribute("ui.label", "("+marking.getId()+")");
+		updateReachabilityNode(n, marking);
+	}
+	
+	/**
+	 * Hilfsmethode für {@link #drawReachabilityGraph()} und {@link #updateReachabilityGraph()}.
+	 * Fügt eine Kante zum Erreichbarkeitsgraphen hinzu. Die Knoten der Quell- und Zielmarkierung müssen bereits vorhanden sein.
+	 * @param markingConnector Kante des Erreichbarkeitsnetzes (aus dem Modell), für die eine Kante hinzugefügt werden soll.
+	 */
+	private void addReachabilityEdge(MarkingConnector markingConnector) {
+		Edge e = reachabilityGraph.addEdge(markingConnector.getId(), markingConnector.getMarkingBefore(), markingConnector.getMarkingBehind(), true);
+		e.addAttribute("ui.label", "["+markingConnector.getTransitionCaused()+"] " + petrinet.getTransition(markingConnector.getTransitionCaused()).getName());
+		updateReachabilityEdge(e, markingConnector);
+	}
+	
 	/**
 	 * Hilfsmethode für {@link #updateReachabilityGraph()}.
 	 * Fügt die jeweiligen Eigenschaften aus der Markierung hinzu.
@@ -683,40 +1568,293 @@ public class Controller {
 	
 	/**
 	 * Aktualisiert den Erreichbarkeitsgraphen. Nutzt dafür die Hilfsmethoden {@link #updateReachabilityNode(Node, Marking)} und {@link #updateReachabilityEdge(Edge, MarkingConnector)}.
-	 * Versucht für jede Markierung und jede Kante im Erreichbarkeitsnetz einen neuen Knoten bzw. eine neue Kante einzufügen.
-	 * Ist das jeweilige Element bereits vorhanden werden die Eigenschaften mit der passenden Hilfsmethode angepasst.
+	 * Übernimmt nur die Markierungen und Kanten, die das Modell seit dem letzten Abgleich als hinzugefügt oder verändert vermerkt hat
+	 * (neue Elemente sowie die zuvor und jetzt hervorgehobene Markierung bzw. Kante), sodass ein Klick unabhängig von der Größe des Graphen bleibt.
+	 * Fehlende Elemente werden hinzugefügt und neben einem Nachbarn eingereiht, bei vorhandenen werden die Eigenschaften angepasst.
+	 * Wurde der Erreichbarkeitsgraph im Modell seit dem letzten Abgleich neu erzeugt oder wechselt die Darstellung zwischen vollständigem Graphen und Ausschnitt,
+	 * wird er mit {@link #drawReachabilityGraph()} vollständig neu gezeichnet. Wird ein Ausschnitt angezeigt, wird dieser mit {@link #drawReachabilityWindow()} neu bestimmt.
+	 * Die Aktualisierung wird als {@link FlightRecorderEvents.GraphRebuild} an den Java Flight Recorder gemeldet.
 	 */
 	private void updateReachabilityGraph() {
 		if(!(petrinet == null)) {
-			if(!(petrinet.getReachabilityMarkings() == null)) {
-				for(Marking marking : petrinet.getReachabilityMarkings()) {
-					try {
-						Node n = reachabilityGraph.addNode(marking.getId());
-						n.addAttribute("ui.label", "("+marking.getId()+")");
-						updateReachabilityNode(n, marking);
-					} catch (org.graphstream.graph.IdAlreadyInUseException ex) {
-						Node n = reachabilityGraph.getNode(marking.getId());
+			if(!petrinet.isRecordingReachabilityNetChanges() || windowShown != isReachabilityWindowActive()) {
+				drawReachabilityGraph();
+			} else if(windowShown) {
+				drawReachabilityWindow();
+			} else {
+				FlightRecorderEvents.GraphRebuild event = new FlightRecorderEvents.GraphRebuild();
+				event.begin();
+				for(Marking marking : petrinet.getChangedReachabilityMarkings()) {
+					Node n = reachabilityGraph.getNode(marking.getId());
+					if(n == null) {
+						addReachabilityNode(marking);
+					} else {
 						n.removeAttribute("ui.class");
 						updateReachabilityNode(n, marking);
-					} catch (Exception ex) {
-						System.out.println(ex);
 					}
 				}
+				for(MarkingConnector markingConnector : petrinet.getChangedReachabilityMarkingConnectors()) {
+					Edge e = reachabilityGraph.getEdge(markingConnector.getId());
+					if(e == null) {
+						addReachabilityEdge(markingConnector);
+					} else {
+						updateReachabilityEdge(e, markingConnector);
+					}
+					placeReachabilityEdge(markingConnector.getMarkingBefore(), markingConnector.getMarkingBehind());
+				}
+				for(Marking marking : petrinet.getChangedReachabilityMarkings()) {
+					placeReachabilityNode(marking.getId(), null, true);
+				}
+				petrinet.startRecordingReachabilityNetChanges();
+				commitGraphRebuild(event, "aktualisieren");
 			}
-			if(!(petrinet.getReachabilityMarkingConnectors() == null)) {
-				for(MarkingConnector markingConnector : petrinet.getReachabilityMarkingConnectors()) {
+		}
+	}
+	
+	/**
+	 * Berechnet das Layout des gezeichneten Erreichbarkeitsgraphen (siehe {@link model.ReachabilityLayout}) in einem Hintergrund-Thread.
+	 * Bis dahin werden die Knoten vorläufig neben ihren Nachbarn eingereiht. Ist die Berechnung fertig, werden alle Positionen auf einmal übernommen
+	 * und inzwischen hinzugekommene Knoten neben ihren Nachbarn eingereiht. Eine noch laufende Berechnung wird abgebrochen.
+	 * @param rootIds ids der Knoten in der obersten Schicht, z.B. der Anfangsmarkierung.
+	 */
+	private void startReachabilityLayout(Collection<String> rootIds) {
+		stopReachabilityLayout();
+		final ReachabilityLayout layout = new ReachabilityLayout();
+		for(Node n : reachabilityGraph.getEachNode()) {
+			layout.addNode(n.getId());
+		}
+		for(Edge e : reachabilityGraph.getEachEdge()) {
+			layout.addEdge(e.getSourceNode().getId(), e.getTargetNode().getId());
+		}
+		final LinkedList<String> roots = new LinkedList<String>(rootIds);
+		reachabilityLayout = new ReachabilityLayout();
+		for(String id : roots) {
+			placeReachabilityNode(id, null, true);
+		}
+		placeReachabilityNodes();
+		layoutWorker = new SwingWorker<ReachabilityLayout, Void>() {
+			/**
+			 * Berechnet das Layout des Erreichbarkeitsgraphen.
+			 */
+			protected ReachabilityLayout doInBackground() {
+				layout.compute(roots);
+				return layout;
+			}
+			
+			/**
+			 * Übernimmt das berechnete Layout, sofern es inzwischen nicht durch ein neueres ersetzt wurde.
+			 */
+			protected void done() {
+				if(layoutWorker == this) {
+					layoutWorker = null;
 					try {
-						Edge e = reachabilityGraph.addEdge(markingConnector.getId(), markingConnector.getMarkingBefore(), markingConnector.getMarkingBehind(), true);
-						e.addAttribute("ui.label", "["+markingConnector.getTransitionCaused()+"] " + petrinet.getTransition(markingConnector.getTransitionCaused()).getName());
-						updateReachabilityEdge(e, markingConnector);
-					} catch (org.graphstream.graph.IdAlreadyInUseException ex) {
-						Edge e = reachabilityGraph.getEdge(markingConnector.getId());
-						updateReachabilityEdge(e, markingConnector);
-					} catch (Exception ex) {
-						System.out.println(ex);
+						reachabilityLayout = get();
+						for(Node n : reachabilityGraph.getEachNode()) {
+							double[] position = reachabilityLayout.getPosition(n.getId());
+							if(!(position == null)) {
+								n.addAttribute("xy", position[0], position[1]);
+							} else {
+								n.removeAttribute("xy");
+							}
+						}
+						placeReachabilityNodes();
+					} catch (InterruptedException | java.util.concurrent.ExecutionException e) {
+						Throwable cause = e.getCause() == null ? e : e.getCause();
+						frame.addTextToTextArea("Fehler beim Layout des Erreichbarkeitsgraphen: " + cause);
 					}
 				}
 			}
+		};
+		layoutWorker.execute();
+	}
+	
+	/**
+	 * Bricht eine laufende Berechnung des Layouts ab und verwirft die Positionen der Knoten, z.B. bevor der Erreichbarkeitsgraph geleert wird.
+	 */
+	private void stopReachabilityLayout() {
+		if(!(layoutWorker == null)) {
+			layoutWorker.cancel(true);
+			layoutWorker = null;
+		}
+		reachabilityLayout = null;
+	}
+	
+	/**
+	 * Reiht alle Knoten des gezeichneten Erreichbarkeitsgraphen ohne Position neben einem Nachbarn ein, Knoten ohne Nachbarn mit Position in Schicht 0.
+	 */
+	private void placeReachabilityNodes() {
+		for(Edge e : reachabilityGraph.getEachEdge()) {
+			placeReachabilityEdge(e.getSourceNode().getId(), e.getTargetNode().getId());
+		}
+		for(Node n : reachabilityGraph.getEachNode()) {
+			placeReachabilityNode(n.getId(), null, true);
+		}
+	}
+	
+	/**
+	 * Reiht den Quell- oder Zielknoten einer Kante neben dem anderen ein, sofern nur dieser eine Position hat.
+	 * @param sourceId id des Quellknotens.
+	 * @param targetId id des Zielknotens.
+	 */
+	private void placeReachabilityEdge(String sourceId, String targetId) {
+		placeReachabilityNode(targetId, sourceId, true);
+		placeReachabilityNode(sourceId, targetId, false);
+	}
+	
+	/**
+	 * Setzt die Position eines gezeichneten Knotens ohne Position. Kennt das Layout den Knoten bereits (z.B. weil er schon einmal im Ausschnitt lag),
+	 * erhält er seine frühere Position, sonst wird er mit {@link model.ReachabilityLayout#place(String, String, boolean)} eingereiht.
+	 * Knoten mit Position bleiben unverändert. Hat der angegebene Nachbar noch keine Position, geschieht nichts.
+	 * @param id id des Knotens.
+	 * @param neighbourId id des Nachbarn oder null, um den Knoten ohne Nachbarn einzureihen.
+	 * @param behind true, wenn der Knoten Nachfolger des Nachbarn ist, false, wenn er sein Vorgänger ist.
+	 */
+	private void placeReachabilityNode(String id, String neighbourId, boolean behind) {
+		if(!(reachabilityLayout == null)) {
+			Node n = reachabilityGraph.getNode(id);
+			if(!(n == null) && !n.hasAttribute("xy")) {
+				double[] position = reachabilityLayout.getPosition(id);
+				if(position == null && (neighbourId == null || !(reachabilityLayout.getPosition(neighbourId) == null))) {
+					position = reachabilityLayout.place(id, neighbourId, behind);
+				}
+				if(!(position == null)) {
+					n.addAttribute("xy", position[0], position[1]);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gibt an, ob der Erreichbarkeitsgraph nur als Ausschnitt angezeigt wird.
+	 * Das ist der Fall, wenn die Beschränkung eingeschaltet ist und der (partielle) Erreichbarkeitsgraph mehr als {@link #WINDOW_THRESHOLD} Markierungen hat.
+	 * @return true, wenn nur ein Ausschnitt angezeigt wird.
+	 */
+	private boolean isReachabilityWindowActive() {
+		if(limitReachabilityGraph && !(petrinet == null) && !petrinet.getPlaces().isEmpty()) {
+			LinkedList<Marking> markings = petrinet.getReachabilityMarkings();
+			return !(markings == null) && markings.size() > WINDOW_THRESHOLD;
+		}
+		return false;
+	}
+	
+	/**
+	 * Zeichnet einen Ausschnitt des Erreichbarkeitsgraphen um die aktuelle Markierung und die aufgeklappten Markierungen (siehe {@link model.ReachabilityWindow}).
+	 * Gegenüber dem zuletzt gezeichneten Ausschnitt werden nur die weggefallenen Knoten und Kanten entfernt und die neuen hinzugefügt,
+	 * die Eigenschaften der übrigen werden angepasst. Jede Markierung am Rand erhält einen Sammelknoten mit der Anzahl ihrer ausgeblendeten Nachbarn,
+	 * alle übrigen Markierungen werden in einem weiteren Sammelknoten gezählt. Der Aufwand hängt nur von der Größe des Ausschnitts ab.
+	 * Für einen neuen Ausschnitt wird das Layout mit {@link #startReachabilityLayout(Collection)} berechnet, danach hinzukommende Knoten werden
+	 * neben einem Nachbarn eingereiht, sodass die übrigen Knoten beim Verschieben des Ausschnitts ihre Position behalten.
+	 * Der Aufbau wird als {@link FlightRecorderEvents.GraphRebuild} an den Java Flight Recorder gemeldet.
+	 */
+	private void drawReachabilityWindow() {
+		FlightRecorderEvents.GraphRebuild event = new FlightRecorderEvents.GraphRebuild();
+		event.begin();
+		boolean newWindow = !windowShown;
+		if(newWindow) {
+			stopReachabilityLayout();
+			reachabilityGraph.clear();
+			shownNodes.clear();
+			shownEdges.clear();
+			windowShown = true;
+		}
+		LinkedList<String> centerIds = new LinkedList<String>();
+		if(!(petrinet.getCurrentMarking() == null)) {
+			centerIds.add(petrinet.getCurrentMarking().getId());
+		}
+		centerIds.addAll(expandedMarkings);
+		ReachabilityWindow window = petrinet.getReachabilityWindow(centerIds, reachabilityHops + additionalReachabilityHops, WINDOW_MAXIMUM_MARKINGS);
+		HashSet<String> nodes = new HashSet<String>();
+		HashSet<String> edges = new HashSet<String>();
+		for(Marking marking : window.getMarkings()) {
+			nodes.add(marking.getId());
+		}
+		for(MarkingConnector markingConnector : window.getMarkingConnectors()) {
+			edges.add(markingConnector.getId());
+		}
+		for(Marking marking : window.getHiddenNeighbours().keySet()) {
+			nodes.add(SUMMARY_PREFIX + marking.getId());
+			edges.add(SUMMARY_PREFIX + marking.getId());
+		}
+		if(window.getRemainingMarkings() > 0) {
+			nodes.add(REMAINING_SUMMARY_ID);
+		}
+		for(String id : shownEdges) {
+			if(!edges.contains(id)) {
+				reachabilityGraph.removeEdge(id);
+			}
+		}
+		for(String id : shownNodes) {
+			if(!nodes.contains(id)) {
+				reachabilityGraph.removeNode(id);
+			}
+		}
+		for(Marking marking : window.getMarkings()) {
+			Node n = reachabilityGraph.getNode(marking.getId());
+			if(n == null) {
+				addReachabilityNode(marking);
+			} else {
+				n.removeAttribute("ui.class");
+				updateReachabilityNode(n, marking);
+			}
+		}
+		for(MarkingConnector markingConnector : window.getMarkingConnectors()) {
+			Edge e = reachabilityGraph.getEdge(markingConnector.getId());
+			if(e == null) {
+				addReachabilityEdge(markingConnector);
+			} else {
+				updateReachabilityEdge(e, markingConnector);
+			}
+		}
+		for(Map.Entry<Marking, Integer> entry : window.getHiddenNeighbours().entrySet()) {
+			String id = SUMMARY_PREFIX + entry.getKey().getId();
+			Node n = reachabilityGraph.getNode(id);
+			if(n == null) {
+				n = reachabilityGraph.addNode(id);
+				n.addAttribute("ui.class", "summary");
+				Edge e = reachabilityGraph.addEdge(id, entry.getKey().getId(), id, false);
+				e.addAttribute("ui.class", "summary");
+			}
+			n.addAttribute("ui.label", SUMMARY_PREFIX + entry.getValue());
+		}
+		if(window.getRemainingMarkings() > 0) {
+			Node n = reachabilityGraph.getNode(REMAINING_SUMMARY_ID);
+			if(n == null) {
+				n = reachabilityGraph.addNode(REMAINING_SUMMARY_ID);
+				n.addAttribute("ui.class", "summary");
+			}
+			n.addAttribute("ui.label", SUMMARY_PREFIX + window.getRemainingMarkings() + " weitere");
+		}
+		if(newWindow) {
+			startReachabilityLayout(centerIds);
+		} else {
+			for(MarkingConnector markingConnector : window.getMarkingConnectors()) {
+				placeReachabilityEdge(markingConnector.getMarkingBefore(), markingConnector.getMarkingBehind());
+			}
+			for(Marking marking : window.getHiddenNeighbours().keySet()) {
+				placeReachabilityEdge(marking.getId(), SUMMARY_PREFIX + marking.getId());
+			}
+			for(String id : nodes) {
+				placeReachabilityNode(id, null, true);
+			}
+		}
+		shownNodes = nodes;
+		shownEdges = edges;
+		petrinet.startRecordingReachabilityNetChanges();
+		commitGraphRebuild(event, "ausschnitt");
+	}
+	
+	/**
+	 * Beendet ein Ereignis für den Aufbau des Erreichbarkeitsgraphen und meldet es mit der aktuellen Größe des Graphen an den Java Flight Recorder.
+	 * @param event Begonnenes Ereignis.
+	 * @param kind Art des Aufbaus.
+	 */
+	private void commitGraphRebuild(FlightRecorderEvents.GraphRebuild event, String kind) {
+		event.end();
+		if(event.shouldCommit()) {
+			event.kind = kind;
+			event.nodes = reachabilityGraph.getNodeCount();
+			event.edges = reachabilityGraph.getEdgeCount();
+			event.commit();
 		}
 	}
 }
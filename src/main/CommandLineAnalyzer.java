@@ -0,0 +1,473 @@
+package main;
+
+import model.*;
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+
+/**
+ * Kommandozeilen-Einstiegspunkt für die Beschränktheitsanalyse ohne grafische Oberfläche.
+ * Diese Klasse verwendet ausschließlich das Paket model, sodass weder AWT/Swing noch GraphStream geladen werden
+ * und die Analyse auch auf Rechnern ohne Anzeige läuft.
+ * <pre>
+ * java -cp ... main.CommandLineAnalyzer [--format json|csv] [--threads n] [--reduce] [--unordered] [--timeout s] [--max-memory mb] [--progress] [--no-cache]
+ *     [--result-cache ordner] [--result-cache-mb mb] [--no-result-cache] [--export-graph ordner] [--export-format dot|graphml|aut] datei|ordner|muster ...
+ * </pre>
+ * Ordner werden rekursiv nach PNML-Dateien durchsucht. Muster (z.B. {@code Beispiele/2*.pnml}) werden als Glob ausgewertet.
+ * Je Petrinetz wird ein Datensatz (eine JSON-Zeile bzw. eine CSV-Zeile) nach System.out geschrieben, sobald das Ergebnis vorliegt.
+ * Mit --timeout und --max-memory erhält jede Analyse ein {@link AnalysisBudget}. Erreicht eine Analyse die Grenze, lautet das Ergebnis "unentschieden"
+ * und der Datensatz enthält den Grund sowie die bis dahin gefundenen Knoten / Kanten und die höchste beobachtete Anzahl an Marken je Stelle.
+ * Eingelesene Netze werden im {@link CompiledNetCache} neben den PNML-Dateien abgelegt, sodass unveränderte Dateien beim nächsten Aufruf nicht erneut als XML gelesen werden.
+ * Mit --no-cache werden die PNML-Dateien immer eingelesen und keine Cache-Dateien geschrieben.
+ * Die Ergebnisse werden im {@link AnalysisResultCache} abgelegt (Standard: {@code ~/.petrinets/ergebnisse}), sodass bei wiederholten Aufrufen
+ * nur Netze analysiert werden, deren Struktur oder Anfangsmarkierung sich geändert hat. Mit --no-result-cache wird jedes Netz analysiert.
+ * Mit --export-graph wird der Erreichbarkeitsgraph jedes Netzes bereits während der Analyse mit dem {@link ReachabilityGraphExporter}
+ * in den angegebenen Ordner geschrieben (Format nach --export-format, Standard: dot), Unterordner der Eingabe werden dabei nachgebildet. Jedes Netz wird dann analysiert.
+ * Kann ein Graph nicht geschrieben werden, wird das Ergebnis der Analyse trotzdem ausgegeben und der Fehler auf System.err (bei JSON zusätzlich im Feld exportfehler) gemeldet.
+ * Meldungen erscheinen auf System.err. Der Rückgabewert ist 0, wenn alle Dateien analysiert werden konnten, 1 bei fehlerhaften Dateien, 2 bei falschen Parametern
+ * und 3, wenn alle Dateien analysiert, aber nicht alle Erreichbarkeitsgraphen geschrieben werden konnten.
+ * @author Hannes Wilms
+ *
+ */
+public class CommandLineAnalyzer {
+
+	/** Ausgabeformat JSON (eine Zeile je Petrinetz). */
+	private static final String JSON = "json";
+
+	/** Ausgabeformat CSV mit Kopfzeile. */
+	private static final String CSV = "csv";
+
+	/** Gewähltes Ausgabeformat. */
+	private String format = JSON;
+
+	/** Anzahl der gleichzeitig laufenden Analysen. */
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/** Information, ob die Netze vor der Analyse reduziert werden. */
+	private boolean useNetReduction = false;
+
+	/** Information, ob die Ergebnisse in der Reihenfolge der Dateien ausgegeben werden. */
+	private boolean ordered = true;
+
+	/** Zeitgrenze je Analyse in Sekunden oder 0 für keine Grenze. */
+	private long timeoutSeconds = 0;
+
+	/** Speichergrenze je Analyse in Megabyte oder 0 für keine Grenze. */
+	private long maxMemoryMegabytes = 0;
+
+	/** Information, ob der Fortschritt der Analysen auf System.err ausgegeben wird. */
+	private boolean progress = false;
+
+	/** Ordner des Ergebniscaches oder null, wenn kein Ergebniscache verwendet wird. */
+	private File resultCacheDirectory = AnalysisResultCache.getDefaultDirectory();
+
+	/** Obergrenze für die Größe des Ergebniscaches in Megabyte. */
+	private long resultCacheMegabytes = AnalysisResultCache.DEFAULT_MAXIMUM_BYTES / (1024 * 1024);
+
+	/** Ordner, in den die Erreichbarkeitsgraphen geschrieben werden, oder null. */
+	private File graphExportDirectory;
+
+	/** Format der geschriebenen Erreichbarkeitsgraphen. */
+	private String graphExportFormat = ReachabilityGraphExporter.DOT;
+
+	/** Zu analysierende Dateien. */
+	private LinkedList<File> files = new LinkedList<File>();
+
+	/** Ausgabe der Datensätze. */
+	private PrintStream out;
+
+	/** Anzahl der Dateien, die nicht analysiert werden konnten. */
+	private int errors = 0;
+
+	/** Anzahl der Dateien, deren Erreichbarkeitsgraph nicht geschrieben werden konnte. */
+	private int exportErrors = 0;
+
+	/**
+	 * Startet die Analyse mit den übergebenen Parametern und beendet die JVM mit dem Rückgabewert.
+	 * @param args Optionen sowie Dateien, Ordner oder Muster.
+	 */
+	public static void main(String[] args) {
+		System.exit(new CommandLineAnalyzer(System.out).run(args));
+	}
+
+	/**
+	 * Erzeugt einen neuen Kommandozeilen-Analysator.
+	 * @param out Ausgabe der Datensätze.
+	 */
+	public CommandLineAnalyzer(PrintStream out) {
+		this.out = out;
+	}
+
+	/**
+	 * Wertet die Parameter aus und analysiert alle gefundenen Dateien.
+	 * @param args Optionen sowie Dateien, Ordner oder Muster.
+	 * @return Rückgabewert (0 erfolgreich, 1 fehlerhafte Dateien, 2 falsche Parameter, 3 fehlgeschlagener Export).
+	 */
+	public int run(String[] args) {
+		try {
+			parseArguments(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			printUsage();
+			return 2;
+		}
+		if(files.isEmpty()) {
+			System.err.println("Keine PNML-Dateien gefunden.");
+			return 2;
+		}
+		if(format.equals(CSV)) {
+			out.println("datei;ergebnis;knoten;kanten;pfadlaenge;pfad;m;m_strich;dauer_ms;fehler;grund;max_marken");
+		}
+		BatchAnalysis batchAnalysis = new BatchAnalysis(files.toArray(new File[files.size()]), threads, useNetReduction);
+		AnalysisResultCache resultCache = null;
+		if(!(resultCacheDirectory == null)) {
+			resultCache = new AnalysisResultCache(resultCacheDirectory, resultCacheMegabytes * 1024 * 1024);
+			batchAnalysis.setResultCache(resultCache);
+		}
+		if(!(graphExportDirectory == null)) {
+			if(!graphExportDirectory.isDirectory() && !graphExportDirectory.mkdirs()) {
+				System.err.println("Ordner kann nicht angelegt werden: " + graphExportDirectory);
+				return 2;
+			}
+			batchAnalysis.setGraphExport(graphExportDirectory, graphExportFormat);
+		}
+		batchAnalysis.setBudget(new AnalysisBudget(timeoutSeconds * 1000, maxMemoryMegabytes));
+		if(progress) {
+			batchAnalysis.setAnalysisListener(new AnalysisListener() {
+				/**
+				 * Schreibt den Fortschritt einer laufenden Analyse als Zeile auf System.err.
+				 */
+				public void analysisProgress(AnalysisStatistics statistics) {
+					System.err.println(statistics);
+				}
+
+				/**
+				 * Schreibt die Endstatistik einer Analyse als Zeile auf System.err.
+				 */
+				public void analysisFinished(AnalysisStatistics statistics) {
+					System.err.println(statistics + " (beendet)");
+				}
+			});
+		}
+		try {
+			batchAnalysis.run(new BatchAnalysis.ResultHandler() {
+				/**
+				 * Schreibt den Datensatz des Ergebnisses sofort in die Ausgabe.
+				 */
+				public void resultAvailable(BatchAnalysis.Result result) {
+					printResult(result);
+				}
+			}, ordered);
+		} catch (InterruptedException e) {
+			System.err.println("Analyse abgebrochen.");
+			return 1;
+		}
+		if(!(resultCache == null)) {
+			System.err.println("Ergebniscache: " + resultCache.getHits() + " Treffer, " + resultCache.getMisses() + " Netze analysiert.");
+		}
+		if(errors > 0) {
+			return 1;
+		}
+		return exportErrors == 0 ? 0 : 3;
+	}
+
+	/**
+	 * Wertet die Optionen aus und sammelt die zu analysierenden Dateien.
+	 * @param args Optionen sowie Dateien, Ordner oder Muster.
+	 */
+	private void parseArguments(String[] args) {
+		for(int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if(arg.equals("--format")) {
+				format = value(args, ++i, arg).toLowerCase();
+				if(!format.equals(JSON) && !format.equals(CSV)) {
+					throw new IllegalArgumentException("Unbekanntes Format: " + format);
+				}
+			} else if(arg.equals("--threads")) {
+				try {
+					threads = Integer.parseInt(value(args, ++i, arg));
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("Ungültige Anzahl: " + args[i]);
+				}
+				if(threads < 1) {
+					throw new IllegalArgumentException("Die Anzahl paralleler Analysen muss mindestens 1 sein.");
+				}
+			} else if(arg.equals("--timeout")) {
+				timeoutSeconds = nonNegative(value(args, ++i, arg), arg);
+			} else if(arg.equals("--max-memory")) {
+				maxMemoryMegabytes = nonNegative(value(args, ++i, arg), arg);
+			} else if(arg.equals("--progress")) {
+				progress = true;
+			} else if(arg.equals("--reduce")) {
+				useNetReduction = true;
+			} else if(arg.equals("--unordered")) {
+				ordered = false;
+			} else if(arg.equals("--no-cache")) {
+				CompiledNetCache.setEnabled(false);
+			} else if(arg.equals("--result-cache")) {
+				resultCacheDirectory = new File(value(args, ++i, arg));
+			} else if(arg.equals("--result-cache-mb")) {
+				resultCacheMegabytes = nonNegative(value(args, ++i, arg), arg);
+			} else if(arg.equals("--no-result-cache")) {
+				resultCacheDirectory = null;
+			} else if(arg.equals("--export-graph")) {
+				graphExportDirectory = new File(value(args, ++i, arg));
+			} else if(arg.equals("--export-format")) {
+				graphExportFormat = value(args, ++i, arg).toLowerCase();
+				if(!graphExportFormat.equals(ReachabilityGraphExporter.DOT) && !graphExportFormat.equals(ReachabilityGraphExporter.GRAPHML)
+						&& !graphExportFormat.equals(ReachabilityGraphExporter.AUT)) {
+					throw new IllegalArgumentException("Unbekanntes Exportformat: " + graphExportFormat);
+				}
+			} else if(arg.startsWith("--")) {
+				throw new IllegalArgumentException("Unbekannte Option: " + arg);
+			} else {
+				collectFiles(arg);
+			}
+		}
+	}
+
+	/**
+	 * Gibt den Wert einer Option zurück.
+	 * @param args Alle Parameter.
+	 * @param index Position des Wertes.
+	 * @param option Name der Option.
+	 * @return Wert der Option.
+	 */
+	private String value(String[] args, int index, String option) {
+		if(index >= args.length) {
+			throw new IllegalArgumentException("Wert für " + option + " fehlt.");
+		}
+		return args[index];
+	}
+
+	/**
+	 * Gibt den Wert einer Option als nicht negative Zahl zurück.
+	 * @param value Wert der Option.
+	 * @param option Name der Option.
+	 * @return Zahl.
+	 */
+	private long nonNegative(String value, String option) {
+		long number;
+		try {
+			number = Long.parseLong(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Ungültiger Wert für " + option + ": " + value);
+		}
+		if(number < 0) {
+			throw new IllegalArgumentException("Der Wert für " + option + " darf nicht negativ sein.");
+		}
+		return number;
+	}
+
+	/**
+	 * Fügt die Dateien hinzu, die der Angabe entsprechen: eine Datei, alle PNML-Dateien eines Ordners (rekursiv) oder alle Dateien, die einem Muster entsprechen.
+	 * Die Dateien einer Angabe werden alphabetisch sortiert.
+	 * @param arg Datei, Ordner oder Muster.
+	 */
+	private void collectFiles(String arg) {
+		File file = new File(arg);
+		LinkedList<File> found = new LinkedList<File>();
+		if(file.isFile()) {
+			found.add(file);
+		} else if(file.isDirectory()) {
+			walk(file.toPath(), null, found);
+		} else if(arg.indexOf('*') >= 0 || arg.indexOf('?') >= 0 || arg.indexOf('[') >= 0 || arg.indexOf('{') >= 0) {
+			int firstWildcard = arg.length();
+			for(char c : new char[] {'*', '?', '[', '{'}) {
+				if(arg.indexOf(c) >= 0) {
+					firstWildcard = Math.min(firstWildcard, arg.indexOf(c));
+				}
+			}
+			int separator = Math.max(arg.lastIndexOf('/', firstWildcard), arg.lastIndexOf(File.separatorChar, firstWildcard));
+			Path base = Paths.get(separator < 0 ? "." : arg.substring(0, separator + 1));
+			PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + (separator < 0 ? arg : arg.substring(separator + 1)));
+			walk(base, matcher, found);
+		} else {
+			throw new IllegalArgumentException("Datei oder Ordner nicht gefunden: " + arg);
+		}
+		Collections.sort(found);
+		files.addAll(found);
+	}
+
+	/**
+	 * Durchsucht einen Ordner rekursiv nach Dateien.
+	 * @param base Ordner, der durchsucht wird.
+	 * @param matcher Muster für den Pfad relativ zum Ordner oder null für alle PNML-Dateien.
+	 * @param found Liste, der die gefundenen Dateien hinzugefügt werden.
+	 */
+	private void walk(final Path base, final PathMatcher matcher, final LinkedList<File> found) {
+		try {
+			Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
+				/**
+				 * Fügt die Datei hinzu, wenn sie dem Muster entspricht bzw. eine PNML-Datei ist.
+				 */
+				public FileVisitResult visitFile(Path path, BasicFileAttributes attributes) {
+					boolean matches = matcher == null ? path.getFileName().toString().toLowerCase().endsWith(".pnml") : matcher.matches(base.relativize(path));
+					if(matches) {
+						found.add(path.toFile());
+					}
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Ordner kann nicht gelesen werden: " + base + " (" + e.getMessage() + ")");
+		}
+	}
+
+	/**
+	 * Schreibt den Datensatz eines Ergebnisses im gewählten Format.
+	 * @param result Ergebnis der Analyse einer Datei.
+	 */
+	private void printResult(BatchAnalysis.Result result) {
+		BoundednessTestResult btr = result.getBoundednessTestResult();
+		String status;
+		String error = result.getError();
+		if(!(error == null)) {
+			status = "fehler";
+			errors++;
+		} else if(btr == null) {
+			status = "keine_stellen";
+		} else if(btr.getInconclusive()) {
+			status = "unentschieden";
+		} else {
+			status = btr.getUnbounded() ? "unbeschraenkt" : "beschraenkt";
+		}
+		String exportError = result.getExportError();
+		if(!(exportError == null)) {
+			exportErrors++;
+			System.err.println(result.getFile().getPath() + ": " + exportError);
+		}
+		LinkedList<String> path = new LinkedList<String>();
+		if(!(btr == null) && btr.getUnbounded()) {
+			for(MarkingConnector mc : btr.getPath()) {
+				path.add(mc.getTransitionCaused());
+			}
+		}
+		boolean inconclusive = !(btr == null) && btr.getInconclusive();
+		boolean bounded = !(btr == null) && !btr.getUnbounded() && !inconclusive;
+		boolean unbounded = !(btr == null) && btr.getUnbounded();
+		if(format.equals(JSON)) {
+			StringBuilder builder = new StringBuilder("{");
+			builder.append("\"datei\":").append(json(result.getFile().getPath()));
+			builder.append(",\"ergebnis\":").append(json(status));
+			if(bounded || inconclusive) {
+				builder.append(",\"knoten\":").append(btr.getNumberOfNodes());
+				builder.append(",\"kanten\":").append(btr.getNumberOfEdges());
+			}
+			if(unbounded) {
+				builder.append(",\"pfadlaenge\":").append(btr.getPathLength());
+				builder.append(",\"pfad\":[");
+				for(int i = 0; i < path.size(); i++) {
+					builder.append(i == 0 ? "" : ",").append(json(path.get(i)));
+				}
+				builder.append("]");
+				builder.append(",\"m\":").append(json(btr.getStart().getId()));
+				builder.append(",\"m_strich\":").append(json(btr.getEnd().getId()));
+			}
+			if(result.getRemovedPlaces() >= 0) {
+				builder.append(",\"entfernte_stellen\":").append(result.getRemovedPlaces());
+				builder.append(",\"entfernte_transitionen\":").append(result.getRemovedTransitions());
+			}
+			if(inconclusive) {
+				builder.append(",\"grund\":").append(json(btr.getInconclusiveReason()));
+			}
+			if(!(btr == null)) {
+				builder.append(",\"max_marken\":{");
+				int i = 0;
+				for(Map.Entry<String, Integer> entry : btr.getMaximumTokens().entrySet()) {
+					builder.append(i++ == 0 ? "" : ",").append(json(entry.getKey())).append(":").append(entry.getValue());
+				}
+				builder.append("}");
+			}
+			builder.append(",\"dauer_ms\":").append(result.getDurationMillis());
+			if(!(error == null)) {
+				builder.append(",\"fehler\":").append(json(error));
+			}
+			if(!(exportError == null)) {
+				builder.append(",\"exportfehler\":").append(json(exportError));
+			}
+			builder.append("}");
+			out.println(builder.toString());
+		} else {
+			StringBuilder maximumTokens = new StringBuilder();
+			if(!(btr == null)) {
+				for(Map.Entry<String, Integer> entry : btr.getMaximumTokens().entrySet()) {
+					maximumTokens.append(maximumTokens.length() == 0 ? "" : " ").append(entry.getKey()).append("=").append(entry.getValue());
+				}
+			}
+			String[] fields = {
+					result.getFile().getPath(),
+					status,
+					bounded || inconclusive ? String.valueOf(btr.getNumberOfNodes()) : "",
+					bounded || inconclusive ? String.valueOf(btr.getNumberOfEdges()) : "",
+					unbounded ? String.valueOf(btr.getPathLength()) : "",
+					String.join(" ", path),
+					unbounded ? btr.getStart().getId() : "",
+					unbounded ? btr.getEnd().getId() : "",
+					String.valueOf(result.getDurationMillis()),
+					error == null ? "" : error,
+					inconclusive ? btr.getInconclusiveReason() : "",
+					maximumTokens.toString()};
+			StringBuilder builder = new StringBuilder();
+			for(int i = 0; i < fields.length; i++) {
+				builder.append(i == 0 ? "" : ";").append(csv(fields[i]));
+			}
+			out.println(builder.toString());
+		}
+		out.flush();
+	}
+
+	/**
+	 * Gibt den Text als JSON-Zeichenkette mit Anführungszeichen zurück.
+	 * @param text Text.
+	 * @return JSON-Zeichenkette.
+	 */
+	private static String json(String text) {
+		StringBuilder builder = new StringBuilder("\"");
+		for(int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if(c == '"' || c == '\\') {
+				builder.append('\\').append(c);
+			} else if(c < 0x20) {
+				builder.append(String.format("\\u%04x", (int) c));
+			} else {
+				builder.append(c);
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	/**
+	 * Gibt den Text als CSV-Feld zurück. Felder mit Trennzeichen, Anführungszeichen oder Zeilenumbrüchen werden in Anführungszeichen gesetzt.
+	 * @param text Text.
+	 * @return CSV-Feld.
+	 */
+	private static String csv(String text) {
+		if(text.indexOf(';') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+			return "\"" + text.replace("\"", "\"\"") + "\"";
+		}
+		return text;
+	}
+
+	/**
+	 * Gibt die Beschreibung der Parameter auf System.err aus.
+	 */
+	private static void printUsage() {
+		System.err.println("Aufruf: main.CommandLineAnalyzer [--format json|csv] [--threads n] [--reduce] [--unordered] [--timeout s] [--max-memory mb] [--progress] [--no-cache]"
+				+ " [--result-cache ordner] [--result-cache-mb mb] [--no-result-cache] [--export-graph ordner] [--export-format dot|graphml|aut] datei|ordner|muster ...");
+		System.err.println("  --format     Ausgabeformat je Petrinetz (Standard: json)");
+		System.err.println("  --threads    Anzahl paralleler Analysen (Standard: Anzahl der Prozessoren)");
+		System.err.println("  --reduce     Petrinetze vor der Analyse reduzieren");
+		System.err.println("  --unordered  Ergebnisse in der Reihenfolge der Fertigstellung statt der Dateien ausgeben");
+		System.err.println("  --timeout    Zeitgrenze je Analyse in Sekunden, danach Ergebnis unentschieden (Standard: 0 = keine)");
+		System.err.println("  --max-memory Speichergrenze je Analyse in MB, danach Ergebnis unentschieden (Standard: 0 = keine)");
+		System.err.println("  --progress   Fortschritt der Analysen etwa viermal je Sekunde auf System.err ausgeben");
+		System.err.println("  --no-cache   PNML-Dateien immer neu einlesen und keine Cache-Dateien (.pnc) schreiben");
+		System.err.println("  --result-cache     Ordner des Ergebniscaches (Standard: ~/.petrinets/ergebnisse)");
+		System.err.println("  --result-cache-mb  Obergrenze des Ergebniscaches in MB, älteste Ergebnisse werden zuerst gelöscht (Standard: 64)");
+		System.err.println("  --no-result-cache  Jedes Netz analysieren, ohne den Ergebniscache zu verwenden");
+		System.err.println("  --export-graph     Erreichbarkeitsgraphen während der Analyse in diesen Ordner schreiben");
+		System.err.println("  --export-format    Format der Erreichbarkeitsgraphen: dot, graphml oder aut (Standard: dot)");
+	}
+}
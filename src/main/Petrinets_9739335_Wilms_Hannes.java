@@ -1,5 +1,6 @@
 package main;
 
+import model.AnalyzerMonitor;
 import view.MainFrame;
 
 /**
@@ -10,11 +11,17 @@ import view.MainFrame;
 public class Petrinets_9739335_Wilms_Hannes {
 
 	/**
-	 * Startet das Programm zur Darstellung und Analyse von Petrinetzen. Erzeugt einen {@link MainFrame}.
-	 * @param args
+	 * Startet das Programm zur Darstellung und Analyse von Petrinetzen. Erzeugt einen {@link MainFrame} und stellt den {@link AnalyzerMonitor} über JMX bereit.
+	 * Werden Parameter übergeben, wird stattdessen ohne grafische Oberfläche der {@link CommandLineAnalyzer} gestartet.
+	 * @param args Parameter für den {@link CommandLineAnalyzer} oder keine für die grafische Oberfläche.
 	 */
 	public static void main(String[] args) {
-		MainFrame frame = new MainFrame();
+		if(args.length > 0) {
+			CommandLineAnalyzer.main(args);
+		} else {
+			AnalyzerMonitor.getInstance();
+			MainFrame frame = new MainFrame();
+		}
 	}
 
 }
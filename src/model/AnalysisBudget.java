@@ -0,0 +1,69 @@
+package model;
+
+/**
+ * Diese Klasse beschreibt die Grenzen, innerhalb derer eine Beschränktheitsanalyse ({@link Petrinet#analysis(AnalysisBudget)}) ein Ergebnis liefern muss.
+ * Es kann eine Zeitgrenze und eine Speichergrenze festgelegt werden. Der Wert 0 steht jeweils für keine Grenze.
+ * Die Grenzen werden während der Analyse regelmäßig geprüft. Ist eine Grenze erreicht, endet die Analyse vorzeitig und
+ * das Ergebnis wird als nicht entschieden gekennzeichnet ({@link BoundednessTestResult#getInconclusive()}).
+ * Ein Budget enthält keinen Zustand und kann für beliebig viele, auch gleichzeitig laufende Analysen verwendet werden.
+ * @author Hannes Wilms
+ *
+ */
+public class AnalysisBudget {
+
+	/** Budget ohne Grenzen. Die Analyse läuft, bis ein Ergebnis vorliegt oder sie abgebrochen wird. */
+	public static final AnalysisBudget UNLIMITED = new AnalysisBudget(0, 0);
+
+	/** Zeitgrenze in Millisekunden oder 0, wenn keine Zeitgrenze besteht. */
+	private long timeLimitMillis;
+
+	/** Speichergrenze in Byte oder 0, wenn keine Speichergrenze besteht. */
+	private long memoryLimitBytes;
+
+	/**
+	 * Erzeugt ein neues Budget.
+	 * @param timeLimitMillis Zeitgrenze in Millisekunden oder 0, wenn keine Zeitgrenze bestehen soll.
+	 * @param memoryLimitMegabytes Speichergrenze in Megabyte oder 0, wenn keine Speichergrenze bestehen soll.
+	 * Gemessen wird der Zuwachs des belegten Heaps seit Beginn der Analyse. Laufen mehrere Analysen gleichzeitig,
+	 * zählt der Zuwachs aller Analysen, sodass die Grenze eher zu früh als zu spät erreicht wird.
+	 */
+	public AnalysisBudget(long timeLimitMillis, long memoryLimitMegabytes) {
+		if(timeLimitMillis < 0 || memoryLimitMegabytes < 0) {
+			throw new IllegalArgumentException("Grenzen dürfen nicht negativ sein.");
+		}
+		this.timeLimitMillis = timeLimitMillis;
+		this.memoryLimitBytes = memoryLimitMegabytes * 1024 * 1024;
+	}
+
+	/**
+	 * Gibt die Zeitgrenze zurück.
+	 * @return Zeitgrenze in Millisekunden oder 0, wenn keine Zeitgrenze besteht.
+	 */
+	public long getTimeLimitMillis() {
+		return timeLimitMillis;
+	}
+
+	/**
+	 * Gibt die Speichergrenze zurück.
+	 * @return Speichergrenze in Byte oder 0, wenn keine Speichergrenze besteht.
+	 */
+	public long getMemoryLimitBytes() {
+		return memoryLimitBytes;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob das Budget keine Grenzen enthält.
+	 * @return Information, ob weder Zeit- noch Speichergrenze bestehen (true) oder nicht (false).
+	 */
+	public boolean isUnlimited() {
+		return timeLimitMillis == 0 && memoryLimitBytes == 0;
+	}
+
+	/**
+	 * Gibt das Budget als Text zurück.
+	 * @return Text mit den Grenzen des Budgets.
+	 */
+	public String toString() {
+		return "Zeit: " + (timeLimitMillis == 0 ? "unbegrenzt" : timeLimitMillis + " ms") + ", Speicher: " + (memoryLimitBytes == 0 ? "unbegrenzt" : (memoryLimitBytes / 1024 / 1024) + " MB");
+	}
+}
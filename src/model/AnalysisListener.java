@@ -0,0 +1,23 @@
+package model;
+
+/**
+ * Schnittstelle zur Beobachtung einer laufenden Beschränktheitsanalyse ({@link Petrinet#analysis(AnalysisBudget)}).
+ * Die Methoden werden auf dem Thread der Analyse aufgerufen und sollten daher schnell zurückkehren.
+ * Soll eine grafische Oberfläche aktualisiert werden, muss dies an den Event-Dispatch-Thread weitergegeben werden.
+ * @author Hannes Wilms
+ *
+ */
+public interface AnalysisListener {
+
+	/**
+	 * Wird während der Analyse höchstens einmal je Meldeintervall ({@link Petrinet#setProgressInterval(long)}) aufgerufen.
+	 * @param statistics Momentaufnahme der Statistik der laufenden Analyse.
+	 */
+	void analysisProgress(AnalysisStatistics statistics);
+
+	/**
+	 * Wird einmal nach Ende der Analyse aufgerufen, auch wenn diese abgebrochen wurde oder ihr Budget erreicht hat.
+	 * @param statistics Statistik der beendeten Analyse.
+	 */
+	void analysisFinished(AnalysisStatistics statistics);
+}
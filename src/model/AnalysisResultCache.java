@@ -0,0 +1,400 @@
+package model;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Diese Klasse speichert die Ergebnisse von Beschränktheitsanalysen auf der Festplatte, sodass unveränderte Netze nicht erneut analysiert werden müssen.
+ * Schlüssel ist der {@link NetFingerprint} des eingelesenen Netzes (Struktur und Anfangsmarkierung), bei reduzierten Analysen ergänzt um ein Kennzeichen.
+ * Der Dateiname und der Inhalt der PNML-Datei spielen darüber hinaus keine Rolle, umbenannte oder nur in Namen und Koordinaten geänderte Netze werden wiedererkannt.
+ * <p>
+ * Gespeichert wird eine Zusammenfassung des {@link BoundednessTestResult}: Ergebnis, Anzahl der Knoten und Kanten, höchste Anzahl an Marken je Stelle
+ * und bei unbeschränkten Netzen der Pfad als Folge von Transitionen und Markierungen samt m und m'. Ergebnisse abgebrochener
+ * oder wegen des Budgets beendeter Analysen werden nicht gespeichert.
+ * <p>
+ * Jedes Ergebnis liegt in einer eigenen Datei im Ordner des Caches. Überschreitet die Größe aller Dateien die Obergrenze,
+ * werden die am längsten nicht verwendeten Ergebnisse gelöscht (LRU). Die letzte Verwendung wird über den Änderungszeitpunkt der Datei vermerkt
+ * und bleibt so über das Ende der Anwendung hinaus erhalten. Alle Methoden sind threadsicher.
+ * @author Hannes Wilms
+ *
+ */
+public class AnalysisResultCache {
+
+	/**
+	 * Ein aus dem Cache gelesenes Ergebnis.
+	 */
+	public static class Entry {
+
+		/** Ergebnis der Beschränktheitsanalyse. */
+		private BoundednessTestResult boundednessTestResult;
+
+		/** Anzahl der durch die Netzreduktion entfernten Stellen oder -1, wenn nicht reduziert wurde. */
+		private int removedPlaces;
+
+		/** Anzahl der durch die Netzreduktion entfernten Transitionen oder -1, wenn nicht reduziert wurde. */
+		private int removedTransitions;
+
+		/**
+		 * Erzeugt ein neues Ergebnis.
+		 * @param boundednessTestResult Ergebnis der Beschränktheitsanalyse.
+		 * @param removedPlaces Anzahl der entfernten Stellen oder -1.
+		 * @param removedTransitions Anzahl der entfernten Transitionen oder -1.
+		 */
+		Entry(BoundednessTestResult boundednessTestResult, int removedPlaces, int removedTransitions) {
+			this.boundednessTestResult = boundednessTestResult;
+			this.removedPlaces = removedPlaces;
+			this.removedTransitions = removedTransitions;
+		}
+
+		/**
+		 * Gibt das Ergebnis der Beschränktheitsanalyse zurück.
+		 * @return Ergebnis der Beschränktheitsanalyse.
+		 */
+		public BoundednessTestResult getBoundednessTestResult() {
+			return boundednessTestResult;
+		}
+
+		/**
+		 * Gibt die Anzahl der durch die Netzreduktion entfernten Stellen zurück.
+		 * @return Anzahl der entfernten Stellen oder -1, wenn nicht reduziert wurde.
+		 */
+		public int getRemovedPlaces() {
+			return removedPlaces;
+		}
+
+		/**
+		 * Gibt die Anzahl der durch die Netzreduktion entfernten Transitionen zurück.
+		 * @return Anzahl der entfernten Transitionen oder -1, wenn nicht reduziert wurde.
+		 */
+		public int getRemovedTransitions() {
+			return removedTransitions;
+		}
+	}
+
+	/** Standardobergrenze für die Größe aller Ergebnisdateien in Byte. */
+	public static final long DEFAULT_MAXIMUM_BYTES = 64L * 1024 * 1024;
+
+	/** Endung der Ergebnisdateien. */
+	private static final String SUFFIX = ".erg";
+
+	/** Kennung am Anfang jeder Ergebnisdatei ("ERG1"). */
+	private static final int MAGIC = 0x45524731;
+
+	/** Version des Formats. */
+	private static final int VERSION = 1;
+
+	/** Ordner des Caches. */
+	private File directory;
+
+	/** Obergrenze für die Größe aller Ergebnisdateien in Byte. */
+	private long maximumBytes;
+
+	/** Größe der Ergebnisdateien je Schlüssel, geordnet von der am längsten nicht verwendeten zur zuletzt verwendeten Datei. Wird beim ersten Zugriff aus dem Ordner gelesen. */
+	private LinkedHashMap<String, Long> entries;
+
+	/** Summe der Größen aller Ergebnisdateien in Byte. */
+	private long totalBytes = 0;
+
+	/** Anzahl der gefundenen Ergebnisse. */
+	private long hits = 0;
+
+	/** Anzahl der nicht gefundenen Ergebnisse. */
+	private long misses = 0;
+
+	/**
+	 * Erzeugt einen Cache im übergebenen Ordner. Der Ordner wird bei Bedarf angelegt.
+	 * @param directory Ordner des Caches.
+	 * @param maximumBytes Obergrenze für die Größe aller Ergebnisdateien in Byte.
+	 */
+	public AnalysisResultCache(File directory, long maximumBytes) {
+		this.directory = directory;
+		this.maximumBytes = maximumBytes;
+	}
+
+	/**
+	 * Gibt den Standardordner des Caches im Benutzerverzeichnis zurück.
+	 * @return Ordner .petrinets/ergebnisse im Benutzerverzeichnis.
+	 */
+	public static File getDefaultDirectory() {
+		return new File(new File(System.getProperty("user.home"), ".petrinets"), "ergebnisse");
+	}
+
+	/**
+	 * Gibt den Schlüssel eines Petrinetzes zurück.
+	 * @param petrinet Eingelesenes Petrinetz.
+	 * @param reduced Information, ob das Ergebnis mit vorheriger Netzreduktion ermittelt wird.
+	 * @return Schlüssel aus Fingerabdruck und ggf. Kennzeichen der Reduktion.
+	 */
+	public static String key(Petrinet petrinet, boolean reduced) {
+		return NetFingerprint.of(petrinet) + (reduced ? "-reduziert" : "");
+	}
+
+	/**
+	 * Sucht das Ergebnis zum Schlüssel. Ein gefundenes Ergebnis gilt als zuletzt verwendet.
+	 * Beschädigte Ergebnisdateien werden gelöscht und als nicht gefunden behandelt.
+	 * @param key Schlüssel aus {@link #key(Petrinet, boolean)}.
+	 * @param name Name des Petrinetzes, der in das Ergebnis eingetragen wird.
+	 * @return Ergebnis oder null, wenn es nicht im Cache liegt.
+	 */
+	public synchronized Entry get(String key, String name) {
+		Entry entry = null;
+		if(getEntries().containsKey(key)) {
+			File file = file(key);
+			try {
+				DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+				try {
+					entry = read(in, key, name);
+				} finally {
+					in.close();
+				}
+				file.setLastModified(System.currentTimeMillis());
+				entries.get(key);
+			} catch (IOException e) {
+				remove(key);
+			} catch (RuntimeException e) {
+				remove(key);
+			}
+		}
+		if(entry == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return entry;
+	}
+
+	/**
+	 * Legt das Ergebnis einer Analyse im Cache ab, sofern die Analyse ein Ergebnis geliefert hat.
+	 * Danach werden so lange die am längsten nicht verwendeten Ergebnisse gelöscht, bis die Obergrenze eingehalten ist.
+	 * Fehler beim Schreiben werden ignoriert, das Ergebnis wird dann beim nächsten Mal erneut berechnet.
+	 * @param key Schlüssel aus {@link #key(Petrinet, boolean)}.
+	 * @param boundednessTestResult Ergebnis der Beschränktheitsanalyse.
+	 * @param removedPlaces Anzahl der durch die Netzreduktion entfernten Stellen oder -1.
+	 * @param removedTransitions Anzahl der durch die Netzreduktion entfernten Transitionen oder -1.
+	 */
+	public synchronized void put(String key, BoundednessTestResult boundednessTestResult, int removedPlaces, int removedTransitions) {
+		if(!boundednessTestResult.getInconclusive()) {
+			getEntries();
+			File temporary = null;
+			try {
+				directory.mkdirs();
+				temporary = File.createTempFile(key, ".tmp", directory);
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)));
+				try {
+					write(out, key, boundednessTestResult, removedPlaces, removedTransitions);
+				} finally {
+					out.close();
+				}
+				long size = temporary.length();
+				try {
+					Files.move(temporary.toPath(), file(key).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temporary.toPath(), file(key).toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				Long previous = entries.remove(key);
+				if(!(previous == null)) {
+					totalBytes -= previous;
+				}
+				entries.put(key, size);
+				totalBytes += size;
+				evict();
+			} catch (IOException e) {
+				// Ohne Eintrag wird das Netz beim nächsten Mal erneut analysiert.
+				if(!(temporary == null)) {
+					temporary.delete();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gibt die Anzahl der gefundenen Ergebnisse seit Erzeugung des Caches zurück.
+	 * @return Anzahl der Treffer.
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Gibt die Anzahl der nicht gefundenen Ergebnisse seit Erzeugung des Caches zurück.
+	 * @return Anzahl der Fehlschläge.
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Gibt die Ergebnisdateien in der Reihenfolge ihrer Verwendung zurück und liest sie beim ersten Zugriff aus dem Ordner.
+	 * @return Größe der Ergebnisdateien je Schlüssel.
+	 */
+	private LinkedHashMap<String, Long> getEntries() {
+		if(entries == null) {
+			entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+			File[] files = directory.listFiles();
+			if(!(files == null)) {
+				Arrays.sort(files, new Comparator<File>() {
+					/**
+					 * Ordnet die Dateien nach dem Zeitpunkt der letzten Verwendung, die älteste zuerst.
+					 */
+					public int compare(File a, File b) {
+						return Long.compare(a.lastModified(), b.lastModified());
+					}
+				});
+				for(File file : files) {
+					if(file.getName().endsWith(SUFFIX)) {
+						String key = file.getName().substring(0, file.getName().length() - SUFFIX.length());
+						entries.put(key, file.length());
+						totalBytes += file.length();
+					}
+				}
+			}
+			evict();
+		}
+		return entries;
+	}
+
+	/**
+	 * Löscht die am längsten nicht verwendeten Ergebnisse, bis die Obergrenze eingehalten ist. Das zuletzt verwendete Ergebnis bleibt immer erhalten.
+	 */
+	private void evict() {
+		Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+		while(totalBytes > maximumBytes && entries.size() > 1 && it.hasNext()) {
+			Map.Entry<String, Long> eldest = it.next();
+			file(eldest.getKey()).delete();
+			totalBytes -= eldest.getValue();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Entfernt ein Ergebnis aus dem Cache und löscht seine Datei.
+	 * @param key Schlüssel des Ergebnisses.
+	 */
+	private void remove(String key) {
+		Long size = entries.remove(key);
+		if(!(size == null)) {
+			totalBytes -= size;
+		}
+		file(key).delete();
+	}
+
+	/**
+	 * Gibt die Ergebnisdatei zum Schlüssel zurück.
+	 * @param key Schlüssel des Ergebnisses.
+	 * @return Datei im Ordner des Caches.
+	 */
+	private File file(String key) {
+		return new File(directory, key + SUFFIX);
+	}
+
+	/**
+	 * Schreibt die Zusammenfassung eines Ergebnisses.
+	 * @param out Ausgabe.
+	 * @param key Schlüssel des Ergebnisses.
+	 * @param btr Ergebnis der Beschränktheitsanalyse.
+	 * @param removedPlaces Anzahl der entfernten Stellen oder -1.
+	 * @param removedTransitions Anzahl der entfernten Transitionen oder -1.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	private static void write(DataOutputStream out, String key, BoundednessTestResult btr, int removedPlaces, int removedTransitions) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeUTF(key);
+		out.writeBoolean(btr.getUnbounded());
+		out.writeInt(btr.getNumberOfNodes());
+		out.writeInt(btr.getNumberOfEdges());
+		out.writeInt(removedPlaces);
+		out.writeInt(removedTransitions);
+		writeTokens(out, btr.getMaximumTokens());
+		if(btr.getUnbounded()) {
+			writeTokens(out, btr.getStart().getScoreSheet());
+			writeTokens(out, btr.getEnd().getScoreSheet());
+			out.writeInt(btr.getPath().size());
+			for(MarkingConnector markingConnector : btr.getPath()) {
+				out.writeUTF(markingConnector.getMarkingBefore());
+				out.writeUTF(markingConnector.getTransitionCaused());
+				out.writeUTF(markingConnector.getMarkingBehind());
+			}
+		}
+	}
+
+	/**
+	 * Liest die Zusammenfassung eines Ergebnisses.
+	 * @param in Eingabe.
+	 * @param key Erwarteter Schlüssel.
+	 * @param name Name des Petrinetzes.
+	 * @return Ergebnis oder null, wenn die Datei zu einem anderen Schlüssel oder einer anderen Formatversion gehört.
+	 * @throws IOException wenn nicht gelesen werden kann.
+	 */
+	private static Entry read(DataInputStream in, String key, String name) throws IOException {
+		Entry entry = null;
+		if(in.readInt() == MAGIC && in.readInt() == VERSION && in.readUTF().equals(key)) {
+			BoundednessTestResult btr = new BoundednessTestResult();
+			btr.setName(name);
+			btr.setUnbounded(in.readBoolean());
+			btr.setNumberOfNodes(in.readInt());
+			btr.setNumberOfEdges(in.readInt());
+			int removedPlaces = in.readInt();
+			int removedTransitions = in.readInt();
+			btr.setMaximumTokens(readTokens(in));
+			if(btr.getUnbounded()) {
+				btr.setStart(toMarking(readTokens(in)));
+				btr.setEnd(toMarking(readTokens(in)));
+				LinkedList<MarkingConnector> path = new LinkedList<MarkingConnector>();
+				int pathLength = in.readInt();
+				for(int i = 0; i < pathLength; i++) {
+					String before = in.readUTF();
+					String transition = in.readUTF();
+					path.add(new MarkingConnector(before, in.readUTF(), transition));
+				}
+				btr.setPath(path);
+			}
+			entry = new Entry(btr, removedPlaces, removedTransitions);
+		}
+		return entry;
+	}
+
+	/**
+	 * Schreibt Marken je Stelle.
+	 * @param out Ausgabe.
+	 * @param tokens Marken je Stelle.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	private static void writeTokens(DataOutputStream out, Map<String, Integer> tokens) throws IOException {
+		out.writeInt(tokens.size());
+		for(Map.Entry<String, Integer> entry : tokens.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeInt(entry.getValue());
+		}
+	}
+
+	/**
+	 * Liest Marken je Stelle in der gespeicherten Reihenfolge.
+	 * @param in Eingabe.
+	 * @return Marken je Stelle.
+	 * @throws IOException wenn nicht gelesen werden kann.
+	 */
+	private static LinkedHashMap<String, Integer> readTokens(DataInputStream in) throws IOException {
+		LinkedHashMap<String, Integer> tokens = new LinkedHashMap<String, Integer>();
+		int size = in.readInt();
+		for(int i = 0; i < size; i++) {
+			String place = in.readUTF();
+			tokens.put(place, in.readInt());
+		}
+		return tokens;
+	}
+
+	/**
+	 * Erzeugt eine Markierung aus Marken je Stelle.
+	 * @param tokens Marken je Stelle.
+	 * @return Markierung.
+	 */
+	private static Marking toMarking(Map<String, Integer> tokens) {
+		Marking marking = new Marking();
+		for(Map.Entry<String, Integer> entry : tokens.entrySet()) {
+			marking.addEntry(entry.getKey(), entry.getValue());
+		}
+		return marking;
+	}
+}
@@ -0,0 +1,153 @@
+package model;
+
+/**
+ * Diese Klasse stellt eine Momentaufnahme der Statistik einer Beschränktheitsanalyse dar.
+ * Sie wird von der Analyse an die registrierten {@link AnalysisListener} übergeben und ändert sich danach nicht mehr.
+ * @author Hannes Wilms
+ *
+ */
+public class AnalysisStatistics {
+
+	/** Name des analysierten Petrinetzes. */
+	private String name;
+
+	/** Anzahl der bisher gefundenen Markierungen (Knoten). */
+	private int markings;
+
+	/** Anzahl der bisher gefundenen Kanten. */
+	private int connections;
+
+	/** Anzahl der Markierungen auf dem Stack der Tiefensuche, also die Länge des aktuell untersuchten Pfades. */
+	private int stackSize;
+
+	/** Länge des bisher längsten untersuchten Pfades. */
+	private int maximumDepth;
+
+	/** Anzahl der bisher geschalteten Transitionen. */
+	private long successors;
+
+	/** Anzahl der geschalteten Transitionen, die zu einer bereits bekannten Markierung geführt haben. */
+	private long duplicateHits;
+
+	/** Zuwachs des belegten Heaps seit Beginn der Analyse in Byte. */
+	private long usedBytes;
+
+	/** Seit Beginn der Analyse vergangene Zeit in Millisekunden. */
+	private long elapsedMillis;
+
+	/**
+	 * Erzeugt eine neue Momentaufnahme.
+	 * @param name Name des analysierten Petrinetzes.
+	 * @param markings Anzahl der bisher gefundenen Markierungen.
+	 * @param connections Anzahl der bisher gefundenen Kanten.
+	 * @param stackSize Länge des aktuell untersuchten Pfades.
+	 * @param maximumDepth Länge des bisher längsten untersuchten Pfades.
+	 * @param successors Anzahl der bisher geschalteten Transitionen.
+	 * @param duplicateHits Anzahl der geschalteten Transitionen, die zu einer bereits bekannten Markierung geführt haben.
+	 * @param usedBytes Zuwachs des belegten Heaps seit Beginn der Analyse in Byte.
+	 * @param elapsedMillis Seit Beginn der Analyse vergangene Zeit in Millisekunden.
+	 */
+	AnalysisStatistics(String name, int markings, int connections, int stackSize, int maximumDepth, long successors, long duplicateHits, long usedBytes, long elapsedMillis) {
+		this.name = name;
+		this.markings = markings;
+		this.connections = connections;
+		this.stackSize = stackSize;
+		this.maximumDepth = maximumDepth;
+		this.successors = successors;
+		this.duplicateHits = duplicateHits;
+		this.usedBytes = usedBytes;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * Gibt den Namen des analysierten Petrinetzes zurück.
+	 * @return Name des Petrinetzes.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Gibt die Anzahl der bisher gefundenen Markierungen (Knoten des Erreichbarkeitsgraphen) zurück.
+	 * @return Anzahl der Markierungen.
+	 */
+	public int getMarkings() {
+		return markings;
+	}
+
+	/**
+	 * Gibt die Anzahl der bisher gefundenen Kanten des Erreichbarkeitsgraphen zurück.
+	 * @return Anzahl der Kanten.
+	 */
+	public int getConnections() {
+		return connections;
+	}
+
+	/**
+	 * Gibt die Anzahl der Markierungen auf dem Stack der Tiefensuche zurück. Dies entspricht der Länge des aktuell untersuchten Pfades.
+	 * @return Größe des Stacks.
+	 */
+	public int getStackSize() {
+		return stackSize;
+	}
+
+	/**
+	 * Gibt die Länge des bisher längsten untersuchten Pfades zurück.
+	 * @return Größte Tiefe der Tiefensuche.
+	 */
+	public int getMaximumDepth() {
+		return maximumDepth;
+	}
+
+	/**
+	 * Gibt den Anteil der geschalteten Transitionen zurück, die zu einer bereits bekannten Markierung geführt haben.
+	 * @return Anteil zwischen 0 und 1 oder 0, wenn noch keine Transition geschaltet wurde.
+	 */
+	public double getDuplicateHitRatio() {
+		return successors == 0 ? 0 : (double) duplicateHits / successors;
+	}
+
+	/**
+	 * Gibt den Zuwachs des belegten Heaps seit Beginn der Analyse zurück. Dieser entspricht im Wesentlichen dem Speicher des Erreichbarkeitsgraphen.
+	 * Der Wert schwankt mit der Speicherbereinigung und ist zu hoch, wenn gleichzeitig weitere Analysen laufen.
+	 * @return Zuwachs des belegten Heaps in Byte, mindestens 0.
+	 */
+	public long getUsedBytes() {
+		return Math.max(0, usedBytes);
+	}
+
+	/**
+	 * Gibt eine Schätzung des Speicherbedarfs je Markierung zurück.
+	 * Geschätzt wird aus dem Zuwachs des belegten Heaps seit Beginn der Analyse. Der Wert schwankt daher mit der Speicherbereinigung
+	 * und ist zu hoch, wenn gleichzeitig weitere Analysen laufen.
+	 * @return Geschätzter Speicherbedarf je Markierung in Byte.
+	 */
+	public long getEstimatedBytesPerMarking() {
+		return markings == 0 ? 0 : Math.max(0, usedBytes) / markings;
+	}
+
+	/**
+	 * Gibt die seit Beginn der Analyse vergangene Zeit zurück.
+	 * @return Vergangene Zeit in Millisekunden.
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * Gibt die Anzahl der je Sekunde gefundenen Markierungen zurück.
+	 * @return Markierungen je Sekunde.
+	 */
+	public long getMarkingsPerSecond() {
+		return markings * 1000L / Math.max(1, elapsedMillis);
+	}
+
+	/**
+	 * Gibt die Momentaufnahme als einzeiligen Text zurück.
+	 * @return Text mit allen Werten der Momentaufnahme.
+	 */
+	public String toString() {
+		return name + ": Knoten: " + markings + ", Kanten: " + connections + ", Stack: " + stackSize + ", max. Tiefe: " + maximumDepth
+				+ ", Duplikate: " + Math.round(getDuplicateHitRatio() * 100) + " %, ca. " + getEstimatedBytesPerMarking() + " Byte/Knoten, " + elapsedMillis + " ms";
+	}
+}
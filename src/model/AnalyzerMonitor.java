@@ -0,0 +1,414 @@
+package model;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Diese Klasse beobachtet alle Beschränktheitsanalysen der Anwendung und stellt deren Kennzahlen über JMX bereit ({@link AnalyzerMonitorMBean}).
+ * Es gibt genau ein Objekt dieser Klasse je JVM ({@link #getInstance()}), das beim ersten Zugriff unter dem Namen {@link #OBJECT_NAME}
+ * beim MBeanServer der Plattform registriert wird. Die Werte sind damit z.B. mit jconsole über eine lokale Verbindung lesbar.
+ * Analysen werden beobachtet, wenn sie über {@link #analyse(Petrinet, AnalysisBudget)} (bzw. {@link #prepare(Petrinet)} und
+ * {@link #analysePrepared(Petrinet, AnalysisBudget)}, wenn die Analyse in einem anderen Thread läuft als ihre Vorbereitung) gestartet werden.
+ * Die Werte der laufenden Analysen werden bei jeder Abfrage direkt aus dem Petrinetz gelesen ({@link Petrinet#getAnalysisStatistics()}),
+ * sodass die Beobachtung während der Analyse keinen Aufwand verursacht.
+ * @author Hannes Wilms
+ *
+ */
+public class AnalyzerMonitor implements AnalyzerMonitorMBean {
+
+	/** Name, unter dem der Monitor beim MBeanServer registriert wird. */
+	public static final String OBJECT_NAME = "petrinets:type=AnalyzerMonitor";
+
+	/** Anzahl der zuletzt beendeten Analysen, über deren Dauer Median und Perzentile gebildet werden. */
+	private static final int DURATION_WINDOW = 1024;
+
+	/** Einziges Objekt dieser Klasse oder null, solange nicht darauf zugegriffen wurde. */
+	private static AnalyzerMonitor instance;
+
+	/** Gerade analysierte Petrinetze in der Reihenfolge, in der die Analysen begonnen haben. */
+	private ConcurrentLinkedQueue<Petrinet> running = new ConcurrentLinkedQueue<Petrinet>();
+
+	/** Thread-Pools der laufenden Stapelanalysen. */
+	private CopyOnWriteArrayList<ThreadPoolExecutor> workerPools = new CopyOnWriteArrayList<ThreadPoolExecutor>();
+
+	/** Dauer der zuletzt beendeten Analysen in Millisekunden (Ringpuffer). */
+	private long[] durations = new long[DURATION_WINDOW];
+
+	/** Anzahl der beendeten Analysen. */
+	private long analyzedNets;
+
+	/** Anzahl der abgebrochenen Analysen. */
+	private long cancelledAnalyses;
+
+	/** Anzahl der Analysen ohne Ergebnis wegen einer Zeit- oder Speichergrenze. */
+	private long inconclusiveAnalyses;
+
+	/** Anzahl der fehlgeschlagenen Analysen. */
+	private long failedAnalyses;
+
+	/** Summe der Dauer aller beendeten Analysen in Millisekunden. */
+	private long totalDurationMillis;
+
+	/** Längste Dauer aller beendeten Analysen in Millisekunden. */
+	private long maxDurationMillis;
+
+	/**
+	 * Erzeugt einen neuen Monitor. Objekte werden nur über {@link #getInstance()} erzeugt.
+	 */
+	private AnalyzerMonitor() {
+	}
+
+	/**
+	 * Gibt den Monitor der Anwendung zurück. Beim ersten Aufruf wird der Monitor erzeugt und beim MBeanServer der Plattform registriert.
+	 * Schlägt die Registrierung fehl (z.B. weil JMX nicht verfügbar ist), werden die Analysen trotzdem beobachtet.
+	 * @return Monitor der Anwendung.
+	 */
+	public static synchronized AnalyzerMonitor getInstance() {
+		if(instance == null) {
+			instance = new AnalyzerMonitor();
+			try {
+				ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+			} catch (JMException | SecurityException e) {
+				System.err.println("Der Analyse-Monitor konnte nicht über JMX bereitgestellt werden: " + e);
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Führt die Beschränktheitsanalyse eines Petrinetzes aus und beobachtet sie. Die Analyse läuft im aufrufenden Thread.
+	 * Entspricht {@link #prepare(Petrinet)} gefolgt von {@link #analysePrepared(Petrinet, AnalysisBudget)}.
+	 * @param petrinet Petrinetz, das analysiert werden soll.
+	 * @param budget Zeit- und Speichergrenze der Analyse.
+	 */
+	public void analyse(Petrinet petrinet, AnalysisBudget budget) {
+		prepare(petrinet);
+		analysePrepared(petrinet, budget);
+	}
+
+	/**
+	 * Bereitet die Analyse eines Petrinetzes vor ({@link Petrinet#prepareAnalysis()}) und meldet sie als laufend.
+	 * Ab dann kann die Analyse über {@link #cancelCurrentAnalysis()} und {@link #cancelAllAnalyses()} abgebrochen werden,
+	 * auch wenn sie noch nicht begonnen hat. Die Analyse muss anschließend mit {@link #analysePrepared(Petrinet, AnalysisBudget)} ausgeführt werden.
+	 * @param petrinet Petrinetz, das analysiert werden soll.
+	 */
+	public void prepare(Petrinet petrinet) {
+		petrinet.prepareAnalysis();
+		running.add(petrinet);
+	}
+
+	/**
+	 * Führt die mit {@link #prepare(Petrinet)} vorbereitete Beschränktheitsanalyse eines Petrinetzes aus. Die Analyse läuft im aufrufenden Thread.
+	 * Ein Abbruch, der seit der Vorbereitung angefordert wurde, bleibt erhalten.
+	 * Nach Ende der Analyse werden Dauer und Ausgang in die kumulierten Zähler übernommen.
+	 * @param petrinet Petrinetz, das analysiert werden soll.
+	 * @param budget Zeit- und Speichergrenze der Analyse.
+	 */
+	public void analysePrepared(Petrinet petrinet, AnalysisBudget budget) {
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			petrinet.analysis(budget);
+			failed = false;
+		} finally {
+			running.remove(petrinet);
+			BoundednessTestResult result = petrinet.getBoundednessTestResult();
+			record((System.nanoTime() - start) / 1000000, failed, !failed && !(result == null) && result.getCancelled(),
+					!failed && !(result == null) && result.getInconclusive() && !result.getCancelled());
+		}
+	}
+
+	/**
+	 * Übernimmt eine beendete Analyse in die kumulierten Zähler.
+	 * @param durationMillis Dauer der Analyse in Millisekunden.
+	 * @param failed Information, ob die Analyse mit einem Fehler beendet wurde.
+	 * @param cancelled Information, ob die Analyse abgebrochen wurde.
+	 * @param inconclusive Information, ob die Analyse wegen einer Zeit- oder Speichergrenze ohne Ergebnis beendet wurde.
+	 */
+	private synchronized void record(long durationMillis, boolean failed, boolean cancelled, boolean inconclusive) {
+		durations[(int) (analyzedNets % DURATION_WINDOW)] = durationMillis;
+		analyzedNets++;
+		totalDurationMillis += durationMillis;
+		maxDurationMillis = Math.max(maxDurationMillis, durationMillis);
+		if(failed) {
+			failedAnalyses++;
+		}
+		if(cancelled) {
+			cancelledAnalyses++;
+		}
+		if(inconclusive) {
+			inconclusiveAnalyses++;
+		}
+	}
+
+	/**
+	 * Meldet den Thread-Pool einer laufenden Stapelanalyse an, damit dessen Größe über {@link #setWorkerThreads(int)} geändert werden kann.
+	 * @param pool Thread-Pool der Stapelanalyse.
+	 */
+	void addWorkerPool(ThreadPoolExecutor pool) {
+		workerPools.add(pool);
+	}
+
+	/**
+	 * Meldet den Thread-Pool einer beendeten Stapelanalyse ab.
+	 * @param pool Thread-Pool der Stapelanalyse.
+	 */
+	void removeWorkerPool(ThreadPoolExecutor pool) {
+		workerPools.remove(pool);
+	}
+
+	/**
+	 * Gibt das Petrinetz der am längsten laufenden Analyse zurück.
+	 * @return Petrinetz oder null, wenn keine Analyse läuft.
+	 */
+	private Petrinet current() {
+		return running.peek();
+	}
+
+	/**
+	 * Gibt eine Momentaufnahme der Statistik der aktuellen Analyse zurück.
+	 * @return Momentaufnahme oder null, wenn keine Analyse läuft.
+	 */
+	private AnalysisStatistics currentStatistics() {
+		Petrinet petrinet = current();
+		return petrinet == null ? null : petrinet.getAnalysisStatistics();
+	}
+
+	/**
+	 * Gibt ein Perzentil der Dauer der zuletzt beendeten Analysen nach dem Nearest-Rank-Verfahren zurück.
+	 * @param percent Perzentil in Prozent.
+	 * @return Dauer in Millisekunden oder 0, wenn noch keine Analyse beendet wurde.
+	 */
+	private synchronized long percentile(double percent) {
+		int count = (int) Math.min(analyzedNets, DURATION_WINDOW);
+		long percentile = 0;
+		if(count > 0) {
+			long[] sorted = Arrays.copyOf(durations, count);
+			Arrays.sort(sorted);
+			percentile = sorted[Math.max(0, (int) Math.ceil(percent / 100 * count) - 1)];
+		}
+		return percentile;
+	}
+
+	/**
+	 * Gibt die Anzahl der gerade laufenden Analysen zurück.
+	 * @return Anzahl der laufenden Analysen.
+	 */
+	public int getRunningAnalyses() {
+		return running.size();
+	}
+
+	/**
+	 * Gibt die Namen der gerade analysierten Petrinetze zurück.
+	 * @return Namen der Petrinetze in der Reihenfolge, in der die Analysen begonnen haben.
+	 */
+	public String[] getRunningNets() {
+		LinkedList<String> names = new LinkedList<String>();
+		for(Petrinet petrinet : running) {
+			names.add(petrinet.getName());
+		}
+		return names.toArray(new String[names.size()]);
+	}
+
+	/**
+	 * Gibt den Namen des Petrinetzes der aktuellen Analyse zurück. Aktuell ist die am längsten laufende Analyse.
+	 * @return Name des Petrinetzes oder null, wenn keine Analyse läuft.
+	 */
+	public String getCurrentNet() {
+		Petrinet petrinet = current();
+		return petrinet == null ? null : petrinet.getName();
+	}
+
+	/**
+	 * Gibt die Anzahl der bisher gefundenen Markierungen der aktuellen Analyse zurück.
+	 * @return Anzahl der Markierungen oder 0, wenn keine Analyse läuft.
+	 */
+	public int getCurrentMarkings() {
+		AnalysisStatistics statistics = currentStatistics();
+		return statistics == null ? 0 : statistics.getMarkings();
+	}
+
+	/**
+	 * Gibt die Anzahl der bisher gefundenen Kanten der aktuellen Analyse zurück.
+	 * @return Anzahl der Kanten oder 0, wenn keine Analyse läuft.
+	 */
+	public int getCurrentEdges() {
+		AnalysisStatistics statistics = currentStatistics();
+		return statistics == null ? 0 : statistics.getConnections();
+	}
+
+	/**
+	 * Gibt die Anzahl der je Sekunde gefundenen Markierungen der aktuellen Analyse zurück.
+	 * @return Markierungen je Sekunde oder 0, wenn keine Analyse läuft.
+	 */
+	public long getCurrentMarkingsPerSecond() {
+		AnalysisStatistics statistics = currentStatistics();
+		return statistics == null ? 0 : statistics.getMarkingsPerSecond();
+	}
+
+	/**
+	 * Gibt den Zuwachs des belegten Heaps seit Beginn der aktuellen Analyse zurück, der im Wesentlichen auf den Erreichbarkeitsgraphen entfällt.
+	 * @return Belegter Speicher in Byte oder 0, wenn keine Analyse läuft.
+	 */
+	public long getCurrentStateStoreBytes() {
+		AnalysisStatistics statistics = currentStatistics();
+		return statistics == null ? 0 : statistics.getUsedBytes();
+	}
+
+	/**
+	 * Gibt die Laufzeit der aktuellen Analyse zurück.
+	 * @return Laufzeit in Millisekunden oder 0, wenn keine Analyse läuft.
+	 */
+	public long getCurrentElapsedMillis() {
+		AnalysisStatistics statistics = currentStatistics();
+		return statistics == null ? 0 : statistics.getElapsedMillis();
+	}
+
+	/**
+	 * Gibt die Anzahl der beendeten Analysen zurück, einschließlich abgebrochener und fehlgeschlagener Analysen.
+	 * @return Anzahl der beendeten Analysen.
+	 */
+	public synchronized long getAnalyzedNets() {
+		return analyzedNets;
+	}
+
+	/**
+	 * Gibt die Anzahl der abgebrochenen Analysen zurück.
+	 * @return Anzahl der abgebrochenen Analysen.
+	 */
+	public synchronized long getCancelledAnalyses() {
+		return cancelledAnalyses;
+	}
+
+	/**
+	 * Gibt die Anzahl der Analysen zurück, die wegen einer Zeit- oder Speichergrenze ohne Ergebnis beendet wurden.
+	 * @return Anzahl der Analysen ohne Ergebnis.
+	 */
+	public synchronized long getInconclusiveAnalyses() {
+		return inconclusiveAnalyses;
+	}
+
+	/**
+	 * Gibt die Anzahl der Analysen zurück, die mit einem Fehler beendet wurden.
+	 * @return Anzahl der fehlgeschlagenen Analysen.
+	 */
+	public synchronized long getFailedAnalyses() {
+		return failedAnalyses;
+	}
+
+	/**
+	 * Gibt die mittlere Dauer aller beendeten Analysen zurück.
+	 * @return Mittlere Dauer in Millisekunden.
+	 */
+	public synchronized double getMeanDurationMillis() {
+		return analyzedNets == 0 ? 0 : (double) totalDurationMillis / analyzedNets;
+	}
+
+	/**
+	 * Gibt den Median der Dauer der zuletzt beendeten Analysen zurück.
+	 * @return Median in Millisekunden.
+	 */
+	public long getMedianDurationMillis() {
+		return percentile(50);
+	}
+
+	/**
+	 * Gibt das 95. Perzentil der Dauer der zuletzt beendeten Analysen zurück.
+	 * @return 95. Perzentil in Millisekunden.
+	 */
+	public long getP95DurationMillis() {
+		return percentile(95);
+	}
+
+	/**
+	 * Gibt das 99. Perzentil der Dauer der zuletzt beendeten Analysen zurück.
+	 * @return 99. Perzentil in Millisekunden.
+	 */
+	public long getP99DurationMillis() {
+		return percentile(99);
+	}
+
+	/**
+	 * Gibt die längste Dauer aller beendeten Analysen zurück.
+	 * @return Längste Dauer in Millisekunden.
+	 */
+	public synchronized long getMaxDurationMillis() {
+		return maxDurationMillis;
+	}
+
+	/**
+	 * Gibt die Anzahl der Threads der laufenden Stapelanalysen zurück.
+	 * @return Anzahl der Threads oder 0, wenn keine Stapelanalyse läuft.
+	 */
+	public int getWorkerThreads() {
+		int workerThreads = 0;
+		for(ThreadPoolExecutor pool : workerPools) {
+			workerThreads += pool.getCorePoolSize();
+		}
+		return workerThreads;
+	}
+
+	/**
+	 * Legt die Anzahl der Threads jeder laufenden Stapelanalyse fest. Bereits laufende Analysen werden nicht unterbrochen.
+	 * Wird die Anzahl verringert, endet die entsprechende Anzahl Threads nach ihrer aktuellen Analyse.
+	 * @param workerThreads Anzahl der Threads je Stapelanalyse (mindestens 1).
+	 */
+	public void setWorkerThreads(int workerThreads) {
+		if(workerThreads < 1) {
+			throw new IllegalArgumentException("Es wird mindestens ein Thread benötigt.");
+		}
+		for(ThreadPoolExecutor pool : workerPools) {
+			if(workerThreads > pool.getMaximumPoolSize()) {
+				pool.setMaximumPoolSize(workerThreads);
+				pool.setCorePoolSize(workerThreads);
+			} else {
+				pool.setCorePoolSize(workerThreads);
+				pool.setMaximumPoolSize(workerThreads);
+			}
+		}
+	}
+
+	/**
+	 * Bricht die aktuelle (am längsten laufende) Analyse ab.
+	 * @return Name des Petrinetzes der abgebrochenen Analyse oder null, wenn keine Analyse läuft.
+	 */
+	public String cancelCurrentAnalysis() {
+		Petrinet petrinet = current();
+		String name = null;
+		if(!(petrinet == null)) {
+			petrinet.cancelAnalysis();
+			name = petrinet.getName();
+		}
+		return name;
+	}
+
+	/**
+	 * Bricht alle laufenden Analysen ab.
+	 * @return Anzahl der abgebrochenen Analysen.
+	 */
+	public int cancelAllAnalyses() {
+		int cancelled = 0;
+		for(Petrinet petrinet : running) {
+			petrinet.cancelAnalysis();
+			cancelled++;
+		}
+		return cancelled;
+	}
+
+	/**
+	 * Setzt die kumulierten Zähler und Dauern zurück.
+	 */
+	public synchronized void resetStatistics() {
+		analyzedNets = 0;
+		cancelledAnalyses = 0;
+		inconclusiveAnalyses = 0;
+		failedAnalyses = 0;
+		totalDurationMillis = 0;
+		maxDurationMillis = 0;
+	}
+}
@@ -0,0 +1,141 @@
+package model;
+
+/**
+ * Verwaltungsschnittstelle (Standard-MBean) des {@link AnalyzerMonitor}.
+ * Alle Attribute und Operationen sind über JMX, z.B. mit jconsole, lesbar bzw. aufrufbar.
+ * @author Hannes Wilms
+ *
+ */
+public interface AnalyzerMonitorMBean {
+
+	/**
+	 * Gibt die Anzahl der gerade laufenden Analysen zurück.
+	 * @return Anzahl der laufenden Analysen.
+	 */
+	int getRunningAnalyses();
+
+	/**
+	 * Gibt die Namen der gerade analysierten Petrinetze zurück.
+	 * @return Namen der Petrinetze in der Reihenfolge, in der die Analysen begonnen haben.
+	 */
+	String[] getRunningNets();
+
+	/**
+	 * Gibt den Namen des Petrinetzes der aktuellen Analyse zurück. Aktuell ist die am längsten laufende Analyse.
+	 * @return Name des Petrinetzes oder null, wenn keine Analyse läuft.
+	 */
+	String getCurrentNet();
+
+	/**
+	 * Gibt die Anzahl der bisher gefundenen Markierungen der aktuellen Analyse zurück.
+	 * @return Anzahl der Markierungen oder 0, wenn keine Analyse läuft.
+	 */
+	int getCurrentMarkings();
+
+	/**
+	 * Gibt die Anzahl der bisher gefundenen Kanten der aktuellen Analyse zurück.
+	 * @return Anzahl der Kanten oder 0, wenn keine Analyse läuft.
+	 */
+	int getCurrentEdges();
+
+	/**
+	 * Gibt die Anzahl der je Sekunde gefundenen Markierungen der aktuellen Analyse zurück.
+	 * @return Markierungen je Sekunde oder 0, wenn keine Analyse läuft.
+	 */
+	long getCurrentMarkingsPerSecond();
+
+	/**
+	 * Gibt den Zuwachs des belegten Heaps seit Beginn der aktuellen Analyse zurück, der im Wesentlichen auf den Erreichbarkeitsgraphen entfällt.
+	 * @return Belegter Speicher in Byte oder 0, wenn keine Analyse läuft.
+	 */
+	long getCurrentStateStoreBytes();
+
+	/**
+	 * Gibt die Laufzeit der aktuellen Analyse zurück.
+	 * @return Laufzeit in Millisekunden oder 0, wenn keine Analyse läuft.
+	 */
+	long getCurrentElapsedMillis();
+
+	/**
+	 * Gibt die Anzahl der beendeten Analysen zurück, einschließlich abgebrochener und fehlgeschlagener Analysen.
+	 * @return Anzahl der beendeten Analysen.
+	 */
+	long getAnalyzedNets();
+
+	/**
+	 * Gibt die Anzahl der abgebrochenen Analysen zurück.
+	 * @return Anzahl der abgebrochenen Analysen.
+	 */
+	long getCancelledAnalyses();
+
+	/**
+	 * Gibt die Anzahl der Analysen zurück, die wegen einer Zeit- oder Speichergrenze ohne Ergebnis beendet wurden.
+	 * @return Anzahl der Analysen ohne Ergebnis.
+	 */
+	long getInconclusiveAnalyses();
+
+	/**
+	 * Gibt die Anzahl der Analysen zurück, die mit einem Fehler beendet wurden.
+	 * @return Anzahl der fehlgeschlagenen Analysen.
+	 */
+	long getFailedAnalyses();
+
+	/**
+	 * Gibt die mittlere Dauer aller beendeten Analysen zurück.
+	 * @return Mittlere Dauer in Millisekunden.
+	 */
+	double getMeanDurationMillis();
+
+	/**
+	 * Gibt den Median der Dauer der zuletzt beendeten Analysen zurück.
+	 * @return Median in Millisekunden.
+	 */
+	long getMedianDurationMillis();
+
+	/**
+	 * Gibt das 95. Perzentil der Dauer der zuletzt beendeten Analysen zurück.
+	 * @return 95. Perzentil in Millisekunden.
+	 */
+	long getP95DurationMillis();
+
+	/**
+	 * Gibt das 99. Perzentil der Dauer der zuletzt beendeten Analysen zurück.
+	 * @return 99. Perzentil in Millisekunden.
+	 */
+	long getP99DurationMillis();
+
+	/**
+	 * Gibt die längste Dauer aller beendeten Analysen zurück.
+	 * @return Längste Dauer in Millisekunden.
+	 */
+	long getMaxDurationMillis();
+
+	/**
+	 * Gibt die Anzahl der Threads der laufenden Stapelanalysen zurück.
+	 * @return Anzahl der Threads oder 0, wenn keine Stapelanalyse läuft.
+	 */
+	int getWorkerThreads();
+
+	/**
+	 * Legt die Anzahl der Threads der laufenden Stapelanalysen fest. Bereits laufende Analysen werden nicht unterbrochen.
+	 * @param workerThreads Anzahl der Threads (mindestens 1).
+	 */
+	void setWorkerThreads(int workerThreads);
+
+	/**
+	 * Bricht die aktuelle (am längsten laufende) Analyse ab.
+	 * @return Name des Petrinetzes der abgebrochenen Analyse oder null, wenn keine Analyse läuft.
+	 */
+	String cancelCurrentAnalysis();
+
+	/**
+	 * Bricht alle laufenden Analysen ab.
+	 * @return Anzahl der abgebrochenen Analysen.
+	 */
+	int cancelAllAnalyses();
+
+	/**
+	 * Setzt die kumulierten Zähler und Dauern zurück.
+	 */
+	void resetStatistics();
+}
@@ -90,9 +90,18 @@ public class Arc implements Comparable<Arc> {
 	 * @param petrinet Petrinetz, dem die Knoten und die Verbindung angehören.
 	 */
 	public void setNodes(Petrinet petrinet) {
-		this.source = petrinet.getNode(sourceId);
-		this.target = petrinet.getNode(targetId);
-		if(this.source.getClass() == (new Place("").getClass())) {
+		setNodes(petrinet.getNode(sourceId), petrinet.getNode(targetId));
+	}
+	
+	/**
+	 * Übernimmt die übergebenen Knoten als Quell- und Zielknoten und fügt dann die jeweilige Stelle dem Vor- bzw. Nachbereich der Transition hinzu.
+	 * @param source Quellknoten mit der id {@link #getSourceId()}.
+	 * @param target Zielknoten mit der id {@link #getTargetId()}.
+	 */
+	void setNodes(Node source, Node target) {
+		this.source = source;
+		this.target = target;
+		if(this.source instanceof Place) {
 			Place p = (Place) this.source;
 			Transition t = (Transition) this.target;
 			placeToTransitionInput(t, p);
@@ -102,4 +111,20 @@ public class Arc implements Comparable<Arc> {
 			placeToTransitionOutput(t,p);
 		}
 	}
+	
+	/**
+	 * Gibt die beim Einlesen gespeicherte id des Quellknotens zurück. Diese steht auch zur Verfügung, bevor die Knoten zugeordnet wurden.
+	 * @return id des Quellknotens.
+	 */
+	String getStoredSourceId() {
+		return sourceId;
+	}
+	
+	/**
+	 * Gibt die beim Einlesen gespeicherte id des Zielknotens zurück. Diese steht auch zur Verfügung, bevor die Knoten zugeordnet wurden.
+	 * @return id des Zielknotens.
+	 */
+	String getStoredTargetId() {
+		return targetId;
+	}
 }
@@ -0,0 +1,445 @@
+package model;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Diese Klasse führt die Beschränktheitsanalyse mehrerer PNML-Dateien parallel aus.
+ * Jede Datei wird über den {@link CompiledNetCache} in ein eigenes Petrinetz eingelesen, sodass sich die Analysen keine Daten teilen.
+ * Die Analysen laufen auf einem Thread-Pool mit fester Größe. Die Ergebnisse werden unabhängig von der Reihenfolge der Fertigstellung
+ * in der Reihenfolge der übergebenen Dateien geliefert.
+ * @author Hannes Wilms
+ *
+ */
+public class BatchAnalysis {
+
+	/**
+	 * Schnittstelle zur Entgegennahme der Ergebnisse, sobald diese in der Reihenfolge der Dateien vorliegen.
+	 */
+	public interface ResultHandler {
+
+		/**
+		 * Wird für jede Datei in der Reihenfolge der übergebenen Dateien aufgerufen.
+		 * @param result Ergebnis der Analyse der Datei.
+		 */
+		void resultAvailable(Result result);
+	}
+
+	/**
+	 * Ergebnis der Analyse einer einzelnen Datei.
+	 */
+	public static class Result {
+
+		/** Analysierte Datei. */
+		private File file;
+
+		/** Ergebnis der Beschränktheitsanalyse oder null, wenn das Netz keine Stellen besitzt oder nicht gelesen werden konnte. */
+		private BoundednessTestResult boundednessTestResult;
+
+		/** Anzahl der durch die Netzreduktion entfernten Stellen oder -1, wenn nicht reduziert wurde. */
+		private int removedPlaces = -1;
+
+		/** Anzahl der durch die Netzreduktion entfernten Transitionen oder -1, wenn nicht reduziert wurde. */
+		private int removedTransitions = -1;
+
+		/** Fehlermeldung, wenn die Datei nicht gelesen oder analysiert werden konnte. */
+		private String error;
+
+		/** Fehlermeldung, wenn der Erreichbarkeitsgraph nicht geschrieben werden konnte. Das Ergebnis der Analyse bleibt davon unberührt. */
+		private String exportError;
+
+		/** Dauer von Einlesen und Analyse in Millisekunden. */
+		private long durationMillis;
+
+		/** Information, ob das Ergebnis aus dem {@link AnalysisResultCache} stammt. */
+		private boolean cached = false;
+
+		/**
+		 * Erzeugt ein neues Ergebnis für die übergebene Datei.
+		 * @param file Analysierte Datei.
+		 */
+		Result(File file) {
+			this.file = file;
+		}
+
+		/**
+		 * Gibt die analysierte Datei zurück.
+		 * @return Analysierte Datei.
+		 */
+		public File getFile() {
+			return file;
+		}
+
+		/**
+		 * Gibt das Ergebnis der Beschränktheitsanalyse zurück.
+		 * @return Ergebnis der Beschränktheitsanalyse oder null, wenn das Netz keine Stellen besitzt oder ein Fehler aufgetreten ist.
+		 */
+		public BoundednessTestResult getBoundednessTestResult() {
+			return boundednessTestResult;
+		}
+
+		/**
+		 * Gibt die Anzahl der durch die Netzreduktion entfernten Stellen zurück.
+		 * @return Anzahl der entfernten Stellen oder -1, wenn nicht reduziert wurde.
+		 */
+		public int getRemovedPlaces() {
+			return removedPlaces;
+		}
+
+		/**
+		 * Gibt die Anzahl der durch die Netzreduktion entfernten Transitionen zurück.
+		 * @return Anzahl der entfernten Transitionen oder -1, wenn nicht reduziert wurde.
+		 */
+		public int getRemovedTransitions() {
+			return removedTransitions;
+		}
+
+		/**
+		 * Gibt die Fehlermeldung zurück.
+		 * @return Fehlermeldung oder null, wenn kein Fehler aufgetreten ist.
+		 */
+		public String getError() {
+			return error;
+		}
+
+		/**
+		 * Gibt die Fehlermeldung beim Schreiben des Erreichbarkeitsgraphen zurück (siehe {@link BatchAnalysis#setGraphExport(File, String)}).
+		 * Das Ergebnis der Beschränktheitsanalyse liegt trotzdem vor.
+		 * @return Fehlermeldung oder null, wenn der Graph geschrieben wurde oder nicht exportiert werden sollte.
+		 */
+		public String getExportError() {
+			return exportError;
+		}
+
+		/**
+		 * Gibt die Dauer von Einlesen und Analyse zurück.
+		 * @return Dauer in Millisekunden.
+		 */
+		public long getDurationMillis() {
+			return durationMillis;
+		}
+
+		/**
+		 * Gibt zurück, ob das Ergebnis aus dem {@link AnalysisResultCache} stammt, statt durch eine Analyse ermittelt worden zu sein.
+		 * @return true, wenn das Ergebnis aus dem Cache stammt.
+		 */
+		public boolean isCached() {
+			return cached;
+		}
+	}
+
+	/** Stackgröße der Analyse-Threads in Byte. Die Analyse ({@link Petrinet#analysis()}) ist rekursiv und benötigt bei langen Pfaden einen großen Stack. */
+	private static final long STACK_SIZE = 64L * 1024 * 1024;
+
+	/** Zu analysierende Dateien in der Reihenfolge der Ausgabe. */
+	private File[] files;
+
+	/** Anzahl der gleichzeitig laufenden Analysen. */
+	private int threads;
+
+	/** Information, ob die Netze vor der Analyse reduziert werden. */
+	private boolean useNetReduction;
+
+	/** Zeit- und Speichergrenze jeder einzelnen Analyse. */
+	private AnalysisBudget budget = AnalysisBudget.UNLIMITED;
+
+	/** Listener, der bei jeder einzelnen Analyse registriert wird, oder null. */
+	private AnalysisListener analysisListener;
+
+	/** Cache, in dem Ergebnisse vor der Analyse gesucht und nach der Analyse abgelegt werden, oder null. */
+	private AnalysisResultCache resultCache;
+
+	/** Ordner, in den die Erreichbarkeitsgraphen während der Analyse geschrieben werden, oder null. */
+	private File graphExportDirectory;
+
+	/** Format der geschriebenen Erreichbarkeitsgraphen (siehe {@link ReachabilityGraphExporter}). */
+	private String graphExportFormat;
+
+	/** Exportdateien je Index der zu analysierenden Dateien oder null, wenn nicht exportiert wird. */
+	private File[] graphExportFiles;
+
+	/**
+	 * Erzeugt eine neue Stapelanalyse.
+	 * @param files Zu analysierende Dateien. Die Ergebnisse werden in dieser Reihenfolge geliefert.
+	 * @param threads Anzahl der gleichzeitig laufenden Analysen (mindestens 1).
+	 * @param useNetReduction Information, ob die Netze vor der Analyse mit der {@link NetReduction} reduziert werden (true) oder nicht (false).
+	 */
+	public BatchAnalysis(File[] files, int threads, boolean useNetReduction) {
+		this.files = files.clone();
+		this.threads = Math.max(1, threads);
+		this.useNetReduction = useNetReduction;
+	}
+
+	/**
+	 * Legt die Zeit- und Speichergrenze fest, innerhalb derer jede einzelne Analyse ein Ergebnis liefern muss.
+	 * Erreicht eine Analyse die Grenze, wird ihr Ergebnis als nicht entschieden gekennzeichnet ({@link BoundednessTestResult#getInconclusive()}).
+	 * @param budget Zeit- und Speichergrenze je Analyse.
+	 */
+	public void setBudget(AnalysisBudget budget) {
+		this.budget = budget;
+	}
+
+	/**
+	 * Legt einen Listener fest, der über den Fortschritt jeder einzelnen Analyse informiert wird.
+	 * Da die Analysen parallel laufen, kann der Listener gleichzeitig aus mehreren Threads aufgerufen werden.
+	 * Die Analysen lassen sich über {@link AnalysisStatistics#getName()} unterscheiden.
+	 * @param analysisListener Listener oder null, wenn die Analysen nicht beobachtet werden sollen.
+	 */
+	public void setAnalysisListener(AnalysisListener analysisListener) {
+		this.analysisListener = analysisListener;
+	}
+
+	/**
+	 * Legt den Cache fest, in dem das Ergebnis jedes eingelesenen Netzes vor der Analyse gesucht wird.
+	 * Nur Netze, deren Ergebnis nicht im Cache liegt, werden analysiert. Ihre Ergebnisse werden anschließend im Cache abgelegt.
+	 * @param resultCache Cache oder null, wenn alle Netze analysiert werden sollen.
+	 */
+	public void setResultCache(AnalysisResultCache resultCache) {
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * Legt fest, dass der Erreichbarkeitsgraph jedes Netzes bereits während der Analyse mit einem {@link ReachabilityGraphExporter} in eine Datei geschrieben wird.
+	 * Die Datei erhält den Pfad der PNML-Datei relativ zum gemeinsamen Ordner aller Dateien mit der Endung des Formats, sodass gleichnamige Dateien
+	 * aus verschiedenen Unterordnern nicht in dieselbe Datei geschrieben werden. Wird eine Datei mehrfach übergeben, erhalten die weiteren Exporte
+	 * einen Zähler als Namenszusatz. Bei eingeschalteter Netzreduktion wird der Graph des reduzierten Netzes geschrieben.
+	 * Fehler beim Schreiben werden im Ergebnis getrennt vom Ergebnis der Analyse vermerkt ({@link Result#getExportError()}).
+	 * Da der Erreichbarkeitsgraph dafür berechnet werden muss, wird der Ergebniscache dann nicht nach Ergebnissen durchsucht.
+	 * @param directory Ordner, in den die Graphen geschrieben werden, oder null, wenn nicht exportiert werden soll.
+	 * @param format Format ({@link ReachabilityGraphExporter#DOT}, {@link ReachabilityGraphExporter#GRAPHML} oder {@link ReachabilityGraphExporter#AUT}).
+	 */
+	public void setGraphExport(File directory, String format) {
+		this.graphExportDirectory = directory;
+		this.graphExportFormat = format;
+		graphExportFiles = null;
+		if(!(directory == null)) {
+			graphExportFiles = new File[files.length];
+			String root = null;
+			for(File file : files) {
+				String parent = file.getAbsoluteFile().getParentFile().getPath();
+				if(!parent.endsWith(File.separator)) {
+					parent = parent + File.separator;
+				}
+				if(root == null) {
+					root = parent;
+				} else {
+					int length = 0;
+					while(length < root.length() && length < parent.length() && root.charAt(length) == parent.charAt(length)) {
+						length++;
+					}
+					root = root.substring(0, root.lastIndexOf(File.separatorChar, length - 1) + 1);
+				}
+			}
+			HashSet<String> usedNames = new HashSet<String>();
+			for(int i = 0; i < files.length; i++) {
+				String relativePath = root.isEmpty() ? files[i].getName() : files[i].getAbsolutePath().substring(root.length());
+				if(relativePath.toLowerCase().endsWith(".pnml")) {
+					relativePath = relativePath.substring(0, relativePath.length() - ".pnml".length());
+				}
+				String name = relativePath;
+				for(int counter = 2; !usedNames.add(name.toLowerCase()); counter++) {
+					name = relativePath + "_" + counter;
+				}
+				graphExportFiles[i] = new File(directory, name + "." + format);
+			}
+		}
+	}
+
+	/**
+	 * Führt die Analysen aus und übergibt die Ergebnisse in der Reihenfolge der Dateien an den Handler.
+	 * Ein Ergebnis wird übergeben, sobald es und alle vorherigen Ergebnisse vorliegen.
+	 * Wird der aufrufende Thread unterbrochen, werden die noch nicht begonnenen Analysen verworfen.
+	 * @param handler Handler, der die Ergebnisse entgegennimmt, oder null.
+	 * @return Liste (LinkedList) aller Ergebnisse in der Reihenfolge der Dateien.
+	 * @throws InterruptedException wenn der aufrufende Thread beim Warten unterbrochen wurde.
+	 */
+	public LinkedList<Result> run(ResultHandler handler) throws InterruptedException {
+		return run(handler, true);
+	}
+
+	/**
+	 * Führt die Analysen aus und übergibt die Ergebnisse an den Handler.
+	 * Bei geordneter Ausgabe wird ein Ergebnis übergeben, sobald es und alle vorherigen Ergebnisse vorliegen,
+	 * sonst sofort nach Ende der jeweiligen Analyse.
+	 * Wird der aufrufende Thread unterbrochen, werden die noch nicht begonnenen Analysen verworfen.
+	 * Die Analysen werden vom {@link AnalyzerMonitor} beobachtet, über den sich auch die Anzahl der Threads während der Ausführung ändern lässt.
+	 * @param handler Handler, der die Ergebnisse entgegennimmt, oder null.
+	 * @param ordered Information, ob die Ergebnisse in der Reihenfolge der Dateien (true) oder der Fertigstellung (false) übergeben werden.
+	 * @return Liste (LinkedList) aller Ergebnisse in der Reihenfolge der Dateien.
+	 * @throws InterruptedException wenn der aufrufende Thread beim Warten unterbrochen wurde.
+	 */
+	public LinkedList<Result> run(ResultHandler handler, boolean ordered) throws InterruptedException {
+		LinkedList<Result> results = new LinkedList<Result>();
+		int poolSize = Math.min(threads, Math.max(1, files.length));
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			/** Zähler für die Namen der Threads. */
+			private int counter = 0;
+
+			/**
+			 * Erzeugt einen Daemon-Thread mit vergrößertem Stack, damit laufende Analysen das Beenden der Anwendung nicht verhindern.
+			 */
+			public synchronized Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(null, runnable, "Stapelanalyse-" + (++counter), STACK_SIZE);
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		AnalyzerMonitor.getInstance().addWorkerPool(executor);
+		try {
+			CompletionService<Result> completionService = new ExecutorCompletionService<Result>(executor);
+			LinkedList<Future<Result>> futures = new LinkedList<Future<Result>>();
+			HashMap<Future<Result>, File> futureFiles = new HashMap<Future<Result>, File>();
+			for(int i = 0; i < files.length; i++) {
+				final File file = files[i];
+				final File exportFile = graphExportFiles == null ? null : graphExportFiles[i];
+				Future<Result> future = completionService.submit(new Callable<Result>() {
+					/**
+					 * Liest die Datei ein und analysiert das Petrinetz.
+					 */
+					public Result call() {
+						return analyse(file, exportFile);
+					}
+				});
+				futures.add(future);
+				futureFiles.put(future, file);
+			}
+			executor.shutdown();
+			if(!ordered) {
+				for(int i = 0; i < futures.size(); i++) {
+					Future<Result> future = completionService.take();
+					Result result = getResult(future, futureFiles.get(future));
+					if(!(handler == null)) {
+						handler.resultAvailable(result);
+					}
+				}
+			}
+			for(Future<Result> future : futures) {
+				Result result = getResult(future, futureFiles.get(future));
+				results.add(result);
+				if(ordered && !(handler == null)) {
+					handler.resultAvailable(result);
+				}
+			}
+		} finally {
+			AnalyzerMonitor.getInstance().removeWorkerPool(executor);
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+	/**
+	 * Wartet auf das Ergebnis einer Analyse.
+	 * Ist die Analyse mit einem Fehler beendet worden, der nicht schon in {@link #analyse(File, File)} vermerkt wurde,
+	 * wird der Fehler im Ergebnis dieser Datei vermerkt, damit die übrigen Ergebnisse weiter geliefert werden.
+	 * @param future Ergebnis der Analyse.
+	 * @param file Datei der Analyse.
+	 * @return Ergebnis der Analyse.
+	 * @throws InterruptedException wenn der aufrufende Thread beim Warten unterbrochen wurde.
+	 */
+	private Result getResult(Future<Result> future, File file) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			Result result = new Result(file);
+			result.error = e.getCause().toString();
+			return result;
+		}
+	}
+
+	/**
+	 * Registriert ggf. den Listener bei dem zu analysierenden Petrinetz.
+	 * @param petrinet Petrinetz, das analysiert werden soll.
+	 */
+	private void observe(Petrinet petrinet) {
+		if(!(analysisListener == null)) {
+			petrinet.addAnalysisListener(analysisListener);
+		}
+	}
+
+	/**
+	 * Liest eine Datei ein und führt die Beschränktheitsanalyse aus.
+	 * Liegt das Ergebnis des eingelesenen Netzes bereits im {@link AnalysisResultCache}, entfällt die Analyse.
+	 * Fehler beim Einlesen oder Analysieren werden im Ergebnis vermerkt, damit die übrigen Dateien weiter analysiert werden.
+	 * Das gilt auch für einen {@link OutOfMemoryError}: Das Petrinetz dieser Analyse ist danach nicht mehr erreichbar und wird freigegeben,
+	 * sodass die übrigen Analysen weiterlaufen können.
+	 * @param file Zu analysierende Datei.
+	 * @param exportFile Datei, in die der Erreichbarkeitsgraph geschrieben wird, oder null.
+	 * @return Ergebnis der Analyse.
+	 */
+	private Result analyse(File file, File exportFile) {
+		Result result = new Result(file);
+		long start = System.nanoTime();
+		try {
+			Petrinet petrinet = CompiledNetCache.load(file);
+			if(!petrinet.getPlaces().isEmpty()) {
+				String key = null;
+				AnalysisResultCache.Entry entry = null;
+				if(!(resultCache == null)) {
+					key = AnalysisResultCache.key(petrinet, useNetReduction);
+					if(exportFile == null) {
+						entry = resultCache.get(key, petrinet.getName());
+					}
+				}
+				if(!(entry == null)) {
+					result.boundednessTestResult = entry.getBoundednessTestResult();
+					result.removedPlaces = entry.getRemovedPlaces();
+					result.removedTransitions = entry.getRemovedTransitions();
+					result.cached = true;
+				} else if(useNetReduction) {
+					NetReduction reduction = new NetReduction(petrinet, EnumSet.of(NetReduction.Property.BOUNDEDNESS));
+					Petrinet reduced = reduction.reduce();
+					observe(reduced);
+					analyse(reduced, exportFile, result);
+					result.boundednessTestResult = reduction.mapBack(reduced.getBoundednessTestResult());
+					result.removedPlaces = reduction.getRemovedPlaces();
+					result.removedTransitions = reduction.getRemovedTransitions();
+				} else {
+					observe(petrinet);
+					analyse(petrinet, exportFile, result);
+					result.boundednessTestResult = petrinet.getBoundednessTestResult();
+				}
+				if(!(key == null) && !result.cached) {
+					resultCache.put(key, result.boundednessTestResult, result.removedPlaces, result.removedTransitions);
+				}
+			}
+		} catch (RuntimeException | StackOverflowError | OutOfMemoryError e) {
+			result.error = e.toString();
+		}
+		result.durationMillis = (System.nanoTime() - start) / 1000000;
+		return result;
+	}
+
+	/**
+	 * Analysiert das Petrinetz über den {@link AnalyzerMonitor} und schreibt dabei ggf. den Erreichbarkeitsgraphen in eine Datei.
+	 * Fehler beim Schreiben werden getrennt im Ergebnis vermerkt ({@link Result#getExportError()}), das Ergebnis der Analyse bleibt erhalten.
+	 * @param petrinet Zu analysierendes Petrinetz.
+	 * @param exportFile Datei, in die der Erreichbarkeitsgraph geschrieben wird, oder null. Fehlende Unterordner werden angelegt.
+	 * @param result Ergebnis, in dem Fehler beim Schreiben vermerkt werden.
+	 */
+	private void analyse(Petrinet petrinet, File exportFile, Result result) {
+		ReachabilityGraphExporter exporter = null;
+		if(!(exportFile == null)) {
+			exportFile.getAbsoluteFile().getParentFile().mkdirs();
+			try {
+				exporter = ReachabilityGraphExporter.open(exportFile, graphExportFormat, petrinet.getName());
+				petrinet.setReachabilityGraphSink(exporter);
+			} catch (IOException e) {
+				result.exportError = "Erreichbarkeitsgraph kann nicht geschrieben werden: " + e.getMessage();
+			}
+		}
+		try {
+			AnalyzerMonitor.getInstance().analyse(petrinet, budget);
+		} finally {
+			if(!(exporter == null)) {
+				petrinet.setReachabilityGraphSink(null);
+				try {
+					exporter.close();
+				} catch (IOException e) {
+					result.exportError = "Erreichbarkeitsgraph kann nicht geschrieben werden: " + e.getMessage();
+				}
+			}
+		}
+	}
+}
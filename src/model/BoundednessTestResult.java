@@ -30,6 +30,18 @@ public class BoundednessTestResult {
 	/** Information, ob das Netz unbeschränkt (true) oder beschränkt (false) ist. */
 	private boolean unbounded = true;
 	
+	/** Information, ob die Analyse vor einem Ergebnis abgebrochen wurde. */
+	private boolean cancelled = false;
+	
+	/** Information, ob die Analyse ohne Ergebnis beendet wurde, weil sie abgebrochen wurde oder ihr Budget erreicht hat. */
+	private boolean inconclusive = false;
+	
+	/** Grund, aus dem die Analyse ohne Ergebnis beendet wurde, oder null. */
+	private String inconclusiveReason;
+	
+	/** Höchste Anzahl an Marken je id der Stelle über alle Markierungen des (ggf. partiellen) Erreichbarkeitsgraphen. */
+	private LinkedHashMap<String, Integer> maximumTokens = new LinkedHashMap<String, Integer>();
+	
 	/**
 	 * Gibt die Information, ob das Netz unbeschränkt oder beschränkt ist zurück.
 	 * @return Information, ob das Netz unbeschränkt (true) oder beschränkt (false) ist. 
@@ -149,4 +161,70 @@ public class BoundednessTestResult {
 	public void setStart(Marking start) {
 		this.start = start;
 	}
+	
+	/**
+	 * Gibt die Information zurück, ob die Analyse abgebrochen wurde, bevor ein Ergebnis vorlag.
+	 * In diesem Fall ist das Petrinetz weder als beschränkt noch als unbeschränkt nachgewiesen.
+	 * @return Information, ob die Analyse abgebrochen wurde (true) oder nicht (false).
+	 */
+	public boolean getCancelled() {
+		return cancelled;
+	}
+	
+	/**
+	 * Speichert die Information, ob die Analyse abgebrochen wurde, bevor ein Ergebnis vorlag.
+	 * @param cancelled Information, ob die Analyse abgebrochen wurde (true) oder nicht (false).
+	 */
+	public void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+	
+	/**
+	 * Gibt die Information zurück, ob die Analyse ohne Ergebnis beendet wurde, weil sie abgebrochen wurde oder ihr Budget ({@link AnalysisBudget}) erreicht hat.
+	 * In diesem Fall beziehen sich Anzahl der Knoten / Kanten und die höchste Anzahl an Marken je Stelle auf den partiellen Erreichbarkeitsgraphen.
+	 * @return Information, ob die Analyse ohne Ergebnis beendet wurde (true) oder nicht (false).
+	 */
+	public boolean getInconclusive() {
+		return inconclusive;
+	}
+	
+	/**
+	 * Speichert die Information, ob die Analyse ohne Ergebnis beendet wurde.
+	 * @param inconclusive Information, ob die Analyse ohne Ergebnis beendet wurde (true) oder nicht (false).
+	 */
+	public void setInconclusive(boolean inconclusive) {
+		this.inconclusive = inconclusive;
+	}
+	
+	/**
+	 * Gibt den Grund zurück, aus dem die Analyse ohne Ergebnis beendet wurde.
+	 * @return Grund (z.B. erreichte Zeitgrenze) oder null, wenn ein Ergebnis vorliegt.
+	 */
+	public String getInconclusiveReason() {
+		return inconclusiveReason;
+	}
+	
+	/**
+	 * Speichert den Grund, aus dem die Analyse ohne Ergebnis beendet wurde.
+	 * @param inconclusiveReason Grund, aus dem die Analyse ohne Ergebnis beendet wurde.
+	 */
+	public void setInconclusiveReason(String inconclusiveReason) {
+		this.inconclusiveReason = inconclusiveReason;
+	}
+	
+	/**
+	 * Gibt die höchste Anzahl an Marken je Stelle über alle Markierungen des (ggf. partiellen) Erreichbarkeitsgraphen zurück.
+	 * @return Höchste Anzahl an Marken je id der Stelle.
+	 */
+	public LinkedHashMap<String, Integer> getMaximumTokens() {
+		return maximumTokens;
+	}
+	
+	/**
+	 * Speichert die höchste Anzahl an Marken je Stelle.
+	 * @param maximumTokens Höchste Anzahl an Marken je id der Stelle.
+	 */
+	public void setMaximumTokens(LinkedHashMap<String, Integer> maximumTokens) {
+		this.maximumTokens = maximumTokens;
+	}
 }
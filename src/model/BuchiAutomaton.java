@@ -0,0 +1,380 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Büchi-Automat zu einer LTL-Formel.
+ * Die Formel wird zunächst in Negationsnormalform gebracht und mit dem Tableau-Verfahren von Gerth, Peled, Vardi und Wolper
+ * in einen verallgemeinerten Büchi-Automaten übersetzt. Dessen Zustände tragen die atomaren Aussagen (bzw. deren Negation), die in der
+ * zugehörigen Position des Wortes gelten müssen. Anschließend wird der Automat mit einem Zähler über die Akzeptanzmengen in einen
+ * einfachen Büchi-Automaten überführt.
+ * @author Hannes Wilms
+ *
+ */
+class BuchiAutomaton {
+
+	/** Knoten des Tableaus während der Konstruktion. */
+	private static class TableauNode {
+
+		/** Nummer des Knotens. */
+		private int name;
+
+		/** Nummern der Vorgängerknoten; -1 steht für den Anfang des Wortes. */
+		private Set<Integer> incoming = new HashSet<Integer>();
+
+		/** Noch zu verarbeitende Formeln. */
+		private Set<Formula> unprocessed = new LinkedHashSet<Formula>();
+
+		/** Bereits verarbeitete Formeln. */
+		private Set<Formula> processed = new HashSet<Formula>();
+
+		/** Formeln, die im nächsten Schritt gelten müssen. */
+		private Set<Formula> next = new HashSet<Formula>();
+	}
+
+	/** Kennzeichnung des Anfangs des Wortes in den Vorgängerknoten. */
+	private static final int INIT = -1;
+
+	/** Fortlaufende Nummer für neue Tableau-Knoten. */
+	private int nodeCounter = 0;
+
+	/** Atomare Aussagen, die je Zustand gelten müssen. */
+	private Formula[][] positiveLabels;
+
+	/** Atomare Aussagen, die je Zustand nicht gelten dürfen. */
+	private Formula[][] negativeLabels;
+
+	/** Nachfolger je Zustand des (einfachen) Büchi-Automaten. */
+	private int[][] successors;
+
+	/** Anfangszustände des Büchi-Automaten. */
+	private int[] initialStates;
+
+	/** Akzeptierende Zustände des Büchi-Automaten. */
+	private BitSet accepting = new BitSet();
+
+	/**
+	 * Erzeugt den Büchi-Automaten zur übergebenen LTL-Formel.
+	 * @param formula LTL-Formel, deren Modelle der Automat akzeptieren soll.
+	 */
+	BuchiAutomaton(Formula formula) {
+		Formula normalized = negationNormalForm(formula, false);
+		LinkedList<TableauNode> nodes = new LinkedList<TableauNode>();
+		TableauNode start = newNode();
+		start.incoming.add(INIT);
+		start.unprocessed.add(normalized);
+		expand(start, nodes);
+		degeneralize(new ArrayList<TableauNode>(nodes), untilFormulas(normalized, new LinkedHashSet<Formula>()));
+	}
+
+	/**
+	 * Gibt die Anzahl der Zustände des Büchi-Automaten zurück.
+	 * @return Anzahl der Zustände.
+	 */
+	int getNumberOfStates() {
+		return successors.length;
+	}
+
+	/**
+	 * Gibt die Anfangszustände zurück.
+	 * @return Indizes der Anfangszustände.
+	 */
+	int[] getInitialStates() {
+		return initialStates;
+	}
+
+	/**
+	 * Gibt die Nachfolger des Zustands zurück.
+	 * @param state Index des Zustands.
+	 * @return Indizes der Nachfolgezustände.
+	 */
+	int[] getSuccessors(int state) {
+		return successors[state];
+	}
+
+	/**
+	 * Gibt die Information zurück, ob der Zustand akzeptierend ist.
+	 * @param state Index des Zustands.
+	 * @return Information, ob der Zustand akzeptierend ist (true) oder nicht (false).
+	 */
+	boolean isAccepting(int state) {
+		return accepting.get(state);
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die Markierung die Beschriftung des Zustands erfüllt.
+	 * @param state Index des Zustands.
+	 * @param tokens Markierung in der Darstellung von {@link IndexedNet}.
+	 * @param net Indexbasierte Darstellung des Petrinetzes.
+	 * @return Information, ob alle Aussagen des Zustands in der Markierung erfüllt sind (true) oder nicht (false).
+	 */
+	boolean matches(int state, int[] tokens, IndexedNet net) {
+		for(Formula formula : positiveLabels[state]) {
+			if(!formula.evaluate(tokens, net)) {
+				return false;
+			}
+		}
+		for(Formula formula : negativeLabels[state]) {
+			if(formula.evaluate(tokens, net)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Erzeugt einen neuen, leeren Tableau-Knoten.
+	 * @return Neuer Knoten.
+	 */
+	private TableauNode newNode() {
+		TableauNode node = new TableauNode();
+		node.name = nodeCounter++;
+		return node;
+	}
+
+	/**
+	 * Bringt die Formel in Negationsnormalform. Negationen stehen danach nur noch vor atomaren Aussagen;
+	 * F, G und die Implikation werden durch U, R, Disjunktion und Negation ausgedrückt.
+	 * @param formula Formel.
+	 * @param negated Information, ob die Formel negiert werden soll.
+	 * @return Formel in Negationsnormalform.
+	 */
+	private Formula negationNormalForm(Formula formula, boolean negated) {
+		Formula left = formula.getLeft();
+		Formula right = formula.getRight();
+		switch(formula.getOperator()) {
+		case TRUE:
+		case FALSE:
+			if(negated) {
+				return new Formula(formula.getOperator() == Formula.Operator.TRUE ? Formula.Operator.FALSE : Formula.Operator.TRUE, null, null);
+			}
+			return formula;
+		case NOT:
+			return negationNormalForm(left, !negated);
+		case AND:
+		case OR:
+			Formula.Operator operator = formula.getOperator();
+			if(negated) {
+				operator = operator == Formula.Operator.AND ? Formula.Operator.OR : Formula.Operator.AND;
+			}
+			return new Formula(operator, negationNormalForm(left, negated), negationNormalForm(right, negated));
+		case IMPLIES:
+			return negationNormalForm(new Formula(Formula.Operator.OR, new Formula(Formula.Operator.NOT, left, null), right), negated);
+		case X:
+			return new Formula(Formula.Operator.X, negationNormalForm(left, negated), null);
+		case F:
+			return negationNormalForm(new Formula(Formula.Operator.U, new Formula(Formula.Operator.TRUE, null, null), left), negated);
+		case G:
+			return negationNormalForm(new Formula(Formula.Operator.R, new Formula(Formula.Operator.FALSE, null, null), left), negated);
+		case U:
+			return new Formula(negated ? Formula.Operator.R : Formula.Operator.U, negationNormalForm(left, negated), negationNormalForm(right, negated));
+		case R:
+			return new Formula(negated ? Formula.Operator.U : Formula.Operator.R, negationNormalForm(left, negated), negationNormalForm(right, negated));
+		default:
+			if(!formula.isAtomic()) {
+				throw new IllegalArgumentException("Operator in LTL-Formeln nicht erlaubt: " + formula.getOperator());
+			}
+			return negated ? new Formula(Formula.Operator.NOT, formula, null) : formula;
+		}
+	}
+
+	/**
+	 * Expandiert einen Tableau-Knoten, bis alle Formeln verarbeitet sind, und fügt ihn (bzw. seine Nachfolger) der Knotenliste hinzu.
+	 * Gibt es bereits einen Knoten mit denselben verarbeiteten und nächsten Formeln, werden nur dessen Vorgänger ergänzt.
+	 * @param node Knoten, der expandiert werden soll.
+	 * @param nodes Liste der fertigen Knoten.
+	 */
+	private void expand(TableauNode node, LinkedList<TableauNode> nodes) {
+		if(node.unprocessed.isEmpty()) {
+			for(TableauNode other : nodes) {
+				if(other.processed.equals(node.processed) && other.next.equals(node.next)) {
+					other.incoming.addAll(node.incoming);
+					return;
+				}
+			}
+			nodes.add(node);
+			TableauNode successor = newNode();
+			successor.incoming.add(node.name);
+			successor.unprocessed.addAll(node.next);
+			expand(successor, nodes);
+			return;
+		}
+		Formula formula = node.unprocessed.iterator().next();
+		node.unprocessed.remove(formula);
+		if(formula.isAtomic() || formula.getOperator() == Formula.Operator.NOT) {
+			if(formula.getOperator() == Formula.Operator.FALSE || node.processed.contains(negate(formula))) {
+				return;
+			}
+			node.processed.add(formula);
+			expand(node, nodes);
+			return;
+		}
+		switch(formula.getOperator()) {
+		case AND:
+			node.processed.add(formula);
+			addUnprocessed(node, formula.getLeft());
+			addUnprocessed(node, formula.getRight());
+			expand(node, nodes);
+			break;
+		case X:
+			node.processed.add(formula);
+			node.next.add(formula.getLeft());
+			expand(node, nodes);
+			break;
+		default:
+			// OR, U und R teilen den Knoten in zwei Knoten auf.
+			TableauNode second = split(node);
+			node.processed.add(formula);
+			second.processed.add(formula);
+			if(formula.getOperator() == Formula.Operator.OR) {
+				addUnprocessed(node, formula.getLeft());
+				addUnprocessed(second, formula.getRight());
+			} else if(formula.getOperator() == Formula.Operator.U) {
+				addUnprocessed(node, formula.getLeft());
+				node.next.add(formula);
+				addUnprocessed(second, formula.getRight());
+			} else {
+				addUnprocessed(node, formula.getRight());
+				node.next.add(formula);
+				addUnprocessed(second, formula.getLeft());
+				addUnprocessed(second, formula.getRight());
+			}
+			expand(node, nodes);
+			expand(second, nodes);
+		}
+	}
+
+	/**
+	 * Erzeugt eine Kopie des Knotens mit neuer Nummer.
+	 * @param node Knoten, der kopiert werden soll.
+	 * @return Kopie des Knotens.
+	 */
+	private TableauNode split(TableauNode node) {
+		TableauNode copy = newNode();
+		copy.incoming.addAll(node.incoming);
+		copy.unprocessed.addAll(node.unprocessed);
+		copy.processed.addAll(node.processed);
+		copy.next.addAll(node.next);
+		return copy;
+	}
+
+	/**
+	 * Fügt die Formel den noch zu verarbeitenden Formeln hinzu, sofern sie noch nicht verarbeitet wurde.
+	 * @param node Knoten.
+	 * @param formula Formel.
+	 */
+	private void addUnprocessed(TableauNode node, Formula formula) {
+		if(!node.processed.contains(formula)) {
+			node.unprocessed.add(formula);
+		}
+	}
+
+	/**
+	 * Gibt die Negation eines Literals zurück.
+	 * @param literal Atomare Aussage oder negierte atomare Aussage.
+	 * @return Negiertes Literal.
+	 */
+	private Formula negate(Formula literal) {
+		if(literal.getOperator() == Formula.Operator.NOT) {
+			return literal.getLeft();
+		}
+		if(literal.getOperator() == Formula.Operator.TRUE) {
+			return new Formula(Formula.Operator.FALSE, null, null);
+		}
+		return new Formula(Formula.Operator.NOT, literal, null);
+	}
+
+	/**
+	 * Sammelt alle U-Teilformeln. Jede bildet eine Akzeptanzmenge des verallgemeinerten Büchi-Automaten.
+	 * @param formula Formel in Negationsnormalform.
+	 * @param result Menge, in die die Teilformeln eingefügt werden.
+	 * @return Menge der U-Teilformeln.
+	 */
+	private Set<Formula> untilFormulas(Formula formula, Set<Formula> result) {
+		if(formula.getOperator() == Formula.Operator.U) {
+			result.add(formula);
+		}
+		if(!(formula.getLeft() == null) && formula.getOperator() != Formula.Operator.NOT) {
+			untilFormulas(formula.getLeft(), result);
+		}
+		if(!(formula.getRight() == null)) {
+			untilFormulas(formula.getRight(), result);
+		}
+		return result;
+	}
+
+	/**
+	 * Überführt den verallgemeinerten Büchi-Automaten in einen einfachen Büchi-Automaten.
+	 * Ein Zustand (Knoten, i) wechselt zur Akzeptanzmenge i+1, sobald der Knoten die Menge i erfüllt.
+	 * Akzeptierend sind die Zustände (Knoten, 0), deren Knoten die erste Akzeptanzmenge erfüllt.
+	 * @param nodes Knoten des Tableaus.
+	 * @param untils U-Teilformeln der Formel.
+	 */
+	private void degeneralize(ArrayList<TableauNode> nodes, Set<Formula> untils) {
+		int sets = Math.max(1, untils.size());
+		int n = nodes.size();
+		Map<Integer, Integer> index = new HashMap<Integer, Integer>();
+		for(int i = 0; i < n; i++) {
+			index.put(nodes.get(i).name, i);
+		}
+		boolean[][] inSet = new boolean[n][sets];
+		ArrayList<LinkedList<Integer>> nodeSuccessors = new ArrayList<LinkedList<Integer>>();
+		LinkedList<Integer> initial = new LinkedList<Integer>();
+		positiveLabels = new Formula[n * sets][];
+		negativeLabels = new Formula[n * sets][];
+		for(int i = 0; i < n; i++) {
+			nodeSuccessors.add(new LinkedList<Integer>());
+		}
+		for(int i = 0; i < n; i++) {
+			TableauNode node = nodes.get(i);
+			int s = 0;
+			for(Formula until : untils) {
+				inSet[i][s++] = !node.processed.contains(until) || node.processed.contains(until.getRight());
+			}
+			if(untils.isEmpty()) {
+				inSet[i][0] = true;
+			}
+			for(int predecessor : node.incoming) {
+				if(predecessor == INIT) {
+					initial.add(i);
+				} else {
+					nodeSuccessors.get(index.get(predecessor)).add(i);
+				}
+			}
+			LinkedList<Formula> positive = new LinkedList<Formula>();
+			LinkedList<Formula> negative = new LinkedList<Formula>();
+			for(Formula formula : node.processed) {
+				if(formula.getOperator() == Formula.Operator.NOT) {
+					negative.add(formula.getLeft());
+				} else if(formula.isAtomic() && formula.getOperator() != Formula.Operator.TRUE) {
+					positive.add(formula);
+				}
+			}
+			for(int c = 0; c < sets; c++) {
+				positiveLabels[i * sets + c] = positive.toArray(new Formula[positive.size()]);
+				negativeLabels[i * sets + c] = negative.toArray(new Formula[negative.size()]);
+			}
+		}
+		successors = new int[n * sets][];
+		for(int i = 0; i < n; i++) {
+			for(int c = 0; c < sets; c++) {
+				int nextSet = inSet[i][c] ? (c + 1) % sets : c;
+				LinkedList<Integer> targets = nodeSuccessors.get(i);
+				int[] result = new int[targets.size()];
+				int k = 0;
+				for(int target : targets) {
+					result[k++] = target * sets + nextSet;
+				}
+				successors[i * sets + c] = result;
+				if(c == 0 && inSet[i][0]) {
+					accepting.set(i * sets);
+				}
+			}
+		}
+		initialStates = new int[initial.size()];
+		int k = 0;
+		for(int i : initial) {
+			initialStates[k++] = i * sets;
+		}
+	}
+}
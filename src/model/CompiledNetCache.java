@@ -0,0 +1,293 @@
+package model;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+
+/**
+ * Diese Klasse speichert eingelesene Petrinetze in einem kompakten Binärformat neben der PNML-Datei und lädt sie beim nächsten Mal von dort,
+ * sodass unveränderte Dateien nicht erneut als XML gelesen werden müssen.
+ * Die Cache-Datei heißt wie die PNML-Datei mit der zusätzlichen Endung {@value #SUFFIX} (z.B. {@code netz.pnml.pnc}).
+ * Sie ist gültig, solange Größe, Änderungszeitpunkt und Prüfsumme (CRC-32) des Inhalts der PNML-Datei mit den gespeicherten Werten
+ * übereinstimmen und die Formatversion {@value #VERSION} ist. Ungültige, veraltete oder beschädigte Cache-Dateien werden ignoriert und überschrieben.
+ * <p>
+ * Aufbau (alle Zahlen big-endian, Zeichenketten als Länge in Byte und UTF-8, Länge -1 für null):
+ * <pre>
+ * int magic "PNC1", int version, long dateigroesse, long aenderungszeitpunkt, long crc32
+ * int stellen, int transitionen, int kanten
+ * je Stelle:      string id, string name, double x, double y, int marken
+ * je Transition:  string id, string name, double x, double y
+ * je Kante:       string id, string quelle, string ziel
+ * </pre>
+ * Die Cache-Datei wird in einem Stück in den Heap gelesen und aus einem {@link ByteBuffer} dekodiert. Das Laden eines großen Netzes wird dadurch vom Lesen der Datei
+ * und der Prüfsumme bestimmt und nicht mehr vom XML-Parser. Auf Memory-Mapping wird verzichtet, da eine gemappte Datei unter Windows
+ * bis zur Garbage Collection gesperrt bleibt und dann weder die PNML-Datei gespeichert noch die Cache-Datei ersetzt werden kann.
+ * @author Hannes Wilms
+ *
+ */
+public final class CompiledNetCache {
+
+	/** Endung der Cache-Datei, die an den Namen der PNML-Datei angehängt wird. */
+	public static final String SUFFIX = ".pnc";
+
+	/** Kennung am Anfang jeder Cache-Datei ("PNC1"). */
+	private static final int MAGIC = 0x504E4331;
+
+	/** Version des Formats. Muss erhöht werden, wenn sich das Format oder die Art des Einlesens ändert. */
+	private static final int VERSION = 1;
+
+	/** Zeichensatz der gespeicherten Zeichenketten. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** Information, ob der Cache verwendet wird. */
+	private static volatile boolean enabled = true;
+
+	/**
+	 * Es werden keine Objekte dieser Klasse erzeugt.
+	 */
+	private CompiledNetCache() {
+	}
+
+	/**
+	 * Legt fest, ob der Cache verwendet wird. Ist er abgeschaltet, liest {@link #load(File)} die PNML-Datei immer neu ein und schreibt keine Cache-Datei.
+	 * @param enabled true, wenn der Cache verwendet werden soll.
+	 */
+	public static void setEnabled(boolean enabled) {
+		CompiledNetCache.enabled = enabled;
+	}
+
+	/**
+	 * Gibt zurück, ob der Cache verwendet wird.
+	 * @return true, wenn der Cache verwendet wird.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Gibt die Cache-Datei zur PNML-Datei zurück.
+	 * @param pnml PNML-Datei.
+	 * @return Cache-Datei im selben Ordner.
+	 */
+	public static File getCacheFile(File pnml) {
+		return new File(pnml.getPath() + SUFFIX);
+	}
+
+	/**
+	 * Lädt das Petrinetz aus der gültigen Cache-Datei der PNML-Datei.
+	 * Gibt es keine gültige Cache-Datei, wird die PNML-Datei mit dem {@link PNMLCursorParser} eingelesen und die Cache-Datei neu geschrieben.
+	 * Kann die Cache-Datei nicht geschrieben werden (z.B. in einem schreibgeschützten Ordner), wird das eingelesene Netz trotzdem zurückgegeben.
+	 * @param pnml PNML-Datei.
+	 * @return Eingelesenes Petrinetz mit initialisiertem Erreichbarkeitsgraphen.
+	 * @throws IllegalArgumentException wenn die PNML-Datei nicht gelesen werden kann oder ungültig ist.
+	 */
+	public static Petrinet load(File pnml) {
+		Petrinet petrinet = null;
+		if(enabled) {
+			try {
+				long[] stamp = stamp(pnml);
+				petrinet = read(pnml, stamp);
+				if(petrinet == null) {
+					petrinet = new PNMLCursorParser(pnml).getPetrinet();
+					write(pnml, stamp, petrinet);
+				}
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Fehler beim Lesen der PNML-Datei " + pnml.getName() + ": " + e.getMessage(), e);
+			}
+		} else {
+			petrinet = new PNMLCursorParser(pnml).getPetrinet();
+		}
+		return petrinet;
+	}
+
+	/**
+	 * Ermittelt Größe, Änderungszeitpunkt und Prüfsumme der PNML-Datei.
+	 * Die Werte werden vor dem Einlesen ermittelt, sodass eine währenddessen geänderte Datei beim nächsten Laden als geändert erkannt wird.
+	 * Die Datei wird blockweise gelesen, die Größe ist die Anzahl der gelesenen Bytes.
+	 * @param pnml PNML-Datei.
+	 * @return Feld mit Größe in Byte, Änderungszeitpunkt in Millisekunden und CRC-32 des Inhalts.
+	 * @throws IOException wenn die Datei nicht gelesen werden kann.
+	 */
+	private static long[] stamp(File pnml) throws IOException {
+		long modified = pnml.lastModified();
+		CRC32 crc = new CRC32();
+		long size = 0;
+		byte[] block = new byte[65536];
+		InputStream in = new FileInputStream(pnml);
+		try {
+			int read = in.read(block);
+			while(read >= 0) {
+				crc.update(block, 0, read);
+				size = size + read;
+				read = in.read(block);
+			}
+		} finally {
+			in.close();
+		}
+		return new long[] {size, modified, crc.getValue()};
+	}
+
+	/**
+	 * Liest das Petrinetz aus der Cache-Datei, wenn diese zum Stand der PNML-Datei passt.
+	 * @param pnml PNML-Datei.
+	 * @param stamp Größe, Änderungszeitpunkt und Prüfsumme der PNML-Datei.
+	 * @return Petrinetz oder null, wenn es keine gültige Cache-Datei gibt.
+	 */
+	private static Petrinet read(File pnml, long[] stamp) {
+		Petrinet petrinet = null;
+		File cache = getCacheFile(pnml);
+		if(cache.isFile()) {
+			try {
+				ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(cache.toPath()));
+				if(buffer.remaining() >= 40 && buffer.getInt() == MAGIC && buffer.getInt() == VERSION
+						&& buffer.getLong() == stamp[0] && buffer.getLong() == stamp[1] && buffer.getLong() == stamp[2]) {
+					petrinet = decode(buffer, pnml.getName());
+				}
+			} catch (IOException e) {
+				petrinet = null;
+			} catch (BufferUnderflowException e) {
+				petrinet = null;
+			} catch (IllegalArgumentException e) {
+				petrinet = null;
+			}
+		}
+		return petrinet;
+	}
+
+	/**
+	 * Erzeugt das Petrinetz aus dem Inhalt der Cache-Datei nach dem Kopf.
+	 * @param buffer Inhalt der Cache-Datei, positioniert hinter dem Kopf.
+	 * @param name Name des Petrinetzes.
+	 * @return Petrinetz mit verbundenen Kanten und initialisiertem Erreichbarkeitsgraphen oder null, wenn der Inhalt nicht stimmig ist.
+	 */
+	private static Petrinet decode(ByteBuffer buffer, String name) {
+		Petrinet petrinet = new Petrinet(name);
+		int placeCount = buffer.getInt();
+		int transitionCount = buffer.getInt();
+		int arcCount = buffer.getInt();
+		byte[] bytes = new byte[256];
+		for(int i = 0; i < placeCount; i++) {
+			Place place = new Place(readString(buffer, bytes));
+			place.setName(readString(buffer, bytes));
+			place.setPosition(buffer.getDouble(), buffer.getDouble());
+			place.setTokens(buffer.getInt());
+			petrinet.addPlace(place);
+		}
+		for(int i = 0; i < transitionCount; i++) {
+			Transition transition = new Transition(readString(buffer, bytes));
+			transition.setName(readString(buffer, bytes));
+			transition.setPosition(buffer.getDouble(), buffer.getDouble());
+			petrinet.addTransition(transition);
+		}
+		boolean consistent = true;
+		for(int i = 0; i < arcCount && consistent; i++) {
+			Arc arc = new Arc(readString(buffer, bytes), readString(buffer, bytes), readString(buffer, bytes));
+			Node source = petrinet.getNode(arc.getStoredSourceId());
+			Node target = petrinet.getNode(arc.getStoredTargetId());
+			if(source == null || target == null || (source instanceof Place) == (target instanceof Place)) {
+				consistent = false;
+			} else {
+				petrinet.addArc(arc);
+				arc.setNodes(source, target);
+			}
+		}
+		if(consistent && !buffer.hasRemaining()) {
+			petrinet.initializeReachabilityNet();
+		} else {
+			petrinet = null;
+		}
+		return petrinet;
+	}
+
+	/**
+	 * Liest eine Zeichenkette aus dem Puffer.
+	 * @param buffer Puffer, positioniert auf der Länge der Zeichenkette.
+	 * @param bytes Hilfsfeld für die Bytes der Zeichenkette. Ist es zu klein, wird ein eigenes Feld verwendet.
+	 * @return Zeichenkette oder null.
+	 */
+	private static String readString(ByteBuffer buffer, byte[] bytes) {
+		String string = null;
+		int length = buffer.getInt();
+		if(length >= 0) {
+			byte[] target = length <= bytes.length ? bytes : new byte[length];
+			buffer.get(target, 0, length);
+			string = new String(target, 0, length, UTF8);
+		}
+		return string;
+	}
+
+	/**
+	 * Schreibt das Petrinetz in die Cache-Datei. Die Datei wird zunächst unter einem temporären Namen geschrieben und dann umbenannt,
+	 * sodass gleichzeitig ladende Prozesse nie eine halb geschriebene Datei sehen. Fehler beim Schreiben werden ignoriert.
+	 * @param pnml PNML-Datei.
+	 * @param stamp Größe, Änderungszeitpunkt und Prüfsumme der PNML-Datei vor dem Einlesen.
+	 * @param petrinet Aus der PNML-Datei eingelesenes Petrinetz.
+	 */
+	private static void write(File pnml, long[] stamp, Petrinet petrinet) {
+		File cache = getCacheFile(pnml);
+		File temporary = null;
+		try {
+			temporary = File.createTempFile(cache.getName(), ".tmp", cache.getAbsoluteFile().getParentFile());
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary), 65536));
+			try {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(stamp[0]);
+				out.writeLong(stamp[1]);
+				out.writeLong(stamp[2]);
+				out.writeInt(petrinet.getPlaces().size());
+				out.writeInt(petrinet.getTransitions().size());
+				out.writeInt(petrinet.getArcs().size());
+				for(Place place : petrinet.getPlaces()) {
+					writeString(out, place.getId());
+					writeString(out, place.getName());
+					out.writeDouble(place.getX());
+					out.writeDouble(place.getY());
+					out.writeInt(place.getTokens());
+				}
+				for(Transition transition : petrinet.getTransitions()) {
+					writeString(out, transition.getId());
+					writeString(out, transition.getName());
+					out.writeDouble(transition.getX());
+					out.writeDouble(transition.getY());
+				}
+				for(Arc arc : petrinet.getArcs()) {
+					writeString(out, arc.getId());
+					writeString(out, arc.getSourceId());
+					writeString(out, arc.getTargetId());
+				}
+			} finally {
+				out.close();
+			}
+			try {
+				Files.move(temporary.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary.toPath(), cache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			// Ohne Cache-Datei wird die PNML-Datei beim nächsten Laden erneut eingelesen.
+			if(!(temporary == null)) {
+				temporary.delete();
+			}
+		}
+	}
+
+	/**
+	 * Schreibt eine Zeichenkette als Länge in Byte und UTF-8.
+	 * @param out Ausgabe.
+	 * @param string Zeichenkette oder null.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	private static void writeString(DataOutputStream out, String string) throws IOException {
+		if(string == null) {
+			out.writeInt(-1);
+		} else {
+			byte[] bytes = string.getBytes(UTF8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+	}
+}
@@ -0,0 +1,485 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse entscheidet, ob eine Zielmarkierung ausgehend von der Anfangsmarkierung überdeckt werden kann,
+ * d.h. ob eine erreichbare Markierung existiert, die an jeder Stelle mindestens so viele Marken trägt wie die Zielmarkierung.
+ * Anders als die Vorwärtsanalyse terminiert das Verfahren auch bei unbeschränkten Netzen: Ausgehend von der Zielmarkierung wird rückwärts die
+ * nach oben abgeschlossene Menge aller Markierungen berechnet, von denen aus die Zielmarkierung überdeckt werden kann.
+ * Diese Menge wird durch ihre minimalen Elemente (Basis) dargestellt. Vorgänger werden über Vor- und Nachbereich der Transitionen berechnet.
+ * Basiselemente, die nach der Zustandsgleichung von der Anfangsmarkierung aus nicht erreichbar sein können, werden verworfen.
+ * Dafür werden nicht-negative Gewichtungen y der Stellen mit y·C &lt;= 0 (Unter-Invarianten, C Inzidenzmatrix) verwendet:
+ * Für jede erreichbare Markierung m gilt y·m &lt;= y·m0.
+ * Da die Basis sehr groß werden kann, endet die Prüfung ohne Ergebnis, wenn die Höchstzahl der Basiselemente oder das {@link AnalysisBudget} erreicht ist
+ * oder sie mit {@link #cancel()} abgebrochen wurde ({@link #getInconclusive()}).
+ * @author Hannes Wilms
+ *
+ */
+public class CoverabilityChecker {
+
+	/** Höchstzahl der Zeilen bei der Berechnung der Unter-Invarianten. */
+	private static final int MAX_INVARIANT_ROWS = 2000;
+
+	/** Voreingestellte Höchstzahl der erzeugten Basiselemente, nach der die Prüfung abgebrochen wird. */
+	public static final int DEFAULT_MAX_BASIS_ELEMENTS = 100000;
+
+	/** Anzahl der Schritte zwischen zwei Prüfungen der Speichergrenze. */
+	private static final int BUDGET_CHECK_INTERVAL = 256;
+
+	/** Element der Basis mit Verweis auf das Element, das nach Schalten der Transition überdeckt wird. */
+	private static class BasisElement {
+
+		/** Minimale Markierung. */
+		private int[] marking;
+
+		/** Index der Transition, die zum Nachfolgeelement führt (-1 für die Zielmarkierung). */
+		private int transition;
+
+		/** Element, das nach Schalten der Transition überdeckt wird. */
+		private BasisElement successor;
+
+		/** Information, ob das Element durch ein kleineres Element ersetzt wurde. */
+		private boolean removed = false;
+	}
+
+	/** Indexbasierte Darstellung des Petrinetzes. */
+	private IndexedNet net;
+
+	/** Unter-Invarianten des Petrinetzes zur Prüfung der Zustandsgleichung. Werden bei der ersten Prüfung berechnet. */
+	private LinkedList<int[]> subInvariants;
+
+	/** Marken, die eine Transition je Stelle mindestens benötigt, um aktiviert zu sein. */
+	private int[][] required;
+
+	/** Änderung der Marken je Stelle beim Schalten einer Transition. */
+	private int[][] effect;
+
+	/** Schaltfolge zur überdeckenden Markierung der letzten Prüfung. */
+	private LinkedList<String> witness = new LinkedList<String>();
+
+	/** Überdeckende Markierung der letzten Prüfung. */
+	private String coveringMarking;
+
+	/** Anzahl der insgesamt erzeugten Basiselemente der letzten Prüfung. */
+	private int basisElements;
+
+	/** Anzahl der durch die Zustandsgleichung verworfenen Elemente der letzten Prüfung. */
+	private int prunedElements;
+
+	/** Höchstzahl der erzeugten Basiselemente. */
+	private int maxBasisElements;
+
+	/** Angabe, ob der Abbruch der laufenden Prüfung angefordert wurde. Wird aus einem anderen Thread gesetzt. */
+	private volatile boolean cancelled = false;
+
+	/** Grund, aus dem die letzte Prüfung ohne Ergebnis beendet wurde, oder null. */
+	private String inconclusiveReason;
+
+	/** Budget der laufenden Prüfung. */
+	private AnalysisBudget budget = AnalysisBudget.UNLIMITED;
+
+	/** Zeitpunkt (System.nanoTime()), zu dem die Zeitgrenze der laufenden Prüfung erreicht ist. */
+	private long deadline;
+
+	/** Belegter Heap zu Beginn der laufenden Prüfung. */
+	private long memoryBaseline;
+
+	/** Verbleibende Schritte bis zur nächsten Prüfung der Speichergrenze. */
+	private int budgetCheckCountdown;
+
+	/**
+	 * Erzeugt einen neuen CoverabilityChecker für das übergebene Petrinetz mit der voreingestellten Höchstzahl von Basiselementen.
+	 * @param petrinet Zu untersuchendes Petrinetz.
+	 */
+	public CoverabilityChecker(Petrinet petrinet) {
+		this(petrinet, DEFAULT_MAX_BASIS_ELEMENTS);
+	}
+
+	/**
+	 * Erzeugt einen neuen CoverabilityChecker für das übergebene Petrinetz.
+	 * Berechnet die Inzidenzmatrix des Netzes. Die Unter-Invarianten werden erst bei der ersten Prüfung berechnet,
+	 * damit die Erzeugung auch im Event-Dispatch-Thread schnell bleibt.
+	 * Geprüft wird ab der Anfangsmarkierung des (partiellen) Erreichbarkeitsgraphen.
+	 * @param petrinet Zu untersuchendes Petrinetz.
+	 * @param maxBasisElements Höchstzahl der erzeugten Basiselemente, nach der die Prüfung abgebrochen wird.
+	 */
+	public CoverabilityChecker(Petrinet petrinet, int maxBasisElements) {
+		this.maxBasisElements = maxBasisElements;
+		net = new IndexedNet(petrinet);
+		int places = net.getNumberOfPlaces();
+		int transitions = net.getNumberOfTransitions();
+		required = new int[transitions][places];
+		effect = new int[transitions][places];
+		for(int t = 0; t < transitions; t++) {
+			for(int p : net.getInput(t)) {
+				required[t][p] = 1;
+				effect[t][p]--;
+			}
+			for(int p : net.getOutput(t)) {
+				effect[t][p]++;
+			}
+		}
+	}
+
+	/**
+	 * Prüft, ob die Zielmarkierung von der Anfangsmarkierung aus überdeckt werden kann.
+	 * Nicht angegebene Stellen der Zielmarkierung werden mit 0 Marken angenommen.
+	 * Ist die Zielmarkierung überdeckbar, kann die Schaltfolge mit {@link #getWitness()} abgefragt werden.
+	 * Die Prüfung ist nur durch die Höchstzahl der Basiselemente begrenzt.
+	 * @param target Zielmarkierung als Zuordnung von ids der Stellen zur Anzahl der Marken.
+	 * @return Information, ob die Zielmarkierung überdeckbar ist (true) oder nicht (false bzw. ohne Ergebnis, siehe {@link #getInconclusive()}).
+	 */
+	public boolean isCoverable(Map<String, Integer> target) {
+		return isCoverable(target, AnalysisBudget.UNLIMITED);
+	}
+
+	/**
+	 * Prüft, ob die Zielmarkierung von der Anfangsmarkierung aus überdeckt werden kann.
+	 * Nicht angegebene Stellen der Zielmarkierung werden mit 0 Marken angenommen.
+	 * Ist die Zielmarkierung überdeckbar, kann die Schaltfolge mit {@link #getWitness()} abgefragt werden.
+	 * Ist die Höchstzahl der Basiselemente oder eine Grenze des Budgets erreicht oder wurde die Prüfung abgebrochen,
+	 * wird false zurückgegeben und {@link #getInconclusive()} liefert true.
+	 * @param target Zielmarkierung als Zuordnung von ids der Stellen zur Anzahl der Marken.
+	 * @param budget Zeit- und Speichergrenze der Prüfung.
+	 * @return Information, ob die Zielmarkierung überdeckbar ist (true) oder nicht (false bzw. ohne Ergebnis, siehe {@link #getInconclusive()}).
+	 */
+	public boolean isCoverable(Map<String, Integer> target, AnalysisBudget budget) {
+		witness.clear();
+		coveringMarking = null;
+		basisElements = 0;
+		prunedElements = 0;
+		inconclusiveReason = null;
+		this.budget = budget;
+		deadline = System.nanoTime() + budget.getTimeLimitMillis() * 1000000;
+		memoryBaseline = usedMemory();
+		budgetCheckCountdown = BUDGET_CHECK_INTERVAL;
+		if(subInvariants == null) {
+			subInvariants = computeSubInvariants();
+		}
+		int[] initial = net.getInitialMarking();
+		BasisElement start = new BasisElement();
+		start.marking = new int[net.getNumberOfPlaces()];
+		start.transition = -1;
+		for(Map.Entry<String, Integer> entry : target.entrySet()) {
+			int index = net.getPlaceIndex(entry.getKey());
+			if(index < 0) {
+				throw new IllegalArgumentException("Unbekannte Stelle: " + entry.getKey());
+			}
+			start.marking[index] = entry.getValue();
+		}
+		if(!satisfiesStateEquation(start.marking, initial)) {
+			prunedElements++;
+			return false;
+		}
+		LinkedList<BasisElement> basis = new LinkedList<BasisElement>();
+		ArrayDeque<BasisElement> worklist = new ArrayDeque<BasisElement>();
+		basis.add(start);
+		worklist.add(start);
+		basisElements = 1;
+		while(!worklist.isEmpty() && !isStopped()) {
+			BasisElement element = worklist.poll();
+			if(element.removed) {
+				continue;
+			}
+			if(covers(initial, element.marking)) {
+				buildWitness(element, initial);
+				return true;
+			}
+			for(int t = 0; t < net.getNumberOfTransitions(); t++) {
+				int[] predecessor = predecessor(element.marking, t);
+				if(!satisfiesStateEquation(predecessor, initial)) {
+					prunedElements++;
+				} else if(!isCovered(basis, predecessor)) {
+					BasisElement newElement = new BasisElement();
+					newElement.marking = predecessor;
+					newElement.transition = t;
+					newElement.successor = element;
+					Iterator<BasisElement> it = basis.iterator();
+					while(it.hasNext()) {
+						BasisElement other = it.next();
+						if(covers(other.marking, predecessor)) {
+							other.removed = true;
+							it.remove();
+						}
+					}
+					basis.add(newElement);
+					worklist.add(newElement);
+					basisElements++;
+					if(basisElements > maxBasisElements && inconclusiveReason == null) {
+						inconclusiveReason = "Höchstzahl von " + maxBasisElements + " Basiselementen erreicht";
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Prüft, ob die laufende Prüfung beendet werden soll, weil sie abgebrochen wurde, die Höchstzahl der Basiselemente oder das Budget erreicht ist.
+	 * Die Zeitgrenze wird in jedem Schritt geprüft, die Speichergrenze nur alle {@link #BUDGET_CHECK_INTERVAL} Schritte. Der Grund wird gespeichert.
+	 * @return Information, ob die Prüfung beendet werden soll (true) oder nicht (false).
+	 */
+	private boolean isStopped() {
+		if(inconclusiveReason == null) {
+			if(cancelled) {
+				inconclusiveReason = "abgebrochen";
+			} else if(budget.getTimeLimitMillis() > 0 && System.nanoTime() - deadline >= 0) {
+				inconclusiveReason = "Zeitgrenze von " + budget.getTimeLimitMillis() + " ms erreicht";
+			} else if(budget.getMemoryLimitBytes() > 0 && --budgetCheckCountdown <= 0) {
+				budgetCheckCountdown = BUDGET_CHECK_INTERVAL;
+				if(usedMemory() - memoryBaseline >= budget.getMemoryLimitBytes()) {
+					inconclusiveReason = "Speichergrenze von " + (budget.getMemoryLimitBytes() / 1024 / 1024) + " MB erreicht";
+				}
+			}
+		}
+		return !(inconclusiveReason == null);
+	}
+
+	/**
+	 * Gibt den aktuell belegten Heap der JVM zurück.
+	 * @return Belegter Heap in Byte.
+	 */
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Fordert den Abbruch der laufenden Prüfung an. Kann aus einem anderen Thread aufgerufen werden.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die letzte Prüfung ohne Ergebnis beendet wurde.
+	 * @return Information, ob die Prüfung abgebrochen wurde oder eine Grenze erreicht hat (true) oder nicht (false).
+	 */
+	public boolean getInconclusive() {
+		return !(inconclusiveReason == null);
+	}
+
+	/**
+	 * Gibt den Grund zurück, aus dem die letzte Prüfung ohne Ergebnis beendet wurde.
+	 * @return Grund oder null, wenn die Prüfung ein Ergebnis geliefert hat.
+	 */
+	public String getInconclusiveReason() {
+		return inconclusiveReason;
+	}
+
+	/**
+	 * Berechnet das minimale Element der Markierungen, in denen die Transition aktiviert ist und nach deren Schalten die Markierung überdeckt wird.
+	 * @param marking Zu überdeckende Markierung.
+	 * @param transition Index der Transition.
+	 * @return Minimaler Vorgänger.
+	 */
+	private int[] predecessor(int[] marking, int transition) {
+		int[] result = new int[marking.length];
+		for(int p = 0; p < marking.length; p++) {
+			result[p] = Math.max(required[transition][p], marking[p] - effect[transition][p]);
+		}
+		return result;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die Markierung bereits von einem Basiselement überdeckt wird.
+	 * @param basis Aktuelle Basis.
+	 * @param marking Markierung.
+	 * @return Information, ob ein Basiselement kleiner oder gleich der Markierung ist (true) oder nicht (false).
+	 */
+	private boolean isCovered(LinkedList<BasisElement> basis, int[] marking) {
+		for(BasisElement element : basis) {
+			if(covers(marking, element.marking)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die erste Markierung die zweite überdeckt.
+	 * @param bigger Möglicherweise größere Markierung.
+	 * @param smaller Möglicherweise kleinere Markierung.
+	 * @return Information, ob die erste Markierung an jeder Stelle mindestens so viele Marken trägt (true) oder nicht (false).
+	 */
+	private boolean covers(int[] bigger, int[] smaller) {
+		for(int p = 0; p < bigger.length; p++) {
+			if(bigger[p] < smaller[p]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Prüft die notwendige Bedingung der Zustandsgleichung: Für jede Unter-Invariante y muss y·m &lt;= y·m0 gelten,
+	 * damit eine Markierung m, die größer oder gleich der übergebenen ist, von m0 aus erreichbar sein kann.
+	 * @param marking Zu prüfende Markierung.
+	 * @param initial Anfangsmarkierung.
+	 * @return Information, ob die Bedingung erfüllt ist (true) oder die Markierung sicher nicht überdeckt werden kann (false).
+	 */
+	private boolean satisfiesStateEquation(int[] marking, int[] initial) {
+		for(int[] y : subInvariants) {
+			long left = 0;
+			long right = 0;
+			for(int p = 0; p < y.length; p++) {
+				left = left + (long) y[p] * marking[p];
+				right = right + (long) y[p] * initial[p];
+			}
+			if(left > right) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Berechnet nicht-negative Gewichtungen y der Stellen mit y·C &lt;= 0 mit dem Verfahren von Fourier und Motzkin (Farkas-Algorithmus).
+	 * Spalte für Spalte werden Zeilen mit positivem Eintrag mit Zeilen mit negativem Eintrag kombiniert, bis alle Einträge höchstens 0 sind.
+	 * Überschreitet die Anzahl der Zeilen die Höchstzahl, werden nur noch Zeilen übernommen, die bereits höchstens 0 sind.
+	 * Das Ergebnis ist dann unvollständig, die Prüfung bleibt aber korrekt.
+	 * @return Liste (LinkedList) der Unter-Invarianten.
+	 */
+	private LinkedList<int[]> computeSubInvariants() {
+		int places = net.getNumberOfPlaces();
+		int transitions = net.getNumberOfTransitions();
+		// Jede Zeile enthält die Einträge y·C (Länge transitions) gefolgt von y (Länge places).
+		LinkedList<long[]> rows = new LinkedList<long[]>();
+		for(int p = 0; p < places; p++) {
+			long[] row = new long[transitions + places];
+			for(int t = 0; t < transitions; t++) {
+				row[t] = effect[t][p];
+			}
+			row[transitions + p] = 1;
+			rows.add(row);
+		}
+		for(int t = 0; t < transitions; t++) {
+			LinkedList<long[]> positive = new LinkedList<long[]>();
+			LinkedList<long[]> next = new LinkedList<long[]>();
+			for(long[] row : rows) {
+				if(row[t] > 0) {
+					positive.add(row);
+				} else {
+					next.add(row);
+				}
+			}
+			if(next.size() + positive.size() < MAX_INVARIANT_ROWS) {
+				LinkedList<long[]> negative = new LinkedList<long[]>();
+				for(long[] row : next) {
+					if(row[t] < 0) {
+						negative.add(row);
+					}
+				}
+				for(long[] plus : positive) {
+					for(long[] minus : negative) {
+						if(next.size() >= MAX_INVARIANT_ROWS) {
+							break;
+						}
+						long[] combined = new long[plus.length];
+						for(int i = 0; i < plus.length; i++) {
+							combined[i] = -minus[t] * plus[i] + plus[t] * minus[i];
+						}
+						normalize(combined);
+						next.add(combined);
+					}
+				}
+			}
+			rows = next;
+		}
+		LinkedList<int[]> result = new LinkedList<int[]>();
+		for(long[] row : rows) {
+			int[] y = new int[places];
+			boolean overflow = false;
+			for(int p = 0; p < places; p++) {
+				if(row[transitions + p] > Integer.MAX_VALUE) {
+					overflow = true;
+				}
+				y[p] = (int) row[transitions + p];
+			}
+			if(!overflow) {
+				result.add(y);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Teilt alle Einträge der Zeile durch ihren größten gemeinsamen Teiler.
+	 * @param row Zeile, die normiert werden soll.
+	 */
+	private void normalize(long[] row) {
+		long gcd = 0;
+		for(long value : row) {
+			long a = Math.abs(value);
+			long b = gcd;
+			while(b != 0) {
+				long h = a % b;
+				a = b;
+				b = h;
+			}
+			gcd = a;
+		}
+		if(gcd > 1) {
+			for(int i = 0; i < row.length; i++) {
+				row[i] = row[i] / gcd;
+			}
+		}
+	}
+
+	/**
+	 * Erzeugt die Schaltfolge von der Anfangsmarkierung zur überdeckenden Markierung, indem die Verweise der Basiselemente verfolgt werden.
+	 * @param element Basiselement, das von der Anfangsmarkierung überdeckt wird.
+	 * @param initial Anfangsmarkierung.
+	 */
+	private void buildWitness(BasisElement element, int[] initial) {
+		int[] marking = initial;
+		BasisElement current = element;
+		while(current.transition >= 0) {
+			marking = net.fire(marking, current.transition);
+			witness.add(net.getTransitionId(current.transition));
+			current = current.successor;
+		}
+		coveringMarking = net.getMarkingId(marking);
+	}
+
+	/**
+	 * Gibt die Schaltfolge von der Anfangsmarkierung zu einer Markierung zurück, die die Zielmarkierung überdeckt.
+	 * @return Liste (LinkedList) der ids der Transitionen.
+	 */
+	public LinkedList<String> getWitness() {
+		return witness;
+	}
+
+	/**
+	 * Gibt die Markierung zurück, die nach Schalten der Schaltfolge erreicht wird und die Zielmarkierung überdeckt.
+	 * @return id der Markierung oder null, wenn die Zielmarkierung nicht überdeckbar ist.
+	 */
+	public String getCoveringMarking() {
+		return coveringMarking;
+	}
+
+	/**
+	 * Gibt die Anzahl der bei der letzten Prüfung erzeugten Basiselemente zurück.
+	 * @return Anzahl der Basiselemente.
+	 */
+	public int getBasisElements() {
+		return basisElements;
+	}
+
+	/**
+	 * Gibt die Anzahl der bei der letzten Prüfung durch die Zustandsgleichung verworfenen Markierungen zurück.
+	 * @return Anzahl der verworfenen Markierungen.
+	 */
+	public int getPrunedElements() {
+		return prunedElements;
+	}
+
+	/**
+	 * Gibt die Anzahl der berechneten Unter-Invarianten zurück.
+	 * @return Anzahl der Unter-Invarianten oder 0, wenn noch keine Prüfung stattgefunden hat.
+	 */
+	public int getNumberOfSubInvariants() {
+		return subInvariants == null ? 0 : subInvariants.size();
+	}
+}
@@ -0,0 +1,274 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse prüft CTL-Formeln auf dem vollständigen Erreichbarkeitsgraphen eines beschränkten Petrinetzes.
+ * Die Formel wird von innen nach außen ausgewertet (Labelling-Verfahren). Die Menge der Markierungen, in denen eine Teilformel gilt,
+ * wird als {@link BitSet} über den Indizes der Markierungen gespeichert, sodass jeder Operator mit einem linearen Durchlauf über Knoten und Kanten auskommt.
+ * Markierungen ohne Nachfolger (Verklemmungen) beenden einen Pfad; dort gilt AX jeder Formel, EX keiner Formel und EG bzw. AG, sobald die Teilformel selbst gilt.
+ * @author Hannes Wilms
+ *
+ */
+public class CtlModelChecker {
+
+	/** Markierungen des Erreichbarkeitsgraphen in der Reihenfolge ihrer Indizes. */
+	private ArrayList<Marking> markings;
+
+	/** Index der Anfangsmarkierung. */
+	private int initialIndex;
+
+	/** Indizes der Nachfolger je Markierung (eine Eintragung je Kante). */
+	private int[][] successors;
+
+	/** Indizes der Vorgänger je Markierung (eine Eintragung je Kante). */
+	private int[][] predecessors;
+
+	/** Je Transition die Markierungen, in denen die Transition aktiviert ist. */
+	private Map<String, BitSet> enabledTransitions = new HashMap<String, BitSet>();
+
+	/**
+	 * Erzeugt einen neuen Model-Checker für das übergebene Petrinetz.
+	 * Der Erreichbarkeitsgraph muss vollständig berechnet sein (siehe {@link Petrinet#isReachabilityNetComplete()}).
+	 * Baut die Nachfolger- und Vorgängerlisten der Markierungen in einem Durchlauf über alle Kanten auf.
+	 * @param petrinet Petrinetz, dessen Erreichbarkeitsgraph untersucht werden soll.
+	 * @throws IllegalStateException wenn der Erreichbarkeitsgraph nicht vollständig ist.
+	 */
+	public CtlModelChecker(Petrinet petrinet) {
+		if(!petrinet.isReachabilityNetComplete()) {
+			throw new IllegalStateException("Der Erreichbarkeitsgraph ist nicht vollständig berechnet.");
+		}
+		markings = new ArrayList<Marking>(petrinet.getReachabilityMarkings());
+		Map<String, Integer> index = new HashMap<String, Integer>();
+		for(int i = 0; i < markings.size(); i++) {
+			index.put(markings.get(i).getId(), i);
+		}
+		initialIndex = index.get(petrinet.getInitialMarking().getId());
+		int[] outDegree = new int[markings.size()];
+		int[] inDegree = new int[markings.size()];
+		LinkedList<MarkingConnector> connectors = petrinet.getReachabilityMarkingConnectors();
+		for(MarkingConnector mc : connectors) {
+			outDegree[index.get(mc.getMarkingBefore())]++;
+			inDegree[index.get(mc.getMarkingBehind())]++;
+		}
+		successors = new int[markings.size()][];
+		predecessors = new int[markings.size()][];
+		for(int i = 0; i < markings.size(); i++) {
+			successors[i] = new int[outDegree[i]];
+			predecessors[i] = new int[inDegree[i]];
+			outDegree[i] = 0;
+			inDegree[i] = 0;
+		}
+		for(MarkingConnector mc : connectors) {
+			int before = index.get(mc.getMarkingBefore());
+			int behind = index.get(mc.getMarkingBehind());
+			successors[before][outDegree[before]++] = behind;
+			predecessors[behind][inDegree[behind]++] = before;
+			BitSet enabled = enabledTransitions.get(mc.getTransitionCaused());
+			if(enabled == null) {
+				enabled = new BitSet(markings.size());
+				enabledTransitions.put(mc.getTransitionCaused(), enabled);
+			}
+			enabled.set(before);
+		}
+	}
+
+	/**
+	 * Gibt die Anzahl der Markierungen des untersuchten Erreichbarkeitsgraphen zurück.
+	 * @return Anzahl der Markierungen.
+	 */
+	public int getNumberOfMarkings() {
+		return markings.size();
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die Formel in der Anfangsmarkierung gilt.
+	 * @param formula Zu prüfende Formel.
+	 * @return Information, ob die Formel in der Anfangsmarkierung gilt (true) oder nicht (false).
+	 */
+	public boolean holdsInInitialMarking(Formula formula) {
+		return check(formula).get(initialIndex);
+	}
+
+	/**
+	 * Gibt die Markierungen zurück, in denen die übergebene Formel gilt.
+	 * @param formula Zu prüfende Formel.
+	 * @return Liste (LinkedList) der Markierungen, in denen die Formel gilt.
+	 */
+	public LinkedList<Marking> getSatisfyingMarkings(Formula formula) {
+		LinkedList<Marking> result = new LinkedList<Marking>();
+		BitSet set = check(formula);
+		for(int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+			result.add(markings.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Berechnet die Menge der Markierungen, in denen die übergebene Formel gilt.
+	 * Die Teilformeln werden rekursiv zuerst ausgewertet.
+	 * @param formula Zu prüfende Formel.
+	 * @return Menge der Indizes der Markierungen, in denen die Formel gilt.
+	 */
+	public BitSet check(Formula formula) {
+		int n = markings.size();
+		BitSet result;
+		switch(formula.getOperator()) {
+		case TRUE:
+			result = new BitSet(n);
+			result.set(0, n);
+			return result;
+		case FALSE:
+			return new BitSet(n);
+		case ATOM:
+			result = new BitSet(n);
+			for(int i = 0; i < n; i++) {
+				if(formula.evaluate(markings.get(i))) {
+					result.set(i);
+				}
+			}
+			return result;
+		case DEADLOCK:
+			result = new BitSet(n);
+			for(int i = 0; i < n; i++) {
+				if(successors[i].length == 0) {
+					result.set(i);
+				}
+			}
+			return result;
+		case ENABLED:
+			result = enabledTransitions.get(formula.getTransitionId());
+			return result == null ? new BitSet(n) : (BitSet) result.clone();
+		case NOT:
+			return complement(check(formula.getLeft()));
+		case AND:
+			result = check(formula.getLeft());
+			result.and(check(formula.getRight()));
+			return result;
+		case OR:
+			result = check(formula.getLeft());
+			result.or(check(formula.getRight()));
+			return result;
+		case IMPLIES:
+			result = complement(check(formula.getLeft()));
+			result.or(check(formula.getRight()));
+			return result;
+		case EX:
+			return existsNext(check(formula.getLeft()));
+		case AX:
+			return complement(existsNext(complement(check(formula.getLeft()))));
+		case EF:
+			return existsUntil(check(new Formula(Formula.Operator.TRUE, null, null)), check(formula.getLeft()));
+		case AG:
+			return complement(existsUntil(check(new Formula(Formula.Operator.TRUE, null, null)), complement(check(formula.getLeft()))));
+		case EG:
+			return existsGlobally(check(formula.getLeft()));
+		case AF:
+			return complement(existsGlobally(complement(check(formula.getLeft()))));
+		case EU:
+			return existsUntil(check(formula.getLeft()), check(formula.getRight()));
+		default:
+			// A[f U g] = !(E[!g U (!f & !g)] | EG !g)
+			BitSet notLeft = complement(check(formula.getLeft()));
+			BitSet notRight = complement(check(formula.getRight()));
+			BitSet target = (BitSet) notLeft.clone();
+			target.and(notRight);
+			result = existsUntil(notRight, target);
+			result.or(existsGlobally(notRight));
+			return complement(result);
+		}
+	}
+
+	/**
+	 * Bildet das Komplement der übergebenen Menge bezogen auf alle Markierungen.
+	 * @param set Menge der Indizes.
+	 * @return Komplement der Menge (die übergebene Menge wird verändert).
+	 */
+	private BitSet complement(BitSet set) {
+		set.flip(0, markings.size());
+		return set;
+	}
+
+	/**
+	 * Berechnet EX: alle Markierungen mit mindestens einem Nachfolger in der übergebenen Menge.
+	 * @param set Menge, in der die Teilformel gilt.
+	 * @return Menge, in der EX der Teilformel gilt.
+	 */
+	private BitSet existsNext(BitSet set) {
+		BitSet result = new BitSet(markings.size());
+		for(int i = set.nextSetBit(0); i >= 0; i = set.nextSetBit(i + 1)) {
+			for(int predecessor : predecessors[i]) {
+				result.set(predecessor);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Berechnet E[f U g] durch eine Rückwärtssuche von den Markierungen, in denen g gilt, über Markierungen, in denen f gilt.
+	 * @param left Menge, in der f gilt.
+	 * @param right Menge, in der g gilt.
+	 * @return Menge, in der E[f U g] gilt.
+	 */
+	private BitSet existsUntil(BitSet left, BitSet right) {
+		BitSet result = (BitSet) right.clone();
+		int[] stack = new int[markings.size()];
+		int size = 0;
+		for(int i = right.nextSetBit(0); i >= 0; i = right.nextSetBit(i + 1)) {
+			stack[size++] = i;
+		}
+		while(size > 0) {
+			int current = stack[--size];
+			for(int predecessor : predecessors[current]) {
+				if(!result.get(predecessor) && left.get(predecessor)) {
+					result.set(predecessor);
+					stack[size++] = predecessor;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Berechnet EG f als größten Fixpunkt.
+	 * Zu jeder Markierung wird gezählt, wie viele ihrer Kanten in die Menge führen. Markierungen, deren Zähler auf 0 fällt, werden entfernt
+	 * und der Zähler ihrer Vorgänger verringert, sodass jede Kante höchstens einmal betrachtet wird.
+	 * Verklemmungen, in denen f gilt, bleiben erhalten, da dort der maximale Pfad endet.
+	 * @param set Menge, in der f gilt.
+	 * @return Menge, in der EG f gilt.
+	 */
+	private BitSet existsGlobally(BitSet set) {
+		BitSet result = (BitSet) set.clone();
+		int[] count = new int[markings.size()];
+		int[] stack = new int[markings.size()];
+		int size = 0;
+		for(int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+			if(successors[i].length > 0) {
+				for(int successor : successors[i]) {
+					if(result.get(successor)) {
+						count[i]++;
+					}
+				}
+				if(count[i] == 0) {
+					stack[size++] = i;
+				}
+			}
+		}
+		for(int i = 0; i < size; i++) {
+			result.clear(stack[i]);
+		}
+		while(size > 0) {
+			int current = stack[--size];
+			for(int predecessor : predecessors[current]) {
+				if(result.get(predecessor)) {
+					count[predecessor]--;
+					if(count[predecessor] == 0) {
+						result.clear(predecessor);
+						stack[size++] = predecessor;
+					}
+				}
+			}
+		}
+		return result;
+	}
+}
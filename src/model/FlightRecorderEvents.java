@@ -0,0 +1,541 @@
+package model;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Diese Klasse enthält die Ereignisse, die die Anwendung an den Java Flight Recorder (JFR) meldet.
+ * Mit einer einzigen Aufzeichnung (z.B. {@code java -XX:StartFlightRecording=filename=analyse.jfr ...}) lässt sich so erkennen,
+ * welcher Abschnitt (Einlesen, Verbinden der Kanten, Exploration, Überdeckungsprüfung, Aufbau des Erreichbarkeitsgraphen) die Laufzeit bestimmt hat,
+ * und zwar im zeitlichen Zusammenhang mit Garbage Collection und Allokationen.
+ * Die Klasse ist eine Fassade ohne Abhängigkeit von {@code jdk.jfr} zur Übersetzungszeit: Beim Laden wird einmal geprüft, ob die Laufzeitumgebung
+ * den Flight Recorder bereitstellt. Ist das der Fall, werden die Ereignistypen mit {@code jdk.jfr.EventFactory} zur Laufzeit angelegt und über Method Handles angesprochen.
+ * Andernfalls (z.B. Java 8 ohne JFR) sind alle Ereignisse wirkungslos. Die Anwendung lässt sich so mit {@code --release 8} übersetzen und überall ausführen.
+ * Ohne laufende Aufzeichnung sind die Ereignisse deaktiviert und verursachen nahezu keinen Aufwand.
+ * Alle Ereignisse liegen in der Kategorie "Petrinets".
+ * @author Hannes Wilms
+ *
+ */
+public final class FlightRecorderEvents {
+
+	/** Information, ob die Laufzeitumgebung den Flight Recorder bereitstellt. Wird einmal beim Laden der Klasse geprüft. */
+	private static final boolean AVAILABLE;
+
+	/** jdk.jfr.EventFactory.create(List, List). */
+	private static final MethodHandle CREATE_FACTORY;
+
+	/** jdk.jfr.EventFactory.newEvent(). */
+	private static final MethodHandle NEW_EVENT;
+
+	/** jdk.jfr.EventFactory.getEventType(). */
+	private static final MethodHandle GET_EVENT_TYPE;
+
+	/** jdk.jfr.EventType.isEnabled(). */
+	private static final MethodHandle IS_ENABLED;
+
+	/** Konstruktor jdk.jfr.AnnotationElement(Class, Object). */
+	private static final MethodHandle NEW_ANNOTATION;
+
+	/** Konstruktor jdk.jfr.ValueDescriptor(Class, String, List). */
+	private static final MethodHandle NEW_VALUE_DESCRIPTOR;
+
+	/** jdk.jfr.Event.begin(). */
+	private static final MethodHandle BEGIN;
+
+	/** jdk.jfr.Event.end(). */
+	private static final MethodHandle END;
+
+	/** jdk.jfr.Event.shouldCommit(). */
+	private static final MethodHandle SHOULD_COMMIT;
+
+	/** jdk.jfr.Event.set(int, Object). */
+	private static final MethodHandle SET;
+
+	/** jdk.jfr.Event.commit(). */
+	private static final MethodHandle COMMIT;
+
+	static {
+		MethodHandle createFactory = null;
+		MethodHandle newEvent = null;
+		MethodHandle getEventType = null;
+		MethodHandle isEnabled = null;
+		MethodHandle newAnnotation = null;
+		MethodHandle newValueDescriptor = null;
+		MethodHandle begin = null;
+		MethodHandle end = null;
+		MethodHandle shouldCommit = null;
+		MethodHandle set = null;
+		MethodHandle commit = null;
+		boolean available = false;
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+			Class<?> factoryClass = Class.forName("jdk.jfr.EventFactory");
+			Class<?> eventClass = Class.forName("jdk.jfr.Event");
+			Class<?> eventTypeClass = Class.forName("jdk.jfr.EventType");
+			Class<?> annotationClass = Class.forName("jdk.jfr.AnnotationElement");
+			Class<?> valueDescriptorClass = Class.forName("jdk.jfr.ValueDescriptor");
+			createFactory = lookup.findStatic(factoryClass, "create", MethodType.methodType(factoryClass, List.class, List.class))
+					.asType(MethodType.methodType(Object.class, List.class, List.class));
+			newEvent = lookup.findVirtual(factoryClass, "newEvent", MethodType.methodType(eventClass))
+					.asType(MethodType.methodType(Object.class, Object.class));
+			getEventType = lookup.findVirtual(factoryClass, "getEventType", MethodType.methodType(eventTypeClass))
+					.asType(MethodType.methodType(Object.class, Object.class));
+			isEnabled = lookup.findVirtual(eventTypeClass, "isEnabled", MethodType.methodType(boolean.class))
+					.asType(MethodType.methodType(boolean.class, Object.class));
+			newAnnotation = lookup.findConstructor(annotationClass, MethodType.methodType(void.class, Class.class, Object.class))
+					.asType(MethodType.methodType(Object.class, Class.class, Object.class));
+			newValueDescriptor = lookup.findConstructor(valueDescriptorClass, MethodType.methodType(void.class, Class.class, String.class, List.class))
+					.asType(MethodType.methodType(Object.class, Class.class, String.class, List.class));
+			begin = lookup.findVirtual(eventClass, "begin", MethodType.methodType(void.class))
+					.asType(MethodType.methodType(void.class, Object.class));
+			end = lookup.findVirtual(eventClass, "end", MethodType.methodType(void.class))
+					.asType(MethodType.methodType(void.class, Object.class));
+			shouldCommit = lookup.findVirtual(eventClass, "shouldCommit", MethodType.methodType(boolean.class))
+					.asType(MethodType.methodType(boolean.class, Object.class));
+			set = lookup.findVirtual(eventClass, "set", MethodType.methodType(void.class, int.class, Object.class))
+					.asType(MethodType.methodType(void.class, Object.class, int.class, Object.class));
+			commit = lookup.findVirtual(eventClass, "commit", MethodType.methodType(void.class))
+					.asType(MethodType.methodType(void.class, Object.class));
+			available = true;
+		} catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+			available = false;
+		}
+		AVAILABLE = available;
+		CREATE_FACTORY = createFactory;
+		NEW_EVENT = newEvent;
+		GET_EVENT_TYPE = getEventType;
+		IS_ENABLED = isEnabled;
+		NEW_ANNOTATION = newAnnotation;
+		NEW_VALUE_DESCRIPTOR = newValueDescriptor;
+		BEGIN = begin;
+		END = end;
+		SHOULD_COMMIT = shouldCommit;
+		SET = set;
+		COMMIT = commit;
+	}
+
+	/**
+	 * Es werden keine Objekte dieser Klasse erzeugt.
+	 */
+	private FlightRecorderEvents() {
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die Laufzeitumgebung den Flight Recorder bereitstellt und die Ereignisse gemeldet werden können.
+	 * @return Information, ob der Flight Recorder verfügbar ist (true) oder alle Ereignisse wirkungslos sind (false).
+	 */
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	/**
+	 * Gibt einen Fehler beim Aufruf des Flight Recorders ungeprüft weiter.
+	 * @param throwable Aufgetretener Fehler.
+	 * @return Ungeprüfte Ausnahme, die geworfen werden soll.
+	 */
+	private static RuntimeException unchecked(Throwable throwable) {
+		if(throwable instanceof Error) {
+			throw (Error) throwable;
+		}
+		if(throwable instanceof RuntimeException) {
+			return (RuntimeException) throwable;
+		}
+		return new IllegalStateException(throwable);
+	}
+
+	/**
+	 * Feld eines Ereignistyps.
+	 */
+	private static final class Field {
+
+		/** Name des Feldes. */
+		private final String name;
+
+		/** Bezeichnung des Feldes in der Aufzeichnung. */
+		private final String label;
+
+		/** Typ des Feldes. */
+		private final Class<?> type;
+
+		/** Information, ob das Feld eine Datenmenge in Byte angibt. */
+		private final boolean bytes;
+
+		/**
+		 * Erzeugt ein neues Feld.
+		 * @param name Name des Feldes.
+		 * @param label Bezeichnung des Feldes in der Aufzeichnung.
+		 * @param type Typ des Feldes.
+		 * @param bytes Information, ob das Feld eine Datenmenge in Byte angibt.
+		 */
+		private Field(String name, String label, Class<?> type, boolean bytes) {
+			this.name = name;
+			this.label = label;
+			this.type = type;
+			this.bytes = bytes;
+		}
+	}
+
+	/**
+	 * Ereignistyp, der beim Laden der jeweiligen Ereignisklasse einmal mit {@code jdk.jfr.EventFactory} angelegt wird.
+	 */
+	private static final class Type {
+
+		/** EventFactory des Typs oder null, wenn der Flight Recorder nicht verfügbar ist. */
+		private final Object factory;
+
+		/** EventType des Typs oder null, wenn der Flight Recorder nicht verfügbar ist. */
+		private final Object eventType;
+
+		/**
+		 * Legt einen neuen Ereignistyp in der Kategorie "Petrinets" an.
+		 * @param name Name des Ereignistyps.
+		 * @param label Bezeichnung des Ereignistyps in der Aufzeichnung.
+		 * @param description Beschreibung des Ereignistyps.
+		 * @param threshold Mindestdauer, ab der Ereignisse standardmäßig aufgezeichnet werden, oder null.
+		 * @param fields Felder des Ereignistyps in der Reihenfolge ihrer Werte.
+		 */
+		private Type(String name, String label, String description, String threshold, Field... fields) {
+			Object createdFactory = null;
+			Object createdEventType = null;
+			if(AVAILABLE) {
+				try {
+					List<Object> annotations = new ArrayList<Object>();
+					annotations.add(annotation("jdk.jfr.Name", name));
+					annotations.add(annotation("jdk.jfr.Label", label));
+					annotations.add(annotation("jdk.jfr.Category", new String[] {"Petrinets"}));
+					annotations.add(annotation("jdk.jfr.Description", description));
+					if(!(threshold == null)) {
+						annotations.add(annotation("jdk.jfr.Threshold", threshold));
+					}
+					List<Object> values = new ArrayList<Object>();
+					for(Field field : fields) {
+						List<Object> fieldAnnotations = new ArrayList<Object>();
+						fieldAnnotations.add(annotation("jdk.jfr.Label", field.label));
+						if(field.bytes) {
+							fieldAnnotations.add(annotation("jdk.jfr.DataAmount", "BYTES"));
+						}
+						values.add((Object) NEW_VALUE_DESCRIPTOR.invokeExact((Class<?>) field.type, field.name, (List<?>) fieldAnnotations));
+					}
+					createdFactory = (Object) CREATE_FACTORY.invokeExact((List<?>) annotations, (List<?>) values);
+					createdEventType = (Object) GET_EVENT_TYPE.invokeExact(createdFactory);
+				} catch (Throwable e) {
+					throw unchecked(e);
+				}
+			}
+			factory = createdFactory;
+			eventType = createdEventType;
+		}
+
+		/**
+		 * Erzeugt eine Annotation für die Beschreibung eines Ereignistyps.
+		 * @param annotationName Name der Annotationsklasse.
+		 * @param value Wert der Annotation.
+		 * @return jdk.jfr.AnnotationElement.
+		 * @throws Throwable Wenn die Annotation nicht erzeugt werden kann.
+		 */
+		private static Object annotation(String annotationName, Object value) throws Throwable {
+			return (Object) NEW_ANNOTATION.invokeExact((Class<?>) Class.forName(annotationName), value);
+		}
+
+		/**
+		 * Erzeugt ein neues Ereignis, wenn der Typ in einer laufenden Aufzeichnung aktiviert ist.
+		 * @return jdk.jfr.Event oder null, wenn der Typ nicht aufgezeichnet wird.
+		 */
+		private Object newEvent() {
+			if(factory == null) {
+				return null;
+			}
+			try {
+				if(!(boolean) IS_ENABLED.invokeExact(eventType)) {
+					return null;
+				}
+				return (Object) NEW_EVENT.invokeExact(factory);
+			} catch (Throwable e) {
+				throw unchecked(e);
+			}
+		}
+	}
+
+	/**
+	 * Basisklasse der Ereignisse. Leitet begin(), end(), shouldCommit() und commit() an das Ereignis des Flight Recorders weiter,
+	 * sofern der Typ beim Erzeugen aufgezeichnet wurde. Sonst sind alle Methoden wirkungslos.
+	 */
+	public abstract static class Event {
+
+		/** jdk.jfr.Event oder null, wenn das Ereignis nicht aufgezeichnet wird. */
+		private final Object event;
+
+		/**
+		 * Erzeugt ein neues Ereignis des übergebenen Typs.
+		 * @param type Ereignistyp.
+		 */
+		private Event(Type type) {
+			event = type.newEvent();
+		}
+
+		/**
+		 * Beginnt die Zeitmessung des Ereignisses.
+		 */
+		public void begin() {
+			if(!(event == null)) {
+				try {
+					BEGIN.invokeExact(event);
+				} catch (Throwable e) {
+					throw unchecked(e);
+				}
+			}
+		}
+
+		/**
+		 * Beendet die Zeitmessung des Ereignisses.
+		 */
+		public void end() {
+			if(!(event == null)) {
+				try {
+					END.invokeExact(event);
+				} catch (Throwable e) {
+					throw unchecked(e);
+				}
+			}
+		}
+
+		/**
+		 * Gibt die Information zurück, ob das Ereignis aufgezeichnet werden soll. Nur dann müssen die Felder gesetzt werden.
+		 * @return Information, ob das Ereignis aufgezeichnet werden soll (true) oder nicht (false).
+		 */
+		public boolean shouldCommit() {
+			if(event == null) {
+				return false;
+			}
+			try {
+				return (boolean) SHOULD_COMMIT.invokeExact(event);
+			} catch (Throwable e) {
+				throw unchecked(e);
+			}
+		}
+
+		/**
+		 * Übernimmt die Felder und meldet das Ereignis an den Flight Recorder.
+		 */
+		public void commit() {
+			if(!(event == null)) {
+				try {
+					Object[] values = values();
+					for(int i = 0; i < values.length; i++) {
+						SET.invokeExact(event, i, values[i]);
+					}
+					COMMIT.invokeExact(event);
+				} catch (Throwable e) {
+					throw unchecked(e);
+				}
+			}
+		}
+
+		/**
+		 * Gibt die Werte der Felder in der Reihenfolge der Felder des Ereignistyps zurück.
+		 * @return Werte der Felder.
+		 */
+		abstract Object[] values();
+	}
+
+	/**
+	 * Einlesen einer PNML-Datei mit dem PNMLWopedParser, ohne das anschließende Verbinden der Kanten.
+	 */
+	public static class Parse extends Event {
+
+		/** Ereignistyp petrinets.Parse. */
+		private static final Type TYPE = new Type("petrinets.Parse", "PNML einlesen", "Einlesen einer PNML-Datei (PNMLWopedParser.parse)", null,
+				new Field("file", "Datei", String.class, false),
+				new Field("fileSize", "Dateigröße", long.class, true),
+				new Field("places", "Stellen", int.class, false),
+				new Field("transitions", "Transitionen", int.class, false),
+				new Field("arcs", "Kanten", int.class, false));
+
+		/** Name der eingelesenen Datei. */
+		public String file;
+
+		/** Größe der Datei in Byte. */
+		public long fileSize;
+
+		/** Anzahl der eingelesenen Stellen. */
+		public int places;
+
+		/** Anzahl der eingelesenen Transitionen. */
+		public int transitions;
+
+		/** Anzahl der eingelesenen Kanten. */
+		public int arcs;
+
+		/**
+		 * Erzeugt ein neues Ereignis.
+		 */
+		public Parse() {
+			super(TYPE);
+		}
+
+		/**
+		 * Gibt die Werte der Felder zurück.
+		 * @return Werte der Felder.
+		 */
+		Object[] values() {
+			return new Object[] {file, fileSize, places, transitions, arcs};
+		}
+	}
+
+	/**
+	 * Verbinden der eingelesenen Kanten mit ihren Stellen und Transitionen ({@link Petrinet#connectArcs()}).
+	 */
+	public static class ConnectArcs extends Event {
+
+		/** Ereignistyp petrinets.ConnectArcs. */
+		private static final Type TYPE = new Type("petrinets.ConnectArcs", "Kanten verbinden", "Zuordnung der Kanten zu Vor- und Nachbereichen der Transitionen (Petrinet.connectArcs)", null,
+				new Field("net", "Netz", String.class, false),
+				new Field("arcs", "Kanten", int.class, false));
+
+		/** Name des Petrinetzes. */
+		public String net;
+
+		/** Anzahl der verbundenen Kanten. */
+		public int arcs;
+
+		/**
+		 * Erzeugt ein neues Ereignis.
+		 */
+		public ConnectArcs() {
+			super(TYPE);
+		}
+
+		/**
+		 * Gibt die Werte der Felder zurück.
+		 * @return Werte der Felder.
+		 */
+		Object[] values() {
+			return new Object[] {net, arcs};
+		}
+	}
+
+	/**
+	 * Exploration des Erreichbarkeitsgraphen durch die Beschränktheitsanalyse ({@link Petrinet#analysis(AnalysisBudget)}).
+	 */
+	public static class Exploration extends Event {
+
+		/** Ereignistyp petrinets.Exploration. */
+		private static final Type TYPE = new Type("petrinets.Exploration", "Exploration", "Aufbau des Erreichbarkeitsgraphen durch die Beschränktheitsanalyse", null,
+				new Field("net", "Netz", String.class, false),
+				new Field("markings", "Markierungen", int.class, false),
+				new Field("edges", "Kanten", int.class, false),
+				new Field("maximumDepth", "Maximale Tiefe", int.class, false),
+				new Field("coveringChecks", "Überdeckungsprüfungen", long.class, false),
+				new Field("result", "Ergebnis", String.class, false));
+
+		/** Name des Petrinetzes. */
+		public String net;
+
+		/** Anzahl der gefundenen Markierungen. */
+		public int markings;
+
+		/** Anzahl der gefundenen Kanten des Erreichbarkeitsgraphen. */
+		public int edges;
+
+		/** Größte erreichte Tiefe der Exploration. */
+		public int maximumDepth;
+
+		/** Anzahl der ausgeführten Überdeckungsprüfungen. */
+		public long coveringChecks;
+
+		/** Ergebnis der Analyse: beschränkt, unbeschränkt oder unentschieden. */
+		public String result;
+
+		/**
+		 * Erzeugt ein neues Ereignis.
+		 */
+		public Exploration() {
+			super(TYPE);
+		}
+
+		/**
+		 * Gibt die Werte der Felder zurück.
+		 * @return Werte der Felder.
+		 */
+		Object[] values() {
+			return new Object[] {net, markings, edges, maximumDepth, coveringChecks, result};
+		}
+	}
+
+	/**
+	 * Prüfung, ob eine neue Markierung eine Markierung auf ihrem Pfad überdeckt (Kriterium der Unbeschränktheit).
+	 * Da die Prüfung für jede gefundene Kante ausgeführt wird, werden standardmäßig nur Prüfungen ab 1 ms aufgezeichnet.
+	 * Die Schwelle lässt sich in den Einstellungen der Aufzeichnung herabsetzen.
+	 */
+	public static class CoveringCheck extends Event {
+
+		/** Ereignistyp petrinets.CoveringCheck. */
+		private static final Type TYPE = new Type("petrinets.CoveringCheck", "Überdeckungsprüfung", "Vergleich einer neuen Markierung mit allen Markierungen auf ihrem Pfad", "1 ms",
+				new Field("net", "Netz", String.class, false),
+				new Field("pathLength", "Pfadlänge", int.class, false),
+				new Field("covered", "Überdeckt", boolean.class, false));
+
+		/** Name des Petrinetzes. */
+		public String net;
+
+		/** Anzahl der Markierungen auf dem Pfad. */
+		public int pathLength;
+
+		/** Information, ob eine überdeckte Markierung gefunden wurde. */
+		public boolean covered;
+
+		/**
+		 * Erzeugt ein neues Ereignis.
+		 */
+		public CoveringCheck() {
+			super(TYPE);
+		}
+
+		/**
+		 * Gibt die Werte der Felder zurück.
+		 * @return Werte der Felder.
+		 */
+		Object[] values() {
+			return new Object[] {net, pathLength, covered};
+		}
+	}
+
+	/**
+	 * Aufbau oder Aktualisierung des GraphStream-Graphen des Erreichbarkeitsgraphen in der grafischen Oberfläche.
+	 */
+	public static class GraphRebuild extends Event {
+
+		/** Ereignistyp petrinets.GraphRebuild. */
+		private static final Type TYPE = new Type("petrinets.GraphRebuild", "Graph aufbauen", "Zeichnen oder Aktualisieren des Erreichbarkeitsgraphen (Controller.drawReachabilityGraph / updateReachabilityGraph)", null,
+				new Field("kind", "Art", String.class, false),
+				new Field("nodes", "Knoten", int.class, false),
+				new Field("edges", "Kanten", int.class, false));
+
+		/** Art des Aufbaus: zeichnen (Neuaufbau) oder aktualisieren. */
+		public String kind;
+
+		/** Anzahl der Knoten des Graphen nach dem Aufbau. */
+		public int nodes;
+
+		/** Anzahl der Kanten des Graphen nach dem Aufbau. */
+		public int edges;
+
+		/**
+		 * Erzeugt ein neues Ereignis.
+		 */
+		public GraphRebuild() {
+			super(TYPE);
+		}
+
+		/**
+		 * Gibt die Werte der Felder zurück.
+		 * @return Werte der Felder.
+		 */
+		Object[] values() {
+			return new Object[] {kind, nodes, edges};
+		}
+	}
+}
@@ -0,0 +1,240 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse stellt eine temporallogische Formel (CTL oder LTL) dar, die mit dem {@link FormulaParser} aus einem Text erzeugt wird.
+ * Eine Formel besteht aus einem Operator und bis zu zwei Teilformeln.
+ * Atomare Aussagen vergleichen eine Linearkombination der Marken einzelner Stellen mit 0 ({@code c0 + c1*p1 + ... <= 0}).
+ * @author Hannes Wilms
+ *
+ */
+public class Formula {
+
+	/** Operatoren, aus denen eine Formel aufgebaut sein kann. */
+	public enum Operator {
+		TRUE, FALSE, ATOM, DEADLOCK, ENABLED, NOT, AND, OR, IMPLIES, EX, AX, EF, AF, EG, AG, EU, AU, X, F, G, U, R
+	}
+
+	/** Vergleichsoperatoren für atomare Aussagen. */
+	public enum Comparison {
+		LESS("<"), LESS_EQUAL("<="), EQUAL("="), NOT_EQUAL("!="), GREATER_EQUAL(">="), GREATER(">");
+
+		/** Schreibweise des Vergleichsoperators. */
+		private String symbol;
+
+		/**
+		 * Erzeugt einen neuen Vergleichsoperator.
+		 * @param symbol Schreibweise des Vergleichsoperators.
+		 */
+		Comparison(String symbol) {
+			this.symbol = symbol;
+		}
+
+		/**
+		 * Gibt die Schreibweise des Vergleichsoperators zurück.
+		 * @return Schreibweise des Vergleichsoperators.
+		 */
+		String getSymbol() {
+			return symbol;
+		}
+
+		/**
+		 * Wendet den Vergleichsoperator auf den übergebenen Wert und 0 an.
+		 * @param value Wert, der mit 0 verglichen werden soll.
+		 * @return Ergebnis des Vergleichs.
+		 */
+		boolean compareToZero(long value) {
+			switch(this) {
+			case LESS: return value < 0;
+			case LESS_EQUAL: return value <= 0;
+			case EQUAL: return value == 0;
+			case NOT_EQUAL: return value != 0;
+			case GREATER_EQUAL: return value >= 0;
+			default: return value > 0;
+			}
+		}
+	}
+
+	/** Operator dieser Formel. */
+	private Operator operator;
+
+	/** Erste (bzw. einzige) Teilformel. */
+	private Formula left;
+
+	/** Zweite Teilformel bei zweistelligen Operatoren. */
+	private Formula right;
+
+	/** Koeffizienten der atomaren Aussage je id der Stelle. */
+	private Map<String, Integer> coefficients = new LinkedHashMap<String, Integer>();
+
+	/** Konstanter Summand der atomaren Aussage. */
+	private long constant;
+
+	/** Vergleichsoperator der atomaren Aussage. */
+	private Comparison comparison;
+
+	/** id der Transition für die Aussage enabled(t). */
+	private String transitionId;
+
+	/** Ursprüngliche Schreibweise der atomaren Aussage für die Ausgabe. */
+	private String text;
+
+	/**
+	 * Erzeugt eine neue Formel mit dem übergebenen Operator und den Teilformeln.
+	 * @param operator Operator der Formel.
+	 * @param left Erste Teilformel oder null.
+	 * @param right Zweite Teilformel oder null.
+	 */
+	Formula(Operator operator, Formula left, Formula right) {
+		this.operator = operator;
+		this.left = left;
+		this.right = right;
+	}
+
+	/**
+	 * Erzeugt eine atomare Aussage der Form {@code constant + Summe(coefficients) comparison 0}.
+	 * @param coefficients Koeffizienten je id der Stelle.
+	 * @param constant Konstanter Summand.
+	 * @param comparison Vergleichsoperator.
+	 * @param text Schreibweise der Aussage für die Ausgabe.
+	 * @return Atomare Aussage.
+	 */
+	static Formula atom(Map<String, Integer> coefficients, long constant, Comparison comparison, String text) {
+		Formula formula = new Formula(Operator.ATOM, null, null);
+		formula.coefficients.putAll(coefficients);
+		formula.constant = constant;
+		formula.comparison = comparison;
+		formula.text = text;
+		return formula;
+	}
+
+	/**
+	 * Erzeugt die Aussage enabled(t), die in allen Markierungen gilt, in denen die Transition aktiviert ist.
+	 * @param transitionId id der Transition.
+	 * @return Aussage enabled(t).
+	 */
+	static Formula enabled(String transitionId) {
+		Formula formula = new Formula(Operator.ENABLED, null, null);
+		formula.transitionId = transitionId;
+		return formula;
+	}
+
+	/**
+	 * Gibt den Operator dieser Formel zurück.
+	 * @return Operator der Formel.
+	 */
+	public Operator getOperator() {
+		return operator;
+	}
+
+	/**
+	 * Gibt die erste (bzw. einzige) Teilformel zurück.
+	 * @return Erste Teilformel oder null.
+	 */
+	public Formula getLeft() {
+		return left;
+	}
+
+	/**
+	 * Gibt die zweite Teilformel zurück.
+	 * @return Zweite Teilformel oder null.
+	 */
+	public Formula getRight() {
+		return right;
+	}
+
+	/**
+	 * Gibt die id der Transition der Aussage enabled(t) zurück.
+	 * @return id der Transition oder null.
+	 */
+	public String getTransitionId() {
+		return transitionId;
+	}
+
+	/**
+	 * Wertet die atomare Aussage für die übergebene Markierung aus.
+	 * @param marking Markierung, für die die Aussage ausgewertet werden soll.
+	 * @return Information, ob die Aussage in der Markierung gilt (true) oder nicht (false).
+	 */
+	boolean evaluate(Marking marking) {
+		long value = constant;
+		for(Map.Entry<String, Integer> entry : coefficients.entrySet()) {
+			value = value + (long) entry.getValue() * marking.getTokensAtPlace(entry.getKey());
+		}
+		return comparison.compareToZero(value);
+	}
+
+	/**
+	 * Wertet eine atomare Aussage (auch true, false, deadlock und enabled(t)) für eine Markierung in indexbasierter Darstellung aus.
+	 * @param tokens Markierung in der Darstellung von {@link IndexedNet}.
+	 * @param net Indexbasierte Darstellung des Petrinetzes.
+	 * @return Information, ob die Aussage in der Markierung gilt (true) oder nicht (false).
+	 */
+	boolean evaluate(int[] tokens, IndexedNet net) {
+		switch(operator) {
+		case TRUE: return true;
+		case FALSE: return false;
+		case DEADLOCK: return net.isDeadlock(tokens);
+		case ENABLED: return net.isEnabled(tokens, net.getTransitionIndex(transitionId));
+		default:
+			long value = constant;
+			for(Map.Entry<String, Integer> entry : coefficients.entrySet()) {
+				value = value + (long) entry.getValue() * tokens[net.getPlaceIndex(entry.getKey())];
+			}
+			return comparison.compareToZero(value);
+		}
+	}
+
+	/**
+	 * Gibt die Information zurück, ob es sich um eine atomare Aussage handelt (auch true, false, deadlock und enabled(t)).
+	 * @return Information, ob die Formel atomar ist (true) oder nicht (false).
+	 */
+	boolean isAtomic() {
+		return operator == Operator.TRUE || operator == Operator.FALSE || operator == Operator.ATOM
+				|| operator == Operator.DEADLOCK || operator == Operator.ENABLED;
+	}
+
+	/**
+	 * Vergleicht diese Formel mit einer anderen Formel anhand ihrer Schreibweise.
+	 * @param other Formel, mit der verglichen werden soll.
+	 * @return Information, ob beide Formeln gleich geschrieben werden (true) oder nicht (false).
+	 */
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof Formula && toString().equals(other.toString());
+	}
+
+	/**
+	 * Gibt den Hashwert der Schreibweise dieser Formel zurück.
+	 * @return Hashwert der Formel.
+	 */
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+	/**
+	 * Gibt die Formel in lesbarer Form zurück.
+	 * @return Formel als Text.
+	 */
+	@Override
+	public String toString() {
+		switch(operator) {
+		case TRUE: return "true";
+		case FALSE: return "false";
+		case ATOM: return text;
+		case DEADLOCK: return "deadlock";
+		case ENABLED: return "enabled(" + transitionId + ")";
+		case NOT: return "!" + left;
+		case AND: return "(" + left + " & " + right + ")";
+		case OR: return "(" + left + " | " + right + ")";
+		case IMPLIES: return "(" + left + " -> " + right + ")";
+		case EU: return "E[" + left + " U " + right + "]";
+		case AU: return "A[" + left + " U " + right + "]";
+		case U: return "(" + left + " U " + right + ")";
+		case R: return "(" + left + " R " + right + ")";
+		default: return operator.name() + "(" + left + ")";
+		}
+	}
+}
@@ -0,0 +1,465 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse dient als Parser für CTL- und LTL-Formeln über den Stellen und Transitionen eines Petrinetzes.
+ * Stellen und Transitionen können über ihre id oder ihren Namen angesprochen werden.
+ * Namen mit Leer- oder Sonderzeichen werden in Anführungszeichen gesetzt.
+ * <pre>
+ * formel  := impl
+ * impl    := oder ['-&gt;' impl]
+ * oder    := und {'|' und}
+ * und     := bis {'&amp;' bis}
+ * bis     := unaer [('U'|'R') bis]                                     (nur LTL)
+ * unaer   := '!' unaer | ('EX'|'AX'|'EF'|'AF'|'EG'|'AG') unaer | ('E'|'A') '[' formel 'U' formel ']'   (nur CTL)
+ *          | ('X'|'F'|'G') unaer                                        (nur LTL)
+ *          | '(' formel ')' | 'true' | 'false' | 'deadlock' | 'enabled' '(' transition ')' | summe vergleich summe
+ * summe   := term {('+'|'-') term}
+ * term    := zahl ['*' stelle] | stelle
+ * </pre>
+ * Zielmarkierungen für Überdeckbarkeitsanfragen haben die Form {@code stelle '=' zahl {',' stelle '=' zahl}}.
+ * Ungültige Formeln werden mit einer {@link IllegalArgumentException} zurückgewiesen.
+ * @author Hannes Wilms
+ *
+ */
+public class FormulaParser {
+
+	/** Petrinetz, dessen Stellen und Transitionen in der Formel verwendet werden. */
+	private Petrinet petrinet;
+
+	/** Zerlegung des Eingabetextes in Symbole. */
+	private ArrayList<String> tokens = new ArrayList<String>();
+
+	/** Position des nächsten zu lesenden Symbols. */
+	private int position;
+
+	/** Information, ob eine LTL-Formel (true) oder eine CTL-Formel (false) gelesen wird. */
+	private boolean ltl;
+
+	/**
+	 * Erzeugt einen neuen Parser für Formeln über dem übergebenen Petrinetz.
+	 * @param petrinet Petrinetz, auf dessen Stellen und Transitionen sich die Formeln beziehen.
+	 */
+	public FormulaParser(Petrinet petrinet) {
+		this.petrinet = petrinet;
+	}
+
+	/**
+	 * Liest eine CTL-Formel ein.
+	 * @param text Formel als Text.
+	 * @return Eingelesene Formel.
+	 * @throws IllegalArgumentException wenn die Formel syntaktisch fehlerhaft ist oder unbekannte Stellen bzw. Transitionen enthält.
+	 */
+	public Formula parse(String text) {
+		ltl = false;
+		return parseFormula(text);
+	}
+
+	/**
+	 * Liest eine LTL-Formel ein.
+	 * @param text Formel als Text.
+	 * @return Eingelesene Formel.
+	 * @throws IllegalArgumentException wenn die Formel syntaktisch fehlerhaft ist oder unbekannte Stellen bzw. Transitionen enthält.
+	 */
+	public Formula parseLtl(String text) {
+		ltl = true;
+		return parseFormula(text);
+	}
+
+	/**
+	 * Liest eine Zielmarkierung der Form {@code p1=2, p3=1} ein. Nicht genannte Stellen tragen 0 Marken.
+	 * @param text Zielmarkierung als Text.
+	 * @return Anzahl der Marken je id der Stelle.
+	 * @throws IllegalArgumentException wenn die Markierung syntaktisch fehlerhaft ist oder unbekannte Stellen enthält.
+	 */
+	public Map<String, Integer> parseMarking(String text) {
+		tokenize(text);
+		position = 0;
+		Map<String, Integer> marking = new LinkedHashMap<String, Integer>();
+		do {
+			String placeId = resolvePlace(next());
+			if(!accept("=")) {
+				expect(">=");
+			}
+			String number = next();
+			if(!isNumber(number)) {
+				throw new IllegalArgumentException("Anzahl der Marken erwartet, gefunden: " + number);
+			}
+			marking.put(placeId, Integer.parseInt(number));
+		} while(accept(","));
+		if(position < tokens.size()) {
+			throw new IllegalArgumentException("Unerwartetes Symbol: " + tokens.get(position));
+		}
+		return marking;
+	}
+
+	/**
+	 * Zerlegt den Text in Symbole und liest die gesamte Formel ein.
+	 * @param text Formel als Text.
+	 * @return Eingelesene Formel.
+	 */
+	private Formula parseFormula(String text) {
+		tokenize(text);
+		position = 0;
+		Formula formula = parseImplication();
+		if(position < tokens.size()) {
+			throw new IllegalArgumentException("Unerwartetes Symbol: " + tokens.get(position));
+		}
+		return formula;
+	}
+
+	/**
+	 * Liest eine Implikation ein. Die Implikation ist rechtsassoziativ.
+	 * @return Eingelesene Teilformel.
+	 */
+	private Formula parseImplication() {
+		Formula left = parseOr();
+		if(accept("->")) {
+			return new Formula(Formula.Operator.IMPLIES, left, parseImplication());
+		}
+		return left;
+	}
+
+	/**
+	 * Liest eine Disjunktion ein.
+	 * @return Eingelesene Teilformel.
+	 */
+	private Formula parseOr() {
+		Formula left = parseAnd();
+		while(accept("|")) {
+			left = new Formula(Formula.Operator.OR, left, parseAnd());
+		}
+		return left;
+	}
+
+	/**
+	 * Liest eine Konjunktion ein.
+	 * @return Eingelesene Teilformel.
+	 */
+	private Formula parseAnd() {
+		Formula left = parseUntil();
+		while(accept("&")) {
+			left = new Formula(Formula.Operator.AND, left, parseUntil());
+		}
+		return left;
+	}
+
+	/**
+	 * Liest die zweistelligen LTL-Operatoren U und R ein. Beide sind rechtsassoziativ.
+	 * Bei CTL-Formeln wird direkt eine unäre Teilformel gelesen.
+	 * @return Eingelesene Teilformel.
+	 */
+	private Formula parseUntil() {
+		Formula left = parseUnary();
+		if(ltl) {
+			if(accept("U")) {
+				return new Formula(Formula.Operator.U, left, parseUntil());
+			}
+			if(accept("R")) {
+				return new Formula(Formula.Operator.R, left, parseUntil());
+			}
+		}
+		return left;
+	}
+
+	/**
+	 * Liest eine Negation, einen temporalen Operator, eine geklammerte Formel oder eine atomare Aussage ein.
+	 * @return Eingelesene Teilformel.
+	 */
+	private Formula parseUnary() {
+		String token = peek();
+		if(accept("!")) {
+			return new Formula(Formula.Operator.NOT, parseUnary(), null);
+		}
+		if(ltl && (token.equals("X") || token.equals("F") || token.equals("G"))) {
+			position++;
+			return new Formula(Formula.Operator.valueOf(token), parseUnary(), null);
+		}
+		if(!ltl && (token.equals("EX") || token.equals("AX") || token.equals("EF") || token.equals("AF") || token.equals("EG") || token.equals("AG"))) {
+			position++;
+			return new Formula(Formula.Operator.valueOf(token), parseUnary(), null);
+		}
+		if(!ltl && (token.equals("E") || token.equals("A")) && "[".equals(peek(1))) {
+			position = position + 2;
+			Formula left = parseImplication();
+			expect("U");
+			Formula right = parseImplication();
+			expect("]");
+			return new Formula(token.equals("E") ? Formula.Operator.EU : Formula.Operator.AU, left, right);
+		}
+		if(accept("(")) {
+			Formula formula = parseImplication();
+			expect(")");
+			return formula;
+		}
+		if(accept("true")) {
+			return new Formula(Formula.Operator.TRUE, null, null);
+		}
+		if(accept("false")) {
+			return new Formula(Formula.Operator.FALSE, null, null);
+		}
+		if(accept("deadlock")) {
+			return new Formula(Formula.Operator.DEADLOCK, null, null);
+		}
+		if(token.equals("enabled") && "(".equals(peek(1))) {
+			position = position + 2;
+			String transitionId = resolveTransition(next());
+			expect(")");
+			return Formula.enabled(transitionId);
+		}
+		return parseAtom();
+	}
+
+	/**
+	 * Liest eine atomare Aussage der Form {@code summe vergleich summe} ein.
+	 * Beide Summen werden auf eine Seite gebracht, sodass die Aussage mit 0 verglichen wird.
+	 * @return Atomare Aussage.
+	 */
+	private Formula parseAtom() {
+		int start = position;
+		Map<String, Integer> coefficients = new LinkedHashMap<String, Integer>();
+		long constant = parseSum(coefficients, 1);
+		String symbol = next();
+		Formula.Comparison comparison = null;
+		for(Formula.Comparison c : Formula.Comparison.values()) {
+			if(c.getSymbol().equals(symbol)) {
+				comparison = c;
+			}
+		}
+		if(symbol.equals("==")) {
+			comparison = Formula.Comparison.EQUAL;
+		}
+		if(comparison == null) {
+			throw new IllegalArgumentException("Vergleichsoperator erwartet, gefunden: " + symbol);
+		}
+		constant = constant + parseSum(coefficients, -1);
+		String text = "";
+		for(int i = start; i < position; i++) {
+			text = text + (i == start ? "" : " ") + tokens.get(i);
+		}
+		return Formula.atom(coefficients, constant, comparison, text);
+	}
+
+	/**
+	 * Liest eine Summe aus Stellen und Zahlen ein und addiert die Koeffizienten mit dem angegebenen Vorzeichen.
+	 * @param coefficients Koeffizienten je id der Stelle, die ergänzt werden.
+	 * @param sign Vorzeichen, mit dem die Summe übernommen wird (1 für die linke, -1 für die rechte Seite).
+	 * @return Summe der konstanten Summanden.
+	 */
+	private long parseSum(Map<String, Integer> coefficients, int sign) {
+		long constant = 0;
+		int termSign = sign;
+		if(accept("-")) {
+			termSign = -sign;
+		}
+		while(true) {
+			String token = next();
+			if(isNumber(token)) {
+				int factor = Integer.parseInt(token);
+				if(accept("*")) {
+					addCoefficient(coefficients, resolvePlace(next()), termSign * factor);
+				} else {
+					constant = constant + termSign * factor;
+				}
+			} else {
+				addCoefficient(coefficients, resolvePlace(token), termSign);
+			}
+			if(accept("+")) {
+				termSign = sign;
+			} else if(accept("-")) {
+				termSign = -sign;
+			} else {
+				return constant;
+			}
+		}
+	}
+
+	/**
+	 * Addiert den Koeffizienten zu dem bisherigen Koeffizienten der Stelle.
+	 * @param coefficients Koeffizienten je id der Stelle.
+	 * @param placeId id der Stelle.
+	 * @param coefficient Koeffizient, der addiert werden soll.
+	 */
+	private void addCoefficient(Map<String, Integer> coefficients, String placeId, int coefficient) {
+		Integer old = coefficients.get(placeId);
+		coefficients.put(placeId, (old == null ? 0 : old) + coefficient);
+	}
+
+	/**
+	 * Gibt die id der Stelle zurück, deren id oder (eindeutiger) Name dem übergebenen Text entspricht.
+	 * @param reference id oder Name der Stelle.
+	 * @return id der Stelle.
+	 */
+	private String resolvePlace(String reference) {
+		String name = unquote(reference);
+		String id = null;
+		for(Place place : petrinet.getPlaces()) {
+			if(place.getId().equals(name)) {
+				return place.getId();
+			}
+			if(name.equals(place.getName())) {
+				if(!(id == null)) {
+					throw new IllegalArgumentException("Name der Stelle nicht eindeutig: " + name);
+				}
+				id = place.getId();
+			}
+		}
+		if(id == null) {
+			throw new IllegalArgumentException("Unbekannte Stelle: " + name);
+		}
+		return id;
+	}
+
+	/**
+	 * Gibt die id der Transition zurück, deren id oder (eindeutiger) Name dem übergebenen Text entspricht.
+	 * @param reference id oder Name der Transition.
+	 * @return id der Transition.
+	 */
+	private String resolveTransition(String reference) {
+		String name = unquote(reference);
+		String id = null;
+		for(Transition transition : petrinet.getTransitions()) {
+			if(transition.getId().equals(name)) {
+				return transition.getId();
+			}
+			if(name.equals(transition.getName())) {
+				if(!(id == null)) {
+					throw new IllegalArgumentException("Name der Transition nicht eindeutig: " + name);
+				}
+				id = transition.getId();
+			}
+		}
+		if(id == null) {
+			throw new IllegalArgumentException("Unbekannte Transition: " + name);
+		}
+		return id;
+	}
+
+	/**
+	 * Zerlegt den Eingabetext in Symbole.
+	 * {@code &&} und {@code ||} werden als {@code &} bzw. {@code |} behandelt.
+	 * @param text Eingabetext.
+	 */
+	private void tokenize(String text) {
+		tokens.clear();
+		int i = 0;
+		while(i < text.length()) {
+			char c = text.charAt(i);
+			if(Character.isWhitespace(c)) {
+				i++;
+			} else if(c == '"') {
+				int end = text.indexOf('"', i + 1);
+				if(end < 0) {
+					throw new IllegalArgumentException("Fehlendes Anführungszeichen.");
+				}
+				tokens.add(text.substring(i, end + 1));
+				i = end + 1;
+			} else if(Character.isLetterOrDigit(c) || c == '_') {
+				int end = i;
+				while(end < text.length() && (Character.isLetterOrDigit(text.charAt(end)) || text.charAt(end) == '_' || text.charAt(end) == '.')) {
+					end++;
+				}
+				tokens.add(text.substring(i, end));
+				i = end;
+			} else {
+				String two = i + 1 < text.length() ? text.substring(i, i + 2) : "";
+				if(two.equals("->") || two.equals("<=") || two.equals(">=") || two.equals("!=") || two.equals("==")) {
+					tokens.add(two);
+					i = i + 2;
+				} else if(two.equals("&&") || two.equals("||")) {
+					tokens.add(String.valueOf(c));
+					i = i + 2;
+				} else if("()[]!&|+-*<>=,".indexOf(c) >= 0) {
+					tokens.add(String.valueOf(c));
+					i++;
+				} else {
+					throw new IllegalArgumentException("Unerwartetes Zeichen: " + c);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Liest das nächste Symbol, wenn es dem erwarteten Symbol entspricht.
+	 * @param token Erwartetes Symbol.
+	 * @return Information, ob das Symbol gelesen wurde (true) oder nicht (false).
+	 */
+	private boolean accept(String token) {
+		if(position < tokens.size() && tokens.get(position).equals(token)) {
+			position++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Liest das erwartete Symbol oder meldet einen Fehler.
+	 * @param token Erwartetes Symbol.
+	 */
+	private void expect(String token) {
+		if(!accept(token)) {
+			throw new IllegalArgumentException("'" + token + "' erwartet, gefunden: " + (position < tokens.size() ? tokens.get(position) : "Ende der Formel"));
+		}
+	}
+
+	/**
+	 * Liest das nächste Symbol.
+	 * @return Nächstes Symbol.
+	 */
+	private String next() {
+		if(position >= tokens.size()) {
+			throw new IllegalArgumentException("Unerwartetes Ende der Formel.");
+		}
+		return tokens.get(position++);
+	}
+
+	/**
+	 * Gibt das nächste Symbol zurück, ohne es zu lesen.
+	 * @return Nächstes Symbol oder ein leerer String am Ende der Formel.
+	 */
+	private String peek() {
+		return peek(0);
+	}
+
+	/**
+	 * Gibt das Symbol an der angegebenen Position nach dem nächsten Symbol zurück, ohne es zu lesen.
+	 * @param offset Abstand zum nächsten Symbol.
+	 * @return Symbol oder null am Ende der Formel.
+	 */
+	private String peek(int offset) {
+		if(position + offset < tokens.size()) {
+			return tokens.get(position + offset);
+		}
+		return offset == 0 ? "" : null;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob das Symbol eine nicht-negative ganze Zahl ist.
+	 * @param token Symbol.
+	 * @return Information, ob das Symbol eine Zahl ist (true) oder nicht (false).
+	 */
+	private boolean isNumber(String token) {
+		if(token.isEmpty()) {
+			return false;
+		}
+		for(int i = 0; i < token.length(); i++) {
+			if(!Character.isDigit(token.charAt(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Entfernt die umschließenden Anführungszeichen eines Namens.
+	 * @param token Symbol.
+	 * @return Symbol ohne Anführungszeichen.
+	 */
+	private String unquote(String token) {
+		if(token.length() >= 2 && token.startsWith("\"") && token.endsWith("\"")) {
+			return token.substring(1, token.length() - 1);
+		}
+		return token;
+	}
+}
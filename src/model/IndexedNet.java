@@ -0,0 +1,223 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Kompakte, indexbasierte Darstellung der Struktur eines Petrinetzes.
+ * Markierungen werden als Felder (int[]) dargestellt, deren Einträge in der Reihenfolge der ids der Stellen (wie in {@link Marking#getId()}) stehen.
+ * Die Schaltregel entspricht der von {@link Transition#isEnabled()} und {@link Transition#fire()}, verändert aber nicht die Marken des Petrinetzes,
+ * sodass Nachfolgemarkierungen bei Bedarf erzeugt werden können.
+ * @author Hannes Wilms
+ *
+ */
+class IndexedNet {
+
+	/** ids der Stellen in aufsteigender Reihenfolge. */
+	private String[] placeIds;
+
+	/** ids der Transitionen in der Reihenfolge des Petrinetzes. */
+	private String[] transitionIds;
+
+	/** Index je id einer Stelle. */
+	private Map<String, Integer> placeIndex = new HashMap<String, Integer>();
+
+	/** Index je id einer Transition. */
+	private Map<String, Integer> transitionIndex = new HashMap<String, Integer>();
+
+	/** Indizes der Stellen im Vorbereich je Transition (eine Eintragung je Kante). */
+	private int[][] input;
+
+	/** Indizes der Stellen im Nachbereich je Transition (eine Eintragung je Kante). */
+	private int[][] output;
+
+	/** Anfangsmarkierung. */
+	private int[] initialMarking;
+
+	/**
+	 * Erzeugt die indexbasierte Darstellung des übergebenen Petrinetzes.
+	 * Als Anfangsmarkierung wird die Anfangsmarkierung des (partiellen) Erreichbarkeitsgraphen übernommen.
+	 * @param petrinet Petrinetz, dessen Struktur übernommen werden soll.
+	 */
+	IndexedNet(Petrinet petrinet) {
+		LinkedList<Place> places = new LinkedList<Place>(petrinet.getPlaces());
+		Collections.sort(places);
+		placeIds = new String[places.size()];
+		initialMarking = new int[places.size()];
+		Marking initial = petrinet.getInitialMarking();
+		int i = 0;
+		for(Place place : places) {
+			placeIds[i] = place.getId();
+			placeIndex.put(place.getId(), i);
+			initialMarking[i] = initial == null ? place.getTokens() : initial.getTokensAtPlace(place.getId());
+			i++;
+		}
+		LinkedList<Transition> transitions = petrinet.getTransitions();
+		transitionIds = new String[transitions.size()];
+		input = new int[transitions.size()][];
+		output = new int[transitions.size()][];
+		i = 0;
+		for(Transition transition : transitions) {
+			transitionIds[i] = transition.getId();
+			transitionIndex.put(transition.getId(), i);
+			input[i] = toIndices(transition.getInputPlaces());
+			output[i] = toIndices(transition.getOutputPlaces());
+			i++;
+		}
+	}
+
+	/**
+	 * Wandelt eine Liste von Stellen in die Liste ihrer Indizes um.
+	 * @param places Liste der Stellen.
+	 * @return Indizes der Stellen.
+	 */
+	private int[] toIndices(LinkedList<Place> places) {
+		int[] indices = new int[places.size()];
+		int i = 0;
+		for(Place place : places) {
+			indices[i++] = placeIndex.get(place.getId());
+		}
+		return indices;
+	}
+
+	/**
+	 * Gibt die Anzahl der Stellen zurück.
+	 * @return Anzahl der Stellen.
+	 */
+	int getNumberOfPlaces() {
+		return placeIds.length;
+	}
+
+	/**
+	 * Gibt die Anzahl der Transitionen zurück.
+	 * @return Anzahl der Transitionen.
+	 */
+	int getNumberOfTransitions() {
+		return transitionIds.length;
+	}
+
+	/**
+	 * Gibt die id der Stelle mit dem übergebenen Index zurück.
+	 * @param index Index der Stelle.
+	 * @return id der Stelle.
+	 */
+	String getPlaceId(int index) {
+		return placeIds[index];
+	}
+
+	/**
+	 * Gibt die id der Transition mit dem übergebenen Index zurück.
+	 * @param index Index der Transition.
+	 * @return id der Transition.
+	 */
+	String getTransitionId(int index) {
+		return transitionIds[index];
+	}
+
+	/**
+	 * Gibt den Index der Stelle mit der übergebenen id zurück.
+	 * @param id id der Stelle.
+	 * @return Index der Stelle oder -1.
+	 */
+	int getPlaceIndex(String id) {
+		Integer index = placeIndex.get(id);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Gibt den Index der Transition mit der übergebenen id zurück.
+	 * @param id id der Transition.
+	 * @return Index der Transition oder -1.
+	 */
+	int getTransitionIndex(String id) {
+		Integer index = transitionIndex.get(id);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Gibt die Indizes der Stellen im Vorbereich der Transition zurück.
+	 * @param transition Index der Transition.
+	 * @return Indizes der Stellen im Vorbereich (eine Eintragung je Kante).
+	 */
+	int[] getInput(int transition) {
+		return input[transition];
+	}
+
+	/**
+	 * Gibt die Indizes der Stellen im Nachbereich der Transition zurück.
+	 * @param transition Index der Transition.
+	 * @return Indizes der Stellen im Nachbereich (eine Eintragung je Kante).
+	 */
+	int[] getOutput(int transition) {
+		return output[transition];
+	}
+
+	/**
+	 * Gibt eine Kopie der Anfangsmarkierung zurück.
+	 * @return Anfangsmarkierung.
+	 */
+	int[] getInitialMarking() {
+		return initialMarking.clone();
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die Transition in der Markierung aktiviert ist.
+	 * @param marking Markierung.
+	 * @param transition Index der Transition.
+	 * @return Information, ob die Transition aktiviert ist (true) oder nicht (false).
+	 */
+	boolean isEnabled(int[] marking, int transition) {
+		for(int place : input[transition]) {
+			if(marking[place] < 1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob in der Markierung keine Transition aktiviert ist.
+	 * @param marking Markierung.
+	 * @return Information, ob die Markierung eine Verklemmung ist (true) oder nicht (false).
+	 */
+	boolean isDeadlock(int[] marking) {
+		for(int t = 0; t < transitionIds.length; t++) {
+			if(isEnabled(marking, t)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Erzeugt die Markierung, die durch Schalten der (aktivierten) Transition entsteht.
+	 * @param marking Markierung vor dem Schalten. Diese wird nicht verändert.
+	 * @param transition Index der Transition.
+	 * @return Neue Markierung nach dem Schalten.
+	 */
+	int[] fire(int[] marking, int transition) {
+		int[] result = marking.clone();
+		for(int place : input[transition]) {
+			result[place]--;
+		}
+		for(int place : output[transition]) {
+			result[place]++;
+		}
+		return result;
+	}
+
+	/**
+	 * Gibt die Markierung in der Schreibweise von {@link Marking#getId()} zurück.
+	 * @param marking Markierung.
+	 * @return id der Markierung.
+	 */
+	String getMarkingId(int[] marking) {
+		StringBuilder builder = new StringBuilder();
+		for(int i = 0; i < marking.length; i++) {
+			if(i > 0) {
+				builder.append('|');
+			}
+			builder.append(marking[i]);
+		}
+		return builder.toString();
+	}
+}
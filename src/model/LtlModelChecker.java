@@ -0,0 +1,377 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse prüft LTL-Formeln auf einem Petrinetz, ohne den Erreichbarkeitsgraphen vorher vollständig zu berechnen.
+ * Zur Negation der Formel wird ein {@link BuchiAutomaton} erzeugt. Das Produkt aus Petrinetz und Automat wird mit einer
+ * verschachtelten Tiefensuche (Nested DFS) durchlaufen, wobei die Nachfolger eines Produktzustands erst bei Bedarf durch Schalten der
+ * Transitionen erzeugt werden. Die Suche endet beim ersten akzeptierenden Zyklus (Lasso), der ein Gegenbeispiel zur Formel darstellt.
+ * Markierungen ohne aktivierte Transition werden als unendlich oft wiederholt betrachtet (Stottern), damit auch endliche Abläufe geprüft werden.
+ * Wird die Höchstzahl der Produktzustände erreicht oder die Prüfung mit {@link #cancel()} abgebrochen, endet die Suche ohne Ergebnis ({@link #getInconclusive()}).
+ * @author Hannes Wilms
+ *
+ */
+public class LtlModelChecker {
+
+	/** Voreingestellte Höchstzahl der Produktzustände, nach der die Suche abgebrochen wird. */
+	public static final int DEFAULT_MAX_STATES = 5000000;
+
+	/** Zustand des Produkts aus Petrinetz und Büchi-Automat. */
+	private static class ProductState {
+
+		/** Markierung des Petrinetzes. */
+		private int[] marking;
+
+		/** Zustand des Büchi-Automaten. */
+		private int automatonState;
+
+		/** Vorberechneter Hashwert. */
+		private int hash;
+
+		/**
+		 * Erzeugt einen neuen Produktzustand.
+		 * @param marking Markierung des Petrinetzes.
+		 * @param automatonState Zustand des Büchi-Automaten.
+		 */
+		private ProductState(int[] marking, int automatonState) {
+			this.marking = marking;
+			this.automatonState = automatonState;
+			this.hash = 31 * Arrays.hashCode(marking) + automatonState;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if(!(other instanceof ProductState)) {
+				return false;
+			}
+			ProductState state = (ProductState) other;
+			return automatonState == state.automatonState && Arrays.equals(marking, state.marking);
+		}
+	}
+
+	/** Eintrag im Stapel der Tiefensuche. */
+	private static class Frame {
+
+		/** Produktzustand dieses Eintrags. */
+		private ProductState state;
+
+		/** Index der Transition, über die der Zustand erreicht wurde (-1 für Stottern oder Anfang). */
+		private int transition;
+
+		/** Nachfolger des Zustands; werden beim Anlegen des Eintrags erzeugt. */
+		private ArrayList<ProductState> successors;
+
+		/** Transitionen zu den Nachfolgern. */
+		private ArrayList<Integer> successorTransitions;
+
+		/** Index des nächsten zu untersuchenden Nachfolgers. */
+		private int next = 0;
+	}
+
+	/** Indexbasierte Darstellung des Petrinetzes. */
+	private IndexedNet net;
+
+	/** Höchstzahl der Produktzustände. */
+	private int maxStates;
+
+	/** Anzahl der untersuchten Produktzustände. */
+	private int exploredStates;
+
+	/** Angabe, ob der Abbruch der laufenden Prüfung angefordert wurde. Wird aus einem anderen Thread gesetzt. */
+	private volatile boolean cancelled = false;
+
+	/** Grund, aus dem die letzte Prüfung ohne Ergebnis beendet wurde, oder null. */
+	private String inconclusiveReason;
+
+	/** Transitionen vom Anfang bis zum Beginn des Zyklus. */
+	private LinkedList<String> lassoPrefix = new LinkedList<String>();
+
+	/** Transitionen des Zyklus. */
+	private LinkedList<String> lassoCycle = new LinkedList<String>();
+
+	/** Markierung, in der der Zyklus beginnt. */
+	private String lassoMarking;
+
+	/**
+	 * Erzeugt einen neuen LTL-Model-Checker für das übergebene Petrinetz mit der voreingestellten Zustandsgrenze.
+	 * Geprüft wird ab der Anfangsmarkierung des (partiellen) Erreichbarkeitsgraphen.
+	 * @param petrinet Zu prüfendes Petrinetz.
+	 */
+	public LtlModelChecker(Petrinet petrinet) {
+		this(petrinet, DEFAULT_MAX_STATES);
+	}
+
+	/**
+	 * Erzeugt einen neuen LTL-Model-Checker für das übergebene Petrinetz.
+	 * @param petrinet Zu prüfendes Petrinetz.
+	 * @param maxStates Höchstzahl der Produktzustände, nach der die Suche abgebrochen wird.
+	 */
+	public LtlModelChecker(Petrinet petrinet, int maxStates) {
+		this.net = new IndexedNet(petrinet);
+		this.maxStates = maxStates;
+	}
+
+	/**
+	 * Prüft, ob alle Abläufe des Petrinetzes die LTL-Formel erfüllen.
+	 * Wird ein Gegenbeispiel gefunden, kann es mit {@link #getLassoPrefix()} und {@link #getLassoCycle()} abgefragt werden.
+	 * Endet die Suche ohne Ergebnis, weil die Höchstzahl der Produktzustände erreicht oder die Prüfung abgebrochen wurde,
+	 * wird false zurückgegeben und {@link #getInconclusive()} liefert true.
+	 * @param formula Zu prüfende LTL-Formel.
+	 * @return Information, ob die Formel erfüllt ist (true) oder ein Gegenbeispiel existiert bzw. die Suche ohne Ergebnis beendet wurde (false).
+	 */
+	public boolean check(Formula formula) {
+		BuchiAutomaton automaton = new BuchiAutomaton(new Formula(Formula.Operator.NOT, formula, null));
+		lassoPrefix.clear();
+		lassoCycle.clear();
+		lassoMarking = null;
+		exploredStates = 0;
+		inconclusiveReason = null;
+		// 1 = auf dem Stapel der äußeren Suche, 2 = äußere Suche abgeschlossen, zusätzlich 4 = von der inneren Suche besucht
+		HashMap<ProductState, Integer> colors = new HashMap<ProductState, Integer>();
+		int[] initialMarking = net.getInitialMarking();
+		for(int initialState : automaton.getInitialStates()) {
+			if(automaton.matches(initialState, initialMarking, net)) {
+				ProductState start = new ProductState(initialMarking, initialState);
+				if(!colors.containsKey(start)) {
+					if(outerSearch(start, automaton, colors) || isStopped()) {
+						return false;
+					}
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Äußere Tiefensuche. Nach Abschluss eines akzeptierenden Zustands wird die innere Suche gestartet.
+	 * @param start Startzustand.
+	 * @param automaton Büchi-Automat der negierten Formel.
+	 * @param colors Markierung der besuchten Zustände.
+	 * @return Information, ob ein akzeptierender Zyklus gefunden wurde (true) oder nicht (false).
+	 */
+	private boolean outerSearch(ProductState start, BuchiAutomaton automaton, HashMap<ProductState, Integer> colors) {
+		ArrayList<Frame> stack = new ArrayList<Frame>();
+		countState();
+		stack.add(newFrame(start, -1, automaton));
+		colors.put(start, 1);
+		while(!stack.isEmpty() && !isStopped()) {
+			Frame frame = stack.get(stack.size() - 1);
+			if(frame.next < frame.successors.size()) {
+				ProductState successor = frame.successors.get(frame.next);
+				int transition = frame.successorTransitions.get(frame.next);
+				frame.next++;
+				if(!colors.containsKey(successor)) {
+					countState();
+					colors.put(successor, 1);
+					stack.add(newFrame(successor, transition, automaton));
+				}
+			} else {
+				if(automaton.isAccepting(frame.state.automatonState)) {
+					ArrayList<Frame> cycle = innerSearch(frame.state, automaton, colors);
+					if(!(cycle == null)) {
+						buildLasso(stack, cycle);
+						return true;
+					}
+				}
+				colors.put(frame.state, (colors.get(frame.state) & 4) | 2);
+				stack.remove(stack.size() - 1);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Innere Tiefensuche ab einem akzeptierenden Zustand. Erreicht sie einen Zustand auf dem Stapel der äußeren Suche, ist ein Zyklus gefunden.
+	 * @param seed Akzeptierender Zustand, von dem aus gesucht wird.
+	 * @param automaton Büchi-Automat der negierten Formel.
+	 * @param colors Markierung der besuchten Zustände.
+	 * @return Stapel der inneren Suche vom Startzustand bis zum erreichten Zustand der äußeren Suche oder null.
+	 */
+	private ArrayList<Frame> innerSearch(ProductState seed, BuchiAutomaton automaton, HashMap<ProductState, Integer> colors) {
+		ArrayList<Frame> stack = new ArrayList<Frame>();
+		stack.add(newFrame(seed, -1, automaton));
+		while(!stack.isEmpty() && !isStopped()) {
+			Frame frame = stack.get(stack.size() - 1);
+			if(frame.next < frame.successors.size()) {
+				ProductState successor = frame.successors.get(frame.next);
+				int transition = frame.successorTransitions.get(frame.next);
+				frame.next++;
+				Integer color = colors.get(successor);
+				if(!(color == null) && (color & 1) != 0) {
+					Frame last = new Frame();
+					last.state = successor;
+					last.transition = transition;
+					stack.add(last);
+					return stack;
+				}
+				if(!(color == null) && (color & 4) == 0) {
+					colors.put(successor, color | 4);
+					stack.add(newFrame(successor, transition, automaton));
+				}
+			} else {
+				stack.remove(stack.size() - 1);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Erzeugt einen Stapeleintrag und berechnet die Nachfolger des Produktzustands.
+	 * Ist in der Markierung keine Transition aktiviert, ist die Markierung selbst ihr einziger Nachfolger.
+	 * @param state Produktzustand.
+	 * @param transition Index der Transition, über die der Zustand erreicht wurde.
+	 * @param automaton Büchi-Automat der negierten Formel.
+	 * @return Neuer Stapeleintrag.
+	 */
+	private Frame newFrame(ProductState state, int transition, BuchiAutomaton automaton) {
+		Frame frame = new Frame();
+		frame.state = state;
+		frame.transition = transition;
+		frame.successors = new ArrayList<ProductState>();
+		frame.successorTransitions = new ArrayList<Integer>();
+		boolean deadlock = true;
+		for(int t = 0; t < net.getNumberOfTransitions(); t++) {
+			if(net.isEnabled(state.marking, t)) {
+				deadlock = false;
+				addSuccessors(frame, net.fire(state.marking, t), t, automaton);
+			}
+		}
+		if(deadlock) {
+			addSuccessors(frame, state.marking, -1, automaton);
+		}
+		return frame;
+	}
+
+	/**
+	 * Fügt dem Stapeleintrag alle Produktzustände zur Nachfolgemarkierung hinzu, deren Automatenzustand die Markierung zulässt.
+	 * @param frame Stapeleintrag.
+	 * @param marking Nachfolgemarkierung.
+	 * @param transition Index der geschalteten Transition oder -1.
+	 * @param automaton Büchi-Automat der negierten Formel.
+	 */
+	private void addSuccessors(Frame frame, int[] marking, int transition, BuchiAutomaton automaton) {
+		for(int successor : automaton.getSuccessors(frame.state.automatonState)) {
+			if(automaton.matches(successor, marking, net)) {
+				frame.successors.add(new ProductState(marking, successor));
+				frame.successorTransitions.add(transition);
+			}
+		}
+	}
+
+	/**
+	 * Zählt einen neu besuchten Produktzustand und prüft die Höchstzahl der Produktzustände.
+	 * Ist sie überschritten, wird der Grund gespeichert, sodass die Suche ohne Ergebnis endet.
+	 */
+	private void countState() {
+		exploredStates++;
+		if(exploredStates > maxStates && inconclusiveReason == null) {
+			inconclusiveReason = "Höchstzahl von " + maxStates + " Produktzuständen erreicht";
+		}
+	}
+
+	/**
+	 * Prüft, ob die Suche ohne Ergebnis beendet werden soll, weil die Höchstzahl der Produktzustände erreicht ist oder der Abbruch angefordert wurde.
+	 * @return Information, ob die Suche beendet werden soll (true) oder nicht (false).
+	 */
+	private boolean isStopped() {
+		if(cancelled && inconclusiveReason == null) {
+			inconclusiveReason = "abgebrochen";
+		}
+		return !(inconclusiveReason == null);
+	}
+
+	/**
+	 * Fordert den Abbruch der laufenden Prüfung an. Kann aus einem anderen Thread aufgerufen werden.
+	 * Die Suche endet nach dem aktuellen Schritt ohne Ergebnis. Eine Abbruchanforderung gilt auch für spätere Prüfungen mit diesem Objekt.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die letzte Prüfung ohne Ergebnis beendet wurde.
+	 * @return Information, ob die Höchstzahl der Produktzustände erreicht oder die Prüfung abgebrochen wurde (true) oder nicht (false).
+	 */
+	public boolean getInconclusive() {
+		return !(inconclusiveReason == null);
+	}
+
+	/**
+	 * Gibt den Grund zurück, aus dem die letzte Prüfung ohne Ergebnis beendet wurde.
+	 * @return Grund (z.B. erreichte Höchstzahl der Produktzustände oder Abbruch) oder null.
+	 */
+	public String getInconclusiveReason() {
+		return inconclusiveReason;
+	}
+
+	/**
+	 * Setzt das Lasso aus dem Stapel der äußeren und der inneren Suche zusammen.
+	 * Der Zyklus beginnt an dem Zustand der äußeren Suche, den die innere Suche erreicht hat.
+	 * @param outer Stapel der äußeren Suche (vom Anfang bis zum akzeptierenden Zustand).
+	 * @param inner Stapel der inneren Suche (vom akzeptierenden Zustand zurück auf den Stapel der äußeren Suche).
+	 */
+	private void buildLasso(ArrayList<Frame> outer, ArrayList<Frame> inner) {
+		ProductState cycleStart = inner.get(inner.size() - 1).state;
+		int start = 0;
+		while(!outer.get(start).state.equals(cycleStart)) {
+			start++;
+		}
+		for(int i = 1; i <= start; i++) {
+			lassoPrefix.add(transitionName(outer.get(i).transition));
+		}
+		for(int i = start + 1; i < outer.size(); i++) {
+			lassoCycle.add(transitionName(outer.get(i).transition));
+		}
+		for(int i = 1; i < inner.size(); i++) {
+			lassoCycle.add(transitionName(inner.get(i).transition));
+		}
+		lassoMarking = net.getMarkingId(cycleStart.marking);
+	}
+
+	/**
+	 * Gibt die id der Transition oder "-" für einen Stotterschritt zurück.
+	 * @param transition Index der Transition oder -1.
+	 * @return id der Transition oder "-".
+	 */
+	private String transitionName(int transition) {
+		return transition < 0 ? "-" : net.getTransitionId(transition);
+	}
+
+	/**
+	 * Gibt die Schaltfolge vom Anfang bis zum Beginn des Zyklus des Gegenbeispiels zurück.
+	 * @return Liste (LinkedList) der ids der Transitionen.
+	 */
+	public LinkedList<String> getLassoPrefix() {
+		return lassoPrefix;
+	}
+
+	/**
+	 * Gibt die Schaltfolge des Zyklus des Gegenbeispiels zurück. Stotterschritte in Verklemmungen werden als "-" angegeben.
+	 * @return Liste (LinkedList) der ids der Transitionen.
+	 */
+	public LinkedList<String> getLassoCycle() {
+		return lassoCycle;
+	}
+
+	/**
+	 * Gibt die Markierung zurück, in der der Zyklus des Gegenbeispiels beginnt.
+	 * @return id der Markierung oder null.
+	 */
+	public String getLassoMarking() {
+		return lassoMarking;
+	}
+
+	/**
+	 * Gibt die Anzahl der bei der letzten Prüfung untersuchten Produktzustände zurück.
+	 * @return Anzahl der untersuchten Produktzustände.
+	 */
+	public int getExploredStates() {
+		return exploredStates;
+	}
+}
@@ -9,7 +9,7 @@ import java.util.*;
  */
 public class Marking {
 
-	/** id der Markierung. Setzt sich zusammen den Marken der Stellen, getrennt durch |-Striche */
+	/** id der Markierung. Setzt sich zusammen den Marken der Stellen, getrennt durch |-Striche. Wird erst bei Bedarf gebildet und ist bis dahin null. */
 	private String id="";
 	
 	/** Speichert die Marken zu jeder Stelle. */
@@ -35,7 +35,7 @@ public class Marking {
 	 */
 	void addEntry(String placeId, int tokens) {
 		scoreSheet.put(placeId,  tokens);
-		updateId();
+		id = null;
 	}
 	
 	/**
@@ -91,6 +91,9 @@ public class Marking {
 	 * @return id der Markierung.
 	 */
 	public String getId() {
+		if(id == null) {
+			updateId();
+		}
 		return id;
 	}
 	
@@ -142,7 +145,7 @@ public class Marking {
 	 * @return Information, ob beide Markierungen dieselben Marken je Stelle tragen (true) oder nicht (false).
 	 */
 	boolean isEqual(Marking other) {
-		return (this.id.equals(other.id));
+		return (this.getId().equals(other.getId()));
 	}
 	
 	/**
@@ -190,15 +193,16 @@ public class Marking {
 	
 	/**
 	 * Aktualisiert die id dieser Markierung, um die hinzugefügten Werte abzubilden, sodass die Markierungen einfach verglichen werden können. 
+	 * Wird nicht bei jedem neuen Eintrag, sondern erst beim nächsten Zugriff auf die id aufgerufen, sodass das Anlegen einer Markierung linear in der Anzahl der Stellen bleibt.
 	 */
 	private void updateId() {
-		String tempId = "";
+		StringBuilder tempId = new StringBuilder();
 		if(!scoreSheet.isEmpty()) {
 			for(Map.Entry<String, Integer> entry : scoreSheet.entrySet()) {
-				tempId = tempId + entry.getValue() + "|";
+				tempId.append(entry.getValue()).append('|');
 			}
-			tempId = tempId.substring(0, tempId.length() - 1);
+			tempId.setLength(tempId.length() - 1);
 		}
-		id = tempId;
+		id = tempId.toString();
 	}
 }
@@ -0,0 +1,103 @@
+package model;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+/**
+ * Diese Klasse berechnet einen Fingerabdruck (SHA-256) der Struktur eines Petrinetzes.
+ * Eingerechnet werden die ids der Stellen und Transitionen in ihrer Reihenfolge, alle Kanten mit Quelle und Ziel
+ * sowie die Anfangsmarkierung des Erreichbarkeitsgraphen. Namen und Koordinaten gehen nicht ein, da sie das Ergebnis einer Analyse nicht beeinflussen.
+ * Zwei Netze mit gleichem Fingerabdruck haben damit denselben Erreichbarkeitsgraphen, der in derselben Reihenfolge exploriert wird.
+ * @author Hannes Wilms
+ *
+ */
+public final class NetFingerprint {
+
+	/** Zeichensatz, in dem die ids in den Fingerabdruck eingehen. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** Hexadezimalziffern für die Ausgabe des Fingerabdrucks. */
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	/**
+	 * Es werden keine Objekte dieser Klasse erzeugt.
+	 */
+	private NetFingerprint() {
+	}
+
+	/**
+	 * Berechnet den Fingerabdruck des Petrinetzes.
+	 * @param petrinet Petrinetz mit initialisiertem Erreichbarkeitsgraphen.
+	 * @return Fingerabdruck als 64 Hexadezimalziffern.
+	 */
+	public static String of(Petrinet petrinet) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Jede Java-Plattform muss SHA-256 anbieten.
+			throw new IllegalStateException(e);
+		}
+		update(digest, "P", petrinet.getPlaces().size());
+		for(Place place : petrinet.getPlaces()) {
+			update(digest, place.getId());
+		}
+		update(digest, "T", petrinet.getTransitions().size());
+		for(Transition transition : petrinet.getTransitions()) {
+			update(digest, transition.getId());
+		}
+		update(digest, "A", petrinet.getArcs().size());
+		for(Arc arc : petrinet.getArcs()) {
+			update(digest, arc.getSourceId());
+			update(digest, arc.getTargetId());
+		}
+		Map<String, Integer> initialMarking = petrinet.getInitialMarking().getScoreSheet();
+		update(digest, "M", initialMarking.size());
+		for(Map.Entry<String, Integer> entry : initialMarking.entrySet()) {
+			update(digest, entry.getKey(), entry.getValue());
+		}
+		byte[] hash = digest.digest();
+		char[] hex = new char[2 * hash.length];
+		for(int i = 0; i < hash.length; i++) {
+			hex[2 * i] = HEX[(hash[i] >> 4) & 0xF];
+			hex[2 * i + 1] = HEX[hash[i] & 0xF];
+		}
+		return new String(hex);
+	}
+
+	/**
+	 * Rechnet eine Zeichenkette mit vorangestellter Länge ein, sodass aufeinanderfolgende ids eindeutig getrennt sind.
+	 * @param digest Zu aktualisierender Hash.
+	 * @param text Zeichenkette.
+	 */
+	private static void update(MessageDigest digest, String text) {
+		byte[] bytes = text.getBytes(UTF8);
+		updateInt(digest, bytes.length);
+		digest.update(bytes);
+	}
+
+	/**
+	 * Rechnet eine Zeichenkette und eine Zahl ein.
+	 * @param digest Zu aktualisierender Hash.
+	 * @param text Zeichenkette.
+	 * @param value Zahl.
+	 */
+	private static void update(MessageDigest digest, String text, int value) {
+		update(digest, text);
+		updateInt(digest, value);
+	}
+
+	/**
+	 * Rechnet eine Zahl mit vier Byte (big-endian) ein.
+	 * @param digest Zu aktualisierender Hash.
+	 * @param value Zahl.
+	 */
+	private static void updateInt(MessageDigest digest, int value) {
+		digest.update((byte) (value >>> 24));
+		digest.update((byte) (value >>> 16));
+		digest.update((byte) (value >>> 8));
+		digest.update((byte) value);
+	}
+}
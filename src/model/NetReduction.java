@@ -0,0 +1,491 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse reduziert ein Petrinetz vor der Analyse, um die Anzahl der Markierungen des Erreichbarkeitsgraphen zu verringern.
+ * Die Reduktion arbeitet auf einer Kopie ({@link Petrinet#getCopy()}), das übergebene Petrinetz bleibt unverändert.
+ * Die Regeln werden so lange angewendet, bis keine Regel mehr anwendbar ist:
+ * <ul>
+ * <li>Doppelte Transitionen: Transitionen mit gleichem Vor- und Nachbereich werden bis auf eine entfernt.</li>
+ * <li>Implizite Stellen: Eine Stelle mit gleichem Vor- und Nachbereich wie eine andere Stelle und mindestens ebenso vielen Marken schränkt das Schalten nie ein und wird entfernt.</li>
+ * <li>Post-Agglomeration (Berthelot): Eine leere Stelle p mit genau einer Transition f im Nachbereich, deren Vorbereich nur aus p besteht,
+ * wird entfernt und f mit jeder Transition im Vorbereich von p verschmolzen.</li>
+ * <li>Prä-Agglomeration (Berthelot): Eine Transition h, deren Nachbereich nur aus einer leeren Stelle p mit Vorbereich {h} besteht und deren Eingangsstellen
+ * nur von h verbraucht werden, wird mit jeder Transition im Nachbereich von p verschmolzen.</li>
+ * </ul>
+ * Die letzte Stelle wird nie entfernt, damit das reduzierte Netz analysiert werden kann.
+ * Jede Regel erhält nur bestimmte Eigenschaften ({@link Property}). Werden beim Erzeugen Eigenschaften gefordert, kommen nur Regeln zur Anwendung, die diese erhalten. Welche Eigenschaften für das reduzierte Netz insgesamt gelten, liefert {@link #getPreservedProperties()}.
+ * Verschmolzene Transitionen behalten die id einer der beteiligten Transitionen. Zu jeder Transition des reduzierten Netzes wird die Schaltfolge im ursprünglichen Netz gespeichert,
+ * sodass Schaltfolgen und Ergebnisse der Analyse auf das ursprüngliche Netz zurückgeführt werden können.
+ * @author Hannes Wilms
+ *
+ */
+public class NetReduction {
+
+	/** Eigenschaften, die von einer Reduktionsregel erhalten werden können. */
+	public enum Property {
+		/** Beschränktheit des Petrinetzes. */
+		BOUNDEDNESS,
+		/** Existenz von Verklemmungen. */
+		DEADLOCKS,
+		/** Lebendigkeit des Petrinetzes. */
+		LIVENESS,
+		/** Menge der erreichbaren Markierungen (eingeschränkt auf die verbleibenden Stellen). */
+		REACHABLE_MARKINGS
+	}
+
+	/** Reduktionsregeln mit den jeweils erhaltenen Eigenschaften. */
+	public enum Rule {
+		/** Entfernen doppelter Transitionen. */
+		DUPLICATE_TRANSITION(EnumSet.allOf(Property.class)),
+		/** Entfernen impliziter Stellen. */
+		IMPLICIT_PLACE(EnumSet.allOf(Property.class)),
+		/** Post-Agglomeration. Die Beschränktheit bleibt nicht erhalten, da sich im ursprünglichen Netz Marken auf der entfernten Stelle ansammeln können. */
+		POST_AGGLOMERATION(EnumSet.of(Property.DEADLOCKS, Property.LIVENESS)),
+		/** Prä-Agglomeration. */
+		PRE_AGGLOMERATION(EnumSet.of(Property.BOUNDEDNESS, Property.DEADLOCKS, Property.LIVENESS));
+
+		/** Eigenschaften, die von der Regel erhalten werden. */
+		private EnumSet<Property> preserved;
+
+		/**
+		 * Erzeugt eine Regel mit den übergebenen erhaltenen Eigenschaften.
+		 * @param preserved Eigenschaften, die von der Regel erhalten werden.
+		 */
+		Rule(EnumSet<Property> preserved) {
+			this.preserved = preserved;
+		}
+
+		/**
+		 * Gibt die Eigenschaften zurück, die von der Regel erhalten werden.
+		 * @return Erhaltene Eigenschaften.
+		 */
+		public EnumSet<Property> getPreservedProperties() {
+			return EnumSet.copyOf(preserved);
+		}
+	}
+
+	/** Ursprüngliches Petrinetz. */
+	private Petrinet original;
+
+	/** Reduziertes Petrinetz. */
+	private Petrinet reduced;
+
+	/** Schaltfolge im ursprünglichen Netz je id einer Transition des reduzierten Netzes. */
+	private Map<String, LinkedList<String>> expansions = new HashMap<String, LinkedList<String>>();
+
+	/** Angewendete Regeln in der Reihenfolge ihrer Anwendung, jeweils mit dem betroffenen Knoten. */
+	private LinkedList<String> appliedSteps = new LinkedList<String>();
+
+	/** Eigenschaften, die von allen angewendeten Regeln erhalten werden. */
+	private EnumSet<Property> preserved = EnumSet.allOf(Property.class);
+
+	/** Eigenschaften, die erhalten bleiben müssen. Es werden nur Regeln angewendet, die alle diese Eigenschaften erhalten. */
+	private EnumSet<Property> required;
+
+	/** Zähler zur Vergabe eindeutiger ids neuer Kanten. */
+	private int arcCounter = 0;
+
+	/**
+	 * Erzeugt eine neue Reduktion für das übergebene Petrinetz, die alle Regeln anwendet.
+	 * @param original Petrinetz, das reduziert werden soll. Es wird nicht verändert.
+	 */
+	public NetReduction(Petrinet original) {
+		this(original, EnumSet.noneOf(Property.class));
+	}
+
+	/**
+	 * Erzeugt eine neue Reduktion für das übergebene Petrinetz, die nur Regeln anwendet, welche die geforderten Eigenschaften erhalten.
+	 * @param original Petrinetz, das reduziert werden soll. Es wird nicht verändert.
+	 * @param required Eigenschaften, die erhalten bleiben müssen, z.B. {@link Property#BOUNDEDNESS} für die Beschränktheitsanalyse.
+	 */
+	public NetReduction(Petrinet original, EnumSet<Property> required) {
+		this.original = original;
+		this.required = EnumSet.copyOf(required);
+	}
+
+	/**
+	 * Erzeugt eine Kopie des Petrinetzes in der Anfangsmarkierung und wendet die Reduktionsregeln an, bis keine Regel mehr anwendbar ist.
+	 * @return Reduziertes Petrinetz.
+	 */
+	public Petrinet reduce() {
+		reduced = original.getCopy();
+		Marking initial = original.getInitialMarking();
+		for(Place place : reduced.getPlaces()) {
+			place.setSelected(false);
+			if(!(initial == null)) {
+				place.setTokens(initial.getTokensAtPlace(place.getId()));
+			}
+		}
+		for(Transition transition : reduced.getTransitions()) {
+			LinkedList<String> expansion = new LinkedList<String>();
+			expansion.add(transition.getId());
+			expansions.put(transition.getId(), expansion);
+		}
+		boolean changed = true;
+		while(changed) {
+			changed = removeDuplicateTransition() || removeImplicitPlace() || postAgglomeration() || preAgglomeration();
+		}
+		reduced.initializeReachabilityNet();
+		return reduced;
+	}
+
+	/**
+	 * Entfernt eine Transition, deren Vor- und Nachbereich dem einer anderen Transition entspricht.
+	 * @return Information, ob eine Transition entfernt wurde (true) oder nicht (false).
+	 */
+	private boolean removeDuplicateTransition() {
+		if(!isAllowed(Rule.DUPLICATE_TRANSITION)) {
+			return false;
+		}
+		LinkedList<Transition> transitions = reduced.getTransitions();
+		for(Transition t : transitions) {
+			for(Transition u : transitions) {
+				if(t != u && ids(t.getInputPlaces()).equals(ids(u.getInputPlaces())) && ids(t.getOutputPlaces()).equals(ids(u.getOutputPlaces()))) {
+					reduced.removeTransition(u);
+					expansions.remove(u.getId());
+					apply(Rule.DUPLICATE_TRANSITION, u.getId());
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Entfernt eine Stelle, deren Vor- und Nachbereich dem einer anderen Stelle entspricht und die mindestens ebenso viele Marken trägt.
+	 * Die Anzahl der Marken beider Stellen unterscheidet sich in jeder erreichbaren Markierung um denselben Wert, sodass die entfernte Stelle das Schalten nie einschränkt.
+	 * @return Information, ob eine Stelle entfernt wurde (true) oder nicht (false).
+	 */
+	private boolean removeImplicitPlace() {
+		if(!isAllowed(Rule.IMPLICIT_PLACE)) {
+			return false;
+		}
+		LinkedList<Place> places = reduced.getPlaces();
+		for(Place p : places) {
+			for(Place q : places) {
+				if(p != q && q.getTokens() >= p.getTokens() && ids(preset(p)).equals(ids(preset(q))) && ids(postset(p)).equals(ids(postset(q)))) {
+					reduced.removePlace(q);
+					apply(Rule.IMPLICIT_PLACE, q.getId());
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Wendet die Post-Agglomeration an: Eine leere Stelle p, deren einzige Ausgangstransition f nur p im Vorbereich hat, wird entfernt.
+	 * Jede Transition h im Vorbereich von p erhält statt p den Nachbereich von f und steht danach für die Schaltfolge h f.
+	 * @return Information, ob die Regel angewendet wurde (true) oder nicht (false).
+	 */
+	private boolean postAgglomeration() {
+		if(!isAllowed(Rule.POST_AGGLOMERATION) || reduced.getPlaces().size() < 2) {
+			return false;
+		}
+		for(Place p : reduced.getPlaces()) {
+			LinkedList<Transition> pre = preset(p);
+			LinkedList<Transition> post = postset(p);
+			if(p.getTokens() == 0 && !pre.isEmpty() && post.size() == 1 && isSet(pre)) {
+				Transition f = post.getFirst();
+				if(f.getInputPlaces().size() == 1 && !pre.contains(f)) {
+					for(Transition h : pre) {
+						reduced.removeArc(h.getId(), p.getId());
+						for(Place target : f.getOutputPlaces()) {
+							connect(h, target);
+						}
+						expansions.get(h.getId()).addAll(expansions.get(f.getId()));
+					}
+					reduced.removeTransition(f);
+					reduced.removePlace(p);
+					expansions.remove(f.getId());
+					apply(Rule.POST_AGGLOMERATION, p.getId());
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Wendet die Prä-Agglomeration an: Eine Transition h, deren Nachbereich nur aus einer leeren Stelle p mit Vorbereich {h} besteht
+	 * und deren Eingangsstellen nur von h verbraucht werden, wird zusammen mit p entfernt.
+	 * Jede Transition f im Nachbereich von p erhält statt p den Vorbereich von h und steht danach für die Schaltfolge h f.
+	 * @return Information, ob die Regel angewendet wurde (true) oder nicht (false).
+	 */
+	private boolean preAgglomeration() {
+		if(!isAllowed(Rule.PRE_AGGLOMERATION) || reduced.getPlaces().size() < 2) {
+			return false;
+		}
+		for(Transition h : reduced.getTransitions()) {
+			if(h.getOutputPlaces().size() == 1 && !h.getInputPlaces().isEmpty() && isSet(h.getInputPlaces())) {
+				Place p = h.getOutputPlaces().getFirst();
+				LinkedList<Transition> post = postset(p);
+				boolean applicable = p.getTokens() == 0 && preset(p).size() == 1 && !post.isEmpty() && isSet(post) && !post.contains(h);
+				for(Place q : h.getInputPlaces()) {
+					LinkedList<Transition> consumers = postset(q);
+					if(!(consumers.size() == 1)) {
+						applicable = false;
+					}
+					for(Transition f : post) {
+						if(f.getInputPlaces().contains(q)) {
+							applicable = false;
+						}
+					}
+				}
+				if(applicable) {
+					for(Transition f : post) {
+						reduced.removeArc(p.getId(), f.getId());
+						for(Place source : h.getInputPlaces()) {
+							connect(source, f);
+						}
+						LinkedList<String> expansion = new LinkedList<String>(expansions.get(h.getId()));
+						expansion.addAll(expansions.get(f.getId()));
+						expansions.put(f.getId(), expansion);
+					}
+					reduced.removeTransition(h);
+					reduced.removePlace(p);
+					expansions.remove(h.getId());
+					apply(Rule.PRE_AGGLOMERATION, h.getId());
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die Regel alle geforderten Eigenschaften erhält.
+	 * @param rule Regel.
+	 * @return Information, ob die Regel angewendet werden darf (true) oder nicht (false).
+	 */
+	private boolean isAllowed(Rule rule) {
+		return rule.preserved.containsAll(required);
+	}
+
+	/**
+	 * Vermerkt die Anwendung einer Regel und schränkt die erhaltenen Eigenschaften entsprechend ein.
+	 * @param rule Angewendete Regel.
+	 * @param nodeId id des entfernten Knotens.
+	 */
+	private void apply(Rule rule, String nodeId) {
+		appliedSteps.add(rule + ": " + nodeId);
+		preserved.retainAll(rule.preserved);
+	}
+
+	/**
+	 * Fügt dem reduzierten Netz eine neue Kante zwischen den beiden Knoten hinzu.
+	 * @param source Quellknoten.
+	 * @param target Zielknoten.
+	 */
+	private void connect(Node source, Node target) {
+		String id;
+		do {
+			id = "reduktion" + arcCounter++;
+		} while(containsArc(id));
+		Arc arc = new Arc(id, source.getId(), target.getId());
+		reduced.addArc(arc);
+		arc.setNodes(reduced);
+	}
+
+	/**
+	 * Gibt die Information zurück, ob das reduzierte Netz bereits eine Kante mit der id besitzt.
+	 * @param id id der Kante.
+	 * @return Information, ob die id bereits vergeben ist (true) oder nicht (false).
+	 */
+	private boolean containsArc(String id) {
+		for(Arc arc : reduced.getArcs()) {
+			if(arc.getId().equals(id)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gibt die Transitionen zurück, die Marken auf die Stelle legen (eine Eintragung je Kante).
+	 * @param place Stelle.
+	 * @return Liste (LinkedList) der Transitionen im Vorbereich der Stelle.
+	 */
+	private LinkedList<Transition> preset(Place place) {
+		LinkedList<Transition> result = new LinkedList<Transition>();
+		for(Transition transition : reduced.getTransitions()) {
+			for(Place output : transition.getOutputPlaces()) {
+				if(output == place) {
+					result.add(transition);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gibt die Transitionen zurück, die Marken von der Stelle verbrauchen (eine Eintragung je Kante).
+	 * @param place Stelle.
+	 * @return Liste (LinkedList) der Transitionen im Nachbereich der Stelle.
+	 */
+	private LinkedList<Transition> postset(Place place) {
+		LinkedList<Transition> result = new LinkedList<Transition>();
+		for(Transition transition : reduced.getTransitions()) {
+			for(Place input : transition.getInputPlaces()) {
+				if(input == place) {
+					result.add(transition);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gibt die sortierten ids der Knoten zurück, sodass Vor- und Nachbereiche unabhängig von der Reihenfolge verglichen werden können.
+	 * @param nodes Liste der Knoten.
+	 * @return Sortierte Liste der ids (mehrfache Kanten bleiben mehrfach enthalten).
+	 */
+	private LinkedList<String> ids(LinkedList<? extends Node> nodes) {
+		LinkedList<String> result = new LinkedList<String>();
+		for(Node node : nodes) {
+			result.add(node.getId());
+		}
+		Collections.sort(result);
+		return result;
+	}
+
+	/**
+	 * Gibt die Information zurück, ob kein Knoten mehrfach in der Liste enthalten ist.
+	 * Die Agglomerationen werden nur auf Knoten ohne mehrfache Kanten angewendet.
+	 * @param nodes Liste der Knoten.
+	 * @return Information, ob jeder Knoten höchstens einmal enthalten ist (true) oder nicht (false).
+	 */
+	private boolean isSet(LinkedList<? extends Node> nodes) {
+		return new HashSet<Node>(nodes).size() == nodes.size();
+	}
+
+	/**
+	 * Ersetzt jede Transition einer Schaltfolge des reduzierten Netzes durch die zugehörige Schaltfolge des ursprünglichen Netzes.
+	 * @param sequence ids der Transitionen des reduzierten Netzes.
+	 * @return ids der Transitionen des ursprünglichen Netzes.
+	 */
+	public LinkedList<String> mapToOriginal(List<String> sequence) {
+		LinkedList<String> result = new LinkedList<String>();
+		for(String transitionId : sequence) {
+			result.addAll(expansions.get(transitionId));
+		}
+		return result;
+	}
+
+	/**
+	 * Überträgt das Ergebnis der Beschränktheitsanalyse des reduzierten Netzes auf das ursprüngliche Netz.
+	 * Bei Unbeschränktheit wird der Pfad in eine Schaltfolge des ursprünglichen Netzes übersetzt und ab dessen Anfangsmarkierung nachgespielt,
+	 * sodass m und m' Markierungen des ursprünglichen Netzes sind. Da verschmolzene Transitionen die entfernten Stellen wieder leeren
+	 * und implizite Stellen sich wie ihre verbleibende Stelle verhalten, bleibt m' &gt;= m erhalten.
+	 * Anzahl der Knoten und Kanten beziehen sich weiterhin auf den Erreichbarkeitsgraphen des reduzierten Netzes.
+	 * Die höchste Anzahl an Marken je Stelle wird nur für die verbliebenen Stellen des reduzierten Netzes übernommen.
+	 * @param result Ergebnis der Beschränktheitsanalyse des reduzierten Netzes.
+	 * @return Ergebnis bezogen auf das ursprüngliche Netz.
+	 */
+	public BoundednessTestResult mapBack(BoundednessTestResult result) {
+		BoundednessTestResult mapped = new BoundednessTestResult();
+		mapped.setName(original.getName());
+		mapped.setUnbounded(result.getUnbounded());
+		mapped.setNumberOfNodes(result.getNumberOfNodes());
+		mapped.setNumberOfEdges(result.getNumberOfEdges());
+		mapped.setCancelled(result.getCancelled());
+		mapped.setInconclusive(result.getInconclusive());
+		mapped.setInconclusiveReason(result.getInconclusiveReason());
+		mapped.setMaximumTokens(result.getMaximumTokens());
+		if(result.getUnbounded()) {
+			LinkedList<String> reducedPath = new LinkedList<String>();
+			int startIndex = -1;
+			for(MarkingConnector mc : result.getPath()) {
+				if(startIndex < 0 && mc.getMarkingBefore().equals(result.getStart().getId())) {
+					startIndex = mapToOriginal(reducedPath).size();
+				}
+				reducedPath.add(mc.getTransitionCaused());
+			}
+			IndexedNet net = new IndexedNet(original);
+			int[] tokens = net.getInitialMarking();
+			Marking current = toMarking(tokens, net);
+			if(startIndex == 0) {
+				mapped.setStart(current);
+			}
+			LinkedList<MarkingConnector> path = new LinkedList<MarkingConnector>();
+			for(String transitionId : mapToOriginal(reducedPath)) {
+				tokens = net.fire(tokens, net.getTransitionIndex(transitionId));
+				Marking next = toMarking(tokens, net);
+				path.add(new MarkingConnector(current.getId(), next.getId(), transitionId));
+				current = next;
+				if(path.size() == startIndex) {
+					mapped.setStart(current);
+				}
+			}
+			mapped.setEnd(current);
+			mapped.setPath(path);
+		}
+		return mapped;
+	}
+
+	/**
+	 * Erzeugt eine Markierung des ursprünglichen Netzes aus der indexbasierten Darstellung.
+	 * @param tokens Marken je Index der Stelle.
+	 * @param net Indexbasierte Darstellung des ursprünglichen Netzes.
+	 * @return Markierung.
+	 */
+	private Marking toMarking(int[] tokens, IndexedNet net) {
+		Marking marking = new Marking();
+		for(int i = 0; i < tokens.length; i++) {
+			marking.addEntry(net.getPlaceId(i), tokens[i]);
+		}
+		return marking;
+	}
+
+	/**
+	 * Gibt das reduzierte Petrinetz zurück.
+	 * @return Reduziertes Petrinetz oder null, wenn {@link #reduce()} noch nicht aufgerufen wurde.
+	 */
+	public Petrinet getReducedPetrinet() {
+		return reduced;
+	}
+
+	/**
+	 * Gibt die Eigenschaften zurück, die von allen angewendeten Regeln erhalten werden.
+	 * Nur für diese Eigenschaften darf das Ergebnis der Analyse des reduzierten Netzes auf das ursprüngliche Netz übertragen werden.
+	 * @return Erhaltene Eigenschaften.
+	 */
+	public EnumSet<Property> getPreservedProperties() {
+		return EnumSet.copyOf(preserved);
+	}
+
+	/**
+	 * Gibt die Information zurück, ob die Eigenschaft von allen angewendeten Regeln erhalten wird.
+	 * @param property Eigenschaft.
+	 * @return Information, ob die Eigenschaft erhalten wird (true) oder nicht (false).
+	 */
+	public boolean preserves(Property property) {
+		return preserved.contains(property);
+	}
+
+	/**
+	 * Gibt die angewendeten Regeln in der Reihenfolge ihrer Anwendung zurück.
+	 * @return Liste (LinkedList) der angewendeten Regeln mit dem jeweils entfernten Knoten.
+	 */
+	public LinkedList<String> getAppliedSteps() {
+		return appliedSteps;
+	}
+
+	/**
+	 * Gibt die Anzahl der entfernten Stellen zurück.
+	 * @return Anzahl der entfernten Stellen.
+	 */
+	public int getRemovedPlaces() {
+		return original.getPlaces().size() - reduced.getPlaces().size();
+	}
+
+	/**
+	 * Gibt die Anzahl der entfernten Transitionen zurück.
+	 * @return Anzahl der entfernten Transitionen.
+	 */
+	public int getRemovedTransitions() {
+		return original.getTransitions().size() - reduced.getTransitions().size();
+	}
+}
@@ -83,4 +83,14 @@ abstract class Node {
 	public void setY(String y) {
 		this.posY = Double.parseDouble(y);
 	}
+	
+	/**
+	 * Speichert die bereits als Zahl vorliegenden Koordinaten des Knotens, z.B. aus dem {@link CompiledNetCache}.
+	 * @param x X-Koordinate des Knotens.
+	 * @param y Y-Koordinate des Knotens.
+	 */
+	void setPosition(double x, double y) {
+		this.posX = x;
+		this.posY = y;
+	}
 }
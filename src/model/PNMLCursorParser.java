@@ -0,0 +1,314 @@
+package model;
+
+import java.io.*;
+import java.util.HashMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Diese Klasse liest PNML-Dateien mit einem {@link XMLStreamReader} (Cursor) ein und erzeugt daraus ein Petrinet-Objekt.
+ * Sie versteht dieselben Elemente wie der {@link PNMLParser} (WoPeD PNML 1.3.2) und liefert für gültige Dateien dasselbe Petrinetz,
+ * arbeitet aber in einem einzigen Durchlauf ohne Ereignisobjekte:
+ * Elementnamen werden über eine Tabelle einmal je Schreibweise aufgelöst, statt für jedes Element mehrfach in Kleinbuchstaben umgewandelt zu werden,
+ * und Namen, Positionen und Marken werden über die Tabellen id → Knoten des Petrinetzes in konstanter Zeit zugeordnet.
+ * Die Kanten werden nach dem Einlesen über dieselben Tabellen verbunden, sodass die Reihenfolge der Elemente in der Datei keine Rolle spielt.
+ * Der Aufwand ist damit linear in der Größe der Datei.
+ * Anders als der {@link PNMLParser} werden auch PNML-Dateien mit Namensraum gelesen.
+ * Fehlerhafte Dateien führen zu einer {@link IllegalArgumentException}.
+ * @author Hannes Wilms
+ *
+ */
+public class PNMLCursorParser {
+
+	/** Art eines Elements: ohne Bedeutung für den Parser. */
+	private static final int OTHER = 0;
+
+	/** Art eines Elements: Stelle. */
+	private static final int PLACE = 1;
+
+	/** Art eines Elements: Transition. */
+	private static final int TRANSITION = 2;
+
+	/** Art eines Elements: Kante. */
+	private static final int ARC = 3;
+
+	/** Art eines Elements: Name. */
+	private static final int NAME = 4;
+
+	/** Art eines Elements: Position. */
+	private static final int POSITION = 5;
+
+	/** Art eines Elements: Anfangsmarkierung. */
+	private static final int INITIAL_MARKING = 6;
+
+	/** Art eines Elements: Text. */
+	private static final int TEXT = 7;
+
+	/** Fabrik für die XMLStreamReader. Die Fabrik ist nach der Konfiguration threadsicher. */
+	private static final XMLInputFactory FACTORY = createFactory();
+
+	/** Petrinetz, das aus der PNML-Datei erzeugt wurde. */
+	private Petrinet petrinet;
+
+	/** Art der Elemente je Elementname in der Schreibweise der Datei. Jede Schreibweise wird nur einmal in Kleinbuchstaben umgewandelt. */
+	private HashMap<String, Integer> elementKinds = new HashMap<String, Integer>();
+
+	/** id des zuletzt gelesenen Knotens oder null nach einer Kante. Namen, Positionen und Marken beziehen sich auf diesen Knoten. */
+	private String lastId;
+
+	/** Information, ob gerade innerhalb eines Name-Elements gelesen wird. */
+	private boolean isName;
+
+	/** Information, ob gerade innerhalb eines InitialMarking-Elements gelesen wird. */
+	private boolean isInitialMarking;
+
+	/** Information, ob gerade innerhalb eines Text-Elements gelesen wird. */
+	private boolean isText;
+
+	/** Inhalt des aktuellen Text-Elements. Wird auch über mehrere Zeichenblöcke hinweg gesammelt. */
+	private StringBuilder text = new StringBuilder();
+
+	/**
+	 * Liest die PNML-Datei ein, legt das Petrinetz an und verbindet die Kanten.
+	 * Das Einlesen wird als {@link FlightRecorderEvents.Parse}, das Verbinden der Kanten als {@link FlightRecorderEvents.ConnectArcs}
+	 * an den Java Flight Recorder gemeldet.
+	 * @param pnml PNML-Datei, aus der das Petrinetz gelesen werden soll.
+	 * @throws IllegalArgumentException wenn die Datei nicht gelesen werden kann, kein gültiges XML enthält, eine Marke keine Zahl ist
+	 * oder eine Kante nicht eine Stelle mit einer Transition verbindet.
+	 */
+	public PNMLCursorParser(final File pnml) {
+		petrinet = new Petrinet(pnml.getName());
+		elementKinds.put("place", PLACE);
+		elementKinds.put("transition", TRANSITION);
+		elementKinds.put("arc", ARC);
+		elementKinds.put("name", NAME);
+		elementKinds.put("position", POSITION);
+		elementKinds.put("initialmarking", INITIAL_MARKING);
+		elementKinds.put("text", TEXT);
+		FlightRecorderEvents.Parse event = new FlightRecorderEvents.Parse();
+		event.begin();
+		parse(pnml);
+		event.end();
+		if(event.shouldCommit()) {
+			event.file = pnml.getName();
+			event.fileSize = pnml.length();
+			event.places = petrinet.getPlaces().size();
+			event.transitions = petrinet.getTransitions().size();
+			event.arcs = petrinet.getArcs().size();
+			event.commit();
+		}
+		connectArcs();
+		petrinet.initializeReachabilityNet();
+	}
+
+	/**
+	 * Gibt das erzeugte Petrinetz zurück.
+	 * @return Das erzeugte Petrinetz.
+	 */
+	public Petrinet getPetrinet() {
+		return petrinet;
+	}
+
+	/**
+	 * Erzeugt die Fabrik für die XMLStreamReader. DTDs und externe Entitäten werden nicht verarbeitet, da PNML-Dateien sie nicht benötigen.
+	 * @return Konfigurierte Fabrik.
+	 */
+	private static XMLInputFactory createFactory() {
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		return factory;
+	}
+
+	/**
+	 * Liest die Datei in einem Durchlauf und legt Stellen, Transitionen und Kanten im Petrinetz an.
+	 * @param pnml PNML-Datei.
+	 */
+	private void parse(File pnml) {
+		try {
+			InputStream in = new BufferedInputStream(new FileInputStream(pnml), 65536);
+			try {
+				XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+				try {
+					while(reader.hasNext()) {
+						switch(reader.next()) {
+						case XMLStreamConstants.START_ELEMENT:
+							handleStartElement(reader);
+							break;
+						case XMLStreamConstants.END_ELEMENT:
+							handleEndElement(reader);
+							break;
+						case XMLStreamConstants.CHARACTERS:
+						case XMLStreamConstants.CDATA:
+							if(isText) {
+								text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+							}
+							break;
+						default:
+						}
+					}
+				} finally {
+					reader.close();
+				}
+			} finally {
+				in.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IllegalArgumentException("Fehler beim Lesen der PNML-Datei " + pnml.getName() + ": " + e.getMessage(), e);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Die PNML-Datei " + pnml.getName() + " kann nicht gelesen werden: " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Gibt die Art eines Elements zurück. Eine bisher unbekannte Schreibweise wird einmal in Kleinbuchstaben umgewandelt und dann in der Tabelle vermerkt.
+	 * @param localName Name des Elements ohne Namensraum.
+	 * @return Art des Elements.
+	 */
+	private int kind(String localName) {
+		Integer kind = elementKinds.get(localName);
+		if(kind == null) {
+			kind = elementKinds.get(localName.toLowerCase());
+			if(kind == null) {
+				kind = OTHER;
+			}
+			elementKinds.put(localName, kind);
+		}
+		return kind;
+	}
+
+	/**
+	 * Behandelt den Beginn eines Elements.
+	 * @param reader Reader, der auf dem Beginn des Elements steht.
+	 */
+	private void handleStartElement(XMLStreamReader reader) {
+		switch(kind(reader.getLocalName())) {
+		case PLACE:
+			lastId = attribute(reader, "id");
+			if(!(lastId == null)) {
+				Place place = new Place(lastId);
+				petrinet.addPlace(place);
+			} else {
+				System.err.println("Stelle ohne id wurde verworfen!");
+			}
+			break;
+		case TRANSITION:
+			lastId = attribute(reader, "id");
+			if(!(lastId == null)) {
+				Transition transition = new Transition(lastId);
+				petrinet.addTransition(transition);
+			} else {
+				System.err.println("Transition ohne id wurde verworfen!");
+			}
+			break;
+		case ARC:
+			String id = attribute(reader, "id");
+			String source = attribute(reader, "source");
+			String target = attribute(reader, "target");
+			if(!(id == null) && !(source == null) && !(target == null)) {
+				petrinet.addArc(new Arc(id, source, target));
+			} else {
+				System.err.println("Unvollständige Kante wurde verworfen!");
+			}
+			lastId = null;
+			break;
+		case NAME:
+			isName = true;
+			break;
+		case POSITION:
+			String x = attribute(reader, "x");
+			String y = attribute(reader, "y");
+			if(!(x == null) && !(y == null)) {
+				// Positionen ohne Knoten (z.B. im WoPeD-spezifischen Element toolspecific) werden ignoriert.
+				if(!(lastId == null)) {
+					Node node = petrinet.getNode(lastId);
+					node.setX(x);
+					node.setY(y);
+				}
+			} else {
+				System.err.println("Unvollständige Position wurde verworfen!");
+			}
+			break;
+		case INITIAL_MARKING:
+			isInitialMarking = true;
+			break;
+		case TEXT:
+			isText = true;
+			text.setLength(0);
+			break;
+		default:
+		}
+	}
+
+	/**
+	 * Behandelt das Ende eines Elements. Am Ende eines Text-Elements wird dessen Inhalt als Name bzw. Marken des zuletzt gelesenen Knotens übernommen.
+	 * @param reader Reader, der auf dem Ende des Elements steht.
+	 */
+	private void handleEndElement(XMLStreamReader reader) {
+		switch(kind(reader.getLocalName())) {
+		case NAME:
+			isName = false;
+			break;
+		case INITIAL_MARKING:
+			isInitialMarking = false;
+			break;
+		case TEXT:
+			isText = false;
+			if(!(lastId == null) && !(text.toString().trim().isEmpty())) {
+				Node node = petrinet.getNode(lastId);
+				if(isName) {
+					node.setName(text.toString());
+				} else if(isInitialMarking && node instanceof Place) {
+					((Place) node).setTokens(Integer.parseInt(text.toString().trim()));
+				}
+			}
+			break;
+		default:
+		}
+	}
+
+	/**
+	 * Gibt den Wert eines Attributs des aktuellen Elements zurück. Der Name des Attributs wird ohne Beachtung der Groß- und Kleinschreibung verglichen.
+	 * @param reader Reader, der auf dem Beginn eines Elements steht.
+	 * @param name Name des Attributs in Kleinbuchstaben.
+	 * @return Wert des Attributs oder null, wenn das Element dieses Attribut nicht besitzt.
+	 */
+	private static String attribute(XMLStreamReader reader, String name) {
+		String value = null;
+		for(int i = 0; i < reader.getAttributeCount() && value == null; i++) {
+			if(reader.getAttributeLocalName(i).equalsIgnoreCase(name)) {
+				value = reader.getAttributeValue(i);
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Verbindet alle Kanten über die Tabellen id → Knoten des Petrinetzes mit ihren Stellen und Transitionen.
+	 * Der Vorgang wird als {@link FlightRecorderEvents.ConnectArcs} an den Java Flight Recorder gemeldet.
+	 * @throws IllegalArgumentException wenn eine Kante auf einen unbekannten Knoten verweist oder nicht eine Stelle mit einer Transition verbindet.
+	 */
+	private void connectArcs() {
+		FlightRecorderEvents.ConnectArcs event = new FlightRecorderEvents.ConnectArcs();
+		event.begin();
+		for(Arc arc : petrinet.getArcs()) {
+			Node source = petrinet.getNode(arc.getStoredSourceId());
+			Node target = petrinet.getNode(arc.getStoredTargetId());
+			if(source == null || target == null) {
+				throw new IllegalArgumentException("Die Kante " + arc.getId() + " verweist auf einen unbekannten Knoten.");
+			}
+			if((source instanceof Place) == (target instanceof Place)) {
+				throw new IllegalArgumentException("Die Kante " + arc.getId() + " verbindet nicht eine Stelle mit einer Transition.");
+			}
+			arc.setNodes(source, target);
+		}
+		event.end();
+		if(event.shouldCommit()) {
+			event.net = petrinet.getName();
+			event.arcs = petrinet.getArcs().size();
+			event.commit();
+		}
+	}
+}
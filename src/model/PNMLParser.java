@@ -17,13 +17,25 @@ public class PNMLParser extends PNMLWopedParser {
 	
 	/**
 	 * Erzeugt einen neuen PNML-Parser, legt ein leeres Petrinetz an und befüllt dieses dann mit den Stellen, Transitionen und Verbindungen.
+	 * Das Einlesen wird als {@link FlightRecorderEvents.Parse} an den Java Flight Recorder gemeldet.
 	 * @param pnml PNML-Datei, aus der das Petrinetz gelesen werden soll.
 	 */
 	public PNMLParser(final File pnml) {
 		super(pnml);
 		initParser();
 		petrinet = new Petrinet(pnml.getName());
+		FlightRecorderEvents.Parse event = new FlightRecorderEvents.Parse();
+		event.begin();
 		parse();
+		event.end();
+		if(event.shouldCommit()) {
+			event.file = pnml.getName();
+			event.fileSize = pnml.length();
+			event.places = petrinet.getPlaces().size();
+			event.transitions = petrinet.getTransitions().size();
+			event.arcs = petrinet.getArcs().size();
+			event.commit();
+		}
 		petrinet.connectArcs();
 		petrinet.initializeReachabilityNet();
 	}
@@ -19,29 +19,30 @@ public class PNMLWriter {
 	private PNMLWopedWriter pnmlWriter;
 	
 	/**
-	 * Erzeugt einen neuen PNMLWriter. Speichert eine Kopie des Petrinetzes und erzeugt einen neuen PNMLWopedWriter.
+	 * Erzeugt einen neuen PNMLWriter. Speichert eine Referenz auf das Petrinetz und erzeugt einen neuen PNMLWopedWriter.
+	 * Das Petrinetz wird nicht kopiert, sondern beim Schreiben direkt gelesen und dabei nicht verändert.
 	 * @param petrinet Petrinetz, das in die PNML-Datei geschrieben werden soll.
 	 * @param file Datei, in die das Petrinetz geschrieben werden soll.
 	 */
 	public PNMLWriter(Petrinet petrinet, File file) {
-		this.petrinet = petrinet.getCopy();
+		this.petrinet = petrinet;
 		pnmlWriter = new PNMLWopedWriter(file);
 	}
 	
 	/**
-	 * Setzt das Petrinetz auf die Anfangsmarkierung zurück.
-	 * Schreibt das Petrinetz in die PNML-Datei.
+	 * Schreibt das Petrinetz in die PNML-Datei. Die Elemente werden nacheinander in den gepufferten Ausgabestrom geschrieben.
+	 * Als Marken der Stellen wird die Anfangsmarkierung des Erreichbarkeitsgraphen geschrieben, die aktuellen Marken des Petrinetzes bleiben unverändert.
 	 * Ruft dafür die Methoden {@link PNMLWopedWriter#startXMLDocument()} und {@link PNMLWopedWriter#finishXMLDocument()} auf.
 	 */
 	public void write() {
 		pnmlWriter.startXMLDocument();
-		petrinet.resetPetrinetToInitialMarking();
+		Marking initialMarking = petrinet.getInitialMarking();
 		LinkedList<Place> places = petrinet.getPlaces();
 		if(!places.isEmpty()) {
 			for(Place place : places) {
 				pnmlWriter.addPlace(place.getId(), place.getName(),
 						String.valueOf(place.getX()), String.valueOf(place.getY()),
-						String.valueOf(place.getTokens()));
+						String.valueOf(getInitialTokens(initialMarking, place)));
 			}
 		}
 		LinkedList<Transition> transitions = petrinet.getTransitions();
@@ -60,5 +61,21 @@ public class PNMLWriter {
 		pnmlWriter.finishXMLDocument();
 	}
 	
+	/**
+	 * Gibt die Anzahl der Marken einer Stelle in der Anfangsmarkierung zurück.
+	 * Existiert noch keine Anfangsmarkierung oder enthält sie die Stelle nicht, werden die aktuellen Marken der Stelle verwendet.
+	 * @param initialMarking Anfangsmarkierung des Erreichbarkeitsgraphen oder null.
+	 * @param place Stelle, deren Marken geschrieben werden.
+	 * @return Anzahl der Marken der Stelle in der Anfangsmarkierung.
+	 */
+	private int getInitialTokens(Marking initialMarking, Place place) {
+		if(!(initialMarking == null)) {
+			Integer tokens = initialMarking.getScoreSheet().get(place.getId());
+			if(!(tokens == null)) {
+				return tokens;
+			}
+		}
+		return place.getTokens();
+	}
 	
 }
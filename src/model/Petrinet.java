@@ -19,6 +19,15 @@ public class Petrinet {
 	/** Liste aller im Netz befindlichen Kanten. */
 	private LinkedList<Arc> arcs = new LinkedList<Arc>();
 	
+	/** Stellen je id. Bei mehrfach vergebenen ids ist die zuletzt hinzugefügte Stelle eingetragen. */
+	private HashMap<String, Place> placesById = new HashMap<String, Place>();
+	
+	/** Transitionen je id. Bei mehrfach vergebenen ids ist die zuletzt hinzugefügte Transition eingetragen. */
+	private HashMap<String, Transition> transitionsById = new HashMap<String, Transition>();
+	
+	/** Kanten je id. Bei mehrfach vergebenen ids ist die zuletzt hinzugefügte Kante eingetragen. */
+	private HashMap<String, Arc> arcsById = new HashMap<String, Arc>();
+	
 	/** Zugehöriger partieller Erreichbarkeitsgraph. */
 	private ReachabilityNet reachabilityNet;
 	
@@ -31,6 +40,69 @@ public class Petrinet {
 	/** Verweis auf die zuletzt im Graphen ausgewählte Stelle. */
 	private Place lastSelectedPlace;
 	
+	/** Information, ob der Erreichbarkeitsgraph durch die Analyse vollständig berechnet wurde. */
+	private boolean reachabilityNetComplete = false;
+	
+	/** Information, ob der Abbruch der laufenden Analyse angefordert wurde. Wird von einem anderen Thread gesetzt und in jedem Schritt der Analyse geprüft. */
+	private volatile boolean analysisCancelled = false;
+	
+	/** Anzahl der während der laufenden Analyse gefundenen Markierungen. Kann von einem anderen Thread gelesen werden. */
+	private volatile int exploredMarkings = 0;
+	
+	/** Anzahl der während der laufenden Analyse gefundenen Kanten. Kann von einem anderen Thread gelesen werden. */
+	private volatile int exploredConnections = 0;
+	
+	/** Anzahl der Markierungen auf dem Stack der Tiefensuche der laufenden Analyse, also Länge des aktuell untersuchten Pfades. Kann von einem anderen Thread gelesen werden. */
+	private volatile int analysisDepth = 0;
+	
+	/** Größte Tiefe der Tiefensuche der laufenden bzw. letzten Analyse. */
+	private int maximumAnalysisDepth = 0;
+	
+	/** Anzahl der während der laufenden Analyse geschalteten Transitionen. */
+	private long analysisSuccessors = 0;
+	
+	/** Anzahl der während der laufenden Analyse geschalteten Transitionen, die zu einer bereits bekannten Markierung geführt haben. */
+	private long analysisDuplicateHits = 0;
+	
+	/** Zeitpunkt aus {@link System#nanoTime()}, zu dem die laufende bzw. letzte Analyse begonnen hat. */
+	private long analysisStart;
+	
+	/** Dauer der letzten Analyse in Nanosekunden oder -1, solange die Analyse läuft. */
+	private volatile long analysisDuration = 0;
+	
+	/** Zeitpunkt aus {@link System#nanoTime()}, ab dem die registrierten Listener wieder über den Fortschritt informiert werden. */
+	private long nextProgressTime;
+	
+	/** Mindestabstand zwischen zwei Fortschrittsmeldungen an die Listener in Nanosekunden. */
+	private long progressInterval = 250000000L;
+	
+	/** Listener, die über den Fortschritt der Analyse informiert werden. Kann während einer laufenden Analyse aus anderen Threads verändert werden. */
+	private java.util.concurrent.CopyOnWriteArrayList<AnalysisListener> analysisListeners = new java.util.concurrent.CopyOnWriteArrayList<AnalysisListener>();
+	
+	/** Information, ob bei Beginn der laufenden Analyse Listener registriert waren. Ohne Listener entfallen Zeitmessung und Meldungen während der Analyse vollständig. */
+	private boolean notifyAnalysisListeners = false;
+	
+	/** Empfänger, dem die Analyse neue Markierungen und Kanten des Erreichbarkeitsgraphen übergibt, oder null. */
+	private ReachabilityGraphSink reachabilityGraphSink;
+	
+	/** Anzahl der Schritte der Analyse zwischen zwei Prüfungen der Speichergrenze. */
+	private static final int BUDGET_CHECK_INTERVAL = 256;
+	
+	/** Budget der laufenden Analyse. */
+	private AnalysisBudget analysisBudget = AnalysisBudget.UNLIMITED;
+	
+	/** Zeitpunkt aus {@link System#nanoTime()}, zu dem die Zeitgrenze der laufenden Analyse erreicht ist. */
+	private long analysisDeadline;
+	
+	/** Belegter Heap in Byte zu Beginn der laufenden Analyse. */
+	private long analysisMemoryBaseline;
+	
+	/** Verbleibende Schritte bis zur nächsten Prüfung der Speichergrenze. */
+	private int budgetCheckCountdown;
+	
+	/** Grund, aus dem die laufende Analyse wegen Erreichen des Budgets beendet wurde, oder null. */
+	private String budgetExhaustedReason;
+	
 	/**
 	 * Erzeugt ein neues Petrinetz und speichert den Name.
 	 * @param name Name des Petrinetzes.
@@ -102,6 +174,69 @@ public class Petrinet {
 		}
 	}
 	
+	/**
+	 * Gibt die Information zurück, ob der (partielle) Erreichbarkeitsgraph seine Änderungen vermerkt ({@link #startRecordingReachabilityNetChanges()}).
+	 * Ist dies nicht der Fall, wurde der Erreichbarkeitsgraph seit dem letzten Abgleich neu erzeugt (z.B. durch eine Analyse oder geänderte Marken)
+	 * und muss von der Darstellung vollständig übernommen werden.
+	 * @return Information, ob die Änderungen seit dem letzten Abgleich vollständig vermerkt sind (true) oder nicht (false).
+	 */
+	public boolean isRecordingReachabilityNetChanges() {
+		return !(reachabilityNet == null) && reachabilityNet.isRecordingChanges();
+	}
+	
+	/**
+	 * Verwirft die vermerkten Änderungen des (partiellen) Erreichbarkeitsgraphen und vermerkt ab jetzt alle hinzugefügten Markierungen und Kanten
+	 * sowie die zuvor und danach hervorgehobene aktuelle Markierung bzw. zuletzt beschrittene Kante.
+	 * Wird von der Darstellung nach jedem Abgleich aufgerufen.
+	 */
+	public void startRecordingReachabilityNetChanges() {
+		if(!(reachabilityNet == null)) {
+			reachabilityNet.startRecordingChanges();
+		}
+	}
+	
+	/**
+	 * Gibt die seit dem letzten Abgleich hinzugefügten oder in ihrer Hervorhebung veränderten Markierungen des (partiellen) Erreichbarkeitsgraphen zurück.
+	 * Wurde das interne Modell des Erreichbarkeitsgraphen noch nicht erstellt, wird null zurückgegeben.
+	 * @return Menge (LinkedHashSet) der veränderten Markierungen oder null.
+	 */
+	public LinkedHashSet<Marking> getChangedReachabilityMarkings() {
+		if(!(reachabilityNet == null)) {
+			return reachabilityNet.getChangedMarkings();
+		} else {
+			return null;
+		}
+	}
+	
+	/**
+	 * Gibt die seit dem letzten Abgleich hinzugefügten oder in ihrer Hervorhebung veränderten Kanten des (partiellen) Erreichbarkeitsgraphen zurück.
+	 * Wurde das interne Modell des Erreichbarkeitsgraphen noch nicht erstellt, wird null zurückgegeben.
+	 * @return Menge (LinkedHashSet) der veränderten Kanten oder null.
+	 */
+	public LinkedHashSet<MarkingConnector> getChangedReachabilityMarkingConnectors() {
+		if(!(reachabilityNet == null)) {
+			return reachabilityNet.getChangedMarkingConnectors();
+		} else {
+			return null;
+		}
+	}
+	
+	/**
+	 * Bestimmt einen Ausschnitt des (partiellen) Erreichbarkeitsgraphen um die angegebenen Markierungen, z.B. zur Darstellung großer Graphen.
+	 * Wurde das interne Modell des Erreichbarkeitsgraphen noch nicht erstellt, wird null zurückgegeben.
+	 * @param centerIds ids der Markierungen, um die der Ausschnitt gebildet wird, in absteigender Wichtigkeit.
+	 * @param hops Höchstzahl an Schritten von einer dieser Markierungen.
+	 * @param maximumMarkings Höchstzahl an Markierungen im Ausschnitt.
+	 * @return Ausschnitt des Erreichbarkeitsgraphen oder null.
+	 */
+	public ReachabilityWindow getReachabilityWindow(Collection<String> centerIds, int hops, int maximumMarkings) {
+		if(!(reachabilityNet == null)) {
+			return new ReachabilityWindow(reachabilityNet, centerIds, hops, maximumMarkings);
+		} else {
+			return null;
+		}
+	}
+	
 	/**
 	 * Setzt die Marken im Petrinetz nach Klick in den Erreichbarkeitsgraphen auf die ausgewählte Markierung.
 	 * Setzt den Zeiger der aktuellen Markierung des internen Modells des Erreichbarkeitsgraphen auf die gewählte Markierung.
@@ -139,11 +274,7 @@ public class Petrinet {
 					}
 					placeClicked.setSelected(!placeClickedWasSelected);
 				} else {
-					for(Place place : places) {
-						if(place.getId().equals(id)) {
-							place.toggleSelected();
-						}
-					}
+					placeClicked.toggleSelected();
 				}
 				lastSelectedPlace = placeClicked;
 			} else if(node.getClass() == Transition.class) {
@@ -164,12 +295,7 @@ public class Petrinet {
 					} else {
 						reachabilityNet.addMarkingConnector(markingConnector);
 					}
-					if(!reachabilityNet.getMarkingConnectors().isEmpty()) {
-						for(MarkingConnector mc : reachabilityNet.getMarkingConnectors()) {
-							mc.setIsCurrent(false);
-						}
-					}
-					markingConnector.setIsCurrent(true);
+					reachabilityNet.setCurrentMarkingConnector(markingConnector);
 				}
 			}
 		}
@@ -187,6 +313,7 @@ public class Petrinet {
 			Marking initialMarking = new Marking();
 			updateMarking(initialMarking);
 			reachabilityNet = new ReachabilityNet(initialMarking);
+			reachabilityNetComplete = false;
 		}
 	}
 	
@@ -198,6 +325,21 @@ public class Petrinet {
 		Marking marking = new Marking();
 		updateMarking(marking);
 		reachabilityNet = new ReachabilityNet(marking);
+		reachabilityNetComplete = false;
+	}
+	
+	/**
+	 * Übernimmt einen gespeicherten Erreichbarkeitsgraphen samt Ergebnis der Beschränktheitsanalyse, z.B. aus dem {@link ReachabilityNetStore}.
+	 * Die Marken des Petrinetzes werden auf die aktuelle Markierung des Erreichbarkeitsgraphen gesetzt, wie nach dem Ende einer Analyse.
+	 * @param reachabilityNet Wiederhergestellter Erreichbarkeitsgraph.
+	 * @param boundednessTestResult Wiederhergestelltes Ergebnis der Beschränktheitsanalyse oder null.
+	 * @param reachabilityNetComplete Information, ob der Erreichbarkeitsgraph vollständig ist.
+	 */
+	void restoreAnalysis(ReachabilityNet reachabilityNet, BoundednessTestResult boundednessTestResult, boolean reachabilityNetComplete) {
+		this.reachabilityNet = reachabilityNet;
+		this.boundednessTestResult = boundednessTestResult;
+		this.reachabilityNetComplete = reachabilityNetComplete;
+		setPetrinetTokensToMarking(reachabilityNet.getCurrentMarking());
 	}
 	
 	/**
@@ -216,6 +358,15 @@ public class Petrinet {
 		return reachabilityNet.getMarkingConnectors().size();
 	}
 	
+	/**
+	 * Gibt die Information zurück, ob der Erreichbarkeitsgraph vollständig berechnet ist.
+	 * Dies ist der Fall, wenn die Analyse ein beschränktes Netz ergeben hat und der Erreichbarkeitsgraph seitdem nicht zurückgesetzt wurde.
+	 * @return Information, ob der Erreichbarkeitsgraph vollständig ist (true) oder nicht (false).
+	 */
+	public boolean isReachabilityNetComplete() {
+		return reachabilityNetComplete;
+	}
+	
 	/**
 	 * Gibt das Ergebnis der Beschränktheitsanalyse zurück.
 	 * @return Ergebnis der Beschränktheitsanalyse.
@@ -272,6 +423,7 @@ public class Petrinet {
 			Marking marking = new Marking();
 			updateMarking(marking);
 			reachabilityNet = new ReachabilityNet(marking);
+			reachabilityNetComplete = false;
 		}
 	}
 	
@@ -281,6 +433,7 @@ public class Petrinet {
 	 */
 	void addArc(Arc arc) {
 		arcs.add(arc);
+		arcsById.put(arc.getId(), arc);
 	}
 	
 	/**
@@ -289,6 +442,7 @@ public class Petrinet {
 	 */
 	void addPlace(Place place) {
 		places.add(place);
+		placesById.put(place.getId(), place);
 	}
 	
 	/**
@@ -297,15 +451,118 @@ public class Petrinet {
 	 */
 	void addTransition(Transition transition) {
 		transitions.add(transition);
+		transitionsById.put(transition.getId(), transition);
+	}
+	
+	/**
+	 * Entfernt eine Transition sowie alle ihre Kanten aus dem Petrinetz.
+	 * @param transition Transition, die entfernt werden soll.
+	 */
+	void removeTransition(Transition transition) {
+		transitions.remove(transition);
+		if(transitionsById.get(transition.getId()) == transition) {
+			transitionsById.remove(transition.getId());
+			for(Transition t : transitions) {
+				if(transition.getId().equals(t.getId())) {
+					transitionsById.put(t.getId(), t);
+				}
+			}
+		}
+		Iterator<Arc> it = arcs.iterator();
+		while(it.hasNext()) {
+			Arc arc = it.next();
+			if(arc.getSourceId().equals(transition.getId()) || arc.getTargetId().equals(transition.getId())) {
+				it.remove();
+				unindexArc(arc);
+			}
+		}
+	}
+	
+	/**
+	 * Entfernt eine Stelle sowie alle ihre Kanten aus dem Petrinetz.
+	 * Die Stelle wird dabei auch aus dem Vor- und Nachbereich aller Transitionen entfernt.
+	 * @param place Stelle, die entfernt werden soll.
+	 */
+	void removePlace(Place place) {
+		places.remove(place);
+		if(placesById.get(place.getId()) == place) {
+			placesById.remove(place.getId());
+			for(Place p : places) {
+				if(place.getId().equals(p.getId())) {
+					placesById.put(p.getId(), p);
+				}
+			}
+		}
+		for(Transition transition : transitions) {
+			while(transition.getInputPlaces().remove(place));
+			while(transition.getOutputPlaces().remove(place));
+		}
+		Iterator<Arc> it = arcs.iterator();
+		while(it.hasNext()) {
+			Arc arc = it.next();
+			if(arc.getSourceId().equals(place.getId()) || arc.getTargetId().equals(place.getId())) {
+				it.remove();
+				unindexArc(arc);
+			}
+		}
+	}
+	
+	/**
+	 * Entfernt genau eine Kante zwischen den beiden Knoten und passt den Vor- bzw. Nachbereich der Transition an.
+	 * @param sourceId id des Quellknotens.
+	 * @param targetId id des Zielknotens.
+	 */
+	void removeArc(String sourceId, String targetId) {
+		Iterator<Arc> it = arcs.iterator();
+		while(it.hasNext()) {
+			Arc arc = it.next();
+			if(arc.getSourceId().equals(sourceId) && arc.getTargetId().equals(targetId)) {
+				it.remove();
+				unindexArc(arc);
+				Node source = getNode(sourceId);
+				Node target = getNode(targetId);
+				if(source instanceof Transition) {
+					((Transition) source).getOutputPlaces().remove(target);
+				} else {
+					((Transition) target).getInputPlaces().remove(source);
+				}
+				return;
+			}
+		}
+	}
+	
+	/**
+	 * Entfernt eine bereits aus der Liste entfernte Kante aus der Tabelle der Kanten je id.
+	 * Gibt es eine weitere Kante mit derselben id, wird die zuletzt hinzugefügte dieser Kanten eingetragen.
+	 * @param arc Kante, die aus der Liste der Kanten entfernt wurde.
+	 */
+	private void unindexArc(Arc arc) {
+		if(arcsById.get(arc.getId()) == arc) {
+			arcsById.remove(arc.getId());
+			for(Arc a : arcs) {
+				if(arc.getId().equals(a.getId())) {
+					arcsById.put(a.getId(), a);
+				}
+			}
+		}
 	}
 	
 	/**
 	 * Verwendet die Methode {@link Arc#setNodes(Petrinet)}, um die in den Kanten gespeicherten Stellen den Transitionen im Vor- bzw. Nachbereich hinzuzufügen.
+	 * Der Vorgang wird als {@link FlightRecorderEvents.ConnectArcs} an den Java Flight Recorder gemeldet.
 	 */
 	void connectArcs() {
+		FlightRecorderEvents.ConnectArcs event = new FlightRecorderEvents.ConnectArcs();
+		event.begin();
 		for(Arc a : arcs) {
 			a.setNodes(this);
 		}
+		event.end();
+		if(event.shouldCommit()) {
+			event.net = name;
+			event.arcs = arcs.size();
+			event.commit();
+		}
 	}
 	
 	/**
@@ -316,6 +573,16 @@ public class Petrinet {
 		return arcs;
 	}
 	
+	/**
+	 * Gibt die Kante dieses Petrinetzes zurück, deren id der übergebenen id entspricht.
+	 * Die Kante wird in konstanter Zeit über die Tabelle der Kanten je id gefunden.
+	 * @param id id, die der der Kante entsprechen soll.
+	 * @return Kante, deren id dem eingegebenen String entspricht oder null. Bei mehrfach vergebenen ids die zuletzt hinzugefügte Kante.
+	 */
+	Arc getArc(String id) {
+		return arcsById.get(id);
+	}
+	
 	/**
 	 * Erzeug eine Kopie dieses Petrinetzes.
 	 * Dafür werden neue Stellen, Transitionen und Kanten erzeugt.
@@ -373,18 +640,12 @@ public class Petrinet {
 	
 	/**
 	 * Gibt die Stelle dieses Petrinetzes zurück, deren id der übergebenen id entspricht.
+	 * Die Stelle wird in konstanter Zeit über die Tabelle der Stellen je id gefunden.
 	 * @param id id, die der der Stelle entsprechen soll.
-	 * @return Stelle, deren id dem eingegebenen String entspricht oder null.
+	 * @return Stelle, deren id dem eingegebenen String entspricht oder null. Bei mehrfach vergebenen ids die zuletzt hinzugefügte Stelle.
 	 */
 	Place getPlace(String id) {
-		Place p = null;
-		if(!(places.isEmpty())) {
-			for(Place place : places) {
-				if(id.equals(place.getId()))
-					p = place;
-			}
-		}
-		return p;
+		return placesById.get(id);
 	}
 	
 	/**
@@ -397,18 +658,12 @@ public class Petrinet {
 	
 	/**
 	 * Gibt die Transition dieses Petrinetzes zurück, deren id der übergebenen id entspricht.
+	 * Die Transition wird in konstanter Zeit über die Tabelle der Transitionen je id gefunden.
 	 * @param id id, die der der Transition entsprechen soll.
-	 * @return Transition, deren id dem eingegebenen String entspricht oder null.
+	 * @return Transition, deren id dem eingegebenen String entspricht oder null. Bei mehrfach vergebenen ids die zuletzt hinzugefügte Transition.
 	 */
 	public Transition getTransition(String id) {
-		Transition t = null;
-		if(!(transitions.isEmpty())) {
-			for(Transition transition : transitions) {
-				if(id.equals(transition.getId()))
-					t = transition;
-			}
-		}
-		return t;
+		return transitionsById.get(id);
 	}
 	
 	/**
@@ -439,15 +694,63 @@ public class Petrinet {
 	 * Setzt den Wert für Unbeschränktheit auf false und setzt den Startzustand der Analyse auf die Anfangsmarkierung des Netzes.
 	 * Ruft den Analysemechanismus ({@link #analysisMechanism(Marking, BoundednessTestResult)}) auf.
 	 * Speichert die Ergebnisse der Analyse (Unbeschränktheit, m, m', Teil des Pfades, Anzahl der Knoten / Kanten des Erreichbarkeitsgraphen) in das BoundednessTestResult.
+	 * Wird die Analyse mit {@link #cancelAnalysis()} abgebrochen, bleibt der bis dahin berechnete (partielle) Erreichbarkeitsgraph erhalten.
+	 * Eine Abbruchanforderung gilt, bis sie mit {@link #prepareAnalysis()} verworfen wird.
+	 * Die Analyse läuft ohne Zeit- und Speichergrenze, siehe {@link #analysis(AnalysisBudget)}.
 	 */
 	public void analysis() {
+		analysis(AnalysisBudget.UNLIMITED);
+	}
+	
+	/**
+	 * Analyse des Petrinetzes auf Beschränktheit innerhalb eines Budgets.
+	 * Arbeitet wie {@link #analysis()}, prüft aber regelmäßig, ob die Zeit- oder Speichergrenze des Budgets erreicht ist.
+	 * In diesem Fall endet die Analyse vorzeitig und das Ergebnis wird als nicht entschieden gekennzeichnet ({@link BoundednessTestResult#getInconclusive()}).
+	 * Das Ergebnis enthält dann die Anzahl der bis dahin gefundenen Knoten / Kanten sowie die höchste bis dahin beobachtete Anzahl an Marken je Stelle.
+	 * Der partielle Erreichbarkeitsgraph bleibt erhalten.
+	 * Exploration und Überdeckungsprüfungen werden als {@link FlightRecorderEvents.Exploration} bzw. {@link FlightRecorderEvents.CoveringCheck}
+	 * an den Java Flight Recorder gemeldet.
+	 * @param budget Zeit- und Speichergrenze der Analyse.
+	 */
+	public void analysis(AnalysisBudget budget) {
 		if(!places.isEmpty()) {
+			analysisBudget = budget;
+			budgetExhaustedReason = null;
+			budgetCheckCountdown = BUDGET_CHECK_INTERVAL;
+			analysisDeadline = System.nanoTime() + budget.getTimeLimitMillis() * 1000000;
+			analysisMemoryBaseline = usedMemory();
+			exploredMarkings = 1;
+			exploredConnections = 0;
+			analysisDepth = 0;
+			maximumAnalysisDepth = 0;
+			analysisSuccessors = 0;
+			analysisDuplicateHits = 0;
+			analysisStart = System.nanoTime();
+			analysisDuration = -1;
+			nextProgressTime = analysisStart + progressInterval;
+			notifyAnalysisListeners = !analysisListeners.isEmpty();
 			boundednessTestResult = new BoundednessTestResult();
 			boundednessTestResult.setName(name);
 			reachabilityNet = new ReachabilityNet(reachabilityNet.getInitialMarking());
 			boundednessTestResult.setUnbounded(false);
 			Marking currentMarking = reachabilityNet.getInitialMarking();
+			if(!(reachabilityGraphSink == null)) {
+				reachabilityGraphSink.markingAdded(currentMarking);
+			}
+			FlightRecorderEvents.Exploration event = new FlightRecorderEvents.Exploration();
+			event.begin();
 			boundednessTestResult = analysisMechanism(currentMarking, boundednessTestResult);
+			event.end();
+			if(!boundednessTestResult.getUnbounded()) {
+				if(!(budgetExhaustedReason == null)) {
+					boundednessTestResult.setInconclusive(true);
+					boundednessTestResult.setInconclusiveReason(budgetExhaustedReason);
+				} else if(analysisCancelled) {
+					boundednessTestResult.setCancelled(true);
+					boundednessTestResult.setInconclusive(true);
+					boundednessTestResult.setInconclusiveReason("Analyse abgebrochen");
+				}
+			}
 			
 			if(boundednessTestResult.getUnbounded()) {
 				boundednessTestResult.getStart().setIsPathStart(true);
@@ -457,12 +760,183 @@ public class Petrinet {
 					markingConnector.setIsInPath(true);
 				}
 			}
+			reachabilityNetComplete = !boundednessTestResult.getUnbounded() && !boundednessTestResult.getInconclusive();
 			setPetrinetTokensToMarking(reachabilityNet.getCurrentMarking());
 			boundednessTestResult.setNumberOfNodes(reachabilityNet.getMarkings().size());
 			boundednessTestResult.setNumberOfEdges(reachabilityNet.getMarkingConnectors().size());
+			boundednessTestResult.setMaximumTokens(getMaximumTokensInReachabilityNet());
+			analysisBudget = AnalysisBudget.UNLIMITED;
+			analysisDuration = System.nanoTime() - analysisStart;
+			if(event.shouldCommit()) {
+				event.net = name;
+				event.markings = boundednessTestResult.getNumberOfNodes();
+				event.edges = boundednessTestResult.getNumberOfEdges();
+				event.maximumDepth = maximumAnalysisDepth;
+				event.coveringChecks = analysisSuccessors;
+				event.result = boundednessTestResult.getUnbounded() ? "unbeschränkt" : boundednessTestResult.getInconclusive() ? "unentschieden" : "beschränkt";
+				event.commit();
+			}
+			if(notifyAnalysisListeners) {
+				AnalysisStatistics statistics = getAnalysisStatistics();
+				for(AnalysisListener listener : analysisListeners) {
+					listener.analysisFinished(statistics);
+				}
+			}
 		}
 	}
 	
+	/**
+	 * Registriert einen Listener, der während der Analyse regelmäßig über den Fortschritt informiert wird.
+	 * Der Listener wird ab der nächsten gestarteten Analyse berücksichtigt.
+	 * Solange kein Listener registriert ist, verursacht die Beobachtung während der Analyse keinen Aufwand.
+	 * @param listener Listener, der informiert werden soll.
+	 */
+	public void addAnalysisListener(AnalysisListener listener) {
+		analysisListeners.add(listener);
+	}
+	
+	/**
+	 * Entfernt einen registrierten Listener.
+	 * @param listener Listener, der nicht mehr informiert werden soll.
+	 */
+	public void removeAnalysisListener(AnalysisListener listener) {
+		analysisListeners.remove(listener);
+	}
+	
+	/**
+	 * Legt den Empfänger fest, dem die Analyse jede neue Markierung und Kante des Erreichbarkeitsgraphen übergibt,
+	 * z.B. einen {@link ReachabilityGraphExporter}, der den Graphen bereits während der Analyse in eine Datei schreibt.
+	 * Der Empfänger muss vor Beginn der Analyse festgelegt werden und darf während der Analyse nicht gewechselt werden.
+	 * @param sink Empfänger oder null, wenn der Erreichbarkeitsgraph nicht weitergegeben werden soll.
+	 */
+	public void setReachabilityGraphSink(ReachabilityGraphSink sink) {
+		reachabilityGraphSink = sink;
+	}
+	
+	/**
+	 * Legt den Mindestabstand zwischen zwei Fortschrittsmeldungen an die Listener fest.
+	 * @param millis Mindestabstand in Millisekunden.
+	 */
+	public void setProgressInterval(long millis) {
+		progressInterval = Math.max(0, millis) * 1000000;
+	}
+	
+	/**
+	 * Gibt eine Momentaufnahme der Statistik der laufenden bzw. letzten Analyse zurück.
+	 * Wird die Methode aus einem anderen Thread als dem der Analyse aufgerufen, können einzelne Werte geringfügig voneinander abweichen.
+	 * @return Momentaufnahme der Statistik.
+	 */
+	public AnalysisStatistics getAnalysisStatistics() {
+		return new AnalysisStatistics(name, exploredMarkings, exploredConnections, analysisDepth, maximumAnalysisDepth, analysisSuccessors, analysisDuplicateHits,
+				usedMemory() - analysisMemoryBaseline, (analysisDuration < 0 ? System.nanoTime() - analysisStart : analysisDuration) / 1000000);
+	}
+	
+	/**
+	 * Informiert die registrierten Listener über den Fortschritt der Analyse, sofern seit der letzten Meldung das Meldeintervall vergangen ist.
+	 */
+	private void fireAnalysisProgress() {
+		long now = System.nanoTime();
+		if(now - nextProgressTime >= 0) {
+			nextProgressTime = now + progressInterval;
+			AnalysisStatistics statistics = getAnalysisStatistics();
+			for(AnalysisListener listener : analysisListeners) {
+				listener.analysisProgress(statistics);
+			}
+		}
+	}
+	
+	/**
+	 * Ermittelt für jede Stelle die höchste Anzahl an Marken über alle Markierungen des (ggf. partiellen) Erreichbarkeitsgraphen.
+	 * @return Höchste Anzahl an Marken je id der Stelle, in der Reihenfolge der Stellen des Petrinetzes.
+	 */
+	private LinkedHashMap<String, Integer> getMaximumTokensInReachabilityNet() {
+		LinkedHashMap<String, Integer> maximumTokens = new LinkedHashMap<String, Integer>();
+		for(Place place : places) {
+			maximumTokens.put(place.getId(), 0);
+		}
+		for(Marking marking : reachabilityNet.getMarkings()) {
+			for(Place place : places) {
+				int tokens = marking.getTokensAtPlace(place.getId());
+				if(tokens > maximumTokens.get(place.getId())) {
+					maximumTokens.put(place.getId(), tokens);
+				}
+			}
+		}
+		return maximumTokens;
+	}
+	
+	/**
+	 * Prüft, ob die laufende Analyse beendet werden soll, weil sie abgebrochen wurde oder das Budget erreicht ist.
+	 * Die Zeitgrenze wird in jedem Schritt geprüft, die Speichergrenze nur alle {@link #BUDGET_CHECK_INTERVAL} Schritte,
+	 * da die Abfrage des belegten Heaps teurer ist. Ist das Budget erreicht, wird der Grund gespeichert.
+	 * @return Information, ob die Analyse beendet werden soll (true) oder nicht (false).
+	 */
+	private boolean analysisStopped() {
+		if(!analysisCancelled && budgetExhaustedReason == null && !analysisBudget.isUnlimited()) {
+			if(analysisBudget.getTimeLimitMillis() > 0 && System.nanoTime() - analysisDeadline >= 0) {
+				budgetExhaustedReason = "Zeitgrenze von " + analysisBudget.getTimeLimitMillis() + " ms erreicht";
+			} else if(analysisBudget.getMemoryLimitBytes() > 0 && --budgetCheckCountdown <= 0) {
+				budgetCheckCountdown = BUDGET_CHECK_INTERVAL;
+				if(usedMemory() - analysisMemoryBaseline >= analysisBudget.getMemoryLimitBytes()) {
+					budgetExhaustedReason = "Speichergrenze von " + (analysisBudget.getMemoryLimitBytes() / 1024 / 1024) + " MB erreicht";
+				}
+			}
+		}
+		return analysisCancelled || !(budgetExhaustedReason == null);
+	}
+	
+	/**
+	 * Gibt den aktuell belegten Heap der JVM zurück.
+	 * @return Belegter Heap in Byte.
+	 */
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * Bereitet eine Analyse vor, indem eine noch anstehende Abbruchanforderung einer früheren Analyse verworfen wird.
+	 * Muss aufgerufen werden, bevor die Analyse für andere Threads abbrechbar wird (z.B. bevor der Abbruch-Button freigegeben wird),
+	 * und nicht erst im Thread der Analyse, da sonst ein Abbruch vor Beginn der Analyse verloren ginge.
+	 */
+	public void prepareAnalysis() {
+		analysisCancelled = false;
+	}
+	
+	/**
+	 * Fordert den Abbruch der laufenden Analyse an. Kann aus einem anderen Thread aufgerufen werden.
+	 * Die Analyse endet nach dem aktuellen Schritt. Der bis dahin berechnete (partielle) Erreichbarkeitsgraph bleibt erhalten,
+	 * das Ergebnis wird als abgebrochen gekennzeichnet ({@link BoundednessTestResult#getCancelled()}).
+	 */
+	public void cancelAnalysis() {
+		analysisCancelled = true;
+	}
+	
+	/**
+	 * Gibt die Anzahl der von der laufenden bzw. letzten Analyse gefundenen Markierungen zurück. Kann aus einem anderen Thread aufgerufen werden.
+	 * @return Anzahl der gefundenen Markierungen.
+	 */
+	public int getExploredMarkings() {
+		return exploredMarkings;
+	}
+	
+	/**
+	 * Gibt die Anzahl der von der laufenden bzw. letzten Analyse gefundenen Kanten zurück. Kann aus einem anderen Thread aufgerufen werden.
+	 * @return Anzahl der gefundenen Kanten.
+	 */
+	public int getExploredConnections() {
+		return exploredConnections;
+	}
+	
+	/**
+	 * Gibt die Tiefe der Tiefensuche der laufenden Analyse zurück, also die Anzahl der Markierungen auf dem aktuell untersuchten Pfad.
+	 * Kann aus einem anderen Thread aufgerufen werden.
+	 * @return Anzahl der Markierungen auf dem aktuell untersuchten Pfad.
+	 */
+	public int getAnalysisDepth() {
+		return analysisDepth;
+	}
+	
 	/**
 	 * Rekursiver Analysemechanismus des Petrinetzes.
 	 * Prüft, ob im Petrinetz Transitionen vorhanden sind.
@@ -471,23 +945,37 @@ public class Petrinet {
 	 * Prüft, ob auf dem bisher beschrittenen Pfad zwei Markierungen m und m' vorhanden sind, sodass das Kriterium der Unbeschränktheit erfüllt ist.
 	 * Ist das Kriterium der Unbeschränktheit nicht erfüllt und die erzeugte Kante noch nicht Teil des (partiellen) Erreichbarkeitsgraphen wird die Methode mit der neu erzeugten Markierung aufgerufen.
 	 * Ist das Kriterium der Unbeschränktheit erfüllt oder keine Transition mehr aktiviert wird das Ergebnis zurückgegeben.
+	 * Zählt dabei die Werte der {@link AnalysisStatistics} mit und informiert ggf. die registrierten {@link AnalysisListener}.
 	 * @param currentMarking Markierung, von der aus die Unbeschränktheit untersucht werden soll.
 	 * @param btr Container, in den die Ergebnisse der Beschränktheitsanlayse gespeichert werden sollen.
 	 * @return Ergebnisse der Beschränktheitsanalyse.
 	 */
 	private BoundednessTestResult analysisMechanism(Marking currentMarking, BoundednessTestResult btr) {
+		analysisDepth++;
+		if(analysisDepth > maximumAnalysisDepth) {
+			maximumAnalysisDepth = analysisDepth;
+		}
 		if(!transitions.isEmpty()) {
 			for(Transition transition : transitions) {
+				if(analysisStopped()) {
+					break;
+				}
 				boolean markingConnectorAlreadyInReachabilityNet = false;
 				setPetrinetTokensToMarking(currentMarking);
 				if(transition.isEnabled()) {
 					transition.fire();
+					analysisSuccessors++;
 					Marking newMarking = new Marking();
 					updateMarking(newMarking);
 					if(reachabilityNet.markingAlreadyExists(newMarking)) {
 						newMarking = reachabilityNet.getSameMarking(newMarking);
+						analysisDuplicateHits++;
 					} else {
 						reachabilityNet.addMarking(newMarking);
+						exploredMarkings++;
+						if(!(reachabilityGraphSink == null)) {
+							reachabilityGraphSink.markingAdded(newMarking);
+						}
 					}
 					MarkingConnector markingConnector = new MarkingConnector(currentMarking.getId(), newMarking.getId(), transition.getId());
 					if(reachabilityNet.markingConnectorAlreadyExists(markingConnector)) {
@@ -495,11 +983,17 @@ public class Petrinet {
 						markingConnectorAlreadyInReachabilityNet = true;
 					} else {
 						reachabilityNet.addMarkingConnector(markingConnector);
+						exploredConnections++;
+						if(!(reachabilityGraphSink == null)) {
+							reachabilityGraphSink.markingConnectorAdded(markingConnector);
+						}
 					}
 					newMarking.setPathMarkingList(currentMarking.getPathMarkings());
 					newMarking.addPathMarking(currentMarking);
 					newMarking.setPathMarkingConnectorList(currentMarking.getPathMarkingConnectors());
 					newMarking.addPathMarkingConnector(markingConnector);
+					FlightRecorderEvents.CoveringCheck coveringCheck = new FlightRecorderEvents.CoveringCheck();
+					coveringCheck.begin();
 					Iterator<Marking> it = newMarking.getPathMarkings().descendingIterator();
 					while(it.hasNext() & !btr.getUnbounded()) {
 						Marking m = it.next();
@@ -512,13 +1006,24 @@ public class Petrinet {
 							}
 						}
 					}
+					coveringCheck.end();
+					if(coveringCheck.shouldCommit()) {
+						coveringCheck.net = name;
+						coveringCheck.pathLength = newMarking.getPathMarkings().size();
+						coveringCheck.covered = btr.getUnbounded();
+						coveringCheck.commit();
+					}
 					reachabilityNet.setCurrentMarking(newMarking);
+					if(notifyAnalysisListeners) {
+						fireAnalysisProgress();
+					}
 					if(!btr.getUnbounded() & !markingConnectorAlreadyInReachabilityNet) {
 						analysisMechanism(newMarking, btr);
 					}
 				}
 			}
 		}
+		analysisDepth--;
 		return btr;
 	}
 	
@@ -0,0 +1,529 @@
+package model;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Diese Klasse schreibt den Erreichbarkeitsgraphen eines Petrinetzes in eine Datei, damit er mit externen Werkzeugen weiterverarbeitet werden kann.
+ * Unterstützt werden DOT (Graphviz), GraphML und das Aldebaran-Format (.aut) für beschriftete Transitionssysteme.
+ * Markierungen und Kanten werden einzeln in einen gepufferten Ausgabestrom geschrieben, sobald sie übergeben werden.
+ * Der Exporter kann daher als {@link ReachabilityGraphSink} während der Analyse registriert werden ({@link Petrinet#setReachabilityGraphSink(ReachabilityGraphSink)})
+ * oder mit {@link #export(Petrinet, File, String)} einen bereits berechneten Erreichbarkeitsgraphen schreiben.
+ * Kanten werden nicht zwischengespeichert. Für die Nummerierung der Zustände wird je Markierung ein Eintrag gehalten.
+ * Schreibfehler während der Analyse werden vermerkt und beim Schließen ({@link #close()}) als IOException gemeldet.
+ * @author Hannes Wilms
+ *
+ */
+public abstract class ReachabilityGraphExporter implements ReachabilityGraphSink, Closeable {
+
+	/** Format DOT (Graphviz). */
+	public static final String DOT = "dot";
+
+	/** Format GraphML. */
+	public static final String GRAPHML = "graphml";
+
+	/** Aldebaran-Format (.aut) für beschriftete Transitionssysteme, z.B. für CADP oder mCRL2. */
+	public static final String AUT = "aut";
+
+	/** Größe der Puffer der Ausgabeströme in Byte. */
+	private static final int BUFFER_SIZE = 65536;
+
+	/** Zeichensatz der geschriebenen Dateien. */
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/** Datei, in die der Erreichbarkeitsgraph geschrieben wird. */
+	private File file;
+
+	/** Name des Graphen in der Ausgabe. */
+	private String name;
+
+	/** Gepufferte Ausgabe der Markierungen und Kanten. */
+	private Writer out;
+
+	/** Nummer jeder bisher geschriebenen Markierung je id. Die Anfangsmarkierung erhält die Nummer 0. */
+	private HashMap<String, Integer> markingNumbers = new HashMap<String, Integer>();
+
+	/** Anzahl der bisher geschriebenen Kanten. */
+	private long numberOfEdges = 0;
+
+	/** Erster aufgetretener Schreibfehler oder null. */
+	private IOException error;
+
+	/** Information, ob der Exporter bereits geschlossen wurde. */
+	private boolean closed = false;
+
+	/**
+	 * Erzeugt einen neuen Exporter und öffnet die Ausgabe.
+	 * @param file Datei, in die der Erreichbarkeitsgraph geschrieben wird.
+	 * @param out Ausgabestrom, in den die Markierungen und Kanten geschrieben werden.
+	 * @param name Name des Graphen in der Ausgabe oder null.
+	 */
+	private ReachabilityGraphExporter(File file, OutputStream out, String name) {
+		this.file = file;
+		this.out = new BufferedWriter(new OutputStreamWriter(out, UTF8), BUFFER_SIZE);
+		this.name = name == null ? "Erreichbarkeitsgraph" : name;
+	}
+
+	/**
+	 * Ermittelt das Format anhand der Dateiendung (.dot / .gv, .graphml, .aut).
+	 * @param file Datei, in die exportiert werden soll.
+	 * @return Format ({@link #DOT}, {@link #GRAPHML}, {@link #AUT}) oder null, wenn die Dateiendung unbekannt ist.
+	 */
+	public static String getFormat(File file) {
+		String fileName = file.getName().toLowerCase();
+		if(fileName.endsWith(".dot") || fileName.endsWith(".gv")) {
+			return DOT;
+		} else if(fileName.endsWith(".graphml")) {
+			return GRAPHML;
+		} else if(fileName.endsWith(".aut")) {
+			return AUT;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Öffnet einen Exporter für das angegebene Format.
+	 * @param file Datei, in die der Erreichbarkeitsgraph geschrieben wird.
+	 * @param format Format ({@link #DOT}, {@link #GRAPHML} oder {@link #AUT}).
+	 * @param name Name des Graphen in der Ausgabe, z.B. der Name des Petrinetzes, oder null.
+	 * @return Geöffneter Exporter, der nach dem Schreiben mit {@link #close()} geschlossen werden muss.
+	 * @throws IOException wenn die Datei nicht angelegt werden kann.
+	 */
+	public static ReachabilityGraphExporter open(File file, String format, String name) throws IOException {
+		if(DOT.equals(format)) {
+			return new DotExporter(file, name);
+		} else if(GRAPHML.equals(format)) {
+			return new GraphMLExporter(file, name);
+		} else if(AUT.equals(format)) {
+			return new AutExporter(file, name);
+		} else {
+			throw new IllegalArgumentException("Unbekanntes Exportformat: " + format);
+		}
+	}
+
+	/**
+	 * Schreibt den bereits berechneten (partiellen) Erreichbarkeitsgraphen eines Petrinetzes in eine Datei.
+	 * Während des Schreibens darf keine Analyse des Petrinetzes laufen.
+	 * @param petrinet Petrinetz, dessen Erreichbarkeitsgraph geschrieben wird.
+	 * @param file Datei, in die der Erreichbarkeitsgraph geschrieben wird.
+	 * @param format Format ({@link #DOT}, {@link #GRAPHML} oder {@link #AUT}).
+	 * @throws IOException wenn die Datei nicht geschrieben werden kann.
+	 */
+	public static void export(Petrinet petrinet, File file, String format) throws IOException {
+		ReachabilityGraphExporter exporter = open(file, format, petrinet.getName());
+		try {
+			LinkedList<Marking> markings = petrinet.getReachabilityMarkings();
+			if(!(markings == null)) {
+				for(Marking marking : markings) {
+					exporter.markingAdded(marking);
+				}
+				for(MarkingConnector markingConnector : petrinet.getReachabilityMarkingConnectors()) {
+					exporter.markingConnectorAdded(markingConnector);
+				}
+			}
+		} finally {
+			exporter.close();
+		}
+	}
+
+	/**
+	 * Nummeriert die Markierung und schreibt sie in die Ausgabe. Bereits geschriebene Markierungen werden übergangen.
+	 */
+	public final void markingAdded(Marking marking) {
+		if(error == null && !closed) {
+			String id = marking.getId();
+			if(!markingNumbers.containsKey(id)) {
+				int number = markingNumbers.size();
+				markingNumbers.put(id, number);
+				try {
+					writeMarking(number, id);
+				} catch (IOException e) {
+					error = e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Schreibt die Kante mit den Nummern ihrer Quell- und Zielmarkierung in die Ausgabe.
+	 */
+	public final void markingConnectorAdded(MarkingConnector markingConnector) {
+		if(error == null && !closed) {
+			Integer before = markingNumbers.get(markingConnector.getMarkingBefore());
+			Integer behind = markingNumbers.get(markingConnector.getMarkingBehind());
+			if(before == null || behind == null) {
+				error = new IOException("Die Kante " + markingConnector.getId() + " verweist auf eine noch nicht geschriebene Markierung.");
+			} else {
+				try {
+					writeMarkingConnector(numberOfEdges, before, behind, markingConnector.getTransitionCaused());
+					numberOfEdges++;
+				} catch (IOException e) {
+					error = e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Gibt die Anzahl der bisher geschriebenen Markierungen zurück.
+	 * @return Anzahl der geschriebenen Markierungen.
+	 */
+	public int getNumberOfMarkings() {
+		return markingNumbers.size();
+	}
+
+	/**
+	 * Gibt die Anzahl der bisher geschriebenen Kanten zurück.
+	 * @return Anzahl der geschriebenen Kanten.
+	 */
+	public long getNumberOfEdges() {
+		return numberOfEdges;
+	}
+
+	/**
+	 * Gibt die Datei zurück, in die der Erreichbarkeitsgraph geschrieben wird.
+	 * @return Zieldatei.
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Schließt die Ausgabe ab und schließt die Datei. Weitere übergebene Markierungen und Kanten werden ignoriert.
+	 * @throws IOException wenn beim Schreiben ein Fehler aufgetreten ist, auch wenn er bereits während der Analyse auftrat.
+	 */
+	public void close() throws IOException {
+		if(!closed) {
+			closed = true;
+			if(error == null) {
+				try {
+					writeEnd();
+				} catch (IOException e) {
+					error = e;
+				}
+			}
+			try {
+				out.close();
+			} catch (IOException e) {
+				if(error == null) {
+					error = e;
+				}
+			}
+			try {
+				finish(error == null);
+			} catch (IOException e) {
+				if(error == null) {
+					error = e;
+				}
+			}
+		}
+		if(!(error == null)) {
+			throw error;
+		}
+	}
+
+	/**
+	 * Gibt die gepufferte Ausgabe zurück.
+	 * @return Gepufferte Ausgabe.
+	 */
+	Writer getOut() {
+		return out;
+	}
+
+	/**
+	 * Gibt den Namen des Graphen zurück.
+	 * @return Name des Graphen.
+	 */
+	String getName() {
+		return name;
+	}
+
+	/**
+	 * Schreibt eine Markierung.
+	 * @param number Nummer der Markierung, die Anfangsmarkierung hat die Nummer 0.
+	 * @param id id der Markierung.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	abstract void writeMarking(int number, String id) throws IOException;
+
+	/**
+	 * Schreibt eine Kante.
+	 * @param number Laufende Nummer der Kante.
+	 * @param before Nummer der Quellmarkierung.
+	 * @param behind Nummer der Zielmarkierung.
+	 * @param transition id der verursachenden Transition.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	abstract void writeMarkingConnector(long number, int before, int behind, String transition) throws IOException;
+
+	/**
+	 * Schreibt das Ende des Dokuments, bevor die Ausgabe geschlossen wird.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	abstract void writeEnd() throws IOException;
+
+	/**
+	 * Wird nach dem Schließen der Ausgabe aufgerufen, auch wenn ein Fehler aufgetreten ist.
+	 * @param successful Information, ob bis hierhin fehlerfrei geschrieben wurde.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	void finish(boolean successful) throws IOException {
+	}
+
+	/**
+	 * Schreibt den Erreichbarkeitsgraphen im DOT-Format (Graphviz). Die Knoten heißen s0, s1, ... und sind mit der id der Markierung beschriftet,
+	 * die Anfangsmarkierung ist doppelt umrandet. Die Kanten sind mit der id der Transition beschriftet.
+	 */
+	private static final class DotExporter extends ReachabilityGraphExporter {
+
+		/**
+		 * Legt die Datei an und schreibt den Kopf des Graphen.
+		 * @param file Zieldatei.
+		 * @param name Name des Graphen oder null.
+		 * @throws IOException wenn die Datei nicht angelegt werden kann.
+		 */
+		DotExporter(File file, String name) throws IOException {
+			super(file, new FileOutputStream(file), name);
+			Writer out = getOut();
+			out.write("digraph ");
+			writeString(getName());
+			out.write(" {\n\tnode [shape=box];\n");
+		}
+
+		/**
+		 * Schreibt einen Knoten mit der id der Markierung als Beschriftung.
+		 */
+		void writeMarking(int number, String id) throws IOException {
+			Writer out = getOut();
+			out.write("\ts");
+			out.write(Integer.toString(number));
+			out.write(" [label=");
+			writeString(id);
+			if(number == 0) {
+				out.write(", peripheries=2");
+			}
+			out.write("];\n");
+		}
+
+		/**
+		 * Schreibt eine Kante mit der id der Transition als Beschriftung.
+		 */
+		void writeMarkingConnector(long number, int before, int behind, String transition) throws IOException {
+			Writer out = getOut();
+			out.write("\ts");
+			out.write(Integer.toString(before));
+			out.write(" -> s");
+			out.write(Integer.toString(behind));
+			out.write(" [label=");
+			writeString(transition);
+			out.write("];\n");
+		}
+
+		/**
+		 * Schließt den Graphen.
+		 */
+		void writeEnd() throws IOException {
+			getOut().write("}\n");
+		}
+
+		/**
+		 * Schreibt eine Zeichenkette in Anführungszeichen. Anführungszeichen und Backslashes werden maskiert.
+		 * @param text Zeichenkette.
+		 * @throws IOException wenn nicht geschrieben werden kann.
+		 */
+		private void writeString(String text) throws IOException {
+			Writer out = getOut();
+			out.write('"');
+			for(int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if(c == '"' || c == '\\') {
+					out.write('\\');
+				}
+				out.write(c);
+			}
+			out.write('"');
+		}
+	}
+
+	/**
+	 * Schreibt den Erreichbarkeitsgraphen im GraphML-Format. Die Knoten heißen s0, s1, ... und tragen die id der Markierung sowie die Information,
+	 * ob es sich um die Anfangsmarkierung handelt. Die Kanten heißen e0, e1, ... und tragen die id der Transition.
+	 * Die Elemente werden direkt in die gepufferte Ausgabe geschrieben, da ein XMLStreamWriter bei Graphen mit vielen Millionen Kanten ein Vielfaches der Zeit benötigt.
+	 */
+	private static final class GraphMLExporter extends ReachabilityGraphExporter {
+
+		/**
+		 * Legt die Datei an und schreibt den Kopf des Dokuments mit den Attributdeklarationen.
+		 * @param file Zieldatei.
+		 * @param name Name des Graphen oder null.
+		 * @throws IOException wenn die Datei nicht angelegt werden kann.
+		 */
+		GraphMLExporter(File file, String name) throws IOException {
+			super(file, new FileOutputStream(file), name);
+			Writer out = getOut();
+			out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+			out.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+			out.write("<key id=\"marking\" for=\"node\" attr.name=\"marking\" attr.type=\"string\"/>\n");
+			out.write("<key id=\"initial\" for=\"node\" attr.name=\"initial\" attr.type=\"boolean\"/>\n");
+			out.write("<key id=\"transition\" for=\"edge\" attr.name=\"transition\" attr.type=\"string\"/>\n");
+			out.write("<graph id=\"");
+			writeEscaped(getName());
+			out.write("\" edgedefault=\"directed\">\n");
+		}
+
+		/**
+		 * Schreibt einen Knoten mit der id der Markierung.
+		 */
+		void writeMarking(int number, String id) throws IOException {
+			Writer out = getOut();
+			out.write("<node id=\"s");
+			out.write(Integer.toString(number));
+			out.write("\"><data key=\"marking\">");
+			writeEscaped(id);
+			out.write("</data>");
+			if(number == 0) {
+				out.write("<data key=\"initial\">true</data>");
+			}
+			out.write("</node>\n");
+		}
+
+		/**
+		 * Schreibt eine Kante mit der id der Transition.
+		 */
+		void writeMarkingConnector(long number, int before, int behind, String transition) throws IOException {
+			Writer out = getOut();
+			out.write("<edge id=\"e");
+			out.write(Long.toString(number));
+			out.write("\" source=\"s");
+			out.write(Integer.toString(before));
+			out.write("\" target=\"s");
+			out.write(Integer.toString(behind));
+			out.write("\"><data key=\"transition\">");
+			writeEscaped(transition);
+			out.write("</data></edge>\n");
+		}
+
+		/**
+		 * Schließt Graph und Dokument.
+		 */
+		void writeEnd() throws IOException {
+			getOut().write("</graph>\n</graphml>\n");
+		}
+
+		/**
+		 * Schreibt eine Zeichenkette als Text bzw. Attributwert. Die Zeichen &amp;, &lt;, &gt; und " werden als Entität geschrieben.
+		 * @param text Zeichenkette.
+		 * @throws IOException wenn nicht geschrieben werden kann.
+		 */
+		private void writeEscaped(String text) throws IOException {
+			Writer out = getOut();
+			for(int i = 0; i < text.length(); i++) {
+				char c = text.charAt(i);
+				if(c == '&') {
+					out.write("&amp;");
+				} else if(c == '<') {
+					out.write("&lt;");
+				} else if(c == '>') {
+					out.write("&gt;");
+				} else if(c == '"') {
+					out.write("&quot;");
+				} else {
+					out.write(c);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Schreibt den Erreichbarkeitsgraphen im Aldebaran-Format (.aut): eine Kopfzeile {@code des (0, kanten, zustände)} und je Kante eine Zeile
+	 * {@code (quelle, "transition", ziel)}. Der Anfangszustand ist 0.
+	 * Da die Kopfzeile die Anzahl der Kanten und Zustände enthält, werden die Kanten zunächst in eine temporäre Datei neben der Zieldatei geschrieben
+	 * und beim Schließen hinter die Kopfzeile kopiert.
+	 */
+	private static final class AutExporter extends ReachabilityGraphExporter {
+
+		/** Temporäre Datei mit den Kanten. */
+		private File edgeFile;
+
+		/**
+		 * Legt die temporäre Datei für die Kanten an.
+		 * @param file Zieldatei.
+		 * @param name Name des Graphen (wird im Format nicht gespeichert).
+		 * @throws IOException wenn die temporäre Datei nicht angelegt werden kann.
+		 */
+		AutExporter(File file, String name) throws IOException {
+			this(file, createEdgeFile(file), name);
+		}
+
+		/**
+		 * Öffnet die temporäre Datei für die Kanten als Ausgabe.
+		 * @param file Zieldatei.
+		 * @param edgeFile Temporäre Datei für die Kanten.
+		 * @param name Name des Graphen.
+		 * @throws IOException wenn die temporäre Datei nicht geöffnet werden kann.
+		 */
+		private AutExporter(File file, File edgeFile, String name) throws IOException {
+			super(file, new FileOutputStream(edgeFile), name);
+			this.edgeFile = edgeFile;
+		}
+
+		/**
+		 * Legt die temporäre Datei im Ordner der Zieldatei an, damit das Kopieren keinen weiteren Datenträger benötigt.
+		 * @param file Zieldatei.
+		 * @return Temporäre Datei.
+		 * @throws IOException wenn die Datei nicht angelegt werden kann.
+		 */
+		private static File createEdgeFile(File file) throws IOException {
+			File directory = file.getAbsoluteFile().getParentFile();
+			return File.createTempFile(file.getName(), ".kanten", directory);
+		}
+
+		/**
+		 * Zustände werden im Aldebaran-Format nur über ihre Nummer in den Kanten geschrieben.
+		 */
+		void writeMarking(int number, String id) {
+		}
+
+		/**
+		 * Schreibt eine Kante mit der id der Transition als Beschriftung. Anführungszeichen in der id werden durch Apostrophe ersetzt.
+		 */
+		void writeMarkingConnector(long number, int before, int behind, String transition) throws IOException {
+			Writer out = getOut();
+			out.write('(');
+			out.write(Integer.toString(before));
+			out.write(",\"");
+			out.write(transition.replace('"', '\''));
+			out.write("\",");
+			out.write(Integer.toString(behind));
+			out.write(")\n");
+		}
+
+		/**
+		 * Die Kanten benötigen keinen Abschluss.
+		 */
+		void writeEnd() {
+		}
+
+		/**
+		 * Schreibt die Kopfzeile in die Zieldatei, kopiert die Kanten dahinter und löscht die temporäre Datei.
+		 */
+		void finish(boolean successful) throws IOException {
+			try {
+				if(successful) {
+					OutputStream target = new BufferedOutputStream(new FileOutputStream(getFile()), BUFFER_SIZE);
+					try {
+						target.write(("des (0," + getNumberOfEdges() + "," + getNumberOfMarkings() + ")\n").getBytes(UTF8));
+						Files.copy(edgeFile.toPath(), target);
+					} finally {
+						target.close();
+					}
+				}
+			} finally {
+				edgeFile.delete();
+			}
+		}
+	}
+}
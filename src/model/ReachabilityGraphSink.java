@@ -0,0 +1,24 @@
+package model;
+
+/**
+ * Schnittstelle zur Entgegennahme des Erreichbarkeitsgraphen während der Beschränktheitsanalyse ({@link Petrinet#setReachabilityGraphSink(ReachabilityGraphSink)}).
+ * Jede Markierung und jede Kante wird genau einmal übergeben, sobald die Analyse sie zum Erreichbarkeitsgraphen hinzufügt.
+ * Die erste übergebene Markierung ist die Anfangsmarkierung. Eine Kante wird erst übergeben, nachdem ihre Quell- und Zielmarkierung übergeben wurden.
+ * Die Methoden werden auf dem Thread der Analyse aufgerufen und sollten daher schnell zurückkehren.
+ * @author Hannes Wilms
+ *
+ */
+public interface ReachabilityGraphSink {
+
+	/**
+	 * Wird aufgerufen, wenn eine neue Markierung zum Erreichbarkeitsgraphen hinzugefügt wurde.
+	 * @param marking Neue Markierung.
+	 */
+	void markingAdded(Marking marking);
+
+	/**
+	 * Wird aufgerufen, wenn eine neue Kante zum Erreichbarkeitsgraphen hinzugefügt wurde.
+	 * @param markingConnector Neue Kante.
+	 */
+	void markingConnectorAdded(MarkingConnector markingConnector);
+}
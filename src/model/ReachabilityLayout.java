@@ -0,0 +1,291 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse bestimmt feste Positionen für die Knoten des gezeichneten Erreichbarkeitsgraphen.
+ * Die Knoten werden nach ihrem Abstand (Breitensuche) von den Wurzeln, z.B. der Anfangsmarkierung, in Schichten angeordnet.
+ * Innerhalb der Schichten wird die Reihenfolge mit dem Baryzenterverfahren so gewählt, dass sich möglichst wenige Kanten kreuzen.
+ * Die vollständige Berechnung mit {@link #compute(Collection)} ist für einen Hintergrund-Thread gedacht. Später hinzukommende Knoten werden mit
+ * {@link #place(String, String, boolean)} neben ihrem Nachbarn eingereiht, ohne die Positionen der vorhandenen Knoten zu verändern.
+ * @author Hannes Wilms
+ *
+ */
+public class ReachabilityLayout {
+
+	/** Horizontaler Abstand zweier Knoten innerhalb einer Schicht. */
+	public static final double NODE_DISTANCE = 3;
+
+	/** Vertikaler Abstand zweier Schichten. */
+	public static final double LAYER_DISTANCE = 2;
+
+	/** Anzahl der Durchläufe des Baryzenterverfahrens (jeweils einmal von oben nach unten und von unten nach oben). */
+	private static final int SWEEPS = 4;
+
+	/** ids der Knoten, die mit {@link #addNode(String)} für die Berechnung übergeben wurden, und ihre Nummer. */
+	private HashMap<String, Integer> nodeIndices = new HashMap<String, Integer>();
+
+	/** ids der Knoten in der Reihenfolge ihrer Nummer. */
+	private ArrayList<String> nodeIds = new ArrayList<String>();
+
+	/** Nummern der Quellknoten der übergebenen Kanten. */
+	private int[] edgeSources = new int[16];
+
+	/** Nummern der Zielknoten der übergebenen Kanten. */
+	private int[] edgeTargets = new int[16];
+
+	/** Anzahl der übergebenen Kanten. */
+	private int edgeCount;
+
+	/** Berechnete oder eingereihte Positionen (x, y) je id eines Knotens. */
+	private HashMap<String, double[]> positions = new HashMap<String, double[]>();
+
+	/** Schicht je id eines Knotens mit Position. */
+	private HashMap<String, Integer> layers = new HashMap<String, Integer>();
+
+	/** Größte x-Koordinate je Schicht, rechts davon werden neue Knoten der Schicht eingereiht. */
+	private HashMap<Integer, Double> layerEnds = new HashMap<Integer, Double>();
+
+	/**
+	 * Übergibt einen Knoten für die Berechnung mit {@link #compute(Collection)}. Bereits übergebene Knoten werden übergangen.
+	 * @param id id des Knotens.
+	 */
+	public void addNode(String id) {
+		if(!nodeIndices.containsKey(id)) {
+			nodeIndices.put(id, nodeIds.size());
+			nodeIds.add(id);
+		}
+	}
+
+	/**
+	 * Übergibt eine gerichtete Kante für die Berechnung mit {@link #compute(Collection)}. Kanten zu nicht übergebenen Knoten und Schleifen werden übergangen.
+	 * @param sourceId id des Quellknotens.
+	 * @param targetId id des Zielknotens.
+	 */
+	public void addEdge(String sourceId, String targetId) {
+		Integer source = nodeIndices.get(sourceId);
+		Integer target = nodeIndices.get(targetId);
+		if(!(source == null) && !(target == null) && !source.equals(target)) {
+			if(edgeCount == edgeSources.length) {
+				edgeSources = Arrays.copyOf(edgeSources, 2 * edgeCount);
+				edgeTargets = Arrays.copyOf(edgeTargets, 2 * edgeCount);
+			}
+			edgeSources[edgeCount] = source;
+			edgeTargets[edgeCount] = target;
+			edgeCount++;
+		}
+	}
+
+	/**
+	 * Berechnet die Positionen aller übergebenen Knoten. Vorher eingereihte Positionen werden verworfen.
+	 * Die Schicht eines Knotens ist sein Abstand von der nächsten Wurzel entlang der Kanten. Knoten, die so nicht erreicht werden,
+	 * erhalten die Schicht ihres Nachbarn plus (Nachfolger) bzw. minus (Vorgänger) eins, Knoten ohne Verbindung zu den Wurzeln bilden eigene Wurzeln.
+	 * Danach wird die Reihenfolge in den Schichten mit dem Baryzenterverfahren verbessert. Kanten über mehrere Schichten werden dabei nicht berücksichtigt.
+	 * Sortiert wird nach dem Baryzenter (als float) und bei Gleichheit nach der bisherigen Reihenfolge, beides in einem long verpackt, um Objekte zu vermeiden.
+	 * Der Aufwand ist O(Anzahl Durchläufe * (Knoten * log Knoten + Kanten)).
+	 * Wird der ausführende Thread unterbrochen, endet die Berechnung vorzeitig ohne Positionen.
+	 * @param rootIds ids der Wurzeln in Schicht 0. Nicht übergebene ids werden übergangen.
+	 */
+	public void compute(Collection<String> rootIds) {
+		positions.clear();
+		layers.clear();
+		layerEnds.clear();
+		int n = nodeIds.size();
+		int[] outStart = new int[n + 1];
+		int[] inStart = new int[n + 1];
+		for(int e = 0; e < edgeCount; e++) {
+			outStart[edgeSources[e] + 1]++;
+			inStart[edgeTargets[e] + 1]++;
+		}
+		for(int v = 0; v < n; v++) {
+			outStart[v + 1] += outStart[v];
+			inStart[v + 1] += inStart[v];
+		}
+		int[] out = new int[edgeCount];
+		int[] in = new int[edgeCount];
+		int[] outFill = Arrays.copyOf(outStart, n);
+		int[] inFill = Arrays.copyOf(inStart, n);
+		for(int e = 0; e < edgeCount; e++) {
+			out[outFill[edgeSources[e]]++] = edgeTargets[e];
+			in[inFill[edgeTargets[e]]++] = edgeSources[e];
+		}
+
+		int[] layer = new int[n];
+		boolean[] reached = new boolean[n];
+		int[] queue = new int[n];
+		int head = 0;
+		int tail = 0;
+		for(String id : rootIds) {
+			Integer root = nodeIndices.get(id);
+			if(!(root == null) && !reached[root]) {
+				reached[root] = true;
+				queue[tail++] = root;
+			}
+		}
+		while(head < tail) {
+			int v = queue[head++];
+			for(int i = outStart[v]; i < outStart[v + 1]; i++) {
+				if(!reached[out[i]]) {
+					reached[out[i]] = true;
+					layer[out[i]] = layer[v] + 1;
+					queue[tail++] = out[i];
+				}
+			}
+		}
+		int next = 0;
+		head = 0;
+		while(tail < n || head < tail) {
+			if(head == tail) {
+				while(reached[next]) {
+					next++;
+				}
+				reached[next] = true;
+				queue[tail++] = next;
+			}
+			int v = queue[head++];
+			for(int i = outStart[v]; i < outStart[v + 1]; i++) {
+				if(!reached[out[i]]) {
+					reached[out[i]] = true;
+					layer[out[i]] = layer[v] + 1;
+					queue[tail++] = out[i];
+				}
+			}
+			for(int i = inStart[v]; i < inStart[v + 1]; i++) {
+				if(!reached[in[i]]) {
+					reached[in[i]] = true;
+					layer[in[i]] = layer[v] - 1;
+					queue[tail++] = in[i];
+				}
+			}
+		}
+
+		int minimumLayer = 0;
+		int maximumLayer = 0;
+		for(int v = 0; v < n; v++) {
+			minimumLayer = Math.min(minimumLayer, layer[v]);
+			maximumLayer = Math.max(maximumLayer, layer[v]);
+		}
+		int layerCount = maximumLayer - minimumLayer + 1;
+		int[] layerSizes = new int[layerCount];
+		for(int v = 0; v < n; v++) {
+			layerSizes[layer[v] - minimumLayer]++;
+		}
+		int[][] members = new int[layerCount][];
+		int maximumLayerSize = 0;
+		for(int l = 0; l < layerCount; l++) {
+			members[l] = new int[layerSizes[l]];
+			maximumLayerSize = Math.max(maximumLayerSize, layerSizes[l]);
+			layerSizes[l] = 0;
+		}
+		int[] order = new int[n];
+		for(int i = 0; i < n; i++) {
+			int v = queue[i];
+			int l = layer[v] - minimumLayer;
+			order[v] = layerSizes[l];
+			members[l][layerSizes[l]++] = v;
+		}
+
+		long[] keys = new long[maximumLayerSize];
+		int[] previousMembers = new int[maximumLayerSize];
+		for(int sweep = 0; sweep < 2 * SWEEPS; sweep++) {
+			if(Thread.currentThread().isInterrupted()) {
+				return;
+			}
+			boolean downwards = sweep % 2 == 0;
+			for(int step = 1; step < layerCount; step++) {
+				int l = downwards ? step : layerCount - 1 - step;
+				int neighbourLayer = downwards ? l - 1 : l + 1;
+				int size = members[l].length;
+				for(int position = 0; position < size; position++) {
+					int v = members[l][position];
+					double sum = 0;
+					int count = 0;
+					for(int i = outStart[v]; i < outStart[v + 1]; i++) {
+						if(layer[out[i]] - minimumLayer == neighbourLayer) {
+							sum += order[out[i]];
+							count++;
+						}
+					}
+					for(int i = inStart[v]; i < inStart[v + 1]; i++) {
+						if(layer[in[i]] - minimumLayer == neighbourLayer) {
+							sum += order[in[i]];
+							count++;
+						}
+					}
+					float barycenter = (float) (count > 0 ? sum / count : position);
+					keys[position] = ((long) Float.floatToIntBits(barycenter) << 32) | position;
+				}
+				Arrays.sort(keys, 0, size);
+				System.arraycopy(members[l], 0, previousMembers, 0, size);
+				for(int position = 0; position < size; position++) {
+					int v = previousMembers[(int) keys[position]];
+					members[l][position] = v;
+					order[v] = position;
+				}
+			}
+		}
+
+		for(int l = 0; l < layerCount; l++) {
+			for(int v : members[l]) {
+				double x = (order[v] - (members[l].length - 1) / 2.0) * NODE_DISTANCE;
+				setPosition(nodeIds.get(v), layer[v], x);
+			}
+		}
+	}
+
+	/**
+	 * Gibt die Position eines Knotens zurück.
+	 * @param id id des Knotens.
+	 * @return Position (x, y) oder null, wenn der Knoten weder berechnet noch eingereiht wurde.
+	 */
+	public double[] getPosition(String id) {
+		return positions.get(id);
+	}
+
+	/**
+	 * Reiht einen Knoten ohne Position neben einem Nachbarn ein, ohne die übrigen Positionen zu verändern.
+	 * Der Knoten kommt in die Schicht unter (Nachfolger) bzw. über (Vorgänger) dem Nachbarn, möglichst senkrecht unter bzw. über ihm,
+	 * sonst rechts neben den vorhandenen Knoten der Schicht. Ohne Nachbarn mit Position kommt er in Schicht 0.
+	 * Hat der Knoten bereits eine Position, wird diese zurückgegeben.
+	 * @param id id des Knotens.
+	 * @param neighbourId id des Nachbarn oder null.
+	 * @param behind true, wenn der Knoten Nachfolger des Nachbarn ist, false, wenn er sein Vorgänger ist.
+	 * @return Position (x, y) des Knotens.
+	 */
+	public double[] place(String id, String neighbourId, boolean behind) {
+		double[] position = positions.get(id);
+		if(position == null) {
+			int layer = 0;
+			double x = 0;
+			double[] neighbourPosition = neighbourId == null ? null : positions.get(neighbourId);
+			if(!(neighbourPosition == null)) {
+				layer = layers.get(neighbourId) + (behind ? 1 : -1);
+				x = neighbourPosition[0];
+			}
+			Double layerEnd = layerEnds.get(layer);
+			if(!(layerEnd == null) && x <= layerEnd) {
+				x = layerEnd + NODE_DISTANCE;
+			}
+			position = setPosition(id, layer, x);
+		}
+		return position;
+	}
+
+	/**
+	 * Legt die Position eines Knotens fest.
+	 * @param id id des Knotens.
+	 * @param layer Schicht des Knotens.
+	 * @param x x-Koordinate des Knotens.
+	 * @return Position (x, y) des Knotens.
+	 */
+	private double[] setPosition(String id, int layer, double x) {
+		double[] position = new double[] {x, -layer * LAYER_DISTANCE};
+		positions.put(id, position);
+		layers.put(id, layer);
+		Double layerEnd = layerEnds.get(layer);
+		if(layerEnd == null || x > layerEnd) {
+			layerEnds.put(layer, x);
+		}
+		return position;
+	}
+}
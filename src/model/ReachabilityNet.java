@@ -6,6 +6,9 @@ import java.util.*;
  * Stellt das interne Modell des (partiellen) Erreichbarkeitsgraphen dar.
  * Speichert die bisher erreichten Markierungen und Kanten des (partiellen) Erreichbarkeitsgraphen.
  * Besitzt je einen Verweis auf die Anfangsmarkierung und die aktuelle Markierung (dabei kann es sich auch um dieselbe Markierung handeln).
+ * Markierungen und Kanten sind zusätzlich über ihre id indiziert, sodass die Suche nach vorhandenen Elementen unabhängig von der Größe des Graphen ist.
+ * Nach {@link #startRecordingChanges()} werden alle hinzugefügten oder in ihrer Hervorhebung veränderten Markierungen und Kanten vermerkt,
+ * damit die Darstellung nur diese Änderungen übernehmen muss.
  * @author Hannes Wilms
  *
  */
@@ -23,6 +26,27 @@ class ReachabilityNet {
 	/** Verweis auf die aktuelle Markierung. */
 	private Marking currentMarking;
 	
+	/** Markierungen je id. */
+	private HashMap<String, Marking> markingsById = new HashMap<String, Marking>();
+	
+	/** Kanten je id. */
+	private HashMap<String, MarkingConnector> markingConnectorsById = new HashMap<String, MarkingConnector>();
+	
+	/** Ein- und ausgehende Kanten je id einer Markierung oder null, solange sie nicht benötigt wurden ({@link #getIncidentMarkingConnectors(Marking)}). */
+	private HashMap<String, LinkedList<MarkingConnector>> incidentMarkingConnectors;
+	
+	/** Verweis auf die zuletzt beschrittene Kante oder null. */
+	private MarkingConnector currentMarkingConnector;
+	
+	/** Information, ob Änderungen vermerkt werden. Ist false, bis die Darstellung den Graphen vollständig übernommen hat. */
+	private boolean recordingChanges = false;
+	
+	/** Seit dem letzten Abgleich hinzugefügte oder veränderte Markierungen. */
+	private LinkedHashSet<Marking> changedMarkings = new LinkedHashSet<Marking>();
+	
+	/** Seit dem letzten Abgleich hinzugefügte oder veränderte Kanten. */
+	private LinkedHashSet<MarkingConnector> changedMarkingConnectors = new LinkedHashSet<MarkingConnector>();
+	
 	/**
 	 * Erzeugt ein neues Modell des Erreichbarkeitsgraphen.
 	 * Legt die Anfangsmarkierung und die aktuelle Markierung auf die übergebene Markierung fest. 
@@ -32,6 +56,7 @@ class ReachabilityNet {
 		this.initialMarking = initialMarking;
 		this.currentMarking = initialMarking;
 		markings.add(initialMarking);
+		markingsById.put(initialMarking.getId(), initialMarking);
 	}
 	
 	/**
@@ -40,6 +65,10 @@ class ReachabilityNet {
 	 */
 	void addMarking(Marking marking) {
 		markings.add(marking);
+		markingsById.put(marking.getId(), marking);
+		if(recordingChanges) {
+			changedMarkings.add(marking);
+		}
 	}
 	
 	/**
@@ -48,6 +77,59 @@ class ReachabilityNet {
 	 */
 	void addMarkingConnector(MarkingConnector mc) {
 		markingConnectors.add(mc);
+		markingConnectorsById.put(mc.getId(), mc);
+		if(recordingChanges) {
+			changedMarkingConnectors.add(mc);
+		}
+		if(!(incidentMarkingConnectors == null)) {
+			addIncidentMarkingConnector(mc);
+		}
+	}
+	
+	/**
+	 * Gibt die ein- und ausgehenden Kanten einer Markierung zurück.
+	 * Die Zuordnung wird erst beim ersten Aufruf aufgebaut und danach mit jeder hinzugefügten Kante fortgeschrieben,
+	 * sodass die Analyse ohne Darstellung keinen zusätzlichen Speicher benötigt.
+	 * @param marking Markierung, deren Kanten zurückgegeben werden sollen.
+	 * @return Liste (LinkedList) der Kanten, deren Quell- oder Zielmarkierung die Markierung ist (Schleifen einmal).
+	 */
+	LinkedList<MarkingConnector> getIncidentMarkingConnectors(Marking marking) {
+		if(incidentMarkingConnectors == null) {
+			incidentMarkingConnectors = new HashMap<String, LinkedList<MarkingConnector>>();
+			for(MarkingConnector mc : markingConnectors) {
+				addIncidentMarkingConnector(mc);
+			}
+		}
+		LinkedList<MarkingConnector> incident = incidentMarkingConnectors.get(marking.getId());
+		if(incident == null) {
+			incident = new LinkedList<MarkingConnector>();
+		}
+		return incident;
+	}
+	
+	/**
+	 * Trägt eine Kante bei ihrer Quell- und Zielmarkierung ein.
+	 * @param mc Kante, die eingetragen werden soll.
+	 */
+	private void addIncidentMarkingConnector(MarkingConnector mc) {
+		addIncidentMarkingConnector(mc.getMarkingBefore(), mc);
+		if(!mc.getMarkingBehind().equals(mc.getMarkingBefore())) {
+			addIncidentMarkingConnector(mc.getMarkingBehind(), mc);
+		}
+	}
+	
+	/**
+	 * Trägt eine Kante bei einer Markierung ein.
+	 * @param markingId id der Markierung.
+	 * @param mc Kante, die eingetragen werden soll.
+	 */
+	private void addIncidentMarkingConnector(String markingId, MarkingConnector mc) {
+		LinkedList<MarkingConnector> incident = incidentMarkingConnectors.get(markingId);
+		if(incident == null) {
+			incident = new LinkedList<MarkingConnector>();
+			incidentMarkingConnectors.put(markingId, incident);
+		}
+		incident.add(mc);
 	}
 	
 	/**
@@ -80,15 +162,7 @@ class ReachabilityNet {
 	 * @return Markierung, deren id der übergebenen id entspricht.
 	 */
 	Marking getMarking(String id) {
-		Marking m1 = null;
-		Iterator<Marking> it = markings.iterator();
-		while(it.hasNext() & m1 == null) {
-			Marking m2 = it.next();
-			if (m2.getId().equals(id)){
-				m1 = m2;
-			}
-		}
-		return m1;
+		return markingsById.get(id);
 	}
 	
 	/**
@@ -97,15 +171,7 @@ class ReachabilityNet {
 	 * @return Information, ob die Markierung bereits vorhanden ist (true) oder nicht (false).
 	 */
 	boolean markingAlreadyExists(Marking m) {
-		boolean exists = false;
-		if(!markings.isEmpty()) {
-			for(Marking marking : markings) {
-				if(m.isEqual(marking)) {
-					exists = true;
-				}
-			}
-		}
-		return exists;
+		return markingsById.containsKey(m.getId());
 	}
 	
 	/**
@@ -114,15 +180,7 @@ class ReachabilityNet {
 	 * @return Information, ob die Kante bereits vorhanden ist (true) oder nicht (false).
 	 */
 	boolean markingConnectorAlreadyExists(MarkingConnector mc) {
-		boolean exists = false;
-		if(!markingConnectors.isEmpty()) {
-			for(MarkingConnector markingConnector : markingConnectors) {
-				if(mc.isEqual(markingConnector)) {
-					exists = true;
-				}
-			}
-		}
-		return exists;
+		return markingConnectorsById.containsKey(mc.getId());
 	}
 	
 	/**
@@ -140,15 +198,8 @@ class ReachabilityNet {
 	 * @return Äquivalent der übergebenen Markierung oder die übergebene Markierung (wenn kein Äquivalent vorhanden ist).
 	 */
 	Marking getSameMarking(Marking other) {
-		Marking m = other;
-		if(!markings.isEmpty()) {
-			for(Marking marking : markings) {
-				if(other.isEqual(marking)) {
-					m = marking;
-				}
-			}
-		}
-		return m;
+		Marking m = markingsById.get(other.getId());
+		return m == null ? other : m;
 	}
 	
 	/**
@@ -158,15 +209,8 @@ class ReachabilityNet {
 	 * @return Äquivalent der übergebenen Kante oder die übergebene Kante (wenn kein Äquivalent vorhanden ist).
 	 */
 	MarkingConnector getSameMarkingConnector(MarkingConnector other) {
-		MarkingConnector m = other;
-		if(!markingConnectors.isEmpty()) {
-			for(MarkingConnector mc : markingConnectors) {
-				if(other.isEqual(mc)) {
-					m = mc; 
-				}
-			}
-		}
-		return m;
+		MarkingConnector m = markingConnectorsById.get(other.getId());
+		return m == null ? other : m;
 	}
 	
 	/**
@@ -174,6 +218,67 @@ class ReachabilityNet {
 	 * @param m Markierung, die als aktuelle Markierung gesetzt werden soll.
 	 */
 	public void setCurrentMarking(Marking m) {
+		if(recordingChanges) {
+			if(!(currentMarking == null)) {
+				changedMarkings.add(currentMarking);
+			}
+			if(!(m == null)) {
+				changedMarkings.add(m);
+			}
+		}
 		this.currentMarking = m;
 	}
+	
+	/**
+	 * Setzt die zuletzt beschrittene Kante. Die bisher zuletzt beschrittene Kante wird dabei zurückgesetzt.
+	 * @param mc Kante, die als zuletzt beschrittene Kante gekennzeichnet werden soll.
+	 */
+	void setCurrentMarkingConnector(MarkingConnector mc) {
+		if(!(currentMarkingConnector == null)) {
+			currentMarkingConnector.setIsCurrent(false);
+			if(recordingChanges) {
+				changedMarkingConnectors.add(currentMarkingConnector);
+			}
+		}
+		mc.setIsCurrent(true);
+		if(recordingChanges) {
+			changedMarkingConnectors.add(mc);
+		}
+		currentMarkingConnector = mc;
+	}
+	
+	/**
+	 * Gibt die Information zurück, ob Änderungen vermerkt werden.
+	 * Ist dies nicht der Fall, wurde der Graph seit seiner Erzeugung noch nicht vollständig von der Darstellung übernommen.
+	 * @return Information, ob Änderungen vermerkt werden (true) oder nicht (false).
+	 */
+	boolean isRecordingChanges() {
+		return recordingChanges;
+	}
+	
+	/**
+	 * Verwirft die bisher vermerkten Änderungen und vermerkt ab jetzt alle Änderungen.
+	 * Wird aufgerufen, nachdem die Darstellung den Graphen oder die vermerkten Änderungen übernommen hat.
+	 */
+	void startRecordingChanges() {
+		recordingChanges = true;
+		changedMarkings.clear();
+		changedMarkingConnectors.clear();
+	}
+	
+	/**
+	 * Gibt die seit dem letzten Abgleich hinzugefügten oder in ihrer Hervorhebung veränderten Markierungen zurück.
+	 * @return Menge (LinkedHashSet) der veränderten Markierungen in der Reihenfolge der Änderung.
+	 */
+	LinkedHashSet<Marking> getChangedMarkings() {
+		return changedMarkings;
+	}
+	
+	/**
+	 * Gibt die seit dem letzten Abgleich hinzugefügten oder in ihrer Hervorhebung veränderten Kanten zurück.
+	 * @return Menge (LinkedHashSet) der veränderten Kanten in der Reihenfolge der Änderung.
+	 */
+	LinkedHashSet<MarkingConnector> getChangedMarkingConnectors() {
+		return changedMarkingConnectors;
+	}
 }
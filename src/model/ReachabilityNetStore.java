@@ -0,0 +1,343 @@
+package model;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Diese Klasse speichert den berechneten Erreichbarkeitsgraphen eines Petrinetzes samt Ergebnis der Beschränktheitsanalyse in einer Datei
+ * und stellt ihn daraus wieder her, ohne das Netz erneut zu explorieren.
+ * Die Datei ist an den {@link NetFingerprint} des Netzes gebunden. Passt der Fingerabdruck nicht zum Netz, wird sie nicht geladen.
+ * <p>
+ * Der Inhalt ist spaltenweise abgelegt: je Stelle eine Spalte mit den Marken aller Markierungen, für die Kanten je eine Spalte
+ * mit den Indizes der Markierung davor, der Markierung dahinter und der schaltenden Transition sowie je eine Spalte mit den Kennzeichen
+ * (Pfadanfang / Pfadende bzw. Teil des Pfades / aktuelle Kante). Gleichartige Werte liegen so hintereinander und lassen sich gut komprimieren.
+ * Aufbau (alle Zahlen big-endian, Zeichenketten wie {@link DataOutputStream#writeUTF(String)}):
+ * <pre>
+ * int magic "PRG1", int version, boolean komprimiert, string fingerabdruck
+ * Rest ggf. mit Deflate komprimiert:
+ * int stellen, je Stelle string id
+ * int transitionen, je Transition string id
+ * int markierungen, int anfangsmarkierung, int aktuelle markierung, je Stelle int[markierungen] marken, byte[markierungen] kennzeichen
+ * int kanten, int[kanten] davor, int[kanten] dahinter, int[kanten] transition, byte[kanten] kennzeichen
+ * boolean vollstaendig, boolean ergebnis [ergebnis der beschraenktheitsanalyse]
+ * </pre>
+ * Die Datei liegt üblicherweise neben der PNML-Datei und trägt deren Namen mit der zusätzlichen Endung {@value #SUFFIX}.
+ * @author Hannes Wilms
+ *
+ */
+public final class ReachabilityNetStore {
+
+	/** Endung der Datei, die an den Namen der PNML-Datei angehängt wird. */
+	public static final String SUFFIX = ".prg";
+
+	/** Kennung am Anfang jeder Datei ("PRG1"). */
+	private static final int MAGIC = 0x50524731;
+
+	/** Version des Formats. */
+	private static final int VERSION = 1;
+
+	/** Kennzeichen einer Markierung: Anfang (m) des Pfades der Unbeschränktheit. */
+	private static final int PATH_START = 1;
+
+	/** Kennzeichen einer Markierung: Ende (m') des Pfades der Unbeschränktheit. */
+	private static final int PATH_END = 2;
+
+	/** Kennzeichen einer Kante: Teil des Pfades der Unbeschränktheit. */
+	private static final int IN_PATH = 1;
+
+	/** Kennzeichen einer Kante: zuletzt beschrittene Kante. */
+	private static final int CURRENT = 2;
+
+	/**
+	 * Es werden keine Objekte dieser Klasse erzeugt.
+	 */
+	private ReachabilityNetStore() {
+	}
+
+	/**
+	 * Gibt die Datei zurück, in der der Erreichbarkeitsgraph zur PNML-Datei gespeichert wird.
+	 * @param pnml PNML-Datei.
+	 * @return Datei im selben Ordner.
+	 */
+	public static File getStoreFile(File pnml) {
+		return new File(pnml.getPath() + SUFFIX);
+	}
+
+	/**
+	 * Speichert den Erreichbarkeitsgraphen und das Ergebnis der letzten Beschränktheitsanalyse des Petrinetzes.
+	 * Die Datei wird zunächst unter einem temporären Namen geschrieben und dann umbenannt, sodass nie eine halb geschriebene Datei geladen wird.
+	 * @param petrinet Petrinetz mit (partiellem) Erreichbarkeitsgraphen.
+	 * @param file Datei, in die gespeichert werden soll.
+	 * @param compress Information, ob der Inhalt nach dem Kopf mit Deflate komprimiert werden soll.
+	 * @throws IOException wenn die Datei nicht geschrieben werden kann.
+	 */
+	public static void save(Petrinet petrinet, File file, boolean compress) throws IOException {
+		File temporary = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+		try {
+			OutputStream stream = new BufferedOutputStream(new FileOutputStream(temporary), 65536);
+			try {
+				DataOutputStream header = new DataOutputStream(stream);
+				header.writeInt(MAGIC);
+				header.writeInt(VERSION);
+				header.writeBoolean(compress);
+				header.writeUTF(NetFingerprint.of(petrinet));
+				header.flush();
+				DataOutputStream out = header;
+				if(compress) {
+					out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(stream), 65536));
+				}
+				writeBody(petrinet, out);
+				out.flush();
+				if(compress) {
+					out.close();
+				}
+			} finally {
+				stream.close();
+			}
+			try {
+				Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			temporary.delete();
+		}
+	}
+
+	/**
+	 * Schreibt den Inhalt nach dem Kopf.
+	 * @param petrinet Petrinetz mit (partiellem) Erreichbarkeitsgraphen.
+	 * @param out Ausgabe.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	private static void writeBody(Petrinet petrinet, DataOutputStream out) throws IOException {
+		LinkedList<Marking> markings = petrinet.getReachabilityMarkings();
+		LinkedList<MarkingConnector> markingConnectors = petrinet.getReachabilityMarkingConnectors();
+		Set<String> places = petrinet.getInitialMarking().getScoreSheet().keySet();
+		out.writeInt(places.size());
+		for(String place : places) {
+			out.writeUTF(place);
+		}
+		HashMap<String, Integer> transitionIndex = new HashMap<String, Integer>();
+		out.writeInt(petrinet.getTransitions().size());
+		for(Transition transition : petrinet.getTransitions()) {
+			transitionIndex.put(transition.getId(), transitionIndex.size());
+			out.writeUTF(transition.getId());
+		}
+		HashMap<String, Integer> markingIndex = new HashMap<String, Integer>();
+		for(Marking marking : markings) {
+			markingIndex.put(marking.getId(), markingIndex.size());
+		}
+		out.writeInt(markings.size());
+		out.writeInt(markingIndex.get(petrinet.getInitialMarking().getId()));
+		out.writeInt(markingIndex.get(petrinet.getCurrentMarking().getId()));
+		for(String place : places) {
+			for(Marking marking : markings) {
+				out.writeInt(marking.getTokensAtPlace(place));
+			}
+		}
+		for(Marking marking : markings) {
+			out.writeByte((marking.getIsPathStart() ? PATH_START : 0) | (marking.getIsPathEnd() ? PATH_END : 0));
+		}
+		HashMap<String, Integer> markingConnectorIndex = new HashMap<String, Integer>();
+		out.writeInt(markingConnectors.size());
+		for(MarkingConnector markingConnector : markingConnectors) {
+			markingConnectorIndex.put(markingConnector.getId(), markingConnectorIndex.size());
+			out.writeInt(markingIndex.get(markingConnector.getMarkingBefore()));
+		}
+		for(MarkingConnector markingConnector : markingConnectors) {
+			out.writeInt(markingIndex.get(markingConnector.getMarkingBehind()));
+		}
+		for(MarkingConnector markingConnector : markingConnectors) {
+			out.writeInt(transitionIndex.get(markingConnector.getTransitionCaused()));
+		}
+		for(MarkingConnector markingConnector : markingConnectors) {
+			out.writeByte((markingConnector.getIsInPath() ? IN_PATH : 0) | (markingConnector.getIsCurrent() ? CURRENT : 0));
+		}
+		out.writeBoolean(petrinet.isReachabilityNetComplete());
+		BoundednessTestResult btr = petrinet.getBoundednessTestResult();
+		out.writeBoolean(!(btr == null));
+		if(!(btr == null)) {
+			writeNullable(out, btr.getName());
+			out.writeBoolean(btr.getUnbounded());
+			out.writeBoolean(btr.getCancelled());
+			out.writeBoolean(btr.getInconclusive());
+			writeNullable(out, btr.getInconclusiveReason());
+			out.writeInt(btr.getStart() == null ? -1 : markingIndex.get(btr.getStart().getId()));
+			out.writeInt(btr.getEnd() == null ? -1 : markingIndex.get(btr.getEnd().getId()));
+			out.writeInt(btr.getPath().size());
+			for(MarkingConnector markingConnector : btr.getPath()) {
+				out.writeInt(markingConnectorIndex.get(markingConnector.getId()));
+			}
+			out.writeInt(btr.getNumberOfNodes());
+			out.writeInt(btr.getNumberOfEdges());
+			out.writeInt(btr.getMaximumTokens().size());
+			for(Map.Entry<String, Integer> entry : btr.getMaximumTokens().entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeInt(entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Stellt den gespeicherten Erreichbarkeitsgraphen und das Ergebnis der Beschränktheitsanalyse im Petrinetz wieder her.
+	 * Die Marken des Petrinetzes werden auf die gespeicherte aktuelle Markierung gesetzt.
+	 * @param petrinet Petrinetz, zu dem die Datei gehören soll.
+	 * @param file Datei mit dem gespeicherten Erreichbarkeitsgraphen.
+	 * @return true, wenn der Erreichbarkeitsgraph wiederhergestellt wurde, false, wenn die Datei zu einem anderen Netz oder einer anderen Formatversion gehört.
+	 * In diesem Fall bleibt das Petrinetz unverändert.
+	 * @throws IOException wenn die Datei nicht gelesen werden kann oder beschädigt ist.
+	 */
+	public static boolean load(Petrinet petrinet, File file) throws IOException {
+		boolean restored = false;
+		InputStream stream = new BufferedInputStream(new FileInputStream(file), 65536);
+		try {
+			DataInputStream header = new DataInputStream(stream);
+			if(header.readInt() == MAGIC && header.readInt() == VERSION) {
+				boolean compressed = header.readBoolean();
+				if(header.readUTF().equals(NetFingerprint.of(petrinet))) {
+					DataInputStream in = header;
+					if(compressed) {
+						in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(stream), 65536));
+					}
+					readBody(petrinet, in);
+					restored = true;
+				}
+			}
+		} catch (RuntimeException e) {
+			throw new IOException("Die Datei " + file.getName() + " ist beschädigt.", e);
+		} finally {
+			stream.close();
+		}
+		return restored;
+	}
+
+	/**
+	 * Liest den Inhalt nach dem Kopf und übergibt Erreichbarkeitsgraph und Ergebnis an das Petrinetz.
+	 * @param petrinet Petrinetz, zu dem die Datei gehört.
+	 * @param in Eingabe.
+	 * @throws IOException wenn nicht gelesen werden kann.
+	 */
+	private static void readBody(Petrinet petrinet, DataInputStream in) throws IOException {
+		String[] places = new String[in.readInt()];
+		for(int i = 0; i < places.length; i++) {
+			places[i] = in.readUTF();
+		}
+		String[] transitions = new String[in.readInt()];
+		for(int i = 0; i < transitions.length; i++) {
+			transitions[i] = in.readUTF();
+		}
+		Marking[] markings = new Marking[in.readInt()];
+		int initialIndex = in.readInt();
+		int currentIndex = in.readInt();
+		for(int i = 0; i < markings.length; i++) {
+			markings[i] = new Marking();
+		}
+		for(String place : places) {
+			for(Marking marking : markings) {
+				marking.addEntry(place, in.readInt());
+			}
+		}
+		for(Marking marking : markings) {
+			int flags = in.readByte();
+			marking.setIsPathStart((flags & PATH_START) != 0);
+			marking.setIsPathEnd((flags & PATH_END) != 0);
+		}
+		int[] before = new int[in.readInt()];
+		int[] behind = new int[before.length];
+		int[] transition = new int[before.length];
+		for(int i = 0; i < before.length; i++) {
+			before[i] = in.readInt();
+		}
+		for(int i = 0; i < behind.length; i++) {
+			behind[i] = in.readInt();
+		}
+		for(int i = 0; i < transition.length; i++) {
+			transition[i] = in.readInt();
+		}
+		MarkingConnector[] markingConnectors = new MarkingConnector[before.length];
+		for(int i = 0; i < markingConnectors.length; i++) {
+			markingConnectors[i] = new MarkingConnector(markings[before[i]].getId(), markings[behind[i]].getId(), transitions[transition[i]]);
+			int flags = in.readByte();
+			markingConnectors[i].setIsInPath((flags & IN_PATH) != 0);
+			markingConnectors[i].setIsCurrent((flags & CURRENT) != 0);
+		}
+		ReachabilityNet reachabilityNet = new ReachabilityNet(markings[initialIndex]);
+		for(int i = 0; i < markings.length; i++) {
+			if(!(i == initialIndex)) {
+				reachabilityNet.addMarking(markings[i]);
+			}
+		}
+		for(MarkingConnector markingConnector : markingConnectors) {
+			reachabilityNet.addMarkingConnector(markingConnector);
+			if(markingConnector.getIsCurrent()) {
+				reachabilityNet.setCurrentMarkingConnector(markingConnector);
+			}
+		}
+		reachabilityNet.setCurrentMarking(markings[currentIndex]);
+		boolean complete = in.readBoolean();
+		BoundednessTestResult btr = null;
+		if(in.readBoolean()) {
+			btr = new BoundednessTestResult();
+			btr.setName(readNullable(in));
+			btr.setUnbounded(in.readBoolean());
+			btr.setCancelled(in.readBoolean());
+			btr.setInconclusive(in.readBoolean());
+			btr.setInconclusiveReason(readNullable(in));
+			int start = in.readInt();
+			if(start >= 0) {
+				btr.setStart(markings[start]);
+			}
+			int end = in.readInt();
+			if(end >= 0) {
+				btr.setEnd(markings[end]);
+			}
+			LinkedList<MarkingConnector> path = new LinkedList<MarkingConnector>();
+			int pathLength = in.readInt();
+			for(int i = 0; i < pathLength; i++) {
+				path.add(markingConnectors[in.readInt()]);
+			}
+			btr.setPath(path);
+			btr.setNumberOfNodes(in.readInt());
+			btr.setNumberOfEdges(in.readInt());
+			LinkedHashMap<String, Integer> maximumTokens = new LinkedHashMap<String, Integer>();
+			int maximumTokensSize = in.readInt();
+			for(int i = 0; i < maximumTokensSize; i++) {
+				String place = in.readUTF();
+				maximumTokens.put(place, in.readInt());
+			}
+			btr.setMaximumTokens(maximumTokens);
+		}
+		petrinet.restoreAnalysis(reachabilityNet, btr, complete);
+	}
+
+	/**
+	 * Schreibt eine Zeichenkette, die auch null sein kann.
+	 * @param out Ausgabe.
+	 * @param text Zeichenkette oder null.
+	 * @throws IOException wenn nicht geschrieben werden kann.
+	 */
+	private static void writeNullable(DataOutputStream out, String text) throws IOException {
+		out.writeBoolean(!(text == null));
+		if(!(text == null)) {
+			out.writeUTF(text);
+		}
+	}
+
+	/**
+	 * Liest eine mit {@link #writeNullable(DataOutputStream, String)} geschriebene Zeichenkette.
+	 * @param in Eingabe.
+	 * @return Zeichenkette oder null.
+	 * @throws IOException wenn nicht gelesen werden kann.
+	 */
+	private static String readNullable(DataInputStream in) throws IOException {
+		String text = null;
+		if(in.readBoolean()) {
+			text = in.readUTF();
+		}
+		return text;
+	}
+}
@@ -0,0 +1,125 @@
+package model;
+
+import java.util.*;
+
+/**
+ * Diese Klasse beschreibt einen Ausschnitt des (partiellen) Erreichbarkeitsgraphen für die Darstellung großer Graphen.
+ * Der Ausschnitt enthält alle Markierungen, die von einer der Mittelpunkte (z.B. der aktuellen Markierung) aus in höchstens k Schritten
+ * über Kanten in beliebiger Richtung erreichbar sind, begrenzt auf eine Höchstzahl an Markierungen, sowie alle Kanten zwischen diesen Markierungen.
+ * Für jede Markierung am Rand des Ausschnitts wird die Anzahl ihrer ausgeblendeten Nachbarn angegeben. Alle übrigen Markierungen werden nur gezählt.
+ * Der Aufwand hängt nur von der Größe des Ausschnitts und dem Grad seiner Markierungen ab, nicht von der Größe des Erreichbarkeitsgraphen.
+ * @author Hannes Wilms
+ *
+ */
+public class ReachabilityWindow {
+
+	/** Markierungen des Ausschnitts in der Reihenfolge der Breitensuche. */
+	private LinkedHashSet<Marking> markings = new LinkedHashSet<Marking>();
+
+	/** Kanten, deren Quell- und Zielmarkierung im Ausschnitt liegen. */
+	private LinkedHashSet<MarkingConnector> markingConnectors = new LinkedHashSet<MarkingConnector>();
+
+	/** Anzahl der ausgeblendeten Nachbarn je Markierung am Rand des Ausschnitts. Jeder ausgeblendete Nachbar wird nur einmal gezählt. */
+	private LinkedHashMap<Marking, Integer> hiddenNeighbours = new LinkedHashMap<Marking, Integer>();
+
+	/** Anzahl der ausgeblendeten Markierungen, die keinem Rand des Ausschnitts benachbart sind. */
+	private int remainingMarkings;
+
+	/**
+	 * Bestimmt den Ausschnitt mit einer Breitensuche, die gleichzeitig bei allen Mittelpunkten beginnt.
+	 * Ist die Höchstzahl erreicht, werden keine weiteren Markierungen aufgenommen, die früher genannten Mittelpunkte haben dabei Vorrang.
+	 * @param reachabilityNet Erreichbarkeitsgraph.
+	 * @param centerIds ids der Mittelpunkte. Unbekannte ids werden übergangen.
+	 * @param hops Höchstzahl an Schritten von einem Mittelpunkt.
+	 * @param maximumMarkings Höchstzahl an Markierungen im Ausschnitt.
+	 */
+	ReachabilityWindow(ReachabilityNet reachabilityNet, Collection<String> centerIds, int hops, int maximumMarkings) {
+		HashMap<Marking, Integer> distances = new HashMap<Marking, Integer>();
+		LinkedList<Marking> queue = new LinkedList<Marking>();
+		for(String id : centerIds) {
+			Marking center = reachabilityNet.getMarking(id);
+			if(!(center == null) && !distances.containsKey(center) && markings.size() < maximumMarkings) {
+				distances.put(center, 0);
+				markings.add(center);
+				queue.add(center);
+			}
+		}
+		while(!queue.isEmpty()) {
+			Marking marking = queue.removeFirst();
+			int distance = distances.get(marking);
+			if(distance < hops) {
+				for(MarkingConnector mc : reachabilityNet.getIncidentMarkingConnectors(marking)) {
+					Marking neighbour = getNeighbour(reachabilityNet, marking, mc);
+					if(!(neighbour == null) && !distances.containsKey(neighbour) && markings.size() < maximumMarkings) {
+						distances.put(neighbour, distance + 1);
+						markings.add(neighbour);
+						queue.add(neighbour);
+					}
+				}
+			}
+		}
+		HashSet<Marking> border = new HashSet<Marking>();
+		for(Marking marking : markings) {
+			int hidden = 0;
+			for(MarkingConnector mc : reachabilityNet.getIncidentMarkingConnectors(marking)) {
+				Marking neighbour = getNeighbour(reachabilityNet, marking, mc);
+				if(markings.contains(neighbour)) {
+					markingConnectors.add(mc);
+				} else if(!(neighbour == null) && border.add(neighbour)) {
+					hidden++;
+				}
+			}
+			if(hidden > 0) {
+				hiddenNeighbours.put(marking, hidden);
+			}
+		}
+		remainingMarkings = reachabilityNet.getMarkings().size() - markings.size() - border.size();
+	}
+
+	/**
+	 * Gibt die Markierung am anderen Ende einer Kante zurück.
+	 * @param reachabilityNet Erreichbarkeitsgraph.
+	 * @param marking Markierung an einem Ende der Kante.
+	 * @param mc Kante.
+	 * @return Markierung am anderen Ende der Kante (bei Schleifen die Markierung selbst).
+	 */
+	private static Marking getNeighbour(ReachabilityNet reachabilityNet, Marking marking, MarkingConnector mc) {
+		if(mc.getMarkingBefore().equals(marking.getId())) {
+			return reachabilityNet.getMarking(mc.getMarkingBehind());
+		} else {
+			return reachabilityNet.getMarking(mc.getMarkingBefore());
+		}
+	}
+
+	/**
+	 * Gibt die Markierungen des Ausschnitts zurück.
+	 * @return Menge (LinkedHashSet) der Markierungen in der Reihenfolge der Breitensuche.
+	 */
+	public LinkedHashSet<Marking> getMarkings() {
+		return markings;
+	}
+
+	/**
+	 * Gibt die Kanten des Ausschnitts zurück.
+	 * @return Menge (LinkedHashSet) der Kanten, deren Quell- und Zielmarkierung im Ausschnitt liegen.
+	 */
+	public LinkedHashSet<MarkingConnector> getMarkingConnectors() {
+		return markingConnectors;
+	}
+
+	/**
+	 * Gibt für jede Markierung am Rand des Ausschnitts die Anzahl ihrer ausgeblendeten Nachbarn zurück.
+	 * @return Zuordnungstabelle (LinkedHashMap) von der Markierung zur Anzahl ihrer ausgeblendeten Nachbarn.
+	 */
+	public LinkedHashMap<Marking, Integer> getHiddenNeighbours() {
+		return hiddenNeighbours;
+	}
+
+	/**
+	 * Gibt die Anzahl der ausgeblendeten Markierungen zurück, die keiner Markierung des Ausschnitts benachbart sind.
+	 * @return Anzahl der übrigen Markierungen.
+	 */
+	public int getRemainingMarkings() {
+		return remainingMarkings;
+	}
+}
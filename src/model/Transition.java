@@ -41,6 +41,24 @@ public class Transition extends Node implements Comparable<Transition> {
 		output.add(place);
 	}
 
+	/**
+	 * Gibt die Liste der Stellen im Vorbereich zurück.
+	 * Ist eine Stelle über mehrere Kanten verbunden, ist sie entsprechend oft enthalten.
+	 * @return Liste (LinkedList) der Stellen im Vorbereich.
+	 */
+	LinkedList<Place> getInputPlaces() {
+		return input;
+	}
+	
+	/**
+	 * Gibt die Liste der Stellen im Nachbereich zurück.
+	 * Ist eine Stelle über mehrere Kanten verbunden, ist sie entsprechend oft enthalten.
+	 * @return Liste (LinkedList) der Stellen im Nachbereich.
+	 */
+	LinkedList<Place> getOutputPlaces() {
+		return output;
+	}
+
 	/**
 	 * Vergleicht die ids zweier Transitionen miteinander.
 	 * @param other Transition mit der verglichen werden soll.
@@ -1,8 +1,11 @@
 package propra.pnml;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -61,6 +64,13 @@ public final class PNMLWopedWriter {
 	 */
 	private XMLStreamWriter writer = null;
 
+	/**
+	 * Dies ist eine Referenz zum gepufferten Ausgabestrom der Datei. Der XML
+	 * Writer schließt den Ausgabestrom nicht selbst, daher wird er in
+	 * finishXMLDocument() geschlossen.
+	 */
+	private OutputStream ausgabeStrom = null;
+
 	/**
 	 * Dieser Konstruktor erstellt einen neuen Writer für PNML Dateien, dem die
 	 * PNML Datei als Java {@link File} übergeben wird.
@@ -80,9 +90,9 @@ public final class PNMLWopedWriter {
 	 */
 	public void startXMLDocument() {
 		try {
-			FileOutputStream fos = new FileOutputStream(pnmlDatei);
+			ausgabeStrom = new BufferedOutputStream(new FileOutputStream(pnmlDatei), 65536);
 			XMLOutputFactory factory = XMLOutputFactory.newInstance();
-			writer = factory.createXMLStreamWriter(fos, "UTF-8");
+			writer = factory.createXMLStreamWriter(ausgabeStrom, "UTF-8");
 			// XML Dokument mit Version 1.0 und Kodierung UTF-8 beginnen
 			writer.writeStartDocument("UTF-8", "1.0");
 			writer.writeStartElement("pnml");
@@ -107,9 +117,14 @@ public final class PNMLWopedWriter {
 				writer.writeEndElement();
 				writer.writeEndDocument();
 				writer.close();
+				ausgabeStrom.close();
 			} catch (XMLStreamException e) {
 				System.err.println("XML Fehler: " + e.getMessage());
 				e.printStackTrace();
+			} catch (IOException e) {
+				System.err.println("Die Datei " + pnmlDatei.getAbsolutePath()
+						+ " kann nicht geschrieben werden! " + e.getMessage());
+				e.printStackTrace();
 			}
 		} else {
 			System.err.println("Das Dokument wurde noch nicht gestartet!");
@@ -4,7 +4,6 @@ import java.io.*;
 import javax.swing.*;
 import javax.swing.filechooser.*;
 import java.awt.BorderLayout;
-import java.awt.Font;
 import javax.imageio.*;
 import controller.*;
 import java.awt.event.ActionListener;
@@ -41,6 +40,15 @@ public class MainFrame extends JFrame {
 	/** Menüitem zur Analyse mehrerer Dateien in alphabetischer Reihenfolge ohne Ausgabe im grafischen Bereich des Fensters. Öffnet einen JFileCHooser. */
 	private JMenuItem multiAnalysisMenuItem;
 	
+	/** Menüitem zum Ein- und Ausschalten der Netzreduktion vor der Analyse mehrerer Dateien. */
+	private JCheckBoxMenuItem netReductionMenuItem;
+	
+	/** Menüitem zum Ein- und Ausschalten des Ergebniscaches, in dem die Ergebnisse bereits analysierter Netze abgelegt werden. */
+	private JCheckBoxMenuItem resultCacheMenuItem;
+	
+	/** Menüitem zum Festlegen der Anzahl paralleler Analysen bei der Analyse mehrerer Dateien. Öffnet einen Eingabedialog. */
+	private JMenuItem batchThreadsMenuItem;
+	
 	/** Schließt das Fenster und beendet damit die Anwendung. */
 	private JMenuItem closeWindowMenuItem;
 	
@@ -56,6 +64,30 @@ public class MainFrame extends JFrame {
 	/** Menüitem zum Speichern des aktuell dargestellten Erreichbarkeitsgraphen als JPEG-Datei. */
 	private JMenuItem rgScreenshotMenuItem;
 	
+	/** Menüitem zum Exportieren des Erreichbarkeitsgraphen als DOT-, GraphML- oder Aldebaran-Datei. Öffnet einen JFileChooser. */
+	private JMenuItem rgExportMenuItem;
+	
+	/** Analyse-Menü. Beinhaltet Menüitems zur Prüfung temporallogischer Eigenschaften des geladenen Petrinetzes. */
+	private JMenu analysisMenu;
+	
+	/** Menüitem zur Prüfung einer CTL-Formel auf dem Erreichbarkeitsgraphen. Öffnet einen Eingabedialog. */
+	private JMenuItem ctlMenuItem;
+	
+	/** Menüitem zur Prüfung einer LTL-Formel ohne vorherige Berechnung des Erreichbarkeitsgraphen. Öffnet einen Eingabedialog. */
+	private JMenuItem ltlMenuItem;
+	
+	/** Menüitem zur Prüfung, ob eine Zielmarkierung überdeckt werden kann. Öffnet einen Eingabedialog. */
+	private JMenuItem coverabilityMenuItem;
+	
+	/** Ansicht-Menü. Beinhaltet Menüitems zur Darstellung großer Erreichbarkeitsgraphen. */
+	private JMenu viewMenu;
+	
+	/** Menüitem zum Ein- und Ausschalten der Anzeige großer Erreichbarkeitsgraphen als Ausschnitt um die aktuelle Markierung. */
+	private JCheckBoxMenuItem limitReachabilityGraphMenuItem;
+	
+	/** Menüitem zum Festlegen der Anzahl der Schritte, die der Ausschnitt großer Erreichbarkeitsgraphen umfasst. Öffnet einen Eingabedialog. */
+	private JMenuItem reachabilityHopsMenuItem;
+	
 	/** Hilfe-Menü. Ermöglicht Anzeige der Information über den Entwickler. */
 	private JMenu helpMenu;
 	
@@ -83,6 +115,12 @@ public class MainFrame extends JFrame {
 	/** Button zur Analyse der Beschränktheit des aktuell geladenen Petrinetzes. */
 	private JButton analysisButton;
 	
+	/** Button zum Abbrechen einer laufenden Analyse. Nur während der Analyse aktiv. */
+	private JButton cancelAnalysisButton;
+	
+	/** Anzeige des Fortschritts einer laufenden Analyse (Knoten, Kanten, Pfadlänge, Knoten je Sekunde). */
+	private JLabel analysisProgressLabel;
+	
 	/** Button, um die gleichzeitige Bearbeitung der Marken mehrerer Stellen ein- oder auszuschalten. */
 	private JToggleButton multiplePlacesButton;
 	
@@ -101,8 +139,8 @@ public class MainFrame extends JFrame {
 	/** Panel, in dem der Textbereich zur Ergebnisausgabe dargestellt wird. */
 	private JScrollPane bottomPanel;
 	
-	/** Textbereich zur Ergebnis- und Meldungsausgabe. */
-	private JTextArea terminal;
+	/** Textbereich zur Ergebnis- und Meldungsausgabe. Hält höchstens so viele Zeilen wie in der Systemeigenschaft petrinets.terminal.maxLines angegeben und lagert ältere Zeilen in eine temporäre Datei aus. */
+	private TerminalPanel terminal;
 	
 	/** Viewer für das Petrinetz. */
 	private Viewer petrinetViewer;
@@ -150,10 +188,11 @@ public class MainFrame extends JFrame {
 	
 	/**
 	 * Fügt den übergebenen String in das Textfeld im unteren Bereich der grafischen Oberfläche an. Fügt anschließend einen Zeilenumrbuch an.
+	 * Die Methode kann aus jedem Thread aufgerufen werden, der Text erscheint mit dem nächsten Bild (siehe {@link TerminalPanel#append(String)}).
 	 * @param s String, der dem Textfeld hinzugefügt werden soll. 
 	 */
 	public void addTextToTextArea(String s) {
-		terminal.setText(terminal.getText()+s+"\n");
+		terminal.append(s);
 	}
 	
 	/**
@@ -170,11 +209,10 @@ public class MainFrame extends JFrame {
 		topPanel.setLeftComponent(petrinetPanel);
 		topPanel.setRightComponent(reachabilityPanel);
 		topPanel.setResizeWeight(0.5);
-		terminal = new JTextArea("");
-		terminal.setFont(new Font("monospaced", Font.PLAIN, 12));
-		bottomPanel = new JScrollPane(terminal);
-		bottomPanel.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS);
-		bottomPanel.setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS);
+		terminal = new TerminalPanel();
+		terminal.setMaxLines(Integer.getInteger("petrinets.terminal.maxLines", TerminalPanel.DEFAULT_MAX_LINES));
+		terminal.useTemporarySpillFile();
+		bottomPanel = terminal;
 		mainPanel.setTopComponent(topPanel);
 		mainPanel.setBottomComponent(bottomPanel);
 		mainPanel.setResizeWeight(0.75);
@@ -241,6 +279,47 @@ public class MainFrame extends JFrame {
 		});
 		fileMenu.add(multiAnalysisMenuItem);
 		
+		netReductionMenuItem = new JCheckBoxMenuItem("Netzreduktion bei Analyse mehrerer Dateien");
+		netReductionMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Weist den Controller an, die Netzreduktion vor der Analyse mehrerer Dateien ein- oder auszuschalten.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				controller.toggleUseNetReduction();
+			}
+		});
+		fileMenu.add(netReductionMenuItem);
+		
+		resultCacheMenuItem = new JCheckBoxMenuItem("Ergebniscache verwenden", true);
+		resultCacheMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Weist den Controller an, den Ergebniscache ein- oder auszuschalten.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				controller.toggleUseResultCache();
+			}
+		});
+		fileMenu.add(resultCacheMenuItem);
+		
+		batchThreadsMenuItem = new JMenuItem("Parallele Analysen...");
+		batchThreadsMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Öffnet einen Eingabedialog für die Anzahl der gleichzeitig laufenden Analysen bei der Analyse mehrerer Dateien.
+			 * Weist den Controller an, die eingegebene Anzahl zu übernehmen.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				String threads = JOptionPane.showInputDialog(mainPanel, "Anzahl paralleler Analysen:", controller.getBatchThreads());
+				if(!(threads == null)) {
+					try {
+						controller.setBatchThreads(Integer.parseInt(threads.trim()));
+					} catch (NumberFormatException ex) {
+						addTextToTextArea("Ungültige Anzahl: " + threads);
+					}
+				}
+			}
+		});
+		fileMenu.add(batchThreadsMenuItem);
+		
 		closeWindowMenuItem = new JMenuItem("Beenden");
 		closeWindowMenuItem.addActionListener(new ActionListener() {
 			/**
@@ -299,6 +378,98 @@ public class MainFrame extends JFrame {
 		});
 		exportMenu.add(rgScreenshotMenuItem);
 		
+		rgExportMenuItem = new JMenuItem("Erreichbarkeitsgraph exportieren (DOT, GraphML, AUT)");
+		rgExportMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Weist den Controller an, den Erreichbarkeitsgraphen zur Weiterverarbeitung in externen Werkzeugen zu exportieren.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				controller.rgExport();
+			}
+		});
+		exportMenu.add(rgExportMenuItem);
+		
+		analysisMenu = new JMenu("Analyse");
+		menubar.add(analysisMenu);
+		
+		ctlMenuItem = new JMenuItem("CTL-Formel prüfen...");
+		ctlMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Öffnet einen Eingabedialog für eine CTL-Formel, z.B. AG(p1 + p2 <= 1) oder EF deadlock.
+			 * Weist den Controller an, die eingegebene Formel zu prüfen.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				String formula = JOptionPane.showInputDialog(mainPanel, "CTL-Formel (z.B. AG(p1 + p2 <= 1), EF deadlock, E[p1 > 0 U enabled(t1)]):", "CTL-Formel prüfen", JOptionPane.QUESTION_MESSAGE);
+				if(!(formula == null) && !formula.trim().isEmpty()) {
+					controller.checkCtlFormula(formula);
+				}
+			}
+		});
+		analysisMenu.add(ctlMenuItem);
+		
+		ltlMenuItem = new JMenuItem("LTL-Formel prüfen...");
+		ltlMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Öffnet einen Eingabedialog für eine LTL-Formel, z.B. G F p1 > 0 oder G(p1 > 0 -> F p2 > 0).
+			 * Weist den Controller an, die eingegebene Formel zu prüfen.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				String formula = JOptionPane.showInputDialog(mainPanel, "LTL-Formel (z.B. G F p1 > 0, G(p1 > 0 -> F p2 > 0), p1 = 1 U deadlock):", "LTL-Formel prüfen", JOptionPane.QUESTION_MESSAGE);
+				if(!(formula == null) && !formula.trim().isEmpty()) {
+					controller.checkLtlFormula(formula);
+				}
+			}
+		});
+		analysisMenu.add(ltlMenuItem);
+		
+		coverabilityMenuItem = new JMenuItem("Überdeckbarkeit prüfen...");
+		coverabilityMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Öffnet einen Eingabedialog für eine Zielmarkierung, z.B. p1=2, p3=1.
+			 * Weist den Controller an, die Überdeckbarkeit der eingegebenen Markierung zu prüfen.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				String marking = JOptionPane.showInputDialog(mainPanel, "Zielmarkierung (z.B. p1=2, p3=1; nicht genannte Stellen 0):", "Überdeckbarkeit prüfen", JOptionPane.QUESTION_MESSAGE);
+				if(!(marking == null) && !marking.trim().isEmpty()) {
+					controller.checkCoverability(marking);
+				}
+			}
+		});
+		analysisMenu.add(coverabilityMenuItem);
+		
+		viewMenu = new JMenu("Ansicht");
+		menubar.add(viewMenu);
+		
+		limitReachabilityGraphMenuItem = new JCheckBoxMenuItem("Große Erreichbarkeitsgraphen als Ausschnitt anzeigen", true);
+		limitReachabilityGraphMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Weist den Controller an, die Anzeige großer Erreichbarkeitsgraphen als Ausschnitt ein- oder auszuschalten.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				controller.toggleLimitReachabilityGraph();
+			}
+		});
+		viewMenu.add(limitReachabilityGraphMenuItem);
+		
+		reachabilityHopsMenuItem = new JMenuItem("Umfang des Ausschnitts...");
+		reachabilityHopsMenuItem.addActionListener(new ActionListener() {
+			/**
+			 * Öffnet einen Eingabedialog für die Anzahl der Schritte um die aktuelle Markierung, die der Ausschnitt großer Erreichbarkeitsgraphen umfasst.
+			 * Weist den Controller an, die eingegebene Anzahl zu übernehmen.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				String hops = JOptionPane.showInputDialog(mainPanel, "Anzahl der Schritte um die aktuelle Markierung:", controller.getReachabilityHops());
+				if(!(hops == null)) {
+					try {
+						controller.setReachabilityHops(Integer.parseInt(hops.trim()));
+					} catch (NumberFormatException ex) {
+						addTextToTextArea("Ungültige Anzahl: " + hops);
+					}
+				}
+			}
+		});
+		viewMenu.add(reachabilityHopsMenuItem);
+		
 		helpMenu = new JMenu ("Hilfe");
 		menubar.add(helpMenu);
 		
@@ -371,11 +542,12 @@ public class MainFrame extends JFrame {
 	
 	/**
 	 * Initialisiert den Viewer des Erreichbarkeitsgraphen.
+	 * Die Positionen der Knoten legt der Controller fest, daher läuft kein automatisches Layout.
 	 * Erzeugt einen neuen ReachabilityClickListener, der an diesem Panel angemeldet wird.
 	 */
 	private void initializeReachabilityView() {
 		reachabilityViewer = new Viewer(controller.getReachabilityGraph(), Viewer.ThreadingModel.GRAPH_IN_ANOTHER_THREAD);	
-		reachabilityViewer.enableAutoLayout();
+		reachabilityViewer.disableAutoLayout();
 		reachabilityViewPanel = reachabilityViewer.addDefaultView(false);
 		ViewerPipe viewerPipe = reachabilityViewer.newViewerPipe();
 		ReachabilityClickListener reachabilityClickListener = new ReachabilityClickListener(controller);
@@ -403,7 +575,8 @@ public class MainFrame extends JFrame {
 	/**
 	 * Initialisiert die Toolbar.
 	 * Erzeugt die Buttons zum Leeren des Textfelds, Löschen des Erreichbarkeitsgraphen, Hinzufügen und Entfernen von Marken,
-	 * Zurücksetzen des Petrinetzes auf die aktuelle Anfangsmarkierung, Analyse des Netzes und der Auswahl mehrerer Stellen.
+	 * Zurücksetzen des Petrinetzes auf die aktuelle Anfangsmarkierung, Analyse des Netzes, Abbrechen der Analyse und der Auswahl mehrerer Stellen.
+	 * Erzeugt die Anzeige des Fortschritts einer laufenden Analyse.
 	 * 
 	 */
 	private void initializeToolBar() {
@@ -421,7 +594,7 @@ public class MainFrame extends JFrame {
 			 * Löscht das Textfeld, indem der Text auf einen leeren Text gesetzt wird.
 			 */
 			public void actionPerformed(ActionEvent e) {
-				terminal.setText("");
+				terminal.clear();
 			}
 		});
 		toolbar.add(deleteTextAreaButton);
@@ -500,29 +673,34 @@ public class MainFrame extends JFrame {
 		analysisButton.setToolTipText("<html><b>Analyse</b><br>Löscht den vorhandenen Erreichbarkeitsgraphen.<br>Setzt die Markierung des Petrinetzes auf die Anfangsmarkierung zurück.<br>Führt den Algorithmus zur Beschränktheitsanalyse durch.");
 		analysisButton.addActionListener(new ActionListener() {
 			/**
-			 * Weist den Controller an, die Analyse des geladenen Petrinetzes durchzuführen.
-			 * Gibt in einem Message-Fenster aus, ob das Petrinetz beschränkt oder unbeschränkt ist.
-			 * Zeigt ggf. an, dass noch kein Petrinetz geladen wurde.
+			 * Weist den Controller an, die Analyse des geladenen Petrinetzes im Hintergrund durchzuführen.
+			 * Das Ergebnis wird nach Ende der Analyse mit {@link MainFrame#analysisFinished(Boolean, boolean)} angezeigt.
 			 */
 			public void actionPerformed(ActionEvent e) {
-				Boolean result = controller.analysis();
-				if(result == null) {
-					JOptionPane.showMessageDialog(mainPanel, "Es wurde kein Petrinetz geladen.", "Analysefehler", JOptionPane.ERROR_MESSAGE);
-				} else {
-					String prefix = "";
-					if(result) {
-						prefix = "un";
-					}
-					JOptionPane.showMessageDialog(mainPanel, "Das Petrinetz ist "+prefix+"beschränkt.", "Analyseergebnis", JOptionPane.INFORMATION_MESSAGE);
-				}
+				controller.analysis();
 			}
 		});
 		
+		cancelAnalysisButton = new JButton("Abbrechen");
+		cancelAnalysisButton.setToolTipText("<html><b>Analyse abbrechen</b><br>Bricht die laufende Analyse ab.<br>Der bis dahin berechnete partielle Erreichbarkeitsgraph wird dargestellt.</html>");
+		cancelAnalysisButton.setEnabled(false);
+		cancelAnalysisButton.addActionListener(new ActionListener() {
+			/**
+			 * Weist den Controller an, die laufende Analyse abzubrechen.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				cancelAnalysisButton.setEnabled(false);
+				controller.cancelAnalysis();
+			}
+		});
+		
+		analysisProgressLabel = new JLabel("");
 		
 		toolbar.add(addTokenButton);
 		toolbar.add(removeTokenButton);
 		toolbar.add(resetButton);
 		toolbar.add(analysisButton);
+		toolbar.add(cancelAnalysisButton);
 		
 		try {
 			multiplePlacesButton = new JToggleButton(new ImageIcon(ClassLoader.getSystemResource("images/SelectMultiplePlaces.png")));
@@ -541,6 +719,75 @@ public class MainFrame extends JFrame {
 			}
 		});
 		toolbar.add(multiplePlacesButton);
+		toolbar.addSeparator();
+		toolbar.add(analysisProgressLabel);
+	}
+	
+	/**
+	 * Zeigt an, dass eine Analyse im Hintergrund gestartet wurde.
+	 * Deaktiviert den Analyse-Button und aktiviert den Button zum Abbrechen der Analyse.
+	 */
+	public void analysisStarted() {
+		analysisButton.setEnabled(false);
+		cancelAnalysisButton.setEnabled(true);
+		analysisProgressLabel.setText("Analyse läuft...");
+	}
+	
+	/**
+	 * Zeigt an, dass eine Prüfung (z.B. einer LTL-Formel) im Hintergrund gestartet wurde.
+	 * Deaktiviert wie {@link #analysisStarted()} den Analyse-Button und aktiviert den Button zum Abbrechen.
+	 * @param description Bezeichnung der Prüfung für die Toolbar.
+	 */
+	public void checkStarted(String description) {
+		analysisStarted();
+		analysisProgressLabel.setText(description + " läuft...");
+	}
+	
+	/**
+	 * Zeigt an, dass eine Prüfung im Hintergrund beendet ist, und aktiviert wieder den Analyse-Button.
+	 * Anders als bei {@link #analysisFinished(Boolean, boolean)} wird kein Message-Fenster angezeigt, das Ergebnis steht im Textfeld.
+	 * @param description Bezeichnung der Prüfung für die Toolbar.
+	 * @param inconclusive Information, ob die Prüfung ohne Ergebnis beendet wurde (z.B. abgebrochen).
+	 */
+	public void checkFinished(String description, boolean inconclusive) {
+		analysisButton.setEnabled(true);
+		cancelAnalysisButton.setEnabled(false);
+		analysisProgressLabel.setText(description + " beendet" + (inconclusive ? "  (ohne Ergebnis)" : ""));
+	}
+	
+	/**
+	 * Zeigt den Fortschritt einer laufenden Analyse in der Toolbar an.
+	 * @param markings Anzahl der bisher gefundenen Knoten (Markierungen).
+	 * @param connections Anzahl der bisher gefundenen Kanten.
+	 * @param depth Länge des aktuell untersuchten Pfades.
+	 * @param maximumDepth Länge des bisher längsten untersuchten Pfades.
+	 * @param markingsPerSecond Anzahl der gefundenen Knoten je Sekunde.
+	 */
+	public void updateAnalysisProgress(int markings, int connections, int depth, int maximumDepth, long markingsPerSecond) {
+		analysisProgressLabel.setText("Knoten: " + markings + "  Kanten: " + connections + "  Tiefe: " + depth + " (max. " + maximumDepth + ")  Knoten/s: " + markingsPerSecond);
+	}
+	
+	/**
+	 * Zeigt an, dass die Analyse beendet ist, und aktiviert wieder den Analyse-Button.
+	 * Gibt in einem Message-Fenster aus, ob das Petrinetz beschränkt oder unbeschränkt ist.
+	 * Zeigt ggf. an, dass noch kein Petrinetz geladen wurde. Wurde die Analyse ohne Ergebnis beendet (z.B. abgebrochen), wird kein Message-Fenster angezeigt.
+	 * @param unbounded Information, ob das Petrinetz unbeschränkt (true) oder beschränkt (false) ist, oder null, wenn kein Petrinetz analysiert wurde.
+	 * @param inconclusive Information, ob die Analyse ohne Ergebnis beendet wurde (true) oder nicht (false).
+	 */
+	public void analysisFinished(Boolean unbounded, boolean inconclusive) {
+		analysisButton.setEnabled(true);
+		cancelAnalysisButton.setEnabled(false);
+		if(inconclusive) {
+			analysisProgressLabel.setText(analysisProgressLabel.getText() + "  (ohne Ergebnis)");
+		} else if(unbounded == null) {
+			JOptionPane.showMessageDialog(mainPanel, "Es wurde kein Petrinetz geladen.", "Analysefehler", JOptionPane.ERROR_MESSAGE);
+		} else {
+			String prefix = "";
+			if(unbounded) {
+				prefix = "un";
+			}
+			JOptionPane.showMessageDialog(mainPanel, "Das Petrinetz ist "+prefix+"beschränkt.", "Analyseergebnis", JOptionPane.INFORMATION_MESSAGE);
+		}
 	}
 	
 }
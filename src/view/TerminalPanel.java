@@ -0,0 +1,237 @@
+package view;
+
+import java.awt.Font;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.*;
+import javax.swing.text.*;
+
+/**
+ * Diese Klasse stellt den Textbereich zur Ergebnis- und Meldungsausgabe im unteren Bereich der grafischen Oberfläche dar.
+ * Zeilen können aus beliebigen Threads angefügt werden. Sie werden gesammelt und höchstens einmal je Bild (etwa alle 16 ms)
+ * gemeinsam über das {@link Document} des Textbereichs angefügt, sodass jede Zeile unabhängig von der Länge der bisherigen Ausgabe gleich viel kostet.
+ * Der Textbereich hält höchstens eine festgelegte Anzahl von Zeilen (Ringpuffer). Ältere Zeilen werden blockweise entfernt
+ * und, sofern festgelegt, an eine Auslagerungsdatei angehängt.
+ * @author Hannes Wilms
+ *
+ */
+public class TerminalPanel extends JScrollPane {
+
+	/** Dient zur eindeutigen Identifikation der Version */
+	private static final long serialVersionUID = 1L;
+
+	/** Standardwert für die Anzahl der im Textbereich gehaltenen Zeilen. */
+	public static final int DEFAULT_MAX_LINES = 10000;
+
+	/** Verzögerung in Millisekunden, mit der gesammelte Zeilen angefügt werden (etwa ein Bild bei 60 Hz). */
+	private static final int FLUSH_DELAY = 16;
+
+	/** Textbereich, in dem die Zeilen angezeigt werden. */
+	private JTextArea textArea = new JTextArea("");
+
+	/** Zeilen, die angefügt, aber noch nicht in den Textbereich übernommen wurden. */
+	private ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<String>();
+
+	/** Information, ob die Übernahme der gesammelten Zeilen bereits geplant ist. */
+	private AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+	/** Timer, der die gesammelten Zeilen auf dem Event-Dispatch-Thread übernimmt. */
+	private Timer flushTimer;
+
+	/** Höchstzahl der im Textbereich gehaltenen Zeilen. */
+	private int maxLines = DEFAULT_MAX_LINES;
+
+	/** Datei, in die ältere Zeilen ausgelagert werden, oder null, wenn ältere Zeilen verworfen werden. */
+	private File spillFile;
+
+	/** Ausgabe in die Auslagerungsdatei. Wird beim ersten Auslagern geöffnet. */
+	private Writer spillWriter;
+
+	/**
+	 * Erzeugt einen neuen, leeren Textbereich mit Bildlaufleisten.
+	 */
+	public TerminalPanel() {
+		super();
+		textArea.setFont(new Font("monospaced", Font.PLAIN, 12));
+		setViewportView(textArea);
+		setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS);
+		setVerticalScrollBarPolicy(ScrollPaneConstants.VERTICAL_SCROLLBAR_ALWAYS);
+		flushTimer = new Timer(FLUSH_DELAY, new ActionListener() {
+			/**
+			 * Übernimmt alle gesammelten Zeilen in den Textbereich.
+			 */
+			public void actionPerformed(ActionEvent e) {
+				flush();
+			}
+		});
+		flushTimer.setRepeats(false);
+	}
+
+	/**
+	 * Fügt eine Zeile an. Die Methode kann aus jedem Thread aufgerufen werden und kehrt sofort zurück.
+	 * Die Zeile erscheint mit dem nächsten Bild im Textbereich.
+	 * @param line Zeile, die angefügt werden soll (ohne Zeilenumbruch).
+	 */
+	public void append(String line) {
+		pending.add(line);
+		if(flushScheduled.compareAndSet(false, true)) {
+			SwingUtilities.invokeLater(new Runnable() {
+				/**
+				 * Startet den Timer auf dem Event-Dispatch-Thread, da der Timer nur dort bedient wird.
+				 */
+				public void run() {
+					flushTimer.restart();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Leert den Textbereich einschließlich der noch nicht übernommenen Zeilen.
+	 * Bereits ausgelagerte Zeilen bleiben in der Auslagerungsdatei erhalten.
+	 * Muss auf dem Event-Dispatch-Thread aufgerufen werden.
+	 */
+	public void clear() {
+		pending.clear();
+		textArea.setText("");
+	}
+
+	/**
+	 * Legt die Höchstzahl der im Textbereich gehaltenen Zeilen fest.
+	 * @param maxLines Höchstzahl der Zeilen (mindestens 1).
+	 */
+	public void setMaxLines(int maxLines) {
+		this.maxLines = Math.max(1, maxLines);
+	}
+
+	/**
+	 * Gibt die Höchstzahl der im Textbereich gehaltenen Zeilen zurück.
+	 * @return Höchstzahl der Zeilen.
+	 */
+	public int getMaxLines() {
+		return maxLines;
+	}
+
+	/**
+	 * Legt die Datei fest, an die ältere Zeilen angehängt werden. Eine bereits geöffnete Auslagerungsdatei wird geschlossen.
+	 * Eine vorhandene Datei wird beim ersten Auslagern geleert, sodass sie nur die Ausgaben dieses Textbereichs enthält.
+	 * Muss auf dem Event-Dispatch-Thread aufgerufen werden.
+	 * @param spillFile Auslagerungsdatei oder null, wenn ältere Zeilen verworfen werden sollen.
+	 */
+	public void setSpillFile(File spillFile) {
+		closeSpillWriter();
+		this.spillFile = spillFile;
+	}
+
+	/**
+	 * Legt eine eigene temporäre Auslagerungsdatei für diese Sitzung an, die beim Beenden der Anwendung gelöscht wird.
+	 * So teilen sich mehrere gleichzeitig laufende Instanzen keine Datei, und die Datei wächst nicht über Sitzungen hinweg.
+	 * Kann keine Datei angelegt werden, werden ältere Zeilen verworfen. Muss auf dem Event-Dispatch-Thread aufgerufen werden.
+	 */
+	public void useTemporarySpillFile() {
+		File file = null;
+		try {
+			file = File.createTempFile("Petrinets-Terminal-", ".log");
+			file.deleteOnExit();
+		} catch (IOException e) {
+			append("Ältere Ausgaben können nicht gespeichert werden: " + e.getMessage());
+		}
+		setSpillFile(file);
+	}
+
+	/**
+	 * Gibt die Auslagerungsdatei zurück.
+	 * @return Auslagerungsdatei oder null.
+	 */
+	public File getSpillFile() {
+		return spillFile;
+	}
+
+	/**
+	 * Gibt den gesamten im Textbereich gehaltenen Text zurück.
+	 * @return Text des Textbereichs.
+	 */
+	public String getText() {
+		return textArea.getText();
+	}
+
+	/**
+	 * Übernimmt alle gesammelten Zeilen mit einem einzigen Einfügen in das Dokument und kürzt anschließend den Textbereich.
+	 * Wird auf dem Event-Dispatch-Thread ausgeführt.
+	 */
+	private void flush() {
+		flushScheduled.set(false);
+		StringBuilder builder = new StringBuilder();
+		String line;
+		while(!((line = pending.poll()) == null)) {
+			builder.append(line).append('\n');
+		}
+		if(builder.length() > 0) {
+			Document document = textArea.getDocument();
+			try {
+				document.insertString(document.getLength(), builder.toString(), null);
+			} catch (BadLocationException e) {
+				// Einfügen am Ende des Dokuments ist immer möglich.
+			}
+			trim();
+			textArea.setCaretPosition(document.getLength());
+		}
+	}
+
+	/**
+	 * Entfernt die ältesten Zeilen, sobald der Textbereich die Höchstzahl um mehr als ein Zehntel überschreitet.
+	 * Es wird bis auf die Höchstzahl gekürzt, damit das Entfernen am Anfang des Dokuments nur selten und damit mit konstanten Kosten je Zeile geschieht.
+	 */
+	private void trim() {
+		int lines = textArea.getLineCount() - 1;
+		if(lines > maxLines + Math.max(1, maxLines / 10)) {
+			try {
+				int end = textArea.getLineStartOffset(lines - maxLines);
+				Document document = textArea.getDocument();
+				spill(document.getText(0, end));
+				document.remove(0, end);
+			} catch (BadLocationException e) {
+				// Die Zeilenanfänge stammen aus dem Dokument selbst.
+			}
+		}
+	}
+
+	/**
+	 * Hängt entfernte Zeilen an die Auslagerungsdatei an. Beim ersten Auslagern wird der Pfad der Datei im Textbereich genannt.
+	 * Kann die Datei nicht geschrieben werden, wird nicht weiter ausgelagert.
+	 * @param text Entfernte Zeilen.
+	 */
+	private void spill(String text) {
+		if(!(spillFile == null)) {
+			try {
+				if(spillWriter == null) {
+					spillWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(spillFile, false), "UTF-8"));
+					append("Ältere Ausgaben werden in " + spillFile.getAbsolutePath() + " gespeichert.");
+				}
+				spillWriter.write(text);
+				spillWriter.flush();
+			} catch (IOException e) {
+				append("Ältere Ausgaben können nicht gespeichert werden: " + e.getMessage());
+				closeSpillWriter();
+				spillFile = null;
+			}
+		}
+	}
+
+	/**
+	 * Schließt die Ausgabe in die Auslagerungsdatei.
+	 */
+	private void closeSpillWriter() {
+		if(!(spillWriter == null)) {
+			try {
+				spillWriter.close();
+			} catch (IOException e) {
+				// Beim Schließen ist nichts mehr zu retten.
+			}
+			spillWriter = null;
+		}
+	}
+}
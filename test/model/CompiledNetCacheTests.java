@@ -0,0 +1,172 @@
+package model;
+
+import unittest.TestCase;
+import unittest.TestSuite;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Diese Klasse erzeugt die Tests des {@link CompiledNetCache}.
+ * Die Netze des Korpus werden in einen temporären Ordner kopiert, damit im Korpus keine Cache-Dateien entstehen.
+ * Geprüft werden die Übereinstimmung des aus der Cache-Datei gelesenen Netzes mit dem eingelesenen Netz sowie das Verwerfen
+ * von Cache-Dateien mit anderer Formatversion, beschädigtem Inhalt oder geändertem Inhalt der PNML-Datei bei gleicher Größe und gleichem Änderungszeitpunkt.
+ * @author Hannes Wilms
+ *
+ */
+public class CompiledNetCacheTests {
+
+	/** Änderungszeitpunkt, auf den Dateien gesetzt werden, um ein Neuschreiben zu erkennen. */
+	private static final long OLD_TIME = 946684800000L;
+
+	/**
+	 * Erzeugt die Tests.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Tests.
+	 */
+	public static LinkedList<TestCase> create(File corpus) {
+		LinkedList<TestCase> tests = new LinkedList<TestCase>();
+		for(final File file : TestSuite.corpusFiles(corpus)) {
+			tests.add(new TestCase("pnc/" + TestSuite.name(file)) {
+				/**
+				 * Schreibt die Cache-Datei, lädt das Netz daraus und vergleicht es mit dem eingelesenen Netz.
+				 */
+				public void run() throws IOException {
+					File directory = Files.createTempDirectory("pnc").toFile();
+					try {
+						File pnml = copy(file, directory);
+						File cache = CompiledNetCache.getCacheFile(pnml);
+						String expected = describe(new PNMLCursorParser(pnml).getPetrinet());
+						assertEquals("erstes Laden", expected, describe(CompiledNetCache.load(pnml)));
+						assertTrue("Cache-Datei geschrieben", cache.isFile());
+						cache.setLastModified(OLD_TIME);
+						assertEquals("Laden aus der Cache-Datei", expected, describe(CompiledNetCache.load(pnml)));
+						assertEquals("Cache-Datei neu geschrieben", OLD_TIME, cache.lastModified());
+					} finally {
+						delete(directory);
+					}
+				}
+			});
+		}
+		final File mutualExclusion = new File(corpus, CtlModelCheckerTests.MUTUAL_EXCLUSION);
+		if(mutualExclusion.isFile()) {
+			tests.add(new TestCase("pnc/version") {
+				/**
+				 * Prüft, dass eine Cache-Datei mit anderer Formatversion verworfen und neu geschrieben wird.
+				 */
+				public void run() throws IOException {
+					File directory = Files.createTempDirectory("pnc").toFile();
+					try {
+						File pnml = copy(mutualExclusion, directory);
+						File cache = CompiledNetCache.getCacheFile(pnml);
+						String expected = describe(CompiledNetCache.load(pnml));
+						byte[] content = Files.readAllBytes(cache.toPath());
+						content[7]++;
+						Files.write(cache.toPath(), content);
+						cache.setLastModified(OLD_TIME);
+						assertEquals("Laden", expected, describe(CompiledNetCache.load(pnml)));
+						assertFalse("Cache-Datei nicht neu geschrieben", cache.lastModified() == OLD_TIME);
+						assertEquals("Version", content[7] - 1, (int) Files.readAllBytes(cache.toPath())[7]);
+					} finally {
+						delete(directory);
+					}
+				}
+			});
+			tests.add(new TestCase("pnc/beschaedigt") {
+				/**
+				 * Prüft, dass eine abgeschnittene Cache-Datei verworfen und neu geschrieben wird.
+				 */
+				public void run() throws IOException {
+					File directory = Files.createTempDirectory("pnc").toFile();
+					try {
+						File pnml = copy(mutualExclusion, directory);
+						File cache = CompiledNetCache.getCacheFile(pnml);
+						String expected = describe(CompiledNetCache.load(pnml));
+						byte[] content = Files.readAllBytes(cache.toPath());
+						Files.write(cache.toPath(), Arrays.copyOf(content, content.length - 5));
+						assertEquals("Laden", expected, describe(CompiledNetCache.load(pnml)));
+						assertEquals("Länge der Cache-Datei", content.length, (int) cache.length());
+					} finally {
+						delete(directory);
+					}
+				}
+			});
+			tests.add(new TestCase("pnc/pruefsumme") {
+				/**
+				 * Ändert die Anfangsmarkierung in der PNML-Datei bei gleicher Größe und gleichem Änderungszeitpunkt.
+				 * Die Änderung darf nur über die Prüfsumme erkannt werden.
+				 */
+				public void run() throws IOException {
+					File directory = Files.createTempDirectory("pnc").toFile();
+					try {
+						File pnml = copy(mutualExclusion, directory);
+						pnml.setLastModified(OLD_TIME);
+						Petrinet before = CompiledNetCache.load(pnml);
+						assertEquals("Marken in p1", 1, before.getPlace("p1").getTokens());
+						String text = new String(Files.readAllBytes(pnml.toPath()), "UTF-8");
+						int place = text.indexOf("id=\"p1\"");
+						int tokens = text.indexOf("<text>1</text>", text.indexOf("<initialMarking>", place));
+						text = text.substring(0, tokens) + "<text>3</text>" + text.substring(tokens + "<text>1</text>".length());
+						Files.write(pnml.toPath(), text.getBytes("UTF-8"));
+						pnml.setLastModified(OLD_TIME);
+						Petrinet after = CompiledNetCache.load(pnml);
+						assertEquals("Marken in p1 nach Änderung", 3, after.getPlace("p1").getTokens());
+						assertEquals("Netz", describe(new PNMLCursorParser(pnml).getPetrinet()), describe(after));
+					} finally {
+						delete(directory);
+					}
+				}
+			});
+		}
+		return tests;
+	}
+
+	/**
+	 * Beschreibt Stellen, Transitionen und Kanten des Petrinetzes in einer Zeichenkette, sodass zwei Netze verglichen werden können.
+	 * @param petrinet Petrinetz.
+	 * @return Beschreibung des Petrinetzes.
+	 */
+	static String describe(Petrinet petrinet) {
+		StringBuilder builder = new StringBuilder(petrinet.getName()).append('\n');
+		for(Place place : petrinet.getPlaces()) {
+			builder.append("S ").append(place.getId()).append(' ').append(place.getName()).append(' ').append(place.getX()).append(' ').append(place.getY())
+					.append(' ').append(place.getTokens()).append('\n');
+		}
+		for(Transition transition : petrinet.getTransitions()) {
+			builder.append("T ").append(transition.getId()).append(' ').append(transition.getName()).append(' ').append(transition.getX()).append(' ')
+					.append(transition.getY()).append('\n');
+		}
+		for(Arc arc : petrinet.getArcs()) {
+			builder.append("K ").append(arc.getId()).append(' ').append(arc.getSourceId()).append(' ').append(arc.getTargetId()).append('\n');
+		}
+		builder.append("M ").append(petrinet.getInitialMarking().getId());
+		return builder.toString();
+	}
+
+	/**
+	 * Kopiert die Datei samt Änderungszeitpunkt in den Ordner.
+	 * @param file Zu kopierende Datei.
+	 * @param directory Zielordner.
+	 * @return Kopie.
+	 * @throws IOException wenn nicht kopiert werden kann.
+	 */
+	static File copy(File file, File directory) throws IOException {
+		File copy = new File(directory, file.getName());
+		Files.copy(file.toPath(), copy.toPath(), StandardCopyOption.COPY_ATTRIBUTES);
+		return copy;
+	}
+
+	/**
+	 * Löscht den Ordner samt Inhalt.
+	 * @param directory Zu löschender Ordner.
+	 */
+	static void delete(File directory) {
+		File[] files = directory.listFiles();
+		if(!(files == null)) {
+			for(File file : files) {
+				file.delete();
+			}
+		}
+		directory.delete();
+	}
+}
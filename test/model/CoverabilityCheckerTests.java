@@ -0,0 +1,103 @@
+package model;
+
+import unittest.TestCase;
+import unittest.TestSuite;
+import java.io.File;
+import java.util.*;
+
+/**
+ * Diese Klasse erzeugt die Tests des {@link CoverabilityChecker}.
+ * Auf allen beschränkten Netzen des Korpus muss je Stelle die höchste Markenzahl des Erreichbarkeitsgraphen überdeckbar sein und eine Marke mehr nicht.
+ * Auf dem unbeschränkten Netz Mailbox werden überdeckbare und nicht überdeckbare Zielmarkierungen sowie das Ende ohne Ergebnis geprüft.
+ * Schaltfolgen werden jeweils im Netz nachgespielt.
+ * @author Hannes Wilms
+ *
+ */
+public class CoverabilityCheckerTests {
+
+	/**
+	 * Erzeugt die Tests.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Tests.
+	 */
+	public static LinkedList<TestCase> create(File corpus) {
+		LinkedList<TestCase> tests = new LinkedList<TestCase>();
+		for(final File file : TestSuite.corpusFiles(corpus)) {
+			tests.add(new TestCase("ueberdeckbarkeit/" + TestSuite.name(file)) {
+				/**
+				 * Vergleicht je Stelle die Überdeckbarkeit mit der höchsten Markenzahl des vollständigen Erreichbarkeitsgraphen.
+				 */
+				public void run() {
+					Petrinet petrinet = CtlModelCheckerTests.analysedNet(file);
+					if(petrinet.isReachabilityNetComplete()) {
+						for(Map.Entry<String, Integer> entry : petrinet.getBoundednessTestResult().getMaximumTokens().entrySet()) {
+							CoverabilityChecker checker = new CoverabilityChecker(petrinet);
+							Map<String, Integer> target = Collections.singletonMap(entry.getKey(), entry.getValue());
+							assertTrue(target + " überdeckbar", checker.isCoverable(target));
+							assertWitness(petrinet, checker, target);
+							target = Collections.singletonMap(entry.getKey(), entry.getValue() + 1);
+							assertFalse(target + " überdeckbar", checker.isCoverable(target));
+							assertFalse(target + " ohne Ergebnis", checker.getInconclusive());
+						}
+					}
+				}
+			});
+		}
+		final File mailbox = new File(corpus, LtlModelCheckerTests.MAILBOX_UNBOUNDED);
+		if(mailbox.isFile()) {
+			tests.add(new TestCase("ueberdeckbarkeit/" + TestSuite.name(mailbox) + "/ziele") {
+				/**
+				 * Prüft, dass das Postfach (p3) beliebig gefüllt werden kann, der Schreiber (p0, p1) aber nur eine Marke hat.
+				 */
+				public void run() {
+					Petrinet petrinet = new PNMLCursorParser(mailbox).getPetrinet();
+					FormulaParser parser = new FormulaParser(petrinet);
+					CoverabilityChecker checker = new CoverabilityChecker(petrinet);
+					Map<String, Integer> target = parser.parseMarking("p3=50");
+					assertTrue("p3=50 überdeckbar", checker.isCoverable(target));
+					assertWitness(petrinet, checker, target);
+					target = parser.parseMarking("p3=3, p4=1");
+					assertTrue("p3=3, p4=1 überdeckbar", checker.isCoverable(target));
+					assertWitness(petrinet, checker, target);
+					assertFalse("p0=2 überdeckbar", checker.isCoverable(parser.parseMarking("p0=2")));
+					assertFalse("p0=2 ohne Ergebnis", checker.getInconclusive());
+					assertFalse("p0=1, p1=1 überdeckbar", checker.isCoverable(parser.parseMarking("p0=1, p1=1")));
+					assertFalse("p0=1, p1=1 ohne Ergebnis", checker.getInconclusive());
+				}
+			});
+			tests.add(new TestCase("ueberdeckbarkeit/" + TestSuite.name(mailbox) + "/grenzen") {
+				/**
+				 * Prüft das Ende ohne Ergebnis bei erreichter Höchstzahl der Basiselemente und nach einem Abbruch.
+				 */
+				public void run() {
+					Petrinet petrinet = new PNMLCursorParser(mailbox).getPetrinet();
+					Map<String, Integer> target = new FormulaParser(petrinet).parseMarking("p3=50");
+					CoverabilityChecker checker = new CoverabilityChecker(petrinet, 10);
+					assertFalse("überdeckbar", checker.isCoverable(target));
+					assertTrue("ohne Ergebnis", checker.getInconclusive());
+					assertTrue("Grund", checker.getInconclusiveReason().contains("10"));
+					checker = new CoverabilityChecker(petrinet);
+					checker.cancel();
+					assertFalse("überdeckbar", checker.isCoverable(target, AnalysisBudget.UNLIMITED));
+					assertEquals("Grund", "abgebrochen", checker.getInconclusiveReason());
+				}
+			});
+		}
+		return tests;
+	}
+
+	/**
+	 * Spielt die Schaltfolge der letzten Prüfung ab der Anfangsmarkierung nach und prüft, dass die erreichte Markierung die Zielmarkierung überdeckt.
+	 * @param petrinet Geprüftes Petrinetz.
+	 * @param checker CoverabilityChecker nach einer erfolgreichen Prüfung.
+	 * @param target Zielmarkierung.
+	 */
+	static void assertWitness(Petrinet petrinet, CoverabilityChecker checker, Map<String, Integer> target) {
+		IndexedNet net = new IndexedNet(petrinet);
+		int[] marking = LtlModelCheckerTests.replay(net, net.getInitialMarking(), checker.getWitness());
+		TestCase.assertEquals("überdeckende Markierung", checker.getCoveringMarking(), net.getMarkingId(marking));
+		for(Map.Entry<String, Integer> entry : target.entrySet()) {
+			TestCase.assertTrue(entry.getKey() + " nicht überdeckt", marking[net.getPlaceIndex(entry.getKey())] >= entry.getValue());
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package model;
+
+import unittest.TestCase;
+import unittest.TestSuite;
+import java.io.File;
+import java.util.*;
+
+/**
+ * Diese Klasse erzeugt die Tests des {@link CtlModelChecker}.
+ * Auf allen beschränkten Netzen des Korpus werden Verklemmungen mit dem Erreichbarkeitsgraphen verglichen und die Dualitäten der CTL-Operatoren geprüft.
+ * Für das Netz MutualExclusion werden die erwarteten Ergebnisse einzelner Formeln geprüft.
+ * @author Hannes Wilms
+ *
+ */
+public class CtlModelCheckerTests {
+
+	/** Netz mit zwei Prozessen, die über eine Semaphore (p3) abwechselnd ihren kritischen Bereich (p2 bzw. p5) betreten. */
+	static final String MUTUAL_EXCLUSION = "170-B1-N03-A04-MutualExclusion.pnml";
+
+	/**
+	 * Erzeugt die Tests.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Tests.
+	 */
+	public static LinkedList<TestCase> create(File corpus) {
+		LinkedList<TestCase> tests = new LinkedList<TestCase>();
+		for(final File file : TestSuite.corpusFiles(corpus)) {
+			tests.add(new TestCase("ctl/" + TestSuite.name(file)) {
+				/**
+				 * Vergleicht EF deadlock mit dem Erreichbarkeitsgraphen und prüft die Dualitäten auf einem beschränkten Netz.
+				 */
+				public void run() {
+					Petrinet petrinet = analysedNet(file);
+					if(petrinet.isReachabilityNetComplete()) {
+						CtlModelChecker checker = new CtlModelChecker(petrinet);
+						FormulaParser parser = new FormulaParser(petrinet);
+						assertEquals("true in allen Markierungen", petrinet.getReachabilityMarkings().size(), checker.check(parser.parse("true")).cardinality());
+						Set<String> withSuccessor = new HashSet<String>();
+						for(MarkingConnector mc : petrinet.getReachabilityMarkingConnectors()) {
+							withSuccessor.add(mc.getMarkingBefore());
+						}
+						int deadlocks = petrinet.getReachabilityMarkings().size() - withSuccessor.size();
+						assertEquals("Verklemmungen", deadlocks, checker.check(parser.parse("deadlock")).cardinality());
+						assertEquals("EF deadlock", deadlocks > 0, checker.holdsInInitialMarking(parser.parse("EF deadlock")));
+						assertEquals("EX true", withSuccessor.contains(petrinet.getInitialMarking().getId()), checker.holdsInInitialMarking(parser.parse("EX true")));
+						assertEquals("AG = !EF !", checker.check(parser.parse("!EF !deadlock")), checker.check(parser.parse("AG deadlock")));
+						assertEquals("AF = !EG !", checker.check(parser.parse("!EG !deadlock")), checker.check(parser.parse("AF deadlock")));
+						assertEquals("AX = !EX !", checker.check(parser.parse("!EX !deadlock")), checker.check(parser.parse("AX deadlock")));
+						assertEquals("EF = E[true U]", checker.check(parser.parse("EF deadlock")), checker.check(parser.parse("E[true U deadlock]")));
+						assertEquals("AF = A[true U]", checker.check(parser.parse("AF deadlock")), checker.check(parser.parse("A[true U deadlock]")));
+					}
+				}
+			});
+		}
+		final File mutualExclusion = new File(corpus, MUTUAL_EXCLUSION);
+		if(mutualExclusion.isFile()) {
+			tests.add(new TestCase("ctl/" + TestSuite.name(mutualExclusion) + "/formeln") {
+				/**
+				 * Prüft wechselseitigen Ausschluss, Invariante und Fairness auf dem Netz MutualExclusion.
+				 */
+				public void run() {
+					Petrinet petrinet = analysedNet(mutualExclusion);
+					CtlModelChecker checker = new CtlModelChecker(petrinet);
+					FormulaParser parser = new FormulaParser(petrinet);
+					assertTrue("wechselseitiger Ausschluss", checker.holdsInInitialMarking(parser.parse("AG !(p2 >= 1 & p5 >= 1)")));
+					assertTrue("Semaphor-Invariante", checker.holdsInInitialMarking(parser.parse("AG p2 + p3 + p5 = 1")));
+					assertTrue("kritischer Bereich A erreichbar", checker.holdsInInitialMarking(parser.parse("AG EF p2 >= 1")));
+					assertFalse("Verklemmung", checker.holdsInInitialMarking(parser.parse("EF deadlock")));
+					assertFalse("A betritt immer wieder den kritischen Bereich", checker.holdsInInitialMarking(parser.parse("AG AF p2 >= 1")));
+					assertTrue("B zuerst", checker.holdsInInitialMarking(parser.parse("E[p2 = 0 U p5 = 1]")));
+					assertEquals("Markierungen mit A im kritischen Bereich", 1, checker.check(parser.parse("p2 = 1")).cardinality());
+				}
+			});
+		}
+		return tests;
+	}
+
+	/**
+	 * Liest das Netz ohne Cache ein und analysiert es.
+	 * @param file PNML-Datei.
+	 * @return Analysiertes Petrinetz.
+	 */
+	static Petrinet analysedNet(File file) {
+		Petrinet petrinet = new PNMLCursorParser(file).getPetrinet();
+		petrinet.analysis();
+		return petrinet;
+	}
+}
@@ -0,0 +1,146 @@
+package model;
+
+import unittest.TestCase;
+import unittest.TestSuite;
+import java.io.File;
+import java.util.*;
+
+/**
+ * Diese Klasse erzeugt die Tests des {@link LtlModelChecker}.
+ * Auf allen beschränkten Netzen des Korpus werden Formeln, deren Bedeutung in LTL und CTL übereinstimmt, mit dem {@link CtlModelChecker} verglichen
+ * und Gegenbeispiele im Netz nachgespielt. Für das Netz MutualExclusion werden einzelne Formeln geprüft, für das unbeschränkte Netz Mailbox
+ * das Ende ohne Ergebnis bei erreichter Höchstzahl der Produktzustände und nach einem Abbruch.
+ * @author Hannes Wilms
+ *
+ */
+public class LtlModelCheckerTests {
+
+	/** Unbeschränktes Netz, dessen Produkt mit jedem Büchi-Automaten unendlich viele Zustände hat. */
+	static final String MAILBOX_UNBOUNDED = "275-B0-P02-Qxx-Mailbox-unbounded.pnml";
+
+	/** Formeln, die in LTL und CTL (mit vorangestelltem A) dieselbe Bedeutung haben: LTL-Formel und CTL-Formel. */
+	private static final String[][] EQUIVALENT_FORMULAS = {
+		{"G !deadlock", "AG !deadlock"},
+		{"F deadlock", "AF deadlock"},
+		{"X true", "AX true"},
+		{"G true", "AG true"}
+	};
+
+	/**
+	 * Erzeugt die Tests.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Tests.
+	 */
+	public static LinkedList<TestCase> create(File corpus) {
+		LinkedList<TestCase> tests = new LinkedList<TestCase>();
+		for(final File file : TestSuite.corpusFiles(corpus)) {
+			tests.add(new TestCase("ltl/" + TestSuite.name(file)) {
+				/**
+				 * Vergleicht die Ergebnisse mit dem CTL-Model-Checker und spielt Gegenbeispiele nach.
+				 */
+				public void run() {
+					Petrinet petrinet = CtlModelCheckerTests.analysedNet(file);
+					if(petrinet.isReachabilityNetComplete()) {
+						CtlModelChecker ctl = new CtlModelChecker(petrinet);
+						FormulaParser parser = new FormulaParser(petrinet);
+						for(String[] formulas : EQUIVALENT_FORMULAS) {
+							LtlModelChecker ltl = new LtlModelChecker(petrinet);
+							boolean holds = ltl.check(parser.parseLtl(formulas[0]));
+							assertFalse(formulas[0] + " ohne Ergebnis", ltl.getInconclusive());
+							assertEquals(formulas[0], ctl.holdsInInitialMarking(parser.parse(formulas[1])), holds);
+							if(!holds) {
+								assertLasso(petrinet, ltl);
+							}
+						}
+					}
+				}
+			});
+		}
+		final File mutualExclusion = new File(corpus, CtlModelCheckerTests.MUTUAL_EXCLUSION);
+		if(mutualExclusion.isFile()) {
+			tests.add(new TestCase("ltl/" + TestSuite.name(mutualExclusion) + "/formeln") {
+				/**
+				 * Prüft wechselseitigen Ausschluss und Fairness auf dem Netz MutualExclusion.
+				 */
+				public void run() {
+					Petrinet petrinet = new PNMLCursorParser(mutualExclusion).getPetrinet();
+					FormulaParser parser = new FormulaParser(petrinet);
+					LtlModelChecker checker = new LtlModelChecker(petrinet);
+					assertTrue("wechselseitiger Ausschluss", checker.check(parser.parseLtl("G !(p2 >= 1 & p5 >= 1)")));
+					assertTrue("Semaphor-Invariante", checker.check(parser.parseLtl("G p2 + p3 + p5 = 1")));
+					assertFalse("A betritt immer wieder den kritischen Bereich", checker.check(parser.parseLtl("G F p2 >= 1")));
+					assertFalse("ohne Ergebnis", checker.getInconclusive());
+					assertFalse("Zyklus leer", checker.getLassoCycle().isEmpty());
+					assertLasso(petrinet, checker);
+					assertFalse("B betritt den kritischen Bereich", checker.check(parser.parseLtl("F p5 >= 1")));
+					assertLasso(petrinet, checker);
+					assertTrue("Semaphor wird bis zum Betreten frei gehalten", checker.check(parser.parseLtl("p3 = 1 U (p2 = 1 | p5 = 1)")));
+				}
+			});
+		}
+		final File mailbox = new File(corpus, MAILBOX_UNBOUNDED);
+		if(mailbox.isFile()) {
+			tests.add(new TestCase("ltl/" + TestSuite.name(mailbox) + "/hoechstzahl") {
+				/**
+				 * Prüft, dass die Suche auf dem unbeschränkten Netz an der Höchstzahl der Produktzustände ohne Ergebnis endet.
+				 */
+				public void run() {
+					Petrinet petrinet = new PNMLCursorParser(mailbox).getPetrinet();
+					LtlModelChecker checker = new LtlModelChecker(petrinet, 1000);
+					assertFalse("Ergebnis", checker.check(new FormulaParser(petrinet).parseLtl("G true")));
+					assertTrue("ohne Ergebnis", checker.getInconclusive());
+					assertTrue("Grund", checker.getInconclusiveReason().contains("1000"));
+					assertTrue("untersuchte Produktzustände", checker.getExploredStates() > 1000);
+				}
+			});
+			tests.add(new TestCase("ltl/" + TestSuite.name(mailbox) + "/abbruch") {
+				/**
+				 * Prüft, dass eine abgebrochene Suche ohne Ergebnis endet.
+				 */
+				public void run() {
+					Petrinet petrinet = new PNMLCursorParser(mailbox).getPetrinet();
+					LtlModelChecker checker = new LtlModelChecker(petrinet);
+					checker.cancel();
+					assertFalse("Ergebnis", checker.check(new FormulaParser(petrinet).parseLtl("G true")));
+					assertTrue("ohne Ergebnis", checker.getInconclusive());
+					assertEquals("Grund", "abgebrochen", checker.getInconclusiveReason());
+				}
+			});
+		}
+		return tests;
+	}
+
+	/**
+	 * Spielt das Gegenbeispiel der letzten Prüfung ab der Anfangsmarkierung nach und prüft, dass der Zyklus zu seiner Anfangsmarkierung zurückführt.
+	 * Stotterschritte ("-") sind nur in Verklemmungen erlaubt.
+	 * @param petrinet Geprüftes Petrinetz.
+	 * @param checker LTL-Model-Checker nach einer nicht erfüllten Prüfung.
+	 */
+	static void assertLasso(Petrinet petrinet, LtlModelChecker checker) {
+		IndexedNet net = new IndexedNet(petrinet);
+		int[] marking = replay(net, net.getInitialMarking(), checker.getLassoPrefix());
+		TestCase.assertEquals("Beginn des Zyklus", checker.getLassoMarking(), net.getMarkingId(marking));
+		marking = replay(net, marking, checker.getLassoCycle());
+		TestCase.assertEquals("Ende des Zyklus", checker.getLassoMarking(), net.getMarkingId(marking));
+	}
+
+	/**
+	 * Schaltet die Transitionen der Schaltfolge nacheinander und prüft dabei, dass jede aktiviert ist.
+	 * @param net Indexbasierte Darstellung des Petrinetzes.
+	 * @param marking Ausgangsmarkierung.
+	 * @param sequence ids der Transitionen, "-" für einen Stotterschritt in einer Verklemmung.
+	 * @return Markierung nach der Schaltfolge.
+	 */
+	static int[] replay(IndexedNet net, int[] marking, List<String> sequence) {
+		for(String transitionId : sequence) {
+			if(transitionId.equals("-")) {
+				TestCase.assertTrue("Stotterschritt außerhalb einer Verklemmung", net.isDeadlock(marking));
+			} else {
+				int transition = net.getTransitionIndex(transitionId);
+				TestCase.assertTrue(transitionId + " nicht aktiviert in " + net.getMarkingId(marking), net.isEnabled(marking, transition));
+				marking = net.fire(marking, transition);
+			}
+		}
+		return marking;
+	}
+}
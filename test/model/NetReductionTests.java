@@ -0,0 +1,97 @@
+package model;
+
+import unittest.TestCase;
+import unittest.TestSuite;
+import java.io.File;
+import java.util.*;
+
+/**
+ * Diese Klasse erzeugt die Tests der {@link NetReduction}.
+ * Für jedes Netz des Korpus muss die Beschränktheitsanalyse des reduzierten Netzes nach {@link NetReduction#mapBack(BoundednessTestResult)}
+ * dasselbe Ergebnis liefern wie die Analyse des ursprünglichen Netzes. Der zurückgeführte Pfad der Unbeschränktheit wird im ursprünglichen Netz nachgespielt.
+ * @author Hannes Wilms
+ *
+ */
+public class NetReductionTests {
+
+	/**
+	 * Erzeugt die Tests.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Tests.
+	 */
+	public static LinkedList<TestCase> create(File corpus) {
+		LinkedList<TestCase> tests = new LinkedList<TestCase>();
+		final LinkedList<File> files = TestSuite.corpusFiles(corpus);
+		for(final File file : files) {
+			tests.add(new TestCase("reduktion/" + TestSuite.name(file)) {
+				/**
+				 * Vergleicht das zurückgeführte Ergebnis des reduzierten Netzes mit dem Ergebnis des ursprünglichen Netzes.
+				 */
+				public void run() {
+					Petrinet petrinet = CtlModelCheckerTests.analysedNet(file);
+					if(!petrinet.getPlaces().isEmpty()) {
+						BoundednessTestResult expected = petrinet.getBoundednessTestResult();
+						NetReduction reduction = new NetReduction(petrinet, EnumSet.of(NetReduction.Property.BOUNDEDNESS));
+						Petrinet reduced = reduction.reduce();
+						assertTrue("Beschränktheit erhalten", reduction.preserves(NetReduction.Property.BOUNDEDNESS));
+						assertEquals("entfernte Stellen", petrinet.getPlaces().size() - reduced.getPlaces().size(), reduction.getRemovedPlaces());
+						reduced.analysis();
+						BoundednessTestResult mapped = reduction.mapBack(reduced.getBoundednessTestResult());
+						assertEquals("unbeschränkt", expected.getUnbounded(), mapped.getUnbounded());
+						assertFalse("ohne Ergebnis", mapped.getInconclusive());
+						if(mapped.getUnbounded()) {
+							assertPath(petrinet, mapped);
+						}
+					}
+				}
+			});
+		}
+		tests.add(new TestCase("reduktion/korpus") {
+			/**
+			 * Prüft, dass die Reduktion auf dem Korpus überhaupt angewendet wird, sodass die Vergleiche nicht nur unveränderte Netze betreffen.
+			 */
+			public void run() {
+				int reducedNets = 0;
+				for(File file : files) {
+					Petrinet petrinet = new PNMLCursorParser(file).getPetrinet();
+					if(!petrinet.getPlaces().isEmpty()) {
+						NetReduction reduction = new NetReduction(petrinet, EnumSet.of(NetReduction.Property.BOUNDEDNESS));
+						reduction.reduce();
+						if(reduction.getRemovedPlaces() + reduction.getRemovedTransitions() > 0) {
+							reducedNets++;
+						}
+					}
+				}
+				assertTrue("kein Netz reduziert", files.isEmpty() || reducedNets > 0);
+			}
+		});
+		return tests;
+	}
+
+	/**
+	 * Spielt den Pfad der Unbeschränktheit im ursprünglichen Netz nach und prüft, dass m' die Markierung m echt überdeckt.
+	 * @param petrinet Ursprüngliches Petrinetz.
+	 * @param result Zurückgeführtes Ergebnis mit Pfad.
+	 */
+	static void assertPath(Petrinet petrinet, BoundednessTestResult result) {
+		IndexedNet net = new IndexedNet(petrinet);
+		int[] marking = net.getInitialMarking();
+		int[] start = net.getMarkingId(marking).equals(result.getStart().getId()) ? marking : null;
+		for(MarkingConnector mc : result.getPath()) {
+			TestCase.assertEquals("Markierung vor " + mc.getTransitionCaused(), net.getMarkingId(marking), mc.getMarkingBefore());
+			marking = LtlModelCheckerTests.replay(net, marking, Collections.singletonList(mc.getTransitionCaused()));
+			TestCase.assertEquals("Markierung nach " + mc.getTransitionCaused(), net.getMarkingId(marking), mc.getMarkingBehind());
+			if(start == null && net.getMarkingId(marking).equals(result.getStart().getId())) {
+				start = marking;
+			}
+		}
+		TestCase.assertTrue("m liegt nicht auf dem Pfad", !(start == null));
+		TestCase.assertEquals("m'", result.getEnd().getId(), net.getMarkingId(marking));
+		boolean bigger = false;
+		for(int p = 0; p < marking.length; p++) {
+			TestCase.assertTrue("m' überdeckt m nicht", marking[p] >= start[p]);
+			bigger = bigger || marking[p] > start[p];
+		}
+		TestCase.assertTrue("m' gleich m", bigger);
+	}
+}
@@ -0,0 +1,139 @@
+package model;
+
+import unittest.TestCase;
+import unittest.TestSuite;
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Diese Klasse erzeugt die Tests des {@link ReachabilityNetStore}.
+ * Für jedes Netz des Korpus wird der Erreichbarkeitsgraph komprimiert und unkomprimiert gespeichert, in ein neu eingelesenes Netz geladen
+ * und mit dem berechneten verglichen. Dateien mit anderer Formatversion oder zu einem anderen Netz werden nicht geladen, beschädigte Dateien werden gemeldet.
+ * @author Hannes Wilms
+ *
+ */
+public class ReachabilityNetStoreTests {
+
+	/**
+	 * Erzeugt die Tests.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der Tests.
+	 */
+	public static LinkedList<TestCase> create(File corpus) {
+		LinkedList<TestCase> tests = new LinkedList<TestCase>();
+		for(final File file : TestSuite.corpusFiles(corpus)) {
+			tests.add(new TestCase("prg/" + TestSuite.name(file)) {
+				/**
+				 * Speichert und lädt den Erreichbarkeitsgraphen komprimiert und unkomprimiert.
+				 */
+				public void run() throws IOException {
+					Petrinet petrinet = CtlModelCheckerTests.analysedNet(file);
+					if(!petrinet.getPlaces().isEmpty()) {
+						String expected = describe(petrinet);
+						File directory = Files.createTempDirectory("prg").toFile();
+						try {
+							for(boolean compress : new boolean[] {true, false}) {
+								File store = new File(directory, file.getName() + ReachabilityNetStore.SUFFIX);
+								ReachabilityNetStore.save(petrinet, store, compress);
+								Petrinet restored = new PNMLCursorParser(file).getPetrinet();
+								assertTrue("geladen (komprimiert: " + compress + ")", ReachabilityNetStore.load(restored, store));
+								assertEquals("Erreichbarkeitsgraph (komprimiert: " + compress + ")", expected, describe(restored));
+							}
+						} finally {
+							CompiledNetCacheTests.delete(directory);
+						}
+					}
+				}
+			});
+		}
+		final File mutualExclusion = new File(corpus, CtlModelCheckerTests.MUTUAL_EXCLUSION);
+		final File mailbox = new File(corpus, LtlModelCheckerTests.MAILBOX_UNBOUNDED);
+		if(mutualExclusion.isFile() && mailbox.isFile()) {
+			tests.add(new TestCase("prg/version-und-netz") {
+				/**
+				 * Prüft, dass Dateien mit anderer Formatversion oder zu einem anderen Netz nicht geladen werden und das Netz unverändert bleibt.
+				 */
+				public void run() throws IOException {
+					File directory = Files.createTempDirectory("prg").toFile();
+					try {
+						File store = new File(directory, "netz" + ReachabilityNetStore.SUFFIX);
+						ReachabilityNetStore.save(CtlModelCheckerTests.analysedNet(mutualExclusion), store, true);
+						Petrinet other = new PNMLCursorParser(mailbox).getPetrinet();
+						String unchanged = describe(other);
+						assertFalse("anderes Netz geladen", ReachabilityNetStore.load(other, store));
+						assertEquals("anderes Netz verändert", unchanged, describe(other));
+						byte[] content = Files.readAllBytes(store.toPath());
+						content[7]++;
+						Files.write(store.toPath(), content);
+						Petrinet same = new PNMLCursorParser(mutualExclusion).getPetrinet();
+						unchanged = describe(same);
+						assertFalse("andere Version geladen", ReachabilityNetStore.load(same, store));
+						assertEquals("Netz verändert", unchanged, describe(same));
+					} finally {
+						CompiledNetCacheTests.delete(directory);
+					}
+				}
+			});
+			tests.add(new TestCase("prg/beschaedigt") {
+				/**
+				 * Prüft, dass eine um die Hälfte gekürzte Datei als beschädigt gemeldet wird.
+				 */
+				public void run() throws IOException {
+					File directory = Files.createTempDirectory("prg").toFile();
+					try {
+						File store = new File(directory, "netz" + ReachabilityNetStore.SUFFIX);
+						for(boolean compress : new boolean[] {true, false}) {
+							ReachabilityNetStore.save(CtlModelCheckerTests.analysedNet(mutualExclusion), store, compress);
+							byte[] content = Files.readAllBytes(store.toPath());
+							Files.write(store.toPath(), Arrays.copyOf(content, content.length / 2));
+							boolean reported = false;
+							try {
+								ReachabilityNetStore.load(new PNMLCursorParser(mutualExclusion).getPetrinet(), store);
+							} catch (IOException e) {
+								reported = true;
+							}
+							assertTrue("beschädigte Datei nicht gemeldet (komprimiert: " + compress + ")", reported);
+						}
+					} finally {
+						CompiledNetCacheTests.delete(directory);
+					}
+				}
+			});
+		}
+		return tests;
+	}
+
+	/**
+	 * Beschreibt Erreichbarkeitsgraph, aktuelle Markierung und Ergebnis der Beschränktheitsanalyse in einer Zeichenkette, sodass sie verglichen werden können.
+	 * @param petrinet Petrinetz.
+	 * @return Beschreibung des Erreichbarkeitsgraphen.
+	 */
+	static String describe(Petrinet petrinet) {
+		TreeSet<String> lines = new TreeSet<String>();
+		for(Marking marking : petrinet.getReachabilityMarkings()) {
+			lines.add("M " + marking.getId() + " " + marking.getIsPathStart() + " " + marking.getIsPathEnd());
+		}
+		for(MarkingConnector mc : petrinet.getReachabilityMarkingConnectors()) {
+			lines.add("K " + mc.getMarkingBefore() + " " + mc.getTransitionCaused() + " " + mc.getMarkingBehind() + " " + mc.getIsInPath());
+		}
+		StringBuilder builder = new StringBuilder();
+		for(String line : lines) {
+			builder.append(line).append('\n');
+		}
+		builder.append("Anfang ").append(petrinet.getInitialMarking().getId()).append('\n');
+		builder.append("vollständig ").append(petrinet.isReachabilityNetComplete()).append('\n');
+		BoundednessTestResult btr = petrinet.getBoundednessTestResult();
+		if(!(btr == null)) {
+			builder.append("unbeschränkt ").append(btr.getUnbounded()).append(" ohne Ergebnis ").append(btr.getInconclusive()).append('\n');
+			if(btr.getUnbounded()) {
+				builder.append("m ").append(btr.getStart().getId()).append(" m' ").append(btr.getEnd().getId()).append(" Pfad");
+				for(MarkingConnector mc : btr.getPath()) {
+					builder.append(' ').append(mc.getTransitionCaused());
+				}
+				builder.append('\n');
+			}
+		}
+		return builder.toString();
+	}
+}
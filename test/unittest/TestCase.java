@@ -0,0 +1,70 @@
+package unittest;
+
+/**
+ * Diese Klasse stellt einen einzelnen Test dar, der von der {@link TestSuite} ausgeführt wird.
+ * Ein Test gilt als bestanden, wenn {@link #run()} ohne Ausnahme endet. Fehlgeschlagene Prüfungen werfen einen {@link AssertionError}.
+ * @author Hannes Wilms
+ *
+ */
+public abstract class TestCase {
+
+	/** Name des Tests, unter dem das Ergebnis ausgegeben wird. */
+	private String name;
+
+	/**
+	 * Erzeugt einen neuen Test.
+	 * @param name Name des Tests (z.B. {@code ctl/170-B1-N03-A04-MutualExclusion/wechselseitiger-ausschluss}).
+	 */
+	public TestCase(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Gibt den Namen des Tests zurück.
+	 * @return Name des Tests.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Führt den Test aus.
+	 * @throws Exception wenn der Test mit einem unerwarteten Fehler endet.
+	 */
+	public abstract void run() throws Exception;
+
+	/**
+	 * Prüft, ob die Bedingung erfüllt ist.
+	 * @param message Meldung, falls die Bedingung nicht erfüllt ist.
+	 * @param condition Zu prüfende Bedingung.
+	 * @throws AssertionError wenn die Bedingung nicht erfüllt ist.
+	 */
+	public static void assertTrue(String message, boolean condition) {
+		if(!condition) {
+			throw new AssertionError(message);
+		}
+	}
+
+	/**
+	 * Prüft, ob die Bedingung nicht erfüllt ist.
+	 * @param message Meldung, falls die Bedingung erfüllt ist.
+	 * @param condition Zu prüfende Bedingung.
+	 * @throws AssertionError wenn die Bedingung erfüllt ist.
+	 */
+	public static void assertFalse(String message, boolean condition) {
+		assertTrue(message, !condition);
+	}
+
+	/**
+	 * Prüft, ob zwei Werte gleich sind.
+	 * @param message Meldung, falls die Werte verschieden sind.
+	 * @param expected Erwarteter Wert.
+	 * @param actual Tatsächlicher Wert.
+	 * @throws AssertionError wenn die Werte verschieden sind.
+	 */
+	public static void assertEquals(String message, Object expected, Object actual) {
+		if(expected == null ? !(actual == null) : !expected.equals(actual)) {
+			throw new AssertionError(message + ": erwartet " + expected + ", erhalten " + actual);
+		}
+	}
+}
@@ -0,0 +1,94 @@
+package unittest;
+
+import model.*;
+import java.io.File;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Einstiegspunkt der Tests. Führt die Tests der Modellklassen auf den Netzen des Beispielkorpus aus.
+ * <pre>
+ * java -cp ... unittest.TestSuite [--corpus ordner] [--filter regex]
+ * </pre>
+ * Je Test wird OK oder FEHLER mit der Meldung ausgegeben. Der Exit-Status ist 1, wenn mindestens ein Test fehlgeschlagen ist.
+ * @author Hannes Wilms
+ *
+ */
+public class TestSuite {
+
+	/**
+	 * Wertet die Parameter aus, führt die ausgewählten Tests aus und gibt die Ergebnisse aus.
+	 * @param args Optionen.
+	 */
+	public static void main(String[] args) {
+		File corpus = new File("Beispiele");
+		Pattern filter = Pattern.compile(".*");
+		for(int i = 0; i < args.length; i++) {
+			if(args[i].equals("--corpus")) {
+				corpus = new File(args[++i]);
+			} else if(args[i].equals("--filter")) {
+				filter = Pattern.compile(args[++i]);
+			} else {
+				System.err.println("Aufruf: unittest.TestSuite [--corpus ordner] [--filter regex]");
+				System.exit(2);
+			}
+		}
+		LinkedList<TestCase> tests = new LinkedList<TestCase>();
+		tests.addAll(CtlModelCheckerTests.create(corpus));
+		tests.addAll(LtlModelCheckerTests.create(corpus));
+		tests.addAll(CoverabilityCheckerTests.create(corpus));
+		tests.addAll(NetReductionTests.create(corpus));
+		tests.addAll(CompiledNetCacheTests.create(corpus));
+		tests.addAll(ReachabilityNetStoreTests.create(corpus));
+		int run = 0;
+		int failed = 0;
+		for(TestCase test : tests) {
+			if(filter.matcher(test.getName()).find()) {
+				run++;
+				try {
+					test.run();
+					System.out.println("OK      " + test.getName());
+				} catch (AssertionError e) {
+					failed++;
+					System.out.println("FEHLER  " + test.getName() + ": " + e.getMessage());
+				} catch (Exception e) {
+					failed++;
+					System.out.println("FEHLER  " + test.getName() + ": " + e);
+					e.printStackTrace(System.out);
+				}
+			}
+		}
+		System.out.println(run + " Tests, " + failed + " fehlgeschlagen.");
+		if(failed > 0) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Gibt die PNML-Dateien des Korpus in alphabetischer Reihenfolge zurück.
+	 * @param corpus Ordner mit PNML-Dateien.
+	 * @return Liste (LinkedList) der PNML-Dateien.
+	 */
+	public static LinkedList<File> corpusFiles(File corpus) {
+		LinkedList<File> result = new LinkedList<File>();
+		File[] files = corpus.listFiles();
+		if(!(files == null)) {
+			Arrays.sort(files);
+			for(File file : files) {
+				if(file.getName().toLowerCase().endsWith(".pnml")) {
+					result.add(file);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gibt den Namen der PNML-Datei ohne Endung zurück.
+	 * @param file PNML-Datei.
+	 * @return Name ohne Endung.
+	 */
+	public static String name(File file) {
+		return file.getName().replaceFirst("\\.[pP][nN][mM][lL]$", "");
+	}
+}